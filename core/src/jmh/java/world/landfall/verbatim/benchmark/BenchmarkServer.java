@@ -0,0 +1,168 @@
+package world.landfall.verbatim.benchmark;
+
+import world.landfall.verbatim.ChatChannelManager;
+import world.landfall.verbatim.ChatEventHandler;
+import world.landfall.verbatim.Verbatim;
+import world.landfall.verbatim.chat.SpatialGrid;
+import world.landfall.verbatim.context.GameComponent;
+import world.landfall.verbatim.context.GamePlayer;
+import world.landfall.verbatim.test.MockChannelFormatter;
+import world.landfall.verbatim.test.MockChatFormatter;
+import world.landfall.verbatim.test.MockGameConfig;
+import world.landfall.verbatim.test.MockGameContext;
+import world.landfall.verbatim.test.MockGamePlayer;
+import world.landfall.verbatim.test.MockPermissionService;
+import world.landfall.verbatim.util.SocialService;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A simulated server for benchmarks: the test mocks wired into Verbatim, a population of
+ * logged-in players scattered over a square area, and the channels the benchmarks route through.
+ * Sends are counted rather than recorded so long runs don't accumulate messages. Benchmarks call
+ * {@link #tick()} on every invocation so the per-tick housekeeping runs as often as on a live server.
+ */
+final class BenchmarkServer {
+    static final String GLOBAL_CHANNEL = "global";
+    static final String RANGED_CHANNEL = "ranged";
+    static final String LOCAL_CHANNEL = "local";
+
+    static final int CHANNEL_RANGE = 48;
+    private static final int AREA_SIZE = 256;
+    private static final int UNRELATED_SOCIAL_ENTRIES = 5;
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    final CountingGameContext gameContext = new CountingGameContext();
+    final List<MockGamePlayer> players = new ArrayList<>();
+    private long nextTickNanos;
+
+    /**
+     * Sets up the services and channels and logs in {@code playerCount} players.
+     * Uses a fixed seed so every run sees the same layout.
+     */
+    BenchmarkServer(int playerCount) {
+        Verbatim.gameContext = gameContext;
+        Verbatim.gameConfig = new MockGameConfig();
+        Verbatim.chatFormatter = new MockChatFormatter();
+        Verbatim.channelFormatter = new MockChannelFormatter();
+        Verbatim.permissionService = new MockPermissionService();
+        ChatChannelManager.reset();
+        SocialService.reset();
+        SpatialGrid.reset();
+
+        ChatChannelManager.addChannelConfig(createChannel(GLOBAL_CHANNEL, "&a[G]", "g", -1, null));
+        ChatChannelManager.addChannelConfig(createChannel(RANGED_CHANNEL, "&e[R]", "r", CHANNEL_RANGE, null));
+        ChatChannelManager.addChannelConfig(createChannel(LOCAL_CHANNEL, "&b[L]", "l", CHANNEL_RANGE, "local"));
+        ((MockGameConfig) Verbatim.gameConfig).setDefaultChannelName(GLOBAL_CHANNEL);
+
+        Random random = new Random(42);
+        for (int i = 0; i < playerCount; i++) {
+            MockGamePlayer player = new MockGamePlayer(new UUID(0, i), "Player" + i, "Player " + i);
+            if (i == 0) {
+                player.atPosition(AREA_SIZE / 2.0, 64, AREA_SIZE / 2.0);
+            } else {
+                player.atPosition(random.nextDouble() * AREA_SIZE, 64, random.nextDouble() * AREA_SIZE);
+            }
+            gameContext.addPlayer(player);
+            players.add(player);
+            // All channels are always-on, so login joins every player to each of them
+            ChatEventHandler.onPlayerLogin(player);
+        }
+        ChatEventHandler.onServerTick();
+        nextTickNanos = System.nanoTime() + TICK_NANOS;
+        gameContext.resetCounters();
+    }
+
+    /**
+     * Runs {@link ChatEventHandler#onServerTick()} once a server tick has passed since the last run.
+     * Without it the spatial grid snapshot goes stale after a second and ranged channels fall back
+     * to scanning every member, so the numbers would not measure the grid.
+     */
+    void tick() {
+        long now = System.nanoTime();
+        if (now - nextTickNanos >= 0) {
+            nextTickNanos = now + TICK_NANOS;
+            ChatEventHandler.onServerTick();
+        }
+    }
+
+    private static ChatChannelManager.ChannelConfig createChannel(String name, String prefix, String shortcut, int range, String specialType) {
+        return new ChatChannelManager.ChannelConfig(
+            name, prefix, shortcut,
+            null, range, "&e", " \u00bb ", "&7", "&f",
+            true, false, specialType, "displayName"
+        );
+    }
+
+    /**
+     * Makes {@code sharePercent} percent of the other players react to {@code sender}:
+     * half of them ignore the sender, the other half favourite them. Each also gets a few unrelated
+     * ignore and favourite entries so the lists aren't trivially small.
+     */
+    void applySocialLists(GamePlayer sender, int sharePercent) {
+        Random random = new Random(7);
+        for (MockGamePlayer player : players) {
+            if (player == sender || random.nextInt(100) >= sharePercent) {
+                continue;
+            }
+            if (random.nextBoolean()) {
+                SocialService.addIgnore(player, sender.getUUID());
+            } else {
+                SocialService.addFavorite(player, sender.getUUID(), sender.getUsername());
+            }
+            for (int i = 0; i < UNRELATED_SOCIAL_ENTRIES; i++) {
+                MockGamePlayer other = players.get(random.nextInt(players.size()));
+                if (other != sender && other != player) {
+                    SocialService.addIgnore(player, other.getUUID());
+                    SocialService.addFavorite(player, other.getUUID(), other.getUsername());
+                }
+            }
+        }
+        gameContext.resetCounters();
+    }
+
+    /**
+     * Clears global Verbatim state once the trial is over.
+     */
+    void tearDown() {
+        ChatChannelManager.reset();
+        SocialService.reset();
+        SpatialGrid.reset();
+    }
+
+    /**
+     * MockGameContext that counts deliveries instead of storing them.
+     */
+    static final class CountingGameContext extends MockGameContext {
+        long deliveries;
+        long sends;
+
+        void resetCounters() {
+            deliveries = 0;
+            sends = 0;
+        }
+
+        @Override
+        public void sendMessage(GamePlayer player, GameComponent message) {
+            sends++;
+            deliveries++;
+        }
+
+        @Override
+        public void sendMessage(Collection<? extends GamePlayer> players, GameComponent message) {
+            sends++;
+            deliveries += players.size();
+        }
+
+        @Override
+        public void broadcastMessage(GameComponent message, boolean bypassHiddenPlayers) {
+            sends++;
+            deliveries += getOnlinePlayerCount();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package world.landfall.verbatim.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import world.landfall.verbatim.ChatChannelManager;
+import world.landfall.verbatim.ChatEventHandler;
+import world.landfall.verbatim.test.MockGamePlayer;
+
+/**
+ * Measures {@link ChatEventHandler#onChat} for a channel message fanned out to every member.
+ *
+ * channel: "global" reaches everyone, "ranged" and "local" reach players within
+ * {@link BenchmarkServer#CHANNEL_RANGE} blocks (local also goes through the channel formatter and fade band).
+ * socialShare: percentage of recipients that ignore or favourite the sender.
+ */
+@State(Scope.Benchmark)
+public class ChannelChatBenchmark {
+
+    @Param({"50", "500", "2000"})
+    public int players;
+
+    @Param({BenchmarkServer.GLOBAL_CHANNEL, BenchmarkServer.RANGED_CHANNEL, BenchmarkServer.LOCAL_CHANNEL})
+    public String channel;
+
+    @Param({"0", "10", "50"})
+    public int socialShare;
+
+    private BenchmarkServer server;
+    private MockGamePlayer sender;
+
+    @Setup
+    public void setUp() {
+        server = new BenchmarkServer(players);
+        sender = server.players.get(0);
+        server.applySocialLists(sender, socialShare);
+        ChatChannelManager.focusChannel(sender, channel);
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.tearDown();
+    }
+
+    @Benchmark
+    public void channelMessage(Blackhole blackhole) {
+        server.tick();
+        ChatEventHandler.onChat(sender, "Meet me by the fountain in the market square");
+        blackhole.consume(server.gameContext.deliveries);
+    }
+}
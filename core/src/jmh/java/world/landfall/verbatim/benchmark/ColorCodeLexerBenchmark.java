@@ -0,0 +1,45 @@
+package world.landfall.verbatim.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import world.landfall.verbatim.util.ColorCodeLexer;
+import world.landfall.verbatim.util.StyleRuns;
+
+/**
+ * Compares {@link ColorCodeLexer} against the split-and-regex parser the ChatFormatters used before
+ * ({@link LegacyColorCodeParser}). Both produce styled text segments with links resolved; neither
+ * builds platform components, so the numbers are parsing cost only.
+ */
+@State(Scope.Benchmark)
+public class ColorCodeLexerBenchmark {
+
+    @Param({"plain", "colored", "links"})
+    public String input;
+
+    private String text;
+    private final StyleRuns runs = new StyleRuns();
+
+    @Setup
+    public void setUp() {
+        text = switch (input) {
+            case "plain" -> "anyone up for a trip to the nether later tonight? bring food and some spare armour";
+            case "colored" -> "&6[&eG&6] &7Steve&8: &fanyone up for &l&cthe nether &r&ftonight? &#55ffccbring food&7!";
+            case "links" -> "&7check &ahttps://landfall.world/wiki/Verbatim &7or www.example.org/rules &lbefore &rposting";
+            default -> throw new IllegalArgumentException(input);
+        };
+    }
+
+    @Benchmark
+    public void lexer(Blackhole blackhole) {
+        blackhole.consume(ColorCodeLexer.lex(text, ColorCodeLexer.NO_COLOR, ColorCodeLexer.ALLOW_ALL, runs));
+    }
+
+    @Benchmark
+    public void legacyRegex(Blackhole blackhole) {
+        blackhole.consume(LegacyColorCodeParser.parse(text));
+    }
+}
@@ -0,0 +1,58 @@
+package world.landfall.verbatim.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import world.landfall.verbatim.ChatChannelManager;
+import world.landfall.verbatim.ChatEventHandler;
+import world.landfall.verbatim.test.MockGamePlayer;
+import world.landfall.verbatim.util.SocialService;
+
+/**
+ * Measures {@link ChatEventHandler#onChat} for direct messages: a focused DM and a "d:" reply
+ * to the last incoming sender, with the rest of the server population online.
+ */
+@State(Scope.Benchmark)
+public class DirectMessageBenchmark {
+
+    @Param({"50", "500", "2000"})
+    public int players;
+
+    private BenchmarkServer server;
+    private MockGamePlayer sender;
+    private MockGamePlayer replier;
+
+    @Setup
+    public void setUp() {
+        server = new BenchmarkServer(players);
+        sender = server.players.get(0);
+        replier = server.players.get(players - 1);
+        server.applySocialLists(sender, 10);
+        SocialService.removeIgnore(replier, sender.getUUID());
+        ChatChannelManager.focusDm(sender, replier.getUUID());
+        ChatChannelManager.setLastIncomingDmSender(replier, sender.getUUID());
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.tearDown();
+    }
+
+    @Benchmark
+    public void focusedDirectMessage(Blackhole blackhole) {
+        server.tick();
+        ChatEventHandler.onChat(sender, "Are you coming to the meeting tonight?");
+        blackhole.consume(server.gameContext.deliveries);
+    }
+
+    @Benchmark
+    public void replyPrefixDirectMessage(Blackhole blackhole) {
+        server.tick();
+        ChatEventHandler.onChat(replier, "d: Yes, I'll be there");
+        blackhole.consume(server.gameContext.deliveries);
+    }
+}
@@ -0,0 +1,58 @@
+package world.landfall.verbatim.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import world.landfall.verbatim.util.FormattingCodeUtils;
+
+/**
+ * Compares the {@link FormattingCodeUtils} scanner against the {@code replaceAll} regex it replaced,
+ * on a plain player name, a coloured display name and a coloured chat line.
+ */
+@State(Scope.Benchmark)
+public class FormattingCodeBenchmark {
+
+    private static final String LEGACY_PATTERN = "(?i)[&\u00a7]#[0-9a-f]{6}|[&\u00a7][0-9A-FK-OR]";
+
+    @Param({"name", "coloredName", "coloredLine"})
+    public String input;
+
+    private String text;
+
+    @Setup
+    public void setUp() {
+        text = switch (input) {
+            case "name" -> "Steve_the_Builder";
+            case "coloredName" -> "&6[&eMod&6] &#55ffccSteve&r";
+            case "coloredLine" -> "&7anyone up for &l&cthe nether &r&ftonight? &#55ffccbring food&7 and spare armour!";
+            default -> throw new IllegalArgumentException(input);
+        };
+    }
+
+    @Benchmark
+    public String strip() {
+        return FormattingCodeUtils.strip(text);
+    }
+
+    @Benchmark
+    public String legacyRegexStrip() {
+        return text.replaceAll(LEGACY_PATTERN, "");
+    }
+
+    @Benchmark
+    public int visibleLength() {
+        return FormattingCodeUtils.visibleLength(text);
+    }
+
+    @Benchmark
+    public int legacyRegexVisibleLength() {
+        return text.replaceAll(LEGACY_PATTERN, "").length();
+    }
+
+    @Benchmark
+    public boolean containsCodes() {
+        return FormattingCodeUtils.containsCodes(text);
+    }
+}
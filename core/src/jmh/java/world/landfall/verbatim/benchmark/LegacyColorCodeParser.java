@@ -0,0 +1,106 @@
+package world.landfall.verbatim.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The split-and-regex colour parser that {@code ColorCodeLexer} replaced, kept as the baseline for
+ * {@link ColorCodeLexerBenchmark}. The control flow is the one every platform ChatFormatter used;
+ * only the component building is swapped for a plain segment list so the benchmark measures parsing
+ * rather than a platform's component classes. Not used by the plugin.
+ */
+final class LegacyColorCodeParser {
+
+    private static final Pattern URL_PATTERN = Pattern.compile(
+        "(https?://[\\w\\-._~:/?#\\[\\]@!$&'()*+,;=%]+|www\\.[\\w\\-._~:/?#\\[\\]@!$&'()*+,;=%]+)",
+        Pattern.CASE_INSENSITIVE
+    );
+
+    private static final String COLOR_SPLIT_REGEX = "(?i)(?=&#[0-9a-f]{6})|(?=&[0-9a-fk-or])";
+
+    private static final int[] LEGACY_COLORS = {
+        0x000000, 0x0000AA, 0x00AA00, 0x00AAAA, 0xAA0000, 0xAA00AA, 0xFFAA00, 0xAAAAAA,
+        0x555555, 0x5555FF, 0x55FF55, 0x55FFFF, 0xFF5555, 0xFF55FF, 0xFFFF55, 0xFFFFFF
+    };
+
+    record Segment(String text, int color, int decorations, String clickUrl) {}
+
+    private LegacyColorCodeParser() {}
+
+    static List<Segment> parse(String text) {
+        List<Segment> result = new ArrayList<>();
+        String[] parts = text.split(COLOR_SPLIT_REGEX);
+        int currentColor = -1;
+        int decorations = 0;
+
+        for (String part : parts) {
+            if (part.isEmpty()) continue;
+
+            if (part.startsWith("&#") && part.length() >= 8) {
+                String hex = part.substring(2, 8);
+                String textContent = part.substring(8);
+                try {
+                    currentColor = Integer.parseInt(hex, 16);
+                    decorations = 0;
+                } catch (NumberFormatException ignored) {}
+                if (!textContent.isEmpty()) {
+                    makeLinksClickable(textContent, currentColor, decorations, result);
+                }
+            } else if (part.startsWith("&") && part.length() >= 2) {
+                char code = Character.toLowerCase(part.charAt(1));
+                String textContent = part.substring(2);
+
+                int digit = Character.digit(code, 16);
+                if (digit >= 0) {
+                    currentColor = LEGACY_COLORS[digit];
+                    decorations = 0;
+                } else if (code == 'l') {
+                    decorations |= 1;
+                } else if (code == 'o') {
+                    decorations |= 2;
+                } else if (code == 'n') {
+                    decorations |= 4;
+                } else if (code == 'm') {
+                    decorations |= 8;
+                } else if (code == 'k') {
+                    decorations |= 16;
+                } else if (code == 'r') {
+                    currentColor = -1;
+                    decorations = 0;
+                }
+
+                if (!textContent.isEmpty()) {
+                    makeLinksClickable(textContent, currentColor, decorations, result);
+                }
+            } else {
+                makeLinksClickable(part, currentColor, decorations, result);
+            }
+        }
+        return result;
+    }
+
+    private static void makeLinksClickable(String text, int color, int decorations, List<Segment> out) {
+        Matcher matcher = URL_PATTERN.matcher(text);
+        if (!matcher.find()) {
+            out.add(new Segment(text, color, decorations, null));
+            return;
+        }
+
+        matcher.reset();
+        int lastEnd = 0;
+        while (matcher.find()) {
+            if (matcher.start() > lastEnd) {
+                out.add(new Segment(text.substring(lastEnd, matcher.start()), color, decorations, null));
+            }
+            String url = matcher.group();
+            String clickUrl = url.toLowerCase().startsWith("www.") ? "https://" + url : url;
+            out.add(new Segment(url, color, decorations, clickUrl));
+            lastEnd = matcher.end();
+        }
+        if (lastEnd < text.length()) {
+            out.add(new Segment(text.substring(lastEnd), color, decorations, null));
+        }
+    }
+}
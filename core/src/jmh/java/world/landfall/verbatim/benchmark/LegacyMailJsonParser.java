@@ -0,0 +1,249 @@
+package world.landfall.verbatim.benchmark;
+
+import world.landfall.verbatim.Verbatim;
+import world.landfall.verbatim.util.MailService;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The substring-based mail.json parser that {@code MailJsonReader} replaced, kept verbatim as the
+ * baseline for {@link MailParseBenchmark}. Not used by the plugin.
+ */
+final class LegacyMailJsonParser {
+
+    final Map<UUID, List<MailService.MailMessage>> mailboxes = new HashMap<>();
+    final Map<String, UUID> nameCache = new HashMap<>();
+
+    void parse(String json) {
+        try {
+            // Find "mailboxes" section
+            int mailboxesIdx = json.indexOf("\"mailboxes\"");
+            if (mailboxesIdx >= 0) {
+                int mailboxesObjStart = json.indexOf('{', mailboxesIdx);
+                int mailboxesObjEnd = findMatchingBrace(json, mailboxesObjStart);
+                if (mailboxesObjEnd < 0) return;
+
+                String mailboxesStr = json.substring(mailboxesObjStart + 1, mailboxesObjEnd);
+                parseMailboxes(mailboxesStr);
+            }
+
+            // Find "nameCache" section
+            int nameCacheIdx = json.indexOf("\"nameCache\"");
+            if (nameCacheIdx < 0) return;
+
+            int nameCacheObjStart = json.indexOf('{', nameCacheIdx);
+            int nameCacheObjEnd = findMatchingBrace(json, nameCacheObjStart);
+            if (nameCacheObjEnd < 0) return;
+
+            String nameCacheStr = json.substring(nameCacheObjStart + 1, nameCacheObjEnd);
+            parseNameCache(nameCacheStr);
+        } catch (Exception e) {
+            Verbatim.LOGGER.error("[LegacyMailJsonParser] Failed to parse mail.json", e);
+        }
+    }
+
+    private void parseMailboxes(String str) {
+        int pos = 0;
+        while (pos < str.length()) {
+            int keyStart = str.indexOf('"', pos);
+            if (keyStart < 0) break;
+            int keyEnd = str.indexOf('"', keyStart + 1);
+            if (keyEnd < 0) break;
+            String uuidStr = str.substring(keyStart + 1, keyEnd);
+
+            int arrayStart = str.indexOf('[', keyEnd);
+            if (arrayStart < 0) break;
+            int arrayEnd = findMatchingBracket(str, arrayStart);
+            if (arrayEnd < 0) break;
+
+            try {
+                UUID recipientUUID = UUID.fromString(uuidStr);
+                String arrayContent = str.substring(arrayStart + 1, arrayEnd);
+                List<MailService.MailMessage> messages = parseMailArray(arrayContent);
+                if (!messages.isEmpty()) {
+                    mailboxes.put(recipientUUID, Collections.synchronizedList(messages));
+                }
+            } catch (IllegalArgumentException e) {
+                Verbatim.LOGGER.warn("[LegacyMailJsonParser] Invalid UUID in mailboxes: {}", uuidStr);
+            }
+
+            pos = arrayEnd + 1;
+        }
+    }
+
+    private List<MailService.MailMessage> parseMailArray(String str) {
+        List<MailService.MailMessage> messages = new ArrayList<>();
+        int pos = 0;
+        while (pos < str.length()) {
+            int objStart = str.indexOf('{', pos);
+            if (objStart < 0) break;
+            int objEnd = findMatchingBrace(str, objStart);
+            if (objEnd < 0) break;
+
+            String objStr = str.substring(objStart + 1, objEnd);
+            MailService.MailMessage msg = parseMailMessage(objStr);
+            if (msg != null) {
+                messages.add(msg);
+            }
+            pos = objEnd + 1;
+        }
+        return messages;
+    }
+
+    private MailService.MailMessage parseMailMessage(String obj) {
+        String from = extractJsonString(obj, "from");
+        String fromName = extractJsonString(obj, "fromName");
+        String message = extractJsonString(obj, "message");
+        Long timestamp = extractJsonLong(obj, "timestamp");
+        Boolean read = extractJsonBoolean(obj, "read");
+
+        if (from == null || fromName == null || message == null || timestamp == null || read == null) {
+            return null;
+        }
+
+        try {
+            return new MailService.MailMessage(UUID.fromString(from), fromName, message, timestamp, read);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private void parseNameCache(String str) {
+        int pos = 0;
+        while (pos < str.length()) {
+            int keyStart = str.indexOf('"', pos);
+            if (keyStart < 0) break;
+            int keyEnd = str.indexOf('"', keyStart + 1);
+            if (keyEnd < 0) break;
+            String name = str.substring(keyStart + 1, keyEnd);
+
+            int valStart = str.indexOf('"', keyEnd + 1);
+            if (valStart < 0) break;
+            int valEnd = str.indexOf('"', valStart + 1);
+            if (valEnd < 0) break;
+            String uuidStr = str.substring(valStart + 1, valEnd);
+
+            try {
+                nameCache.put(name, UUID.fromString(uuidStr));
+            } catch (IllegalArgumentException e) {
+                Verbatim.LOGGER.warn("[LegacyMailJsonParser] Invalid UUID in nameCache: {}", uuidStr);
+            }
+
+            pos = valEnd + 1;
+        }
+    }
+
+    // === JSON utility methods ===
+
+    private String extractJsonString(String obj, String key) {
+        String searchKey = "\"" + key + "\"";
+        int keyIdx = obj.indexOf(searchKey);
+        if (keyIdx < 0) return null;
+        int colonIdx = obj.indexOf(':', keyIdx + searchKey.length());
+        if (colonIdx < 0) return null;
+        int valStart = obj.indexOf('"', colonIdx + 1);
+        if (valStart < 0) return null;
+        int valEnd = findUnescapedQuote(obj, valStart + 1);
+        if (valEnd < 0) return null;
+        return unescapeJson(obj.substring(valStart + 1, valEnd));
+    }
+
+    private Long extractJsonLong(String obj, String key) {
+        String searchKey = "\"" + key + "\"";
+        int keyIdx = obj.indexOf(searchKey);
+        if (keyIdx < 0) return null;
+        int colonIdx = obj.indexOf(':', keyIdx + searchKey.length());
+        if (colonIdx < 0) return null;
+        int start = colonIdx + 1;
+        while (start < obj.length() && obj.charAt(start) == ' ') start++;
+        int end = start;
+        while (end < obj.length() && (Character.isDigit(obj.charAt(end)) || obj.charAt(end) == '-')) end++;
+        if (end == start) return null;
+        try {
+            return Long.parseLong(obj.substring(start, end));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private Boolean extractJsonBoolean(String obj, String key) {
+        String searchKey = "\"" + key + "\"";
+        int keyIdx = obj.indexOf(searchKey);
+        if (keyIdx < 0) return null;
+        int colonIdx = obj.indexOf(':', keyIdx + searchKey.length());
+        if (colonIdx < 0) return null;
+        String rest = obj.substring(colonIdx + 1).trim();
+        if (rest.startsWith("true")) return true;
+        if (rest.startsWith("false")) return false;
+        return null;
+    }
+
+    private int findMatchingBrace(String str, int openPos) {
+        int depth = 1;
+        boolean inString = false;
+        for (int i = openPos + 1; i < str.length(); i++) {
+            char c = str.charAt(i);
+            if (inString) {
+                if (c == '\\') { i++; continue; }
+                if (c == '"') inString = false;
+            } else {
+                if (c == '"') inString = true;
+                else if (c == '{') depth++;
+                else if (c == '}') { depth--; if (depth == 0) return i; }
+            }
+        }
+        return -1;
+    }
+
+    private int findMatchingBracket(String str, int openPos) {
+        int depth = 1;
+        boolean inString = false;
+        for (int i = openPos + 1; i < str.length(); i++) {
+            char c = str.charAt(i);
+            if (inString) {
+                if (c == '\\') { i++; continue; }
+                if (c == '"') inString = false;
+            } else {
+                if (c == '"') inString = true;
+                else if (c == '[') depth++;
+                else if (c == ']') { depth--; if (depth == 0) return i; }
+            }
+        }
+        return -1;
+    }
+
+    private int findUnescapedQuote(String str, int start) {
+        for (int i = start; i < str.length(); i++) {
+            if (str.charAt(i) == '\\') { i++; continue; }
+            if (str.charAt(i) == '"') return i;
+        }
+        return -1;
+    }
+
+    private String unescapeJson(String str) {
+        if (str == null) return "";
+        StringBuilder sb = new StringBuilder(str.length());
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            if (c == '\\' && i + 1 < str.length()) {
+                char next = str.charAt(i + 1);
+                switch (next) {
+                    case '"': sb.append('"'); i++; break;
+                    case '\\': sb.append('\\'); i++; break;
+                    case 'n': sb.append('\n'); i++; break;
+                    case 'r': sb.append('\r'); i++; break;
+                    case 't': sb.append('\t'); i++; break;
+                    default: sb.append(c); break;
+                }
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
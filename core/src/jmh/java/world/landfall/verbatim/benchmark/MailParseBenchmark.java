@@ -0,0 +1,91 @@
+package world.landfall.verbatim.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import world.landfall.verbatim.util.MailJsonReader;
+import world.landfall.verbatim.util.MailService;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Compares loading a mail file with {@link MailJsonReader} against the old substring-based parser
+ * ({@link LegacyMailJsonParser}). Both read from a {@link Reader} over the same document, written in
+ * the format MailService saves, so the legacy side includes the buffering it did in loadFromDisk.
+ */
+@State(Scope.Benchmark)
+public class MailParseBenchmark {
+
+    private static final int MESSAGES_PER_MAILBOX = 10;
+    private static final int NAMES = 500;
+
+    @Param({"1000", "10000", "100000"})
+    public int messages;
+
+    private String document;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        StringBuilder sb = new StringBuilder(messages * 160);
+        sb.append("{\n  \"mailboxes\": {");
+        int mailboxes = Math.max(1, messages / MESSAGES_PER_MAILBOX);
+        for (int m = 0; m < mailboxes; m++) {
+            if (m > 0) sb.append(",");
+            sb.append("\n    \"").append(new UUID(random.nextLong(), random.nextLong())).append("\": [");
+            for (int i = 0; i < MESSAGES_PER_MAILBOX; i++) {
+                if (i > 0) sb.append(",");
+                sb.append("\n      {\"from\": \"").append(new UUID(random.nextLong(), random.nextLong()))
+                  .append("\", \"fromName\": \"Player").append(random.nextInt(10000))
+                  .append("\", \"message\": \"Meet me at the \\\"old mill\\\" at sundown, bring ")
+                  .append(random.nextInt(64)).append(" torches")
+                  .append("\", \"timestamp\": ").append(1700000000000L + random.nextInt(1000000000))
+                  .append(", \"read\": ").append(random.nextBoolean())
+                  .append("}");
+            }
+            sb.append("\n    ]");
+        }
+        sb.append("\n  },\n  \"nameCache\": {");
+        for (int n = 0; n < NAMES; n++) {
+            if (n > 0) sb.append(",");
+            sb.append("\n    \"player").append(n).append("\": \"")
+              .append(new UUID(random.nextLong(), random.nextLong())).append("\"");
+        }
+        sb.append("\n  }\n}\n");
+        document = sb.toString();
+    }
+
+    @Benchmark
+    public void streamingReader(Blackhole blackhole) throws IOException {
+        Map<UUID, List<MailService.MailMessage>> mailboxes = new HashMap<>();
+        Map<String, UUID> names = new HashMap<>();
+        MailJsonReader.read(new StringReader(document), mailboxes::put, names::put);
+        blackhole.consume(mailboxes);
+        blackhole.consume(names);
+    }
+
+    @Benchmark
+    public void legacySubstringParser(Blackhole blackhole) throws IOException {
+        Reader reader = new StringReader(document);
+        StringBuilder sb = new StringBuilder();
+        char[] buf = new char[4096];
+        int read;
+        while ((read = reader.read(buf)) != -1) {
+            sb.append(buf, 0, read);
+        }
+        LegacyMailJsonParser parser = new LegacyMailJsonParser();
+        parser.parse(sb.toString());
+        blackhole.consume(parser.mailboxes);
+        blackhole.consume(parser.nameCache);
+    }
+}
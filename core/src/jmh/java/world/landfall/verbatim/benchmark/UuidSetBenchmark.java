@@ -0,0 +1,84 @@
+package world.landfall.verbatim.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import world.landfall.verbatim.util.UuidSet;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Compares {@link UuidSet} against the unmodifiable {@link HashSet} it replaced for the ignore
+ * and favourite checks made per recipient during chat fan-out, plus decoding a stored list in the
+ * new and legacy formats.
+ */
+@State(Scope.Benchmark)
+public class UuidSetBenchmark {
+
+    @Param({"4", "64", "512"})
+    public int size;
+
+    private UuidSet uuidSet;
+    private Set<UUID> hashSet;
+    private UUID[] probes;
+    private int next;
+    private String encoded;
+    private String legacy;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(7);
+        List<UUID> members = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            members.add(new UUID(random.nextLong(), random.nextLong()));
+        }
+        uuidSet = UuidSet.of(members);
+        hashSet = Collections.unmodifiableSet(new HashSet<>(members));
+
+        // Fan-out mostly checks senders that are not ignored
+        probes = new UUID[1024];
+        for (int i = 0; i < probes.length; i++) {
+            probes[i] = i % 8 == 0 ? members.get(i % size) : new UUID(random.nextLong(), random.nextLong());
+        }
+
+        encoded = uuidSet.encode();
+        StringBuilder sb = new StringBuilder();
+        for (UUID uuid : members) {
+            if (sb.length() > 0) sb.append(",");
+            sb.append(uuid);
+        }
+        legacy = sb.toString();
+    }
+
+    private UUID probe() {
+        return probes[next++ & (probes.length - 1)];
+    }
+
+    @Benchmark
+    public boolean uuidSetContains() {
+        return uuidSet.contains(probe());
+    }
+
+    @Benchmark
+    public boolean hashSetContains() {
+        return hashSet.contains(probe());
+    }
+
+    @Benchmark
+    public UuidSet parseEncoded() {
+        return UuidSet.parse(encoded, invalid -> {});
+    }
+
+    @Benchmark
+    public UuidSet parseLegacy() {
+        return UuidSet.parse(legacy, invalid -> {});
+    }
+}
@@ -1,7 +1,9 @@
 package world.landfall.verbatim;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -12,6 +14,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import world.landfall.verbatim.chat.FocusTarget;
 import world.landfall.verbatim.chat.ChatFocus;
+import world.landfall.verbatim.chat.ChannelTemplate;
 import world.landfall.verbatim.context.GameColor;
 import world.landfall.verbatim.context.GamePlayer;
 import static world.landfall.verbatim.context.GameText.*;
@@ -26,10 +29,22 @@ public class ChatChannelManager {
     // Permission level required for channel access (operator level 2)
     static final int CHANNEL_PERMISSION_LEVEL = 2;
 
+    // How long a player's channel access bitmap is trusted before it is recomputed
+    static final long CHANNEL_ACCESS_TTL_MS = 5000;
+    private static final long CHANNEL_ACCESS_SWEEP_INTERVAL_MS = 1000;
+
     // Thread-safe collections for concurrent access
     private static final Map<UUID, FocusTarget> playerFocus = new ConcurrentHashMap<>();
     private static final Map<UUID, Set<String>> joinedChannels = new ConcurrentHashMap<>();
     private static final Map<UUID, UUID> lastIncomingDmSender = new ConcurrentHashMap<>();
+    // Reverse index of joinedChannels (channel name -> member UUIDs) so fan-out only touches members
+    private static final Map<String, Set<UUID>> channelMembers = new ConcurrentHashMap<>();
+    // Per-player channel access bitmaps, so fan-out checks a bit instead of querying the permission system
+    private static final Map<UUID, ChannelAccess> channelAccess = new ConcurrentHashMap<>();
+    // Channel name -> bit index in access bitmaps. Replaced wholesale whenever channels change,
+    // which invalidates every bitmap built against the previous map.
+    private static volatile Map<String, Integer> channelOrdinals = Map.of();
+    private static volatile long lastAccessSweepMillis;
 
     public static class ChannelConfig {
         public final String name;
@@ -45,6 +60,7 @@ public class ChatChannelManager {
         public final boolean mature;
         public final Optional<String> specialChannelType;
         public final NameStyle nameStyle;
+        private volatile ChannelTemplate template;
 
         public ChannelConfig(String name, String displayPrefix, String shortcut, String permission, Number range,
                              String nameColor, String separator, String separatorColor, String messageColor, Boolean alwaysOn, Boolean mature, String specialChannelType, String nameStyle) {
@@ -63,6 +79,34 @@ public class ChatChannelManager {
             this.specialChannelType = (specialChannelType == null || specialChannelType.isEmpty()) ? Optional.empty() : Optional.of(specialChannelType);
             this.nameStyle = NameStyle.fromConfigValue(nameStyle);
         }
+
+        /**
+         * Gets the pre-parsed formatting for this channel, compiling it on first use if the
+         * channel was not registered through the manager.
+         */
+        public ChannelTemplate template() {
+            ChannelTemplate compiled = template;
+            if (compiled == null) {
+                compiled = ChannelTemplate.compile(this);
+                template = compiled;
+            }
+            return compiled;
+        }
+
+        void compileTemplate() {
+            template = ChannelTemplate.compile(this);
+        }
+    }
+
+    /**
+     * Which channels a player may read and send in, as a bitmap indexed by channel ordinal.
+     * Reading and sending are governed by the same channel permission, so one bitmap covers both.
+     */
+    private record ChannelAccess(BitSet allowed, Map<String, Integer> ordinals, long computedAtMillis) {
+        boolean allows(String channelName) {
+            Integer ordinal = ordinals.get(channelName);
+            return ordinal != null && allowed.get(ordinal);
+        }
     }
 
     private static final Map<String, ChannelConfig> channelConfigsByName = new ConcurrentHashMap<>();
@@ -76,6 +120,10 @@ public class ChatChannelManager {
         playerFocus.clear();
         joinedChannels.clear();
         lastIncomingDmSender.clear();
+        channelMembers.clear();
+        channelAccess.clear();
+        channelOrdinals = Map.of();
+        lastAccessSweepMillis = 0;
         channelConfigsByName.clear();
         channelConfigsByShortcut.clear();
     }
@@ -84,10 +132,14 @@ public class ChatChannelManager {
      * Adds a channel config directly. Used for unit testing.
      */
     public static void addChannelConfig(ChannelConfig config) {
+        config.compileTemplate();
         channelConfigsByName.put(config.name, config);
         if (config.shortcut != null && !config.shortcut.isEmpty()) {
             channelConfigsByShortcut.put(config.shortcut, config);
         }
+        Map<String, Integer> ordinals = new HashMap<>(channelOrdinals);
+        ordinals.putIfAbsent(config.name, ordinals.size());
+        channelOrdinals = Map.copyOf(ordinals);
         isInitialized = true;
     }
 
@@ -126,6 +178,7 @@ public class ChatChannelManager {
                         Verbatim.LOGGER.warn("Duplicate channel shortcut in config: '{}'. Ignoring subsequent definition.", shortcut);
                         continue;
                     }
+                    parsedConfig.compileTemplate();
                     channelConfigsByName.put(name, parsedConfig);
                     channelConfigsByShortcut.put(shortcut, parsedConfig);
                     Verbatim.LOGGER.debug("Successfully loaded channel: {}", name);
@@ -137,9 +190,141 @@ public class ChatChannelManager {
             }
         }
         Verbatim.LOGGER.info("Finished loading chat channels. Total loaded: {}", channelConfigsByName.size());
+        rebuildChannelMembers();
+        assignChannelOrdinals();
         isInitialized = true;
     }
 
+    private static void assignChannelOrdinals() {
+        Map<String, Integer> ordinals = new HashMap<>();
+        for (String channelName : channelConfigsByName.keySet()) {
+            ordinals.put(channelName, ordinals.size());
+        }
+        channelOrdinals = Map.copyOf(ordinals);
+    }
+
+    /**
+     * Rebuilds the channel member index from joinedChannels, dropping channels that are no longer configured.
+     */
+    private static void rebuildChannelMembers() {
+        channelMembers.clear();
+        for (Map.Entry<UUID, Set<String>> entry : joinedChannels.entrySet()) {
+            for (String channelName : entry.getValue()) {
+                if (channelConfigsByName.containsKey(channelName)) {
+                    addChannelMember(channelName, entry.getKey());
+                }
+            }
+        }
+    }
+
+    private static void addChannelMember(String channelName, UUID playerId) {
+        channelMembers.computeIfAbsent(channelName, k -> ConcurrentHashMap.newKeySet()).add(playerId);
+    }
+
+    private static void removeChannelMember(String channelName, UUID playerId) {
+        channelMembers.computeIfPresent(channelName, (k, v) -> {
+            v.remove(playerId);
+            return v.isEmpty() ? null : v;
+        });
+    }
+
+    // === Channel Access ===
+
+    /**
+     * Checks whether a player may read and send in a channel using their cached access bitmap.
+     * The bitmap is built on first use and after channels are reloaded; otherwise it is only
+     * refreshed by {@link #refreshChannelAccess} and the periodic TTL sweep.
+     */
+    public static boolean canAccessChannel(GamePlayer player, ChannelConfig config) {
+        if (config.alwaysOn || config.permission.isEmpty()) {
+            return true;
+        }
+        ChannelAccess access = channelAccess.get(player.getUUID());
+        if (access == null || access.ordinals() != channelOrdinals) {
+            access = computeChannelAccess(player);
+        }
+        if (!access.ordinals().containsKey(config.name)) {
+            return Verbatim.permissionService.hasPermission(player, config.permission.get(), CHANNEL_PERMISSION_LEVEL);
+        }
+        return access.allows(config.name);
+    }
+
+    private static ChannelAccess computeChannelAccess(GamePlayer player) {
+        Map<String, Integer> ordinals = channelOrdinals;
+        BitSet allowed = new BitSet(ordinals.size());
+        for (Map.Entry<String, Integer> entry : ordinals.entrySet()) {
+            ChannelConfig config = channelConfigsByName.get(entry.getKey());
+            if (config == null) {
+                continue;
+            }
+            if (config.alwaysOn || config.permission.isEmpty()
+                || Verbatim.permissionService.hasPermission(player, config.permission.get(), CHANNEL_PERMISSION_LEVEL)) {
+                allowed.set(entry.getValue());
+            }
+        }
+        ChannelAccess access = new ChannelAccess(allowed, ordinals, System.currentTimeMillis());
+        channelAccess.put(player.getUUID(), access);
+        return access;
+    }
+
+    /**
+     * Recomputes a player's channel access and removes them from any joined channel they can no longer access.
+     * Call on login, after a config reload, or when a platform signals that the player's permissions changed.
+     */
+    public static void refreshChannelAccess(GamePlayer player) {
+        ChannelAccess access = computeChannelAccess(player);
+        for (String channelName : new HashSet<>(getJoinedChannels(player))) {
+            ChannelConfig config = channelConfigsByName.get(channelName);
+            if (config != null && !config.alwaysOn && config.permission.isPresent() && !access.allows(channelName)) {
+                autoLeaveChannel(player, channelName);
+            }
+        }
+    }
+
+    /**
+     * Marks a player's channel access as expired so the sweep on the next tick recomputes it.
+     * Called when LuckPerms reports a change to the player's data; the TTL is only a fallback.
+     */
+    public static void invalidateChannelAccess(UUID playerId) {
+        channelAccess.computeIfPresent(playerId, (id, access) -> new ChannelAccess(access.allowed(), access.ordinals(), 0));
+        lastAccessSweepMillis = 0;
+    }
+
+    /**
+     * Marks every player's channel access as expired, e.g. after a permission group changed.
+     */
+    public static void invalidateAllChannelAccess() {
+        channelAccess.replaceAll((id, access) -> new ChannelAccess(access.allowed(), access.ordinals(), 0));
+        lastAccessSweepMillis = 0;
+    }
+
+    /**
+     * Refreshes access bitmaps older than {@link #CHANNEL_ACCESS_TTL_MS}. Platforms call this every tick;
+     * the sweep itself runs at most once per second.
+     */
+    public static void refreshExpiredChannelAccess() {
+        long now = System.currentTimeMillis();
+        if (now - lastAccessSweepMillis < CHANNEL_ACCESS_SWEEP_INTERVAL_MS) {
+            return;
+        }
+        lastAccessSweepMillis = now;
+        refreshExpiredChannelAccess(now);
+    }
+
+    static void refreshExpiredChannelAccess(long nowMillis) {
+        for (Map.Entry<UUID, ChannelAccess> entry : channelAccess.entrySet()) {
+            if (nowMillis - entry.getValue().computedAtMillis() < CHANNEL_ACCESS_TTL_MS) {
+                continue;
+            }
+            GamePlayer player = Verbatim.gameContext.getPlayerByUUID(entry.getKey());
+            if (player == null) {
+                channelAccess.remove(entry.getKey());
+            } else {
+                refreshChannelAccess(player);
+            }
+        }
+    }
+
     public static boolean isInitialized() {
         return isInitialized;
     }
@@ -217,6 +402,10 @@ public class ChatChannelManager {
         }
 
         joinedChannels.put(player.getUUID(), loadedJoinedChannels);
+        for (String chName : loadedJoinedChannels) {
+            addChannelMember(chName, player.getUUID());
+        }
+        ChannelAccess access = computeChannelAccess(player);
 
         for (ChannelConfig config : channelConfigsByName.values()) {
             if (config.alwaysOn) {
@@ -231,7 +420,7 @@ public class ChatChannelManager {
                         .append(text("/channel leave").withColor(GameColor.WHITE).withUnderlined(true)));
                 }
             } else if (loadedJoinedChannels.contains(config.name)) {
-                if (config.permission.isPresent() && !Verbatim.permissionService.hasPermission(player, config.permission.get(), CHANNEL_PERMISSION_LEVEL)) {
+                if (config.permission.isPresent() && !access.allows(config.name)) {
                     Verbatim.LOGGER.info("[ChatChannelManager] Player {} lost permission for saved joined channel '{}' on login. Removing.", player.getUsername(), config.name);
                     internalLeaveChannel(player, config.name);
                 }
@@ -316,6 +505,7 @@ public class ChatChannelManager {
             return false;
         }
         joinedChannels.computeIfAbsent(player.getUUID(), k -> new HashSet<>()).add(channelName);
+        addChannelMember(channelName, player.getUUID());
         savePlayerChannelState(player);
         return true;
     }
@@ -328,14 +518,14 @@ public class ChatChannelManager {
         }
         if (isJoined(player, channelName)) {
             Verbatim.gameContext.sendMessage(player, text("Already joined to channel: ").withColor(GameColor.YELLOW)
-                .append(Verbatim.chatFormatter.parseColors(config.displayPrefix + " " + config.name)));
+                .append(config.template().label()));
             return true;
         }
 
         if (config.alwaysOn || !config.permission.isPresent() || Verbatim.permissionService.hasPermission(player, config.permission.get(), CHANNEL_PERMISSION_LEVEL)) {
             internalJoinChannel(player, channelName, config.alwaysOn);
             Verbatim.gameContext.sendMessage(player, text("Joined channel: ").withColor(GameColor.GREEN)
-                .append(Verbatim.chatFormatter.parseColors(config.displayPrefix + " " + config.name)));
+                .append(config.template().label()));
 
             if (config.mature) {
                 Verbatim.gameContext.sendMessage(player, Verbatim.gameContext.createWarningPrefix()
@@ -347,7 +537,7 @@ public class ChatChannelManager {
             return true;
         } else {
             Verbatim.gameContext.sendMessage(player, text("You do not have permission to join channel: ").withColor(GameColor.RED)
-                .append(Verbatim.chatFormatter.parseColors(config.displayPrefix + " " + config.name)));
+                .append(config.template().label()));
             return false;
         }
     }
@@ -377,6 +567,7 @@ public class ChatChannelManager {
         if (joinedChannels.get(player.getUUID()) == null) {
             joinedChannels.remove(player.getUUID());
         }
+        removeChannelMember(channelName, player.getUUID());
         savePlayerChannelState(player);
     }
 
@@ -388,19 +579,19 @@ public class ChatChannelManager {
         }
         if (config.alwaysOn) {
             Verbatim.gameContext.sendMessage(player, text("Cannot leave channel '").withColor(GameColor.RED)
-                .append(Verbatim.chatFormatter.parseColors(config.displayPrefix + " " + config.name))
+                .append(config.template().label())
                 .append(text("' as it is marked always-on.").withColor(GameColor.RED)));
             return false;
         }
         if (!isJoined(player, channelName)) {
             Verbatim.gameContext.sendMessage(player, text("You are not currently in channel: ").withColor(GameColor.YELLOW)
-                .append(Verbatim.chatFormatter.parseColors(config.displayPrefix + " " + config.name)));
+                .append(config.template().label()));
             return false;
         }
 
         internalLeaveChannel(player, channelName);
         Verbatim.gameContext.sendMessage(player, text("Left channel: ").withColor(GameColor.YELLOW)
-            .append(Verbatim.chatFormatter.parseColors(config.displayPrefix + " " + config.name)));
+            .append(config.template().label()));
 
         FocusTarget currentFocus = playerFocus.get(player.getUUID());
         if (currentFocus instanceof ChatFocus && channelName.equals(((ChatFocus) currentFocus).getChannelName())) {
@@ -424,7 +615,7 @@ public class ChatChannelManager {
             playerFocus.put(player.getUUID(), ChatFocus.createChannelFocus(channelName));
             savePlayerChannelState(player);
             Verbatim.gameContext.sendMessage(player, text("Focused channel: ").withColor(GameColor.GREEN)
-                .append(Verbatim.chatFormatter.parseColors(config.displayPrefix + " " + config.name)));
+                .append(config.template().label()));
 
             if (!wasJoined && config.mature) {
                 Verbatim.gameContext.sendMessage(player, Verbatim.gameContext.createWarningPrefix()
@@ -435,7 +626,7 @@ public class ChatChannelManager {
             }
         } else {
             Verbatim.gameContext.sendMessage(player, text("Cannot focus channel '").withColor(GameColor.RED)
-                .append(Verbatim.chatFormatter.parseColors(config.displayPrefix + " " + config.name))
+                .append(config.template().label())
                 .append(text("': You do not have permission.").withColor(GameColor.RED)));
         }
     }
@@ -453,8 +644,14 @@ public class ChatChannelManager {
             playerFocus.get(player.getUUID()));
         savePlayerChannelState(player);
         playerFocus.remove(player.getUUID());
-        joinedChannels.remove(player.getUUID());
+        Set<String> leftChannels = joinedChannels.remove(player.getUUID());
+        if (leftChannels != null) {
+            for (String channelName : leftChannels) {
+                removeChannelMember(channelName, player.getUUID());
+            }
+        }
         lastIncomingDmSender.remove(player.getUUID());
+        channelAccess.remove(player.getUUID());
     }
 
     public static void focusDm(GamePlayer player, UUID targetPlayerId) {
@@ -511,6 +708,10 @@ public class ChatChannelManager {
         focusDm(player, lastSender);
     }
 
+    /**
+     * Returns the online players joined to a channel, resolved from the member index
+     * rather than by scanning every online player.
+     */
     public static List<GamePlayer> getPlayersInChannel(String channelName) {
         List<GamePlayer> playersInChannel = new ArrayList<>();
         if (channelName == null || channelName.isEmpty()) {
@@ -520,14 +721,27 @@ public class ChatChannelManager {
             return playersInChannel;
         }
 
-        for (GamePlayer player : Verbatim.gameContext.getAllOnlinePlayers()) {
-            if (isJoined(player, channelName)) {
+        Set<UUID> members = channelMembers.get(channelName);
+        if (members == null) {
+            return playersInChannel;
+        }
+        for (UUID memberId : members) {
+            GamePlayer player = Verbatim.gameContext.getPlayerByUUID(memberId);
+            if (player != null) {
                 playersInChannel.add(player);
             }
         }
         return playersInChannel;
     }
 
+    /**
+     * Returns the number of players currently indexed as members of a channel.
+     */
+    public static int getChannelMemberCount(String channelName) {
+        Set<UUID> members = channelMembers.get(channelName);
+        return members == null ? 0 : members.size();
+    }
+
     public static boolean adminKickPlayerFromChannel(GamePlayer playerToKick, String channelName, GamePlayer executor) {
         Optional<ChannelConfig> channelConfigOpt = getChannelConfigByName(channelName);
 
@@ -0,0 +1,270 @@
+package world.landfall.verbatim;
+
+import world.landfall.verbatim.context.GameColor;
+import world.landfall.verbatim.context.GamePlayer;
+
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Opt-in asynchronous chat pipeline.
+ *
+ * Platform chat events only enqueue (sender UUID, raw text, timestamp) into a bounded queue.
+ * A single dispatcher thread then runs {@link ChatEventHandler#onChat} - prefix parsing, focus
+ * resolution, rendering and fan-out - off the server tick. Platforms whose send APIs are not
+ * thread-safe marshal the resulting sends back onto their server thread inside their GameContext,
+ * and serve the dispatcher's reads from state captured on that thread.
+ *
+ * Messages are handled by one thread at a time and in submission order. When the dispatcher is
+ * not running they are handled inline. When the queue is full, {@link #submit} drops the message
+ * straight away and tells the sender, rather than blocking the server thread or running it inline
+ * ahead of messages still queued. Queue and latency statistics are shown by {@code /verbatim stats}.
+ */
+public final class ChatDispatcher {
+
+    /**
+     * A chat message waiting to be dispatched.
+     */
+    public record PendingChat(UUID senderId, String rawText, long enqueuedAtNanos) {}
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    private static final PendingChat SHUTDOWN_MARKER = new PendingChat(new UUID(0, 0), "", 0);
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5000;
+    private static final long BACKLOG_WARN_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private static volatile BlockingQueue<PendingChat> queue;
+    private static volatile Thread dispatcherThread;
+    private static int queueCapacity;
+
+    // Statistics
+    private static final AtomicLong inFlight = new AtomicLong();
+    private static final AtomicLong dispatchedCount = new AtomicLong();
+    private static final AtomicLong droppedCount = new AtomicLong();
+    private static final AtomicLong totalLatencyNanos = new AtomicLong();
+    private static volatile long lastLatencyNanos;
+    private static volatile long maxLatencyNanos;
+    private static volatile long lastBacklogWarnNanos;
+
+    private ChatDispatcher() {}
+
+    /**
+     * Starts the dispatcher thread with a queue of the given capacity. Does nothing if already running.
+     */
+    public static synchronized void start(int capacity) {
+        if (dispatcherThread != null) {
+            return;
+        }
+        queueCapacity = Math.max(1, capacity);
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        Thread thread = new Thread(ChatDispatcher::runLoop, "Verbatim-ChatDispatcher");
+        thread.setDaemon(true);
+        dispatcherThread = thread;
+        thread.start();
+        Verbatim.LOGGER.info("[ChatDispatcher] Async chat dispatch started (queue capacity {})", queueCapacity);
+    }
+
+    /**
+     * Stops the dispatcher after it has processed everything already queued.
+     */
+    public static synchronized void shutdown() {
+        Thread thread = dispatcherThread;
+        if (thread == null) {
+            return;
+        }
+        BlockingQueue<PendingChat> q = queue;
+        try {
+            if (!q.offer(SHUTDOWN_MARKER, SHUTDOWN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                thread.interrupt();
+            }
+            thread.join(SHUTDOWN_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            thread.interrupt();
+            Thread.currentThread().interrupt();
+        }
+        boolean stopped = !thread.isAlive();
+        if (!stopped) {
+            Verbatim.LOGGER.warn("[ChatDispatcher] Dispatcher thread did not stop within {} ms", SHUTDOWN_TIMEOUT_MILLIS);
+        }
+        dispatcherThread = null;
+        queue = null;
+        // Anything that raced in behind the shutdown marker is handled inline, but only once the
+        // dispatcher has stopped; otherwise it could still be running a message of the same sender
+        PendingChat leftover;
+        while ((leftover = q.poll()) != null) {
+            if (leftover == SHUTDOWN_MARKER) {
+                continue;
+            }
+            if (stopped) {
+                dispatch(leftover);
+            } else {
+                Verbatim.LOGGER.warn("[ChatDispatcher] Dropping queued message from {} - dispatcher is stuck", leftover.senderId());
+                droppedCount.incrementAndGet();
+                inFlight.decrementAndGet();
+            }
+        }
+        Verbatim.LOGGER.info("[ChatDispatcher] Async chat dispatch stopped. {}", getStatsSummary());
+    }
+
+    /**
+     * Stops the dispatcher and clears statistics. Used for unit testing.
+     */
+    public static void reset() {
+        shutdown();
+        inFlight.set(0);
+        dispatchedCount.set(0);
+        droppedCount.set(0);
+        totalLatencyNanos.set(0);
+        lastLatencyNanos = 0;
+        maxLatencyNanos = 0;
+    }
+
+    public static boolean isRunning() {
+        return dispatcherThread != null;
+    }
+
+    /**
+     * Hands a chat message to the dispatcher. Runs it inline if the dispatcher is not running.
+     * Never blocks: if the queue is full the message is dropped and the sender is told so.
+     */
+    public static void submit(GamePlayer sender, String rawMessageText) {
+        BlockingQueue<PendingChat> q = queue;
+        if (q == null) {
+            ChatEventHandler.onChat(sender, rawMessageText);
+            return;
+        }
+
+        inFlight.incrementAndGet();
+        if (!q.offer(new PendingChat(sender.getUUID(), rawMessageText, System.nanoTime()))) {
+            inFlight.decrementAndGet();
+            droppedCount.incrementAndGet();
+            warnBacklog();
+            Verbatim.gameContext.sendMessage(sender, Verbatim.gameContext.createText("Chat is busy right now. Your message was not sent, please try again.").withColor(GameColor.YELLOW));
+            return;
+        }
+        if (q.size() >= queueCapacity * 3 / 4) {
+            warnBacklog();
+        }
+    }
+
+    private static void runLoop() {
+        BlockingQueue<PendingChat> q = queue;
+        while (true) {
+            PendingChat pending;
+            try {
+                pending = q.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (pending == SHUTDOWN_MARKER) {
+                return;
+            }
+            dispatch(pending);
+        }
+    }
+
+    private static void dispatch(PendingChat pending) {
+        try {
+            GamePlayer sender = Verbatim.gameContext.getPlayerByUUID(pending.senderId());
+            if (sender == null) {
+                Verbatim.LOGGER.debug("[ChatDispatcher] Dropping queued message from {} - player went offline", pending.senderId());
+                return;
+            }
+            ChatEventHandler.onChat(sender, pending.rawText());
+        } catch (Exception e) {
+            Verbatim.LOGGER.error("[ChatDispatcher] Unexpected error dispatching chat message.", e);
+        } finally {
+            // The sends may still be queued for the server thread; measure once they have gone out
+            Verbatim.gameContext.afterPendingSends(() -> recordDelivered(pending));
+        }
+    }
+
+    private static void recordDelivered(PendingChat pending) {
+        long latency = System.nanoTime() - pending.enqueuedAtNanos();
+        lastLatencyNanos = latency;
+        if (latency > maxLatencyNanos) {
+            maxLatencyNanos = latency;
+        }
+        totalLatencyNanos.addAndGet(latency);
+        dispatchedCount.incrementAndGet();
+        inFlight.decrementAndGet();
+    }
+
+    private static void warnBacklog() {
+        long now = System.nanoTime();
+        if (now - lastBacklogWarnNanos >= BACKLOG_WARN_INTERVAL_NANOS) {
+            lastBacklogWarnNanos = now;
+            Verbatim.LOGGER.warn("[ChatDispatcher] Chat queue backlog: {}", getStatsSummary());
+        }
+    }
+
+    /**
+     * Waits until every submitted message has been dispatched. Used for unit testing.
+     *
+     * @return true if the pipeline drained before the timeout
+     */
+    public static boolean awaitIdle(long timeoutMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (inFlight.get() > 0) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // === Statistics ===
+
+    /** Number of messages waiting in the queue. */
+    public static int getQueueDepth() {
+        BlockingQueue<PendingChat> q = queue;
+        return q == null ? 0 : q.size();
+    }
+
+    /** Capacity of the queue, or 0 if the dispatcher has never been started. */
+    public static int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /** Number of messages processed by the dispatcher thread. */
+    public static long getDispatchedCount() {
+        return dispatchedCount.get();
+    }
+
+    /** Number of messages dropped because the queue stayed full. */
+    public static long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /** Enqueue-to-delivery latency of the most recent message, in milliseconds. */
+    public static double getLastLatencyMillis() {
+        return lastLatencyNanos / 1_000_000.0;
+    }
+
+    /** Highest enqueue-to-delivery latency observed, in milliseconds. */
+    public static double getMaxLatencyMillis() {
+        return maxLatencyNanos / 1_000_000.0;
+    }
+
+    /** Mean enqueue-to-delivery latency, in milliseconds. */
+    public static double getAverageLatencyMillis() {
+        long count = dispatchedCount.get();
+        return count == 0 ? 0 : totalLatencyNanos.get() / (count * 1_000_000.0);
+    }
+
+    public static String getStatsSummary() {
+        return String.format("depth=%d/%d dispatched=%d dropped=%d latency(avg=%.2fms, last=%.2fms, max=%.2fms)",
+            getQueueDepth(), queueCapacity, getDispatchedCount(), getDroppedCount(),
+            getAverageLatencyMillis(), getLastLatencyMillis(), getMaxLatencyMillis());
+    }
+}
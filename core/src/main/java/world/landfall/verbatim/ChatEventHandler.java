@@ -2,6 +2,10 @@ package world.landfall.verbatim;
 
 import world.landfall.verbatim.chat.FocusTarget;
 import world.landfall.verbatim.chat.ChatFocus;
+import world.landfall.verbatim.chat.PlayerNameCache;
+import world.landfall.verbatim.chat.RenderedChannelMessage;
+import world.landfall.verbatim.chat.RenderedDirectMessage;
+import world.landfall.verbatim.chat.SpatialGrid;
 import world.landfall.verbatim.context.GameColor;
 import world.landfall.verbatim.context.GameComponent;
 import world.landfall.verbatim.context.GamePlayer;
@@ -12,12 +16,21 @@ import world.landfall.verbatim.util.NicknameService;
 import world.landfall.verbatim.util.SocialService;
 import static world.landfall.verbatim.context.GameText.*;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 public class ChatEventHandler {
 
+    // A failing tick usually fails again on the next one, so failures are logged at most this often
+    private static final long TICK_FAILURE_LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static volatile long lastTickFailureLogNanos;
+
     public static void onPlayerLogin(GamePlayer player) {
         if (!ChatChannelManager.isInitialized()) {
             Verbatim.LOGGER.warn("[Verbatim ChatEvent] ChatChannelManager not yet initialized during login for {}. Skipping channel setup.", player.getUsername());
@@ -57,7 +70,7 @@ public class ChatEventHandler {
                     Verbatim.gameContext.sendMessage(player,
                         Verbatim.gameContext.createInfoPrefix()
                             .append(Verbatim.gameContext.createText("Focused channel: "))
-                            .append(Verbatim.chatFormatter.parseColors(config.displayPrefix))
+                            .append(config.template().prefix())
                             .append(Verbatim.gameContext.createText(" " + config.name).withColor(GameColor.YELLOW))
                     );
                 }
@@ -78,7 +91,7 @@ public class ChatEventHandler {
                 ChatChannelManager.getChannelConfigByName(joinedChannelName).ifPresent(jc -> {
                     Verbatim.gameContext.sendMessage(player,
                         Verbatim.gameContext.createText("  - ")
-                            .append(Verbatim.chatFormatter.parseColors(jc.displayPrefix))
+                            .append(jc.template().prefix())
                             .append(Verbatim.gameContext.createText(" " + jc.name).withColor(GameColor.DARK_AQUA)));
                 });
             }
@@ -122,6 +135,7 @@ public class ChatEventHandler {
         }
         ChatChannelManager.playerLoggedOut(player);
         NicknameService.onPlayerLogout(player.getUUID());
+        PlayerNameCache.onPlayerLogout(player.getUUID());
         SocialService.updateFavoriteMetaForPlayer(player.getUUID(), player.getUsername(), System.currentTimeMillis());
         SocialService.onPlayerLogout(player.getUUID());
     }
@@ -210,7 +224,7 @@ public class ChatEventHandler {
                     ChatChannelManager.focusChannel(sender, defaultChannel.name);
                     targetFocusOpt = Optional.of(ChatFocus.createChannelFocus(defaultChannel.name));
                     Verbatim.gameContext.sendMessage(sender, Verbatim.gameContext.createText("You were not focused on anything. Message sent to default: ")
-                        .append(Verbatim.chatFormatter.parseColors(defaultChannel.displayPrefix))
+                        .append(defaultChannel.template().prefix())
                         .append(Verbatim.gameContext.createText(" " + defaultChannel.name).withColor(GameColor.YELLOW)));
                 } else {
                     Verbatim.gameContext.sendMessage(sender, Verbatim.gameContext.createText("Error: No active or default channel. Message not sent.").withColor(GameColor.RED));
@@ -248,20 +262,9 @@ public class ChatEventHandler {
 
                 ChatChannelManager.setLastIncomingDmSender(targetPlayer, sender.getUUID());
 
-                GameComponent senderMessage = Verbatim.gameContext.createText("[You -> ")
-                    .withColor(GameColor.LIGHT_PURPLE)
-                    .append(Verbatim.gameContext.createText(targetPlayer.getUsername()).withColor(GameColor.YELLOW))
-                    .append(Verbatim.gameContext.createText("]: ").withColor(GameColor.LIGHT_PURPLE))
-                    .append(Verbatim.chatFormatter.parsePlayerInputWithPermissions("&f", messageContent, sender));
-
-                GameComponent recipientMessage = Verbatim.gameContext.createText("[")
-                    .withColor(GameColor.LIGHT_PURPLE)
-                    .append(Verbatim.gameContext.createText(sender.getUsername()).withColor(GameColor.YELLOW))
-                    .append(Verbatim.gameContext.createText(" -> You]: ").withColor(GameColor.LIGHT_PURPLE))
-                    .append(Verbatim.chatFormatter.parsePlayerInputWithPermissions("&f", messageContent, sender));
-
-                Verbatim.gameContext.sendMessage(sender, senderMessage);
-                Verbatim.gameContext.sendMessage(targetPlayer, recipientMessage);
+                RenderedDirectMessage dm = RenderedDirectMessage.render(sender, targetPlayer, messageContent);
+                Verbatim.gameContext.sendMessage(sender, dm.senderView());
+                Verbatim.gameContext.sendMessage(targetPlayer, dm.recipientView());
                 return;
             }
 
@@ -276,10 +279,12 @@ public class ChatEventHandler {
 
                 ChatChannelManager.ChannelConfig finalTargetChannel = channelConfigOpt.get();
 
+                // The sender gets one live check so a revoked permission is caught immediately;
+                // recomputing their bitmap also removes them from channels they lost.
                 if (!finalTargetChannel.alwaysOn && finalTargetChannel.permission.isPresent() && !Verbatim.permissionService.hasPermission(sender, finalTargetChannel.permission.get(), ChatChannelManager.CHANNEL_PERMISSION_LEVEL)) {
-                    ChatChannelManager.autoLeaveChannel(sender, finalTargetChannel.name);
+                    ChatChannelManager.refreshChannelAccess(sender);
                     Verbatim.gameContext.sendMessage(sender, Verbatim.gameContext.createText("You no longer have permission to send messages in '")
-                        .append(Verbatim.chatFormatter.parseColors(finalTargetChannel.displayPrefix + " " + finalTargetChannel.name))
+                        .append(finalTargetChannel.template().label())
                         .append(Verbatim.gameContext.createText("'. Message not sent.").withColor(GameColor.RED)));
                     return;
                 }
@@ -290,8 +295,10 @@ public class ChatEventHandler {
 
                 Optional<FormattedMessageDetails> specialFormatResult = Verbatim.channelFormatter.formatLocalMessage(sender, finalTargetChannel, messageContent);
 
+                // Render once; every recipient shares the same components. Special-format channels
+                // have no favorite variant, so rendered stays null for them.
                 GameComponent finalMessage;
-                GameComponent favMessage = null;
+                RenderedChannelMessage rendered = null;
                 int effectiveRange;
 
                 if (specialFormatResult.isPresent()) {
@@ -300,62 +307,78 @@ public class ChatEventHandler {
                     effectiveRange = details.effectiveRange;
                 } else {
                     effectiveRange = finalTargetChannel.range;
-                    finalMessage = empty()
-                        .append(Verbatim.chatFormatter.parseColors(finalTargetChannel.displayPrefix))
-                        .append(text(" "))
-                        .append(Verbatim.chatFormatter.createPlayerNameComponent(sender, finalTargetChannel.nameColor, false, finalTargetChannel.nameStyle))
-                        .append(Verbatim.chatFormatter.parseColors(finalTargetChannel.separatorColor + finalTargetChannel.separator))
-                        .append(Verbatim.chatFormatter.parsePlayerInputWithPermissions(finalTargetChannel.messageColor, messageContent, sender));
-
-                    favMessage = empty()
-                        .append(Verbatim.chatFormatter.parseColors(finalTargetChannel.displayPrefix))
-                        .append(text(" "))
-                        .append(Verbatim.chatFormatter.createFavoriteNameComponent(sender, finalTargetChannel.nameColor, false, finalTargetChannel.nameStyle, 0xB8860B, 0xFFD700))
-                        .append(Verbatim.chatFormatter.parseColors(finalTargetChannel.separatorColor + finalTargetChannel.separator))
-                        .append(Verbatim.chatFormatter.parsePlayerInputWithPermissions(finalTargetChannel.messageColor, messageContent, sender));
+                    rendered = RenderedChannelMessage.render(sender, finalTargetChannel, messageContent);
+                    finalMessage = rendered.standard();
                 }
+                final RenderedChannelMessage renderedMessage = rendered;
 
                 if (!Verbatim.gameContext.isServerAvailable()) {
                     return;
                 }
 
-                for (GamePlayer recipient : Verbatim.gameContext.getAllOnlinePlayers()) {
-                    if (ChatChannelManager.isJoined(recipient, finalTargetChannel.name)) {
-                        if (!recipient.equals(sender) && SocialService.isIgnoring(recipient, sender.getUUID())) {
-                            continue;
+                // Ranged channels only consider players near the sender when a fresh spatial snapshot exists;
+                // otherwise fall back to measuring every channel member.
+                Map<UUID, Double> nearbyDistances = null;
+                if (effectiveRange >= 0) {
+                    double audibleDistance = specialFormatResult
+                        .map(FormattedMessageDetails::getAudibleDistance)
+                        .orElse((double) effectiveRange);
+                    nearbyDistances = SpatialGrid.findNearby(sender.getUUID(), audibleDistance);
+                }
+
+                List<GamePlayer> recipients;
+                if (nearbyDistances != null) {
+                    recipients = new ArrayList<>(nearbyDistances.size());
+                    for (UUID nearbyId : nearbyDistances.keySet()) {
+                        GamePlayer nearby = Verbatim.gameContext.getPlayerByUUID(nearbyId);
+                        if (nearby != null && ChatChannelManager.isJoined(nearby, finalTargetChannel.name)) {
+                            recipients.add(nearby);
                         }
-                        if (finalTargetChannel.alwaysOn || !finalTargetChannel.permission.isPresent() || Verbatim.permissionService.hasPermission(recipient, finalTargetChannel.permission.get(), ChatChannelManager.CHANNEL_PERMISSION_LEVEL)) {
-                            if (effectiveRange >= 0) {
-                                double distSqr = Verbatim.gameContext.getDistanceSquared(recipient, sender);
-                                if (recipient.equals(sender)) {
-                                    Verbatim.gameContext.sendMessage(recipient, finalMessage);
-                                } else {
-                                    GameComponent messageToSend = specialFormatResult
-                                        .map(details -> details.getMessageForDistance(distSqr))
-                                        .orElseGet(() -> distSqr <= (long) effectiveRange * effectiveRange ? finalMessage : null);
-
-                                    if (messageToSend != null) {
-                                        boolean isFav = SocialService.isFavorited(recipient, sender.getUUID());
-                                        if (isFav && favMessage != null) {
-                                            Verbatim.gameContext.sendMessage(recipient, favMessage);
-                                        } else {
-                                            Verbatim.gameContext.sendMessage(recipient, messageToSend);
-                                        }
-                                    }
-                                }
-                            } else {
-                                boolean isFav = !recipient.equals(sender) && SocialService.isFavorited(recipient, sender.getUUID());
-                                if (isFav && favMessage != null) {
-                                    Verbatim.gameContext.sendMessage(recipient, favMessage);
+                    }
+                } else {
+                    recipients = ChatChannelManager.getPlayersInChannel(finalTargetChannel.name);
+                }
+
+                // Group recipients by the exact component they should see, then make one bulk send per variant
+                Map<GameComponent, List<GamePlayer>> deliveries = new IdentityHashMap<>();
+                for (GamePlayer recipient : recipients) {
+                    if (!recipient.equals(sender) && SocialService.isIgnoring(recipient, sender.getUUID())) {
+                        continue;
+                    }
+                    // Members who lost access are removed by the access refresh, not here
+                    if (!ChatChannelManager.canAccessChannel(recipient, finalTargetChannel)) {
+                        continue;
+                    }
+                    if (effectiveRange >= 0) {
+                        double distSqr = nearbyDistances != null
+                            ? nearbyDistances.get(recipient.getUUID())
+                            : Verbatim.gameContext.getDistanceSquared(recipient, sender);
+                        if (recipient.equals(sender)) {
+                            addDelivery(deliveries, recipient, finalMessage);
+                        } else {
+                            GameComponent messageToSend = specialFormatResult
+                                .map(details -> details.getMessageForDistance(distSqr))
+                                .orElseGet(() -> distSqr <= (long) effectiveRange * effectiveRange ? finalMessage : null);
+
+                            if (messageToSend != null) {
+                                boolean isFav = renderedMessage != null && SocialService.isFavorited(recipient, sender.getUUID());
+                                if (isFav) {
+                                    addDelivery(deliveries, recipient, renderedMessage.favorite());
                                 } else {
-                                    Verbatim.gameContext.sendMessage(recipient, finalMessage);
+                                    addDelivery(deliveries, recipient, messageToSend);
                                 }
                             }
+                        }
+                    } else {
+                        boolean isFav = renderedMessage != null && !recipient.equals(sender) && SocialService.isFavorited(recipient, sender.getUUID());
+                        if (isFav) {
+                            addDelivery(deliveries, recipient, renderedMessage.favorite());
                         } else {
-                            ChatChannelManager.autoLeaveChannel(recipient, finalTargetChannel.name);
+                            addDelivery(deliveries, recipient, finalMessage);
                         }
                     }
                 }
+                deliveries.forEach((message, players) -> Verbatim.gameContext.sendMessage(players, message));
             }
         } catch (NoClassDefFoundError e) {
             Verbatim.LOGGER.error("[Verbatim ChatEvent] Class loading error during message processing.", e);
@@ -366,18 +389,32 @@ public class ChatEventHandler {
         }
     }
 
+    private static void addDelivery(Map<GameComponent, List<GamePlayer>> deliveries, GamePlayer recipient, GameComponent message) {
+        deliveries.computeIfAbsent(message, k -> new ArrayList<>()).add(recipient);
+    }
+
+    /**
+     * Per-tick housekeeping. Platforms call this once per server tick.
+     * Never throws, since a scheduled executor stops running a task after its first exception.
+     */
+    public static void onServerTick() {
+        try {
+            SpatialGrid.refresh();
+            ChatChannelManager.refreshExpiredChannelAccess();
+        } catch (Exception e) {
+            long now = System.nanoTime();
+            if (now - lastTickFailureLogNanos >= TICK_FAILURE_LOG_INTERVAL_NANOS) {
+                lastTickFailureLogNanos = now;
+                Verbatim.LOGGER.error("[Verbatim ChatEvent] Server tick housekeeping failed.", e);
+            }
+        }
+    }
+
     public static void onConfigReload() {
         ChatChannelManager.loadConfiguredChannels();
         if (Verbatim.gameContext.isServerAvailable()) {
             for (GamePlayer player : Verbatim.gameContext.getAllOnlinePlayers()) {
-                Set<String> currentJoined = ChatChannelManager.getJoinedChannels(player);
-                for (String joinedChannelName : new HashSet<>(currentJoined)) {
-                    ChatChannelManager.getChannelConfigByName(joinedChannelName).ifPresent(config -> {
-                        if (!config.alwaysOn && config.permission.isPresent() && !Verbatim.permissionService.hasPermission(player, config.permission.get(), ChatChannelManager.CHANNEL_PERMISSION_LEVEL)) {
-                            ChatChannelManager.autoLeaveChannel(player, config.name);
-                        }
-                    });
-                }
+                ChatChannelManager.refreshChannelAccess(player);
 
                 for (ChatChannelManager.ChannelConfig config : ChatChannelManager.getAllChannelConfigs()) {
                     if (config.alwaysOn) {
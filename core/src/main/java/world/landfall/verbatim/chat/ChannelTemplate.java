@@ -0,0 +1,87 @@
+package world.landfall.verbatim.chat;
+
+import world.landfall.verbatim.ChatChannelManager;
+import world.landfall.verbatim.Verbatim;
+import world.landfall.verbatim.context.GameColor;
+import world.landfall.verbatim.context.GameComponent;
+
+/**
+ * A channel's formatting compiled once when channels are loaded.
+ * Holds the parsed prefix, label and separator components and the resolved message base colour,
+ * so sending a message only has to parse the player-supplied text.
+ * Components are shared; append them to other components but never mutate them.
+ */
+public final class ChannelTemplate {
+    // Returned by resolveBaseColor when the codes contain no colour
+    public static final int NO_COLOR = -1;
+
+    private final GameComponent prefix;
+    private final GameComponent label;
+    private final GameComponent separator;
+    private final int messageColorRgb;
+
+    private ChannelTemplate(ChatChannelManager.ChannelConfig config) {
+        this.prefix = Verbatim.chatFormatter.parseColors(config.displayPrefix);
+        this.label = Verbatim.chatFormatter.parseColors(config.displayPrefix + " " + config.name);
+        this.separator = Verbatim.chatFormatter.parseColors(config.separatorColor + config.separator);
+        this.messageColorRgb = resolveBaseColor(config.messageColor);
+    }
+
+    public static ChannelTemplate compile(ChatChannelManager.ChannelConfig config) {
+        return new ChannelTemplate(config);
+    }
+
+    /**
+     * Gets the channel's display prefix, e.g. "[G]".
+     */
+    public GameComponent prefix() {
+        return prefix;
+    }
+
+    /**
+     * Gets the display prefix followed by the channel name, as shown in join/leave/focus notices.
+     */
+    public GameComponent label() {
+        return label;
+    }
+
+    /**
+     * Gets the coloured name/message separator.
+     */
+    public GameComponent separator() {
+        return separator;
+    }
+
+    /**
+     * Gets the base RGB colour for message bodies, or {@link #NO_COLOR}.
+     */
+    public int messageColorRgb() {
+        return messageColorRgb;
+    }
+
+    /**
+     * Resolves a channel colour string ("&e", "&#FFAA00", "&l&7") to the RGB of its effective colour.
+     * A leading hex colour wins; otherwise the last legacy colour code applies. Format codes are ignored.
+     *
+     * @return the RGB value, or {@link #NO_COLOR} if the string sets no colour
+     */
+    public static int resolveBaseColor(String colorCodes) {
+        if (colorCodes == null || colorCodes.isEmpty()) {
+            return NO_COLOR;
+        }
+        if (colorCodes.startsWith("&#") && colorCodes.length() >= 8) {
+            try {
+                return Integer.parseInt(colorCodes.substring(2, 8), 16);
+            } catch (NumberFormatException e) {
+                return NO_COLOR;
+            }
+        }
+        int rgb = NO_COLOR;
+        for (int i = 0; i < colorCodes.length() - 1; i++) {
+            if (colorCodes.charAt(i) == '&' && Character.digit(colorCodes.charAt(i + 1), 16) >= 0) {
+                rgb = GameColor.fromCode(colorCodes.charAt(i + 1)).getRgb();
+            }
+        }
+        return rgb;
+    }
+}
@@ -0,0 +1,98 @@
+package world.landfall.verbatim.chat;
+
+import world.landfall.verbatim.NameStyle;
+import world.landfall.verbatim.context.ComponentNode;
+import world.landfall.verbatim.context.GameComponent;
+import world.landfall.verbatim.context.GamePlayer;
+import world.landfall.verbatim.context.NodeComponent;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Per-player cache of rendered name components.
+ *
+ * Building a name means resolving the nickname, looking up the prefix and its tooltip in the
+ * permission plugin and parsing colour codes in all three, which is far more work than the
+ * message itself. The result only changes when the nickname, the prefix/group data or the
+ * display name changes, so formatters build it once per (name style, colour prefix, DM flag,
+ * gradient) and hand out views over the cached node.
+ *
+ * Entries are dropped by {@link #invalidate(UUID)} when a nickname is set or cleared, when the
+ * permission plugin reports a data change, and on logout. A changed display name is picked up
+ * on the next lookup, since other plugins can change it without telling us.
+ */
+public final class PlayerNameCache {
+
+    private static final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+
+    private record Key(NameStyle nameStyle, String colorPrefix, boolean isDM, boolean favorite, int gradientStartRgb, int gradientEndRgb) {}
+
+    private static final class Entry {
+        final String displayName;
+        final Map<Key, ComponentNode> names = new ConcurrentHashMap<>();
+
+        Entry(String displayName) {
+            this.displayName = displayName;
+        }
+    }
+
+    private PlayerNameCache() {}
+
+    /**
+     * Gets the player's standard name component, building it with {@code builder} on a miss.
+     * The returned component is a fresh view and may be modified by the caller.
+     */
+    public static GameComponent getPlayerName(GamePlayer player, String colorPrefix, boolean isDM, NameStyle nameStyle,
+                                              Supplier<GameComponent> builder) {
+        return lookup(player, new Key(nameStyle, colorPrefix, isDM, false, 0, 0), builder);
+    }
+
+    /**
+     * Gets the player's gradient name component for favourited senders, building it on a miss.
+     */
+    public static GameComponent getFavoriteName(GamePlayer player, String colorPrefix, boolean isDM, NameStyle nameStyle,
+                                                int gradientStartRgb, int gradientEndRgb, Supplier<GameComponent> builder) {
+        return lookup(player, new Key(nameStyle, colorPrefix, isDM, true, gradientStartRgb, gradientEndRgb), builder);
+    }
+
+    private static GameComponent lookup(GamePlayer player, Key key, Supplier<GameComponent> builder) {
+        UUID playerId = player.getUUID();
+        String displayName = player.getDisplayName();
+
+        Entry entry = entries.get(playerId);
+        if (entry == null || !Objects.equals(entry.displayName, displayName)) {
+            entry = new Entry(displayName);
+            entries.put(playerId, entry);
+        }
+
+        ComponentNode node = entry.names.get(key);
+        if (node == null) {
+            node = NodeComponent.nodeOf(builder.get());
+            // Stored on the entry we looked up, so a build racing an invalidation lands in the discarded entry
+            entry.names.put(key, node);
+        }
+        return new NodeComponent(node);
+    }
+
+    /**
+     * Drops every cached name for a player.
+     */
+    public static void invalidate(UUID playerId) {
+        entries.remove(playerId);
+    }
+
+    /**
+     * Drops every cached name, e.g. after a group's prefix changed.
+     */
+    public static void invalidateAll() {
+        entries.clear();
+    }
+
+    public static void onPlayerLogout(UUID playerId) {
+        invalidate(playerId);
+    }
+}
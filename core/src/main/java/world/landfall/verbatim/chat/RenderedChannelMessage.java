@@ -0,0 +1,77 @@
+package world.landfall.verbatim.chat;
+
+import world.landfall.verbatim.ChatChannelManager;
+import world.landfall.verbatim.Verbatim;
+import world.landfall.verbatim.context.GameComponent;
+import world.landfall.verbatim.context.GamePlayer;
+
+import static world.landfall.verbatim.context.GameText.*;
+
+/**
+ * A channel message rendered once and shared by every recipient.
+ * The prefix and separator come from the channel's compiled {@link ChannelTemplate}, so only the
+ * player-supplied body is parsed; the favorite variant reuses those pieces and is only assembled
+ * when first requested.
+ * Rendered components must not be mutated after they are handed out.
+ */
+public final class RenderedChannelMessage {
+    // Gold gradient used for favorited senders' names
+    public static final int FAVORITE_GRADIENT_START = 0xB8860B;
+    public static final int FAVORITE_GRADIENT_END = 0xFFD700;
+
+    private final GamePlayer sender;
+    private final ChatChannelManager.ChannelConfig channel;
+    private final ChannelTemplate template;
+    private final GameComponent body;
+    private final GameComponent standard;
+    private GameComponent favorite;
+
+    private RenderedChannelMessage(GamePlayer sender, ChatChannelManager.ChannelConfig channel, String messageContent) {
+        this.sender = sender;
+        this.channel = channel;
+        this.template = channel.template();
+        this.body = Verbatim.chatFormatter.parsePlayerInputWithPermissions(template.messageColorRgb(), messageContent, sender);
+        this.standard = assemble(Verbatim.chatFormatter.createPlayerNameComponent(sender, channel.nameColor, false, channel.nameStyle));
+    }
+
+    /**
+     * Renders a standard (non special-format) channel message.
+     */
+    public static RenderedChannelMessage render(GamePlayer sender, ChatChannelManager.ChannelConfig channel, String messageContent) {
+        return new RenderedChannelMessage(sender, channel, messageContent);
+    }
+
+    /**
+     * Gets the message as seen by ordinary recipients.
+     */
+    public GameComponent standard() {
+        return standard;
+    }
+
+    /**
+     * Gets the message as seen by recipients who favorited the sender, building it on first use.
+     */
+    public GameComponent favorite() {
+        if (favorite == null) {
+            favorite = assemble(Verbatim.chatFormatter.createFavoriteNameComponent(sender, channel.nameColor, false,
+                channel.nameStyle, FAVORITE_GRADIENT_START, FAVORITE_GRADIENT_END));
+        }
+        return favorite;
+    }
+
+    /**
+     * Whether the favorite variant has been built.
+     */
+    public boolean hasFavoriteVariant() {
+        return favorite != null;
+    }
+
+    private GameComponent assemble(GameComponent nameComponent) {
+        return empty()
+            .append(template.prefix())
+            .append(text(" "))
+            .append(nameComponent)
+            .append(template.separator())
+            .append(body);
+    }
+}
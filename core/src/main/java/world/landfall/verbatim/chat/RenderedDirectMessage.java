@@ -0,0 +1,51 @@
+package world.landfall.verbatim.chat;
+
+import world.landfall.verbatim.Verbatim;
+import world.landfall.verbatim.context.GameColor;
+import world.landfall.verbatim.context.GameComponent;
+import world.landfall.verbatim.context.GamePlayer;
+
+import static world.landfall.verbatim.context.GameText.*;
+
+/**
+ * A direct message rendered once for both ends of the conversation.
+ * The message body is parsed a single time and shared by the sender's and recipient's views.
+ */
+public final class RenderedDirectMessage {
+    private final GameComponent senderView;
+    private final GameComponent recipientView;
+
+    private RenderedDirectMessage(GamePlayer sender, GamePlayer target, String messageContent) {
+        GameComponent body = Verbatim.chatFormatter.parsePlayerInputWithPermissions("&f", messageContent, sender);
+
+        this.senderView = text("[You -> ")
+            .withColor(GameColor.LIGHT_PURPLE)
+            .append(text(target.getUsername()).withColor(GameColor.YELLOW))
+            .append(text("]: ").withColor(GameColor.LIGHT_PURPLE))
+            .append(body);
+
+        this.recipientView = text("[")
+            .withColor(GameColor.LIGHT_PURPLE)
+            .append(text(sender.getUsername()).withColor(GameColor.YELLOW))
+            .append(text(" -> You]: ").withColor(GameColor.LIGHT_PURPLE))
+            .append(body);
+    }
+
+    public static RenderedDirectMessage render(GamePlayer sender, GamePlayer target, String messageContent) {
+        return new RenderedDirectMessage(sender, target, messageContent);
+    }
+
+    /**
+     * Gets the "[You -> target]" view shown to the sender.
+     */
+    public GameComponent senderView() {
+        return senderView;
+    }
+
+    /**
+     * Gets the "[sender -> You]" view shown to the recipient.
+     */
+    public GameComponent recipientView() {
+        return recipientView;
+    }
+}
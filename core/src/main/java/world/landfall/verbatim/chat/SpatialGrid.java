@@ -0,0 +1,153 @@
+package world.landfall.verbatim.chat;
+
+import world.landfall.verbatim.Verbatim;
+import world.landfall.verbatim.context.PlayerPosition;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spatial hash grid over online player positions, partitioned by world.
+ * Rebuilt from {@code GameContext.snapshotPlayerPositions()} once per server tick, so range-limited
+ * chat only measures players in nearby cells instead of every channel member.
+ * Readers always see a complete, immutable snapshot, making queries safe from async chat threads.
+ */
+public final class SpatialGrid {
+    // Cell edge length in blocks (one chunk)
+    static final int CELL_SIZE = 16;
+
+    // Snapshots older than this are ignored and callers fall back to direct distance checks
+    static final long MAX_SNAPSHOT_AGE_MS = 1000;
+
+    // A failing snapshot usually fails every tick, so failures are logged at most this often
+    private static final long FAILURE_LOG_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private static volatile Snapshot current;
+    private static volatile long lastFailureLogNanos;
+
+    private SpatialGrid() {}
+
+    /**
+     * Rebuilds the grid from the game context's current player positions.
+     * Platforms call this once per server tick.
+     */
+    public static void refresh() {
+        if (Verbatim.gameContext == null || !Verbatim.gameContext.isServerAvailable()) {
+            return;
+        }
+        try {
+            update(Verbatim.gameContext.snapshotPlayerPositions());
+        } catch (Exception e) {
+            long now = System.nanoTime();
+            if (now - lastFailureLogNanos >= FAILURE_LOG_INTERVAL_NANOS) {
+                lastFailureLogNanos = now;
+                Verbatim.LOGGER.warn("[SpatialGrid] Failed to snapshot player positions; range-limited chat falls back to direct distance checks: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Replaces the grid contents with the given positions.
+     */
+    public static void update(Collection<PlayerPosition> positions) {
+        current = new Snapshot(positions, System.currentTimeMillis());
+    }
+
+    /**
+     * Clears the grid. Used on shutdown and for unit testing.
+     */
+    public static void reset() {
+        current = null;
+    }
+
+    /**
+     * Finds every player within {@code radius} of the given player, including the player itself.
+     *
+     * @return squared distances keyed by player UUID, or null if there is no fresh snapshot containing the player
+     */
+    public static Map<UUID, Double> findNearby(UUID centerId, double radius) {
+        Snapshot snapshot = current;
+        if (snapshot == null || System.currentTimeMillis() - snapshot.takenAt > MAX_SNAPSHOT_AGE_MS) {
+            return null;
+        }
+        PlayerPosition center = snapshot.byPlayer.get(centerId);
+        if (center == null) {
+            return null;
+        }
+        return snapshot.query(center, radius);
+    }
+
+    private static int cellCoord(double value) {
+        return (int) Math.floor(value / CELL_SIZE);
+    }
+
+    private static long cellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    private static final class Snapshot {
+        final long takenAt;
+        final Map<UUID, PlayerPosition> byPlayer = new HashMap<>();
+        final Map<String, Map<Long, List<PlayerPosition>>> cellsByWorld = new HashMap<>();
+
+        Snapshot(Collection<PlayerPosition> positions, long takenAt) {
+            this.takenAt = takenAt;
+            for (PlayerPosition pos : positions) {
+                if (pos == null || pos.worldId() == null) {
+                    continue;
+                }
+                byPlayer.put(pos.playerId(), pos);
+                cellsByWorld.computeIfAbsent(pos.worldId(), k -> new HashMap<>())
+                    .computeIfAbsent(cellKey(cellCoord(pos.x()), cellCoord(pos.z())), k -> new ArrayList<>(4))
+                    .add(pos);
+            }
+        }
+
+        Map<UUID, Double> query(PlayerPosition center, double radius) {
+            Map<Long, List<PlayerPosition>> cells = cellsByWorld.get(center.worldId());
+            if (cells == null) {
+                return Collections.emptyMap();
+            }
+            double radiusSq = radius * radius;
+            Map<UUID, Double> result = new HashMap<>();
+
+            int minX = cellCoord(center.x() - radius);
+            int maxX = cellCoord(center.x() + radius);
+            int minZ = cellCoord(center.z() - radius);
+            int maxZ = cellCoord(center.z() + radius);
+            long cellsInRange = (long) (maxX - minX + 1) * (maxZ - minZ + 1);
+
+            if (cellsInRange > cells.size()) {
+                // Sparse world: cheaper to walk the occupied cells than probe every cell in range
+                for (List<PlayerPosition> cell : cells.values()) {
+                    collect(cell, center, radiusSq, result);
+                }
+            } else {
+                for (int cx = minX; cx <= maxX; cx++) {
+                    for (int cz = minZ; cz <= maxZ; cz++) {
+                        List<PlayerPosition> cell = cells.get(cellKey(cx, cz));
+                        if (cell != null) {
+                            collect(cell, center, radiusSq, result);
+                        }
+                    }
+                }
+            }
+            return result;
+        }
+
+        private static void collect(List<PlayerPosition> cell, PlayerPosition center, double radiusSq, Map<UUID, Double> result) {
+            for (PlayerPosition pos : cell) {
+                double distSq = center.distanceSquared(pos);
+                if (distSq <= radiusSq) {
+                    result.put(pos.playerId(), distSq);
+                }
+            }
+        }
+    }
+}
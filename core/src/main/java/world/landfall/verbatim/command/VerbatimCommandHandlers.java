@@ -1,7 +1,9 @@
 package world.landfall.verbatim.command;
 
 import world.landfall.verbatim.ChatChannelManager;
+import world.landfall.verbatim.ChatDispatcher;
 import world.landfall.verbatim.Verbatim;
+import world.landfall.verbatim.chat.RenderedDirectMessage;
 import world.landfall.verbatim.util.MailService;
 import world.landfall.verbatim.util.NicknameService;
 import world.landfall.verbatim.util.SocialService;
@@ -30,6 +32,7 @@ public class VerbatimCommandHandlers {
 
     public static final String PERM_ADMIN_CHLIST = "verbatim.admin.chlist";
     public static final String PERM_ADMIN_CHKICK = "verbatim.admin.chkick";
+    public static final String PERM_ADMIN_STATS = "verbatim.admin.stats";
 
     public static int executeCustomListCommand(GameCommandSource source) {
         List<GamePlayer> onlinePlayers = Verbatim.gameContext.getAllOnlinePlayers();
@@ -41,19 +44,21 @@ public class VerbatimCommandHandlers {
 
         GameComponent message = text("Online Players (" + onlinePlayers.size() + "):").withColor(GameColor.GOLD);
 
+        // Strip each display name once; both passes below need it
+        String[] strippedDisplayNames = new String[onlinePlayers.size()];
         boolean anyPlayerHasCustomDisplayName = false;
-        for (GamePlayer player : onlinePlayers) {
-            String username = player.getUsername();
-            String strippedDisplayName = FormattingCodeUtils.stripFormattingCodes(player.getDisplayName());
-            if (!username.equals(strippedDisplayName)) {
+        for (int i = 0; i < strippedDisplayNames.length; i++) {
+            GamePlayer player = onlinePlayers.get(i);
+            strippedDisplayNames[i] = FormattingCodeUtils.strip(player.getDisplayName());
+            if (!player.getUsername().equals(strippedDisplayNames[i])) {
                 anyPlayerHasCustomDisplayName = true;
-                break;
             }
         }
 
-        for (GamePlayer player : onlinePlayers) {
+        for (int i = 0; i < strippedDisplayNames.length; i++) {
+            GamePlayer player = onlinePlayers.get(i);
             String username = player.getUsername();
-            String strippedDisplayName = FormattingCodeUtils.stripFormattingCodes(player.getDisplayName());
+            String strippedDisplayName = strippedDisplayNames[i];
             boolean currentPlayerHasCustomDisplayName = !username.equals(strippedDisplayName);
 
             message = message.append("\n - ");
@@ -94,7 +99,7 @@ public class VerbatimCommandHandlers {
 
         for (GamePlayer player : onlinePlayers) {
             String username = player.getUsername();
-            String strippedDisplayName = FormattingCodeUtils.stripFormattingCodes(player.getDisplayName());
+            String strippedDisplayName = FormattingCodeUtils.strip(player.getDisplayName());
             String formattedName = username;
             if (!username.equals(strippedDisplayName)) {
                 formattedName = strippedDisplayName + " (" + username + ")";
@@ -113,7 +118,7 @@ public class VerbatimCommandHandlers {
             return 0;
         }
         for (ChatChannelManager.ChannelConfig channel : allChannels) {
-            message = message.append(Verbatim.chatFormatter.parseColors(channel.displayPrefix))
+            message = message.append(channel.template().prefix())
                  .append(text(" " + channel.name).withColor(GameColor.YELLOW))
                  .append(text(" (Shortcut: " + channel.shortcut + ")").withColor(GameColor.GRAY));
             if (channel.range >= 0) {
@@ -139,7 +144,7 @@ public class VerbatimCommandHandlers {
             final GameComponent[] messageHolder = {message};
             ChatChannelManager.getFocusedChannelConfig(player).ifPresent(focused -> {
                  messageHolder[0] = messageHolder[0].append(text("\nYour Focused Channel: ").withColor(GameColor.BLUE))
-                    .append(Verbatim.chatFormatter.parseColors(focused.displayPrefix))
+                    .append(focused.template().prefix())
                     .append(text(" " + focused.name).withBold(true));
             });
             message = messageHolder[0];
@@ -149,7 +154,7 @@ public class VerbatimCommandHandlers {
                     final GameComponent[] innerHolder = {message};
                     ChatChannelManager.getChannelConfigByName(joinedName).ifPresent(jc -> {
                         innerHolder[0] = innerHolder[0].append("  - ")
-                            .append(Verbatim.chatFormatter.parseColors(jc.displayPrefix))
+                            .append(jc.template().prefix())
                             .append(text(" " + jc.name).withColor(GameColor.DARK_AQUA)).append("\n");
                     });
                     message = innerHolder[0];
@@ -202,20 +207,9 @@ public class VerbatimCommandHandlers {
 
         ChatChannelManager.setLastIncomingDmSender(target, sender.getUUID());
 
-        GameComponent senderMessage = text("[You -> ")
-            .withColor(GameColor.LIGHT_PURPLE)
-            .append(text(target.getUsername()).withColor(GameColor.YELLOW))
-            .append(text("]: ").withColor(GameColor.LIGHT_PURPLE))
-            .append(Verbatim.chatFormatter.parsePlayerInputWithPermissions("&f", message, sender));
-
-        GameComponent recipientMessage = text("[")
-            .withColor(GameColor.LIGHT_PURPLE)
-            .append(text(sender.getUsername()).withColor(GameColor.YELLOW))
-            .append(text(" -> You]: ").withColor(GameColor.LIGHT_PURPLE))
-            .append(Verbatim.chatFormatter.parsePlayerInputWithPermissions("&f", message, sender));
-
-        Verbatim.gameContext.sendMessage(sender, senderMessage);
-        Verbatim.gameContext.sendMessage(target, recipientMessage);
+        RenderedDirectMessage dm = RenderedDirectMessage.render(sender, target, message);
+        Verbatim.gameContext.sendMessage(sender, dm.senderView());
+        Verbatim.gameContext.sendMessage(target, dm.recipientView());
 
         Verbatim.LOGGER.debug("[Verbatim DM Command] DM sent from {} to {}: {}", sender.getUsername(), target.getUsername(), message);
         return 1;
@@ -291,6 +285,28 @@ public class VerbatimCommandHandlers {
         return success ? 1 : 0;
     }
 
+    /**
+     * Shows the async chat dispatcher's queue depth, drops and enqueue-to-delivery latency.
+     */
+    public static int executeChatStats(GameCommandSource source) {
+        if (!ChatDispatcher.isRunning()) {
+            Verbatim.gameContext.sendCommandSuccess(source, text("Async chat dispatch is off; chat is handled on the server thread.").withColor(GameColor.YELLOW), false);
+            return 1;
+        }
+        GameComponent message = text("Chat dispatcher:\n").withColor(GameColor.GOLD)
+            .append(text(" Queue: ").withColor(GameColor.GRAY))
+            .append(text(ChatDispatcher.getQueueDepth() + "/" + ChatDispatcher.getQueueCapacity() + "\n").withColor(GameColor.AQUA))
+            .append(text(" Dispatched: ").withColor(GameColor.GRAY))
+            .append(text(ChatDispatcher.getDispatchedCount() + "\n").withColor(GameColor.AQUA))
+            .append(text(" Dropped (queue full): ").withColor(GameColor.GRAY))
+            .append(text(ChatDispatcher.getDroppedCount() + "\n").withColor(ChatDispatcher.getDroppedCount() > 0 ? GameColor.RED : GameColor.AQUA))
+            .append(text(" Latency: ").withColor(GameColor.GRAY))
+            .append(text(String.format("avg %.2f ms, last %.2f ms, max %.2f ms", ChatDispatcher.getAverageLatencyMillis(),
+                ChatDispatcher.getLastLatencyMillis(), ChatDispatcher.getMaxLatencyMillis())).withColor(GameColor.AQUA));
+        Verbatim.gameContext.sendCommandSuccess(source, message, false);
+        return 1;
+    }
+
     public static int executeNickShow(GamePlayer player) {
         String currentNickname = NicknameService.getNickname(player);
         if (currentNickname != null) {
@@ -613,8 +629,7 @@ public class VerbatimCommandHandlers {
     }
 
     public static int executeMailClear(GamePlayer player) {
-        List<MailService.MailMessage> mail = MailService.getMail(player.getUUID());
-        if (mail.isEmpty()) {
+        if (MailService.getMailCount(player.getUUID()) == 0) {
             Verbatim.gameContext.sendMessage(player, text("Your mailbox is already empty.").withColor(GameColor.YELLOW));
             return 1;
         }
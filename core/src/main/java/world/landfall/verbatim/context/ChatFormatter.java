@@ -9,6 +9,7 @@ public interface ChatFormatter {
     GameComponent parseColors(String text);
     GameComponent parseColorsWithPermissions(String text, GamePlayer player);
     GameComponent parsePlayerInputWithPermissions(String channelBaseColor, String playerInput, GamePlayer player);
+    GameComponent parsePlayerInputWithPermissions(int baseColorRgb, String playerInput, GamePlayer player);
     GameComponent createPlayerNameComponent(GamePlayer player, String colorPrefix, boolean isDM, NameStyle nameStyle);
     GameComponent createPlayerNameComponent(GamePlayer player, String colorPrefix, boolean isDM);
     GameComponent createFavoriteNameComponent(GamePlayer player, String colorPrefix, boolean isDM, NameStyle nameStyle, int gradientStartRgb, int gradientEndRgb);
@@ -0,0 +1,132 @@
+package world.landfall.verbatim.context;
+
+import java.util.List;
+
+/**
+ * Immutable node of a platform-neutral text tree: literal text, a style, and children that
+ * inherit the style. Nodes are shared freely between trees, so a channel prefix or a rendered
+ * message body is one node no matter how many messages or recipients it ends up in.
+ *
+ * A platform converts a node with {@link #render(ComponentRenderer)}, which memoises the result on
+ * the node. Shared subtrees are therefore converted once, not once per message or per recipient.
+ */
+public final class ComponentNode {
+
+    private static final ComponentNode[] NO_CHILDREN = new ComponentNode[0];
+
+    public static final ComponentNode EMPTY = new ComponentNode("", ComponentStyle.EMPTY, NO_CHILDREN);
+
+    private final String text;
+    private final ComponentStyle style;
+    private final ComponentNode[] children;
+
+    private volatile String plainText;
+    private volatile Rendered rendered;
+
+    // Renderer and result are published together so a reader never pairs one renderer's output with another
+    private record Rendered(ComponentRenderer<?> renderer, Object value) {}
+
+    private ComponentNode(String text, ComponentStyle style, ComponentNode[] children) {
+        this.text = text;
+        this.style = style;
+        this.children = children;
+    }
+
+    public static ComponentNode text(String text) {
+        return text == null || text.isEmpty() ? EMPTY : new ComponentNode(text, ComponentStyle.EMPTY, NO_CHILDREN);
+    }
+
+    public static ComponentNode text(String text, ComponentStyle style) {
+        return new ComponentNode(text == null ? "" : text, style, NO_CHILDREN);
+    }
+
+    public static ComponentNode of(String text, ComponentStyle style, List<ComponentNode> children) {
+        ComponentNode[] array = children.isEmpty() ? NO_CHILDREN : children.toArray(NO_CHILDREN);
+        return new ComponentNode(text == null ? "" : text, style, array);
+    }
+
+    /**
+     * Builds a node that takes ownership of the array; callers must not touch it afterwards.
+     */
+    static ComponentNode ofOwned(String text, ComponentStyle style, ComponentNode[] children) {
+        return new ComponentNode(text, style, children.length == 0 ? NO_CHILDREN : children);
+    }
+
+    public String text() {
+        return text;
+    }
+
+    public ComponentStyle style() {
+        return style;
+    }
+
+    public int childCount() {
+        return children.length;
+    }
+
+    public ComponentNode child(int index) {
+        return children[index];
+    }
+
+    public List<ComponentNode> children() {
+        return List.of(children);
+    }
+
+    /**
+     * Returns a node with the same text and children and the given style.
+     */
+    public ComponentNode withStyle(ComponentStyle newStyle) {
+        return newStyle == style ? this : new ComponentNode(text, newStyle, children);
+    }
+
+    // Package-private so NodeComponent can append without copying through a List
+    ComponentNode[] childArray() {
+        return children;
+    }
+
+    /**
+     * Gets the concatenated text of this node and its descendants.
+     */
+    public String getString() {
+        String result = plainText;
+        if (result == null) {
+            if (children.length == 0) {
+                result = text;
+            } else {
+                StringBuilder sb = new StringBuilder(text);
+                appendText(sb);
+                result = sb.toString();
+            }
+            plainText = result;
+        }
+        return result;
+    }
+
+    private void appendText(StringBuilder sb) {
+        for (ComponentNode child : children) {
+            String cached = child.plainText;
+            if (cached != null) {
+                sb.append(cached);
+            } else {
+                sb.append(child.text);
+                child.appendText(sb);
+            }
+        }
+    }
+
+    /**
+     * Converts this node to a platform type, reusing the previous result when the same renderer
+     * asks again. Renderers should be singletons and should render children through this method
+     * so that shared subtrees hit the cache.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T render(ComponentRenderer<T> renderer) {
+        Rendered current = rendered;
+        if (current != null && current.renderer() == renderer) {
+            return (T) current.value();
+        }
+        T value = renderer.render(this);
+        rendered = new Rendered(renderer, value);
+        return value;
+    }
+}
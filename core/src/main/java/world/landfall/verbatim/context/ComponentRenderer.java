@@ -0,0 +1,14 @@
+package world.landfall.verbatim.context;
+
+/**
+ * Converts a {@link ComponentNode} to a platform's native text type.
+ * Called through {@link ComponentNode#render(ComponentRenderer)}, which memoises the result, so the
+ * returned value is shared and must never be mutated.
+ */
+public interface ComponentRenderer<T> {
+
+    /**
+     * Converts one node. Children should be converted with {@code child.render(this)}.
+     */
+    T render(ComponentNode node);
+}
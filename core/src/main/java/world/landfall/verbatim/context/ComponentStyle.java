@@ -0,0 +1,117 @@
+package world.landfall.verbatim.context;
+
+/**
+ * Immutable style of a {@link ComponentNode}: colour, decorations, click and hover.
+ * Decorations are tri-state: a bit that is not set inherits from the parent, a set bit is
+ * explicitly on or off. The decoration bits match {@code ColorCodeLexer}'s, so lexed runs map
+ * across directly.
+ */
+public final class ComponentStyle {
+
+    public static final int NO_COLOR = -1;
+
+    public static final int BOLD = 1;
+    public static final int ITALIC = 1 << 1;
+    public static final int UNDERLINED = 1 << 2;
+    public static final int STRIKETHROUGH = 1 << 3;
+    public static final int OBFUSCATED = 1 << 4;
+
+    public static final ComponentStyle EMPTY = new ComponentStyle(NO_COLOR, 0, 0, null, null, null);
+
+    /**
+     * Click actions every platform understands; platforms without one ignore it.
+     */
+    public enum ClickAction {
+        SUGGEST_COMMAND,
+        RUN_COMMAND,
+        OPEN_URL,
+        COPY_TO_CLIPBOARD
+    }
+
+    private final int color;
+    private final int decorationsSet;
+    private final int decorations;
+    private final ClickAction clickAction;
+    private final String clickValue;
+    private final ComponentNode hover;
+
+    private ComponentStyle(int color, int decorationsSet, int decorations,
+                           ClickAction clickAction, String clickValue, ComponentNode hover) {
+        this.color = color;
+        this.decorationsSet = decorationsSet;
+        this.decorations = decorations & decorationsSet;
+        this.clickAction = clickAction;
+        this.clickValue = clickValue;
+        this.hover = hover;
+    }
+
+    /**
+     * Gets the RGB colour, or {@link #NO_COLOR} to inherit the parent's.
+     */
+    public int color() {
+        return color;
+    }
+
+    public boolean hasColor() {
+        return color != NO_COLOR;
+    }
+
+    /**
+     * Whether the decoration is set at all, on or off.
+     */
+    public boolean isDecorationSet(int decoration) {
+        return (decorationsSet & decoration) != 0;
+    }
+
+    /**
+     * Whether the decoration is explicitly on.
+     */
+    public boolean hasDecoration(int decoration) {
+        return (decorations & decoration) != 0;
+    }
+
+    public ClickAction clickAction() {
+        return clickAction;
+    }
+
+    public String clickValue() {
+        return clickValue;
+    }
+
+    /**
+     * Gets the hover text, or null when there is none.
+     */
+    public ComponentNode hover() {
+        return hover;
+    }
+
+    public boolean isEmpty() {
+        return color == NO_COLOR && decorationsSet == 0 && clickAction == null && hover == null;
+    }
+
+    public ComponentStyle withColor(int rgb) {
+        if (rgb == color) return this;
+        return new ComponentStyle(rgb, decorationsSet, decorations, clickAction, clickValue, hover);
+    }
+
+    public ComponentStyle withDecoration(int decoration, boolean on) {
+        int newDecorations = on ? decorations | decoration : decorations & ~decoration;
+        return new ComponentStyle(color, decorationsSet | decoration, newDecorations, clickAction, clickValue, hover);
+    }
+
+    /**
+     * Turns on every decoration in the mask, e.g. a lexed run's decoration bits.
+     */
+    public ComponentStyle withDecorations(int mask) {
+        if (mask == 0) return this;
+        return new ComponentStyle(color, decorationsSet | mask, decorations | mask, clickAction, clickValue, hover);
+    }
+
+    public ComponentStyle withClick(ClickAction action, String value) {
+        return new ComponentStyle(color, decorationsSet, decorations, action, value, hover);
+    }
+
+    public ComponentStyle withHover(ComponentNode hoverText) {
+        return new ComponentStyle(color, decorationsSet, decorations, clickAction, clickValue, hoverText);
+    }
+}
@@ -35,4 +35,12 @@ public interface GameConfig {
     boolean isCustomJoinLeaveEnabled();
     String getJoinMessageFormat();
     String getLeaveMessageFormat();
+
+    // === Local Chat ===
+
+    /**
+     * Number of obscurity levels the local chat fade band is quantised into.
+     * Each message renders at most one obscured variant per level.
+     */
+    int getLocalFadeLevels();
 }
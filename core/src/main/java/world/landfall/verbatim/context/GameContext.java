@@ -1,6 +1,7 @@
 package world.landfall.verbatim.context;
 
 import java.nio.file.Path;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -48,6 +49,12 @@ public interface GameContext {
      */
     double getDistanceSquared(GamePlayer player1, GamePlayer player2);
 
+    /**
+     * Captures the current position of every online player.
+     * Called once per server tick to feed {@link world.landfall.verbatim.chat.SpatialGrid}, so it must be cheap.
+     */
+    List<PlayerPosition> snapshotPlayerPositions();
+
     // === Messaging ===
 
     /**
@@ -55,11 +62,26 @@ public interface GameContext {
      */
     void sendMessage(GamePlayer player, GameComponent message);
 
+    /**
+     * Sends the same system message to every player in the collection.
+     * Implementations convert the component once and reuse it for all recipients.
+     */
+    void sendMessage(Collection<? extends GamePlayer> players, GameComponent message);
+
     /**
      * Broadcasts a system message to all online players using GameComponent.
      */
     void broadcastMessage(GameComponent message, boolean bypassHiddenPlayers);
 
+    /**
+     * Runs a task once every message already sent from the calling thread has been delivered.
+     * Platforms that hand sends to their server thread queue the task behind them; by default
+     * sends are synchronous and the task runs immediately.
+     */
+    default void afterPendingSends(Runnable task) {
+        task.run();
+    }
+
     // === Persistent Data ===
 
     /**
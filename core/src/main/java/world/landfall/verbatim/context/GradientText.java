@@ -0,0 +1,77 @@
+package world.landfall.verbatim.context;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Renders text with a linear colour gradient as a run-length component tree.
+ *
+ * Positions along the gradient are snapped to steps of {@link #CHANNEL_STEP} on the channel that
+ * changes most, so neighbouring characters whose colours would differ by less than that share a
+ * step and are merged into one run. The first and last characters keep the exact end colours. A
+ * gentle gradient over a long name therefore becomes a handful of children instead of one per
+ * character, and any click or hover set on the returned component is stored once on the parent.
+ */
+public final class GradientText {
+
+    /** Smallest channel difference worth a separate run. */
+    static final int CHANNEL_STEP = 8;
+
+    private GradientText() {}
+
+    /**
+     * Builds the gradient with an unstyled parent, ready for click and hover events.
+     */
+    public static NodeComponent render(String text, int startRgb, int endRgb) {
+        if (text == null || text.isEmpty()) {
+            return NodeComponent.empty();
+        }
+
+        int codePoints = text.codePointCount(0, text.length());
+        int steps = stepCount(startRgb, endRgb);
+
+        List<ComponentNode> runs = new ArrayList<>();
+        int runStart = 0;
+        int runColor = colorAt(0, codePoints, steps, startRgb, endRgb);
+        int index = 0;
+        for (int offset = 0; offset < text.length(); index++) {
+            int color = colorAt(index, codePoints, steps, startRgb, endRgb);
+            if (color != runColor) {
+                runs.add(ComponentNode.text(text.substring(runStart, offset), ComponentStyle.EMPTY.withColor(runColor)));
+                runStart = offset;
+                runColor = color;
+            }
+            offset += Character.charCount(text.codePointAt(offset));
+        }
+        runs.add(ComponentNode.text(text.substring(runStart), ComponentStyle.EMPTY.withColor(runColor)));
+
+        return new NodeComponent(ComponentNode.of("", ComponentStyle.EMPTY, runs));
+    }
+
+    /**
+     * Number of steps between the end colours, at least one.
+     */
+    static int stepCount(int startRgb, int endRgb) {
+        int maxDelta = 0;
+        for (int shift = 0; shift <= 16; shift += 8) {
+            maxDelta = Math.max(maxDelta, Math.abs(((endRgb >> shift) & 0xFF) - ((startRgb >> shift) & 0xFF)));
+        }
+        return Math.max(1, (maxDelta + CHANNEL_STEP - 1) / CHANNEL_STEP);
+    }
+
+    private static int colorAt(int index, int count, int steps, int startRgb, int endRgb) {
+        float ratio = count > 1 ? (float) index / (count - 1) : 0f;
+        ratio = (float) Math.round(ratio * steps) / steps;
+        return interpolate(startRgb, endRgb, ratio);
+    }
+
+    private static int interpolate(int startRgb, int endRgb, float ratio) {
+        int rgb = 0;
+        for (int shift = 0; shift <= 16; shift += 8) {
+            int from = (startRgb >> shift) & 0xFF;
+            int to = (endRgb >> shift) & 0xFF;
+            rgb |= Math.round(from + ratio * (to - from)) << shift;
+        }
+        return rgb;
+    }
+}
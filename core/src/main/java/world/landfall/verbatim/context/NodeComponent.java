@@ -0,0 +1,215 @@
+package world.landfall.verbatim.context;
+
+import world.landfall.verbatim.util.StyleRuns;
+
+import java.util.Arrays;
+
+/**
+ * The GameComponent every platform hands out: a builder over an immutable {@link ComponentNode}.
+ *
+ * Appends go into a growable buffer and the node is only rebuilt when it is next read, so an append
+ * chain is linear rather than copying the tree per call. {@link #copy()} and appending this
+ * component elsewhere share the frozen node instead of cloning it. Platforms convert with
+ * {@code toNode().render(renderer)}, which caches the native result on the node.
+ */
+public final class NodeComponent implements GameComponent {
+
+    private static final int LINK_COLOR = 0x5555FF;
+    private static final int LINK_HOVER_COLOR = 0xAAAAAA;
+
+    private final String text;
+    private ComponentStyle style;
+    private ComponentNode[] children;
+    private int childCount;
+    private ComponentNode node;
+
+    private NodeComponent(String text, ComponentStyle style, ComponentNode[] children, ComponentNode node) {
+        this.text = text;
+        this.style = style;
+        this.children = children;
+        this.childCount = children.length;
+        this.node = node;
+    }
+
+    public NodeComponent(ComponentNode node) {
+        this(node.text(), node.style(), node.childArray(), node);
+    }
+
+    public static NodeComponent literal(String text) {
+        return new NodeComponent(ComponentNode.text(text));
+    }
+
+    public static NodeComponent empty() {
+        return new NodeComponent(ComponentNode.EMPTY);
+    }
+
+    /**
+     * Gets the node for any component; foreign implementations become plain text.
+     */
+    public static ComponentNode nodeOf(GameComponent component) {
+        if (component instanceof NodeComponent nodeComponent) {
+            return nodeComponent.toNode();
+        }
+        return ComponentNode.text(component.getString());
+    }
+
+    /**
+     * Builds a component with one child per lexed run, each starting from {@code baseStyle}.
+     * Links are blue, underlined and open their URL on click; with {@code linksKeepRunStyle} they
+     * keep the run's other decorations, otherwise they start from an empty style.
+     */
+    public static NodeComponent fromRuns(StyleRuns runs, ComponentStyle baseStyle, boolean linksKeepRunStyle) {
+        ComponentNode[] nodes = new ComponentNode[runs.size()];
+        for (int i = 0; i < nodes.length; i++) {
+            ComponentStyle runStyle = baseStyle;
+            if (runs.color(i) != ComponentStyle.NO_COLOR) {
+                runStyle = runStyle.withColor(runs.color(i));
+            }
+            runStyle = runStyle.withDecorations(runs.decorations(i));
+
+            if (runs.isLink(i)) {
+                String url = runs.linkUrl(i);
+                ComponentStyle linkStyle = (linksKeepRunStyle ? runStyle : ComponentStyle.EMPTY)
+                    .withColor(LINK_COLOR)
+                    .withDecoration(ComponentStyle.UNDERLINED, true)
+                    .withClick(ComponentStyle.ClickAction.OPEN_URL, url)
+                    .withHover(ComponentNode.text("Click to open: " + url, ComponentStyle.EMPTY.withColor(LINK_HOVER_COLOR)));
+                nodes[i] = ComponentNode.text(runs.text(i), linkStyle);
+            } else {
+                nodes[i] = ComponentNode.text(runs.text(i), runStyle);
+            }
+        }
+        if (nodes.length == 1) {
+            return new NodeComponent(nodes[0]);
+        }
+        return new NodeComponent(ComponentNode.ofOwned("", ComponentStyle.EMPTY, nodes));
+    }
+
+    /**
+     * Freezes the current state into a node. Repeated calls return the same node until the
+     * component is changed again.
+     */
+    public ComponentNode toNode() {
+        ComponentNode result = node;
+        if (result == null) {
+            ComponentNode[] frozen = childCount == children.length ? children : Arrays.copyOf(children, childCount);
+            result = ComponentNode.ofOwned(text, style, frozen);
+            children = frozen;
+            node = result;
+        }
+        return result;
+    }
+
+    /**
+     * Gets the style that will apply to this component's own text and, by inheritance, its children.
+     */
+    public ComponentStyle style() {
+        return style;
+    }
+
+    private NodeComponent addChild(ComponentNode child) {
+        if (child == ComponentNode.EMPTY) {
+            return this;
+        }
+        if (childCount == children.length) {
+            // A frozen node owns an exactly-sized array, so it is never written to in place
+            children = Arrays.copyOf(children, Math.max(4, childCount * 2));
+        }
+        children[childCount++] = child;
+        node = null;
+        return this;
+    }
+
+    private NodeComponent restyle(ComponentStyle newStyle) {
+        if (newStyle != style) {
+            style = newStyle;
+            node = null;
+        }
+        return this;
+    }
+
+    @Override
+    public GameComponent append(GameComponent component) {
+        return addChild(nodeOf(component));
+    }
+
+    @Override
+    public GameComponent append(String text) {
+        return addChild(ComponentNode.text(text));
+    }
+
+    @Override
+    public GameComponent withColor(GameColor color) {
+        return restyle(style.withColor(color.getRgb()));
+    }
+
+    @Override
+    public GameComponent withRgbColor(int rgb) {
+        return restyle(style.withColor(rgb));
+    }
+
+    @Override
+    public GameComponent withBold(boolean bold) {
+        return restyle(style.withDecoration(ComponentStyle.BOLD, bold));
+    }
+
+    @Override
+    public GameComponent withItalic(boolean italic) {
+        return restyle(style.withDecoration(ComponentStyle.ITALIC, italic));
+    }
+
+    @Override
+    public GameComponent withUnderlined(boolean underlined) {
+        return restyle(style.withDecoration(ComponentStyle.UNDERLINED, underlined));
+    }
+
+    @Override
+    public GameComponent withStrikethrough(boolean strikethrough) {
+        return restyle(style.withDecoration(ComponentStyle.STRIKETHROUGH, strikethrough));
+    }
+
+    @Override
+    public GameComponent withObfuscated(boolean obfuscated) {
+        return restyle(style.withDecoration(ComponentStyle.OBFUSCATED, obfuscated));
+    }
+
+    @Override
+    public GameComponent withClickSuggestCommand(String command) {
+        return restyle(style.withClick(ComponentStyle.ClickAction.SUGGEST_COMMAND, command));
+    }
+
+    @Override
+    public GameComponent withClickRunCommand(String command) {
+        return restyle(style.withClick(ComponentStyle.ClickAction.RUN_COMMAND, command));
+    }
+
+    @Override
+    public GameComponent withClickOpenUrl(String url) {
+        return restyle(style.withClick(ComponentStyle.ClickAction.OPEN_URL, url));
+    }
+
+    @Override
+    public GameComponent withClickCopyToClipboard(String text) {
+        return restyle(style.withClick(ComponentStyle.ClickAction.COPY_TO_CLIPBOARD, text));
+    }
+
+    @Override
+    public GameComponent withHoverText(GameComponent text) {
+        return restyle(style.withHover(nodeOf(text)));
+    }
+
+    @Override
+    public GameComponent withHoverText(String text) {
+        return restyle(style.withHover(ComponentNode.text(text)));
+    }
+
+    @Override
+    public String getString() {
+        return toNode().getString();
+    }
+
+    @Override
+    public GameComponent copy() {
+        return new NodeComponent(toNode());
+    }
+}
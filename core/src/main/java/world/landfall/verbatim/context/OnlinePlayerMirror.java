@@ -0,0 +1,103 @@
+package world.landfall.verbatim.context;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe copy of the online players and their permission level, for platforms whose player
+ * list may only be touched on the server thread.
+ *
+ * The server thread registers a player on login, refreshes permission levels every tick and
+ * unregisters the player on logout. Other threads, such as the async chat dispatcher, read from
+ * here instead of the live game state.
+ *
+ * @param <H> The platform's player handle
+ */
+public final class OnlinePlayerMirror<H> {
+
+    private static final class Entry<H> {
+        final H handle;
+        final String name;
+        volatile int permissionLevel;
+
+        Entry(H handle, String name, int permissionLevel) {
+            this.handle = handle;
+            this.name = name;
+            this.permissionLevel = permissionLevel;
+        }
+    }
+
+    private final Map<UUID, Entry<H>> players = new ConcurrentHashMap<>();
+
+    /**
+     * Adds a player. Server thread only.
+     */
+    public void register(UUID playerId, String name, H handle, int permissionLevel) {
+        players.put(playerId, new Entry<>(handle, name, permissionLevel));
+    }
+
+    /**
+     * Removes a player. Server thread only.
+     */
+    public void unregister(UUID playerId) {
+        players.remove(playerId);
+    }
+
+    public boolean isRegistered(UUID playerId) {
+        return players.containsKey(playerId);
+    }
+
+    // === Players ===
+
+    public H get(UUID playerId) {
+        Entry<H> entry = players.get(playerId);
+        return entry != null ? entry.handle : null;
+    }
+
+    /**
+     * Finds a player by name, ignoring case like the platforms' own player lists.
+     */
+    public H getByName(String name) {
+        for (Entry<H> entry : players.values()) {
+            if (entry.name.equalsIgnoreCase(name)) {
+                return entry.handle;
+            }
+        }
+        return null;
+    }
+
+    public List<H> handles() {
+        List<H> handles = new ArrayList<>(players.size());
+        for (Entry<H> entry : players.values()) {
+            handles.add(entry.handle);
+        }
+        return handles;
+    }
+
+    public int size() {
+        return players.size();
+    }
+
+    // === Permissions ===
+
+    /**
+     * Records a player's current permission level. Server thread only.
+     */
+    public void setPermissionLevel(UUID playerId, int level) {
+        Entry<H> entry = players.get(playerId);
+        if (entry != null) {
+            entry.permissionLevel = level;
+        }
+    }
+
+    /**
+     * @return the last recorded permission level, or 0 if the player is not registered
+     */
+    public int getPermissionLevel(UUID playerId) {
+        Entry<H> entry = players.get(playerId);
+        return entry != null ? entry.permissionLevel : 0;
+    }
+}
@@ -0,0 +1,20 @@
+package world.landfall.verbatim.context;
+
+import java.util.UUID;
+
+/**
+ * Point-in-time position of an online player, as captured by {@link GameContext#snapshotPlayerPositions()}.
+ * Positions in different worlds are never considered near each other.
+ */
+public record PlayerPosition(UUID playerId, String worldId, double x, double y, double z) {
+
+    /**
+     * Gets the squared distance to another position in the same world.
+     */
+    public double distanceSquared(PlayerPosition other) {
+        double dx = x - other.x;
+        double dy = y - other.y;
+        double dz = z - other.z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+}
@@ -165,7 +165,7 @@ public class DiscordBot {
                 return;
             }
 
-            String cleanMessageContent = FormattingCodeUtils.stripFormattingCodes(messageContent);
+            String cleanMessageContent = FormattingCodeUtils.strip(messageContent);
             String authorName = Verbatim.chatFormatter.createDiscordPlayerName(player, discordNameStyle);
 
             if (useEmbedMode) {
@@ -73,14 +73,14 @@ public class DiscordListener extends ListenerAdapter {
         if (!prefixStr.isEmpty()) {
             GameComponent prefixComponent = Verbatim.chatFormatter.parseColors(prefixStr + " ");
             finalMessage = finalMessage.append(prefixComponent);
-            currentLength += FormattingCodeUtils.stripFormattingCodes(prefixComponent.getString()).length();
+            currentLength += FormattingCodeUtils.visibleLength(prefixComponent.getString());
         }
 
         finalMessage = finalMessage.append(text(authorName));
         currentLength += authorName.length();
 
         finalMessage = finalMessage.append(Verbatim.chatFormatter.parseColors(separatorStr));
-        currentLength += FormattingCodeUtils.stripFormattingCodes(separatorStr).length();
+        currentLength += FormattingCodeUtils.visibleLength(separatorStr);
 
         int remainingLength = MAX_LENGTH - currentLength - TRUNCATION_MARKER_LEN;
 
@@ -158,7 +158,7 @@ public class DiscordListener extends ListenerAdapter {
             String playerListString = onlinePlayers.stream()
                 .map(player -> {
                     String username = player.getUsername();
-                    String strippedDisplayName = FormattingCodeUtils.stripFormattingCodes(player.getDisplayName());
+                    String strippedDisplayName = FormattingCodeUtils.strip(player.getDisplayName());
                     if (!username.equals(strippedDisplayName)) {
                         return strippedDisplayName + " (" + username + ")";
                     }
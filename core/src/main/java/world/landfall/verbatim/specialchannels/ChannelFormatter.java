@@ -25,19 +25,27 @@ public interface ChannelFormatter {
             String originalMessageContent);
 
     /**
-     * Creates a distance-obscured version of a message.
+     * Calculates how obscured a message is at the given distance, using this platform's fade settings.
      *
-     * @param originalMessage The fully formatted original message
-     * @param distanceSquared The squared distance between sender and recipient
+     * @param distance The distance between sender and recipient
      * @param effectiveRange The effective range of the channel
-     * @param isRoleplayMessage Whether this is a roleplay message
+     * @return The obscure percentage, from 0.0 (fully clear) to 1.0 (fully obscured)
+     */
+    double getObscurePercentage(double distance, int effectiveRange);
+
+    /**
+     * Creates an obscured version of a message. Called at most once per obscurity level per message;
+     * the result is shared by every recipient at that level.
+     *
+     * @param originalMessage The fully formatted original message
+     * @param obscurePercentage The fraction of message characters to obscure
      * @param channelMessageColorString The channel's message color string (e.g., "&7")
+     * @param seed Per-message random seed, the same for every obscurity level of one message
      * @return The obscured message component
      */
-    GameComponent createDistanceObscuredMessage(
+    GameComponent createObscuredMessage(
             GameComponent originalMessage,
-            double distanceSquared,
-            int effectiveRange,
-            boolean isRoleplayMessage,
-            String channelMessageColorString);
+            double obscurePercentage,
+            String channelMessageColorString,
+            long seed);
 }
@@ -2,16 +2,25 @@ package world.landfall.verbatim.specialchannels;
 
 import world.landfall.verbatim.Verbatim;
 import world.landfall.verbatim.context.GameComponent;
+import world.landfall.verbatim.context.GameConfig;
+
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Data class to hold the results of special channel message formatting.
  * Platform-independent - uses GameComponent instead of Minecraft MutableComponent.
  */
 public class FormattedMessageDetails {
+    public static final int DEFAULT_FADE_LEVELS = 8;
+
     private final GameComponent formattedMessage;
     public final int effectiveRange;
     private final boolean isRoleplayMessage;
     private final String channelMessageColorForObscuring; // e.g., "&7", used if !isRoleplayMessage
+    // Obscured variants indexed by fade level, rendered lazily. Messages are fanned out on a single thread.
+    private GameComponent[] obscuredByLevel;
+    // Shared by every level so characters hidden nearby stay hidden further away
+    private final long obscureSeed = ThreadLocalRandom.current().nextLong();
 
     public FormattedMessageDetails(GameComponent formattedMessage, int effectiveRange, boolean isRoleplayMessage, String channelMessageColorForObscuring) {
         this.formattedMessage = formattedMessage;
@@ -30,12 +39,60 @@ public class FormattedMessageDetails {
     /**
      * Gets the appropriate message component for a recipient at the given distance.
      * For special local channels (non-roleplay), this may return an obscured version based on distance.
+     * Obscurity is quantised into {@link GameConfig#getLocalFadeLevels()} levels and each level is rendered
+     * at most once, so recipients at similar distances share the same instance. Returned components must not be mutated.
      */
     public GameComponent getMessageForDistance(double distanceSquared) {
-        if (effectiveRange < 0) return formattedMessage.copy(); // Global messages, no obscuring
+        if (effectiveRange < 0) return formattedMessage; // Global messages, no obscuring
 
         double distance = Math.sqrt(distanceSquared);
-        if (distance <= effectiveRange) return formattedMessage.copy(); // Within clear range
+        if (distance <= effectiveRange) return formattedMessage; // Within clear range
+
+        if (distance <= getAudibleDistance()) {
+            if (isRoleplayMessage) return formattedMessage; // Roleplay messages are never obscured
+            return getObscuredMessage(Verbatim.channelFormatter.getObscurePercentage(distance, effectiveRange));
+        }
+
+        return null; // Too far to receive message
+    }
+
+    /**
+     * Gets the shared obscured variant for the level containing the given obscure percentage,
+     * rendering it on first use. Percentages round up to the next level so nobody hears more clearly than they should.
+     */
+    private GameComponent getObscuredMessage(double obscurePercentage) {
+        if (obscuredByLevel == null) {
+            obscuredByLevel = new GameComponent[getFadeLevels() + 1];
+        }
+        int levels = obscuredByLevel.length - 1;
+        int level = (int) Math.ceil(obscurePercentage * levels);
+        if (level <= 0) return formattedMessage;
+        if (level > levels) level = levels;
+
+        GameComponent obscured = obscuredByLevel[level];
+        if (obscured == null) {
+            obscured = Verbatim.channelFormatter.createObscuredMessage(
+                formattedMessage,
+                (double) level / levels,
+                channelMessageColorForObscuring,
+                obscureSeed
+            );
+            obscuredByLevel[level] = obscured;
+        }
+        return obscured;
+    }
+
+    private static int getFadeLevels() {
+        if (Verbatim.gameConfig == null) return DEFAULT_FADE_LEVELS;
+        return Math.max(1, Verbatim.gameConfig.getLocalFadeLevels());
+    }
+
+    /**
+     * Gets the furthest distance at which a recipient still receives this message (clear range plus fade band).
+     * Returns -1 for unlimited range.
+     */
+    public double getAudibleDistance() {
+        if (effectiveRange < 0) return -1;
 
         // Calculate fade distance using the same logic as LocalChannelFormatter
         double fadeDistance;
@@ -44,18 +101,7 @@ public class FormattedMessageDetails {
         } else {
             fadeDistance = Math.min(30, effectiveRange * 0.6);
         }
-
-        if (distance <= effectiveRange + fadeDistance) {
-            return Verbatim.channelFormatter.createDistanceObscuredMessage(
-                formattedMessage,
-                distanceSquared,
-                effectiveRange,
-                isRoleplayMessage,
-                channelMessageColorForObscuring
-            );
-        }
-
-        return null; // Too far to receive message
+        return effectiveRange + fadeDistance;
     }
 
     /**
@@ -0,0 +1,134 @@
+package world.landfall.verbatim.specialchannels;
+
+import world.landfall.verbatim.context.ComponentNode;
+import world.landfall.verbatim.context.ComponentStyle;
+import world.landfall.verbatim.context.GameComponent;
+import world.landfall.verbatim.context.NodeComponent;
+import world.landfall.verbatim.util.ColorCodeLexer;
+import world.landfall.verbatim.util.StyleRuns;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Hides characters of a local-channel message for distant listeners.
+ *
+ * Every child but the last (channel tag, player name, verb) is kept as is; the last child is the
+ * message body and gets obscured. Each character is hidden with the given probability, and
+ * consecutive kept or hidden characters are emitted as one run. The channel colour is parsed once
+ * and set on the parent of the runs rather than on every character.
+ *
+ * The random draws come from a {@link SplittableRandom} seeded per message. Every fade level of a
+ * message uses the same seed and therefore the same draws, so a character hidden at one distance
+ * stays hidden further away.
+ */
+public final class MessageObscurer {
+
+    public static final char OBSCURE_CHAR = '.';
+    public static final int OBSCURED_COLOR = 0x555555;
+
+    private static final ThreadLocal<StyleRuns> RUNS = ThreadLocal.withInitial(StyleRuns::new);
+
+    private MessageObscurer() {}
+
+    /**
+     * Builds the obscured variant of a formatted local message.
+     *
+     * @param channelMessageColorString The channel's message colour codes (e.g. "&7"), or null for none
+     * @param seed Per-message seed; reuse it for every level of the same message
+     */
+    public static GameComponent obscure(GameComponent originalMessage, double obscurePercentage,
+                                        String channelMessageColorString, long seed) {
+        ComponentNode message = NodeComponent.nodeOf(originalMessage);
+        if (message.childCount() == 0) {
+            return originalMessage.copy();
+        }
+
+        int lastIndex = message.childCount() - 1;
+        GameComponent result = NodeComponent.empty();
+
+        // Earlier parts are immutable nodes, so they are shared rather than copied
+        for (int i = 0; i < lastIndex; i++) {
+            result.append(new NodeComponent(message.child(i)));
+        }
+
+        String textToObscure = message.child(lastIndex).getString();
+        if (textToObscure.isEmpty()) {
+            result.append(new NodeComponent(message.child(lastIndex)));
+        } else {
+            result.append(new NodeComponent(obscureText(textToObscure, obscurePercentage, baseStyle(channelMessageColorString), seed)));
+        }
+        return result;
+    }
+
+    /**
+     * Obscures plain text into alternating kept and hidden runs under a parent with {@code baseStyle}.
+     * Surrogate pairs are kept or hidden together.
+     */
+    static ComponentNode obscureText(String text, double obscurePercentage, ComponentStyle baseStyle, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        ComponentStyle hiddenStyle = hiddenStyle(baseStyle);
+
+        List<ComponentNode> runs = new ArrayList<>();
+        StringBuilder dots = new StringBuilder();
+        int runStart = 0;
+        boolean runHidden = false;
+        int offset = 0;
+        while (offset < text.length()) {
+            int next = offset + Character.charCount(text.codePointAt(offset));
+            boolean hidden = random.nextDouble() < obscurePercentage;
+            if (hidden != runHidden && offset > runStart) {
+                runs.add(run(text, runStart, offset, runHidden, hiddenStyle, dots));
+                runStart = offset;
+            }
+            runHidden = hidden;
+            offset = next;
+        }
+        runs.add(run(text, runStart, text.length(), runHidden, hiddenStyle, dots));
+
+        return ComponentNode.of("", baseStyle, runs);
+    }
+
+    private static ComponentNode run(String text, int start, int end, boolean hidden, ComponentStyle hiddenStyle, StringBuilder dots) {
+        if (!hidden) {
+            return ComponentNode.text(text.substring(start, end), ComponentStyle.EMPTY);
+        }
+        dots.setLength(0);
+        for (int i = start; i < end; i += Character.charCount(text.codePointAt(i))) {
+            dots.append(OBSCURE_CHAR);
+        }
+        return ComponentNode.text(dots.toString(), hiddenStyle);
+    }
+
+    /**
+     * Parses the channel colour string once into the style kept characters inherit.
+     */
+    static ComponentStyle baseStyle(String colorCodes) {
+        if (colorCodes == null || colorCodes.isEmpty()) {
+            return ComponentStyle.EMPTY;
+        }
+        // Lex one placeholder character to learn the style the codes leave in effect
+        StyleRuns runs = ColorCodeLexer.lex(colorCodes + ' ', ColorCodeLexer.NO_COLOR, ColorCodeLexer.ALLOW_ALL, RUNS.get());
+        int last = runs.size() - 1;
+        ComponentStyle style = ComponentStyle.EMPTY;
+        if (runs.color(last) != ComponentStyle.NO_COLOR) {
+            style = style.withColor(runs.color(last));
+        }
+        return style.withDecorations(runs.decorations(last));
+    }
+
+    /**
+     * Hidden characters are dark gray without the channel's decorations, which they would
+     * otherwise inherit from the parent.
+     */
+    private static ComponentStyle hiddenStyle(ComponentStyle baseStyle) {
+        ComponentStyle style = ComponentStyle.EMPTY.withColor(OBSCURED_COLOR);
+        for (int bit = ComponentStyle.BOLD; bit <= ComponentStyle.OBFUSCATED; bit <<= 1) {
+            if (baseStyle.hasDecoration(bit)) {
+                style = style.withDecoration(bit, false);
+            }
+        }
+        return style;
+    }
+}
@@ -0,0 +1,365 @@
+package world.landfall.verbatim.storage;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import world.landfall.verbatim.Verbatim;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Per-player JSON file store with atomic writes and crash resilience.
+ *
+ * <p>File layout under {@code playerstore/}:
+ * <pre>
+ *   index.json              - UUID to last-known username mapping
+ *   players/
+ *     &lt;uuid&gt;.json          - one file per player
+ * </pre>
+ *
+ * <p>Writes use atomic rename ({@code .tmp} -> {@code .json}) so a crash mid-write
+ * never corrupts the original file. Per-UUID synchronized locks prevent concurrent
+ * writes to the same player file while allowing different players to save in parallel.
+ * The index is kept in memory and rewritten by {@link #flush()} when it has changed.
+ */
+public class FilePlayerDataStore implements PlayerDataStore {
+
+    private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final int SCHEMA_VERSION = 1;
+
+    private final File playersDir;
+    private final File indexFile;
+    private final ConcurrentHashMap<UUID, Object> writeLocks = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, IndexEntry> index;
+    private final AtomicBoolean indexDirty = new AtomicBoolean();
+
+    /**
+     * Creates a store rooted at {@code storeDir} (the {@code playerstore/} directory).
+     * Creates directories if needed, cleans up stale {@code .tmp} files from prior crashes
+     * and loads the index.
+     */
+    public FilePlayerDataStore(Path storeDir) {
+        File dir = storeDir.toFile();
+        this.playersDir = new File(dir, "players");
+        this.indexFile = new File(dir, "index.json");
+        dir.mkdirs();
+        playersDir.mkdirs();
+        cleanStaleTmpFiles();
+        this.index = loadIndex();
+    }
+
+    /**
+     * Loads a player's data from their JSON file.
+     *
+     * @return the player's data map, or an empty map if the file doesn't exist or is corrupt
+     */
+    @Override
+    public Map<String, String> load(UUID uuid) {
+        File file = playerFile(uuid);
+        if (!file.exists()) {
+            return Collections.emptyMap();
+        }
+        try (Reader reader = Files.newBufferedReader(file.toPath())) {
+            PlayerFileData data = GSON.fromJson(reader, PlayerFileData.class);
+            if (data != null && data.data != null) {
+                Verbatim.LOGGER.debug("[Verbatim] Loaded player file for {}: {} entries", uuid, data.data.size());
+                return data.data;
+            }
+            Verbatim.LOGGER.warn("[Verbatim] Player file for {} was empty or missing data section", uuid);
+            return Collections.emptyMap();
+        } catch (Exception e) {
+            Verbatim.LOGGER.error("[Verbatim] Corrupt player file for {}, renaming to .corrupt: {}", uuid, e.getMessage());
+            renameCorrupt(file);
+            return Collections.emptyMap();
+        }
+    }
+
+    @Override
+    public Map<UUID, Map<String, String>> loadAll(Collection<UUID> uuids) {
+        Map<UUID, Map<String, String>> result = new HashMap<>();
+        for (UUID uuid : uuids) {
+            Map<String, String> data = load(uuid);
+            if (!data.isEmpty()) {
+                result.put(uuid, data);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Reads every player file with the username stored in it, for copying into another backend.
+     * Files that can't be read are logged and skipped.
+     */
+    public List<PlayerSnapshot> exportAll() {
+        List<PlayerSnapshot> players = new ArrayList<>();
+        File[] files = playersDir.listFiles((dir, name) -> name.endsWith(".json"));
+        if (files == null) {
+            return players;
+        }
+        for (File file : files) {
+            try (Reader reader = Files.newBufferedReader(file.toPath())) {
+                PlayerFileData data = GSON.fromJson(reader, PlayerFileData.class);
+                if (data != null && data.uuid != null && data.data != null) {
+                    players.add(new PlayerSnapshot(UUID.fromString(data.uuid), data.lastUsername, data.data));
+                }
+            } catch (Exception e) {
+                Verbatim.LOGGER.warn("[Verbatim] Skipping unreadable player file {}: {}", file.getName(), e.getMessage());
+            }
+        }
+        return players;
+    }
+
+    /**
+     * Atomically saves a player's data to their JSON file.
+     * Uses write-to-tmp + rename for crash safety. Per-UUID lock prevents concurrent writes.
+     */
+    @Override
+    public boolean save(UUID uuid, String username, Map<String, String> data) {
+        if (!writePlayerFile(uuid, username, data, false)) {
+            return false;
+        }
+        recordIndex(uuid, username);
+        return true;
+    }
+
+    @Override
+    public Set<UUID> saveAll(Collection<PlayerSnapshot> players) {
+        Set<UUID> failed = new HashSet<>();
+        for (PlayerSnapshot player : players) {
+            if (save(player.uuid(), player.username(), player.data())) {
+                failed.remove(player.uuid());
+            } else {
+                failed.add(player.uuid());
+            }
+        }
+        return failed;
+    }
+
+    @Override
+    public void remove(UUID uuid) {
+        deletePlayerFile(uuid);
+        forgetIndex(uuid);
+    }
+
+    @Override
+    public void removeAll(Collection<UUID> uuids) {
+        for (UUID uuid : uuids) {
+            remove(uuid);
+        }
+    }
+
+    /**
+     * Rewrites the index if any player was saved or removed since the last flush.
+     * Player files are already on disk once {@link #save} returns.
+     */
+    @Override
+    public CompletableFuture<Void> flush() {
+        if (indexDirty.getAndSet(false)) {
+            saveIndex();
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public void close() {
+        flush();
+    }
+
+    /**
+     * Records a player's latest username and save time in the index.
+     */
+    protected void recordIndex(UUID uuid, String username) {
+        index.put(uuid.toString(), new IndexEntry(username, System.currentTimeMillis()));
+        indexDirty.set(true);
+    }
+
+    /**
+     * Drops a player from the index.
+     */
+    protected void forgetIndex(UUID uuid) {
+        if (index.remove(uuid.toString()) != null) {
+            indexDirty.set(true);
+        }
+    }
+
+    /**
+     * Writes a player's JSON file via tmp + rename, optionally fsyncing the tmp file before the rename.
+     *
+     * @return true if the file was replaced
+     */
+    protected boolean writePlayerFile(UUID uuid, String username, Map<String, String> data, boolean fsync) {
+        Object lock = writeLocks.computeIfAbsent(uuid, k -> new Object());
+        synchronized (lock) {
+            File file = playerFile(uuid);
+            File tmpFile = new File(playersDir, uuid.toString() + ".tmp");
+
+            PlayerFileData fileData = new PlayerFileData();
+            fileData.schemaVersion = SCHEMA_VERSION;
+            fileData.uuid = uuid.toString();
+            fileData.lastUsername = username;
+            fileData.lastSeen = System.currentTimeMillis();
+            fileData.data = data;
+
+            try (FileOutputStream out = new FileOutputStream(tmpFile);
+                 Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8)) {
+                GSON.toJson(fileData, writer);
+                writer.flush();
+                if (fsync) {
+                    out.getFD().sync();
+                }
+            } catch (IOException e) {
+                Verbatim.LOGGER.error("[Verbatim] Failed to write tmp file for {}: {}", uuid, e.getMessage());
+                tmpFile.delete();
+                return false;
+            }
+
+            return replace(tmpFile, file);
+        }
+    }
+
+    /**
+     * Deletes a player's JSON file, leaving the index untouched.
+     *
+     * @return true if the file is gone
+     */
+    protected boolean deletePlayerFile(UUID uuid) {
+        Object lock = writeLocks.computeIfAbsent(uuid, k -> new Object());
+        synchronized (lock) {
+            File file = playerFile(uuid);
+            if (file.exists() && !file.delete()) {
+                Verbatim.LOGGER.error("[Verbatim] Failed to delete player file for {}", uuid);
+                return false;
+            }
+            return true;
+        }
+    }
+
+    private ConcurrentHashMap<String, IndexEntry> loadIndex() {
+        if (!indexFile.exists()) {
+            return new ConcurrentHashMap<>();
+        }
+        try (Reader reader = Files.newBufferedReader(indexFile.toPath())) {
+            IndexFileData data = GSON.fromJson(reader, IndexFileData.class);
+            if (data != null && data.players != null) {
+                Verbatim.LOGGER.info("[Verbatim] Loaded player index: {} entries", data.players.size());
+                return new ConcurrentHashMap<>(data.players);
+            }
+            return new ConcurrentHashMap<>();
+        } catch (Exception e) {
+            Verbatim.LOGGER.warn("[Verbatim] Corrupt index file, starting fresh: {}", e.getMessage());
+            renameCorrupt(indexFile);
+            return new ConcurrentHashMap<>();
+        }
+    }
+
+    private synchronized void saveIndex() {
+        File tmpFile = new File(indexFile.getParentFile(), "index.tmp");
+
+        IndexFileData fileData = new IndexFileData();
+        fileData.schemaVersion = SCHEMA_VERSION;
+        fileData.players = new HashMap<>(index);
+
+        try (Writer writer = Files.newBufferedWriter(tmpFile.toPath())) {
+            GSON.toJson(fileData, writer);
+        } catch (IOException e) {
+            Verbatim.LOGGER.error("[Verbatim] Failed to write tmp index file: {}", e.getMessage());
+            tmpFile.delete();
+            indexDirty.set(true);
+            return;
+        }
+        if (!replace(tmpFile, indexFile)) {
+            indexDirty.set(true);
+        }
+    }
+
+    private boolean replace(File tmpFile, File target) {
+        try {
+            Files.move(tmpFile.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // ATOMIC_MOVE not supported on all filesystems, fall back to plain replace
+            try {
+                Files.move(tmpFile.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e2) {
+                Verbatim.LOGGER.error("[Verbatim] Failed to rename {} to {}: {}", tmpFile.getName(), target.getName(), e2.getMessage());
+                tmpFile.delete();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private File playerFile(UUID uuid) {
+        return new File(playersDir, uuid.toString() + ".json");
+    }
+
+    private void renameCorrupt(File file) {
+        File corrupt = new File(file.getParentFile(), file.getName() + ".corrupt");
+        if (corrupt.exists()) {
+            corrupt.delete();
+        }
+        file.renameTo(corrupt);
+    }
+
+    private void cleanStaleTmpFiles() {
+        File[] tmpFiles = playersDir.listFiles((dir, name) -> name.endsWith(".tmp"));
+        if (tmpFiles != null) {
+            for (File tmp : tmpFiles) {
+                Verbatim.LOGGER.info("[Verbatim] Cleaning stale tmp file: {}", tmp.getName());
+                tmp.delete();
+            }
+        }
+        // Also clean stale index tmp
+        File indexTmp = new File(indexFile.getParentFile(), "index.tmp");
+        if (indexTmp.exists()) {
+            Verbatim.LOGGER.info("[Verbatim] Cleaning stale index tmp file");
+            indexTmp.delete();
+        }
+    }
+
+    // === Data classes for JSON serialization ===
+
+    static class PlayerFileData {
+        int schemaVersion;
+        String uuid;
+        String lastUsername;
+        long lastSeen;
+        Map<String, String> data;
+    }
+
+    static class IndexFileData {
+        int schemaVersion;
+        Map<String, IndexEntry> players;
+    }
+
+    static class IndexEntry {
+        String lastUsername;
+        long lastSeen;
+
+        IndexEntry() {}
+
+        IndexEntry(String lastUsername, long lastSeen) {
+            this.lastUsername = lastUsername;
+            this.lastSeen = lastSeen;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package world.landfall.verbatim.storage;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Player data store that keeps everything in memory. Nothing survives a restart; used for tests
+ * and for running without persistence.
+ */
+public class InMemoryPlayerDataStore implements PlayerDataStore {
+
+    private final ConcurrentHashMap<UUID, Map<String, String>> players = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, String> usernames = new ConcurrentHashMap<>();
+
+    @Override
+    public Map<String, String> load(UUID uuid) {
+        Map<String, String> data = players.get(uuid);
+        return data != null ? new HashMap<>(data) : Collections.emptyMap();
+    }
+
+    @Override
+    public Map<UUID, Map<String, String>> loadAll(Collection<UUID> uuids) {
+        Map<UUID, Map<String, String>> result = new HashMap<>();
+        for (UUID uuid : uuids) {
+            Map<String, String> data = players.get(uuid);
+            if (data != null) {
+                result.put(uuid, new HashMap<>(data));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean save(UUID uuid, String username, Map<String, String> data) {
+        players.put(uuid, Collections.unmodifiableMap(new HashMap<>(data)));
+        if (username != null) {
+            usernames.put(uuid, username);
+        }
+        return true;
+    }
+
+    @Override
+    public Set<UUID> saveAll(Collection<PlayerSnapshot> snapshots) {
+        for (PlayerSnapshot snapshot : snapshots) {
+            save(snapshot.uuid(), snapshot.username(), snapshot.data());
+        }
+        return Collections.emptySet();
+    }
+
+    @Override
+    public void remove(UUID uuid) {
+        players.remove(uuid);
+        usernames.remove(uuid);
+    }
+
+    @Override
+    public void removeAll(Collection<UUID> uuids) {
+        for (UUID uuid : uuids) {
+            remove(uuid);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> flush() {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public void close() {
+    }
+
+    /**
+     * Gets the username stored with a player's last save, or null.
+     */
+    public String getUsername(UUID uuid) {
+        return usernames.get(uuid);
+    }
+
+    /**
+     * Number of players with stored data.
+     */
+    public int size() {
+        return players.size();
+    }
+}
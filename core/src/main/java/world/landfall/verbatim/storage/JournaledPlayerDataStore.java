@@ -0,0 +1,743 @@
+package world.landfall.verbatim.storage;
+
+import world.landfall.verbatim.Verbatim;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Player store that appends saves to a segmented journal instead of rewriting player files.
+ *
+ * <p>File layout under {@code playerstore/}:
+ * <pre>
+ *   journal/
+ *     segment-&lt;n&gt;.log    - append-only records, one per save or removal
+ *   players/&lt;uuid&gt;.json   - snapshots written by compaction (same format as {@link FilePlayerDataStore})
+ * </pre>
+ *
+ * <p>Each save appends one length-prefixed, CRC-checked binary record holding the player's full data;
+ * a removal appends a tombstone. Records are idempotent, so replaying a segment twice is harmless.
+ * A background compactor seals the current segment, writes each journalled player's latest state to
+ * their snapshot file (fsynced) or deletes it for tombstones, then deletes the sealed segments. On
+ * startup every remaining segment is replayed; a torn or corrupt record ends replay of its segment.
+ *
+ * <p>Players saved since the last compaction are served from memory; everyone else from their snapshot.
+ */
+public class JournaledPlayerDataStore extends FilePlayerDataStore {
+
+    /**
+     * When appended records are forced to disk.
+     */
+    public enum Durability {
+        /** Never fsync; the OS writes the journal back in its own time. */
+        NONE,
+        /** Group commit: each save waits for an fsync, and saves that arrive together share one. */
+        BATCH,
+        /** Fsync after every record. */
+        ALWAYS;
+
+        /**
+         * Parses a config value, falling back to {@link #BATCH} for unknown values.
+         */
+        public static Durability parse(String value) {
+            if (value != null) {
+                try {
+                    return valueOf(value.trim().toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException ignored) {
+                    // fall through
+                }
+            }
+            Verbatim.LOGGER.warn("[Verbatim] Unknown journal durability '{}', using batch", value);
+            return BATCH;
+        }
+    }
+
+    private static final long SEGMENT_MAX_BYTES = 4L * 1024 * 1024;
+    private static final int MAX_RECORD_BYTES = 16 * 1024 * 1024;
+    private static final byte RECORD_PLAYER_STATE = 1;
+    private static final byte RECORD_PLAYER_REMOVED = 2;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final File journalDir;
+    private final Durability durability;
+    private final ScheduledExecutorService compactor;
+
+    // Latest journalled state per player that has not been compacted into a snapshot yet
+    private final ConcurrentHashMap<UUID, JournalEntry> uncompacted = new ConcurrentHashMap<>();
+
+    // Guarded by appendLock
+    private final Object appendLock = new Object();
+    private final List<File> sealedSegments = new ArrayList<>();
+    // null after a failed attempt to open a segment; the next append tries again
+    private FileChannel channel;
+    private File currentSegment;
+    private long currentSegmentBytes;
+    private long nextSegmentId;
+    private long appendedSeq;
+    private boolean closed;
+
+    // Unit tests set this to make the next append fail after writing that many bytes of its batch
+    long failNextAppendAfterBytes = -1;
+
+    // Group commit state, guarded by syncMonitor
+    private final Object syncMonitor = new Object();
+    private long syncedSeq;
+    private boolean syncInProgress;
+
+    private final Object compactLock = new Object();
+
+    private static final class JournalEntry {
+        final String username;
+        // null for a removed player
+        final Map<String, String> data;
+
+        JournalEntry(String username, Map<String, String> data) {
+            this.username = username;
+            this.data = data;
+        }
+    }
+
+    /**
+     * Opens the journal under {@code storeDir/journal}, replays any segments left from the last run
+     * and starts the background compactor.
+     *
+     * @param compactIntervalSeconds how often the journal is folded into snapshot files
+     */
+    public JournaledPlayerDataStore(Path storeDir, Durability durability, long compactIntervalSeconds) {
+        super(storeDir);
+        this.journalDir = storeDir.resolve("journal").toFile();
+        this.durability = durability;
+        journalDir.mkdirs();
+
+        replay();
+        try {
+            openNewSegment();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not open player journal in " + journalDir, e);
+        }
+
+        long interval = Math.max(1, compactIntervalSeconds);
+        this.compactor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "Verbatim-JournalCompactor");
+            t.setDaemon(true);
+            return t;
+        });
+        compactor.scheduleWithFixedDelay(this::compactSafely, interval, interval, TimeUnit.SECONDS);
+        Verbatim.LOGGER.info("[Verbatim] Player journal opened (durability {}, compaction every {}s, {} players to compact)",
+            durability, interval, uncompacted.size());
+    }
+
+    // === Reads ===
+
+    @Override
+    public Map<String, String> load(UUID uuid) {
+        JournalEntry entry = uncompacted.get(uuid);
+        if (entry != null) {
+            return entry.data != null ? new HashMap<>(entry.data) : Collections.emptyMap();
+        }
+        return super.load(uuid);
+    }
+
+    // === Writes ===
+
+    /**
+     * Appends the player's data to the journal, waiting for an fsync according to the durability policy.
+     * Falls back to writing the player file directly if the journal is closed or the append fails.
+     *
+     * @return false if neither the journal nor the fallback file write took the data, or the fsync it waited for failed
+     */
+    @Override
+    public boolean save(UUID uuid, String username, Map<String, String> data) {
+        JournalRecord record = new JournalRecord(uuid, new JournalEntry(username, new HashMap<>(data)));
+        if (!append(Collections.singletonList(record)).isEmpty()) {
+            return false;
+        }
+        recordIndex(uuid, username);
+        return true;
+    }
+
+    /**
+     * Appends every player's record under one lock and waits for a single fsync covering all of them.
+     */
+    @Override
+    public Set<UUID> saveAll(Collection<PlayerSnapshot> players) {
+        if (players.isEmpty()) {
+            return Collections.emptySet();
+        }
+        List<JournalRecord> records = new ArrayList<>(players.size());
+        for (PlayerSnapshot player : players) {
+            records.add(new JournalRecord(player.uuid(), new JournalEntry(player.username(), new HashMap<>(player.data()))));
+        }
+        Set<UUID> failed = append(records);
+        for (PlayerSnapshot player : players) {
+            if (!failed.contains(player.uuid())) {
+                recordIndex(player.uuid(), player.username());
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * Appends a tombstone; the player's snapshot is deleted at the next compaction.
+     */
+    @Override
+    public void remove(UUID uuid) {
+        append(Collections.singletonList(new JournalRecord(uuid, new JournalEntry(null, null))));
+        forgetIndex(uuid);
+    }
+
+    @Override
+    public void removeAll(Collection<UUID> uuids) {
+        if (uuids.isEmpty()) {
+            return;
+        }
+        List<JournalRecord> records = new ArrayList<>(uuids.size());
+        for (UUID uuid : uuids) {
+            records.add(new JournalRecord(uuid, new JournalEntry(null, null)));
+        }
+        append(records);
+        for (UUID uuid : uuids) {
+            forgetIndex(uuid);
+        }
+    }
+
+    private static final class JournalRecord {
+        final UUID uuid;
+        final JournalEntry entry;
+        final byte[] bytes;
+
+        JournalRecord(UUID uuid, JournalEntry entry) {
+            this.uuid = uuid;
+            this.entry = entry;
+            this.bytes = encodeRecord(uuid, entry.username, entry.data);
+        }
+    }
+
+    /**
+     * Appends records to the journal, or writes them through to player files if it is closed or the append fails.
+     *
+     * @return the players whose record was not stored; every player in the batch if the awaited fsync failed
+     */
+    private Set<UUID> append(List<JournalRecord> records) {
+        boolean appended;
+        long seq;
+        synchronized (appendLock) {
+            appended = !closed && appendToSegment(records);
+            seq = appendedSeq;
+        }
+        if (!appended) {
+            return writeThrough(records);
+        }
+        if (durability == Durability.BATCH && !awaitGroupSync(seq)) {
+            return uuidsOf(records);
+        }
+        return Collections.emptySet();
+    }
+
+    /**
+     * Writes a batch to the current segment. Must be called with appendLock held.
+     *
+     * @return false if the batch could not be written; nothing of it is left in the segment
+     */
+    private boolean appendToSegment(List<JournalRecord> records) {
+        long batchStart = -1;
+        try {
+            if (channel == null) {
+                openNewSegment();
+            }
+            batchStart = currentSegmentBytes;
+            for (JournalRecord record : records) {
+                writeFully(record.bytes);
+            }
+            if (durability == Durability.ALWAYS) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            Verbatim.LOGGER.error("[Verbatim] Journal append failed, writing {} player files directly: {}",
+                records.size(), e.getMessage());
+            if (batchStart >= 0) {
+                discardPartialBatch(batchStart);
+            }
+            return false;
+        }
+        for (JournalRecord record : records) {
+            uncompacted.put(record.uuid, record.entry);
+        }
+        appendedSeq++;
+        if (currentSegmentBytes >= SEGMENT_MAX_BYTES) {
+            try {
+                sealCurrentSegment();
+                openNewSegment();
+            } catch (IOException e) {
+                Verbatim.LOGGER.warn("[Verbatim] Could not start a new journal segment: {}", e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes a partly written batch so later records never follow a torn one, which would end replay before
+     * them. Truncates the segment back to where the batch started or, failing that, seals it and starts a new one.
+     * Must be called with appendLock held.
+     */
+    private void discardPartialBatch(long batchStart) {
+        try {
+            channel.truncate(batchStart);
+            currentSegmentBytes = batchStart;
+            return;
+        } catch (IOException e) {
+            Verbatim.LOGGER.warn("[Verbatim] Could not truncate journal segment {}, starting a new one: {}",
+                currentSegment.getName(), e.getMessage());
+        }
+        try {
+            channel.force(false);
+        } catch (IOException ignored) {
+            // Replay stops at the torn record either way
+        }
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // Already unusable
+        }
+        channel = null;
+        sealedSegments.add(currentSegment);
+        try {
+            openNewSegment();
+        } catch (IOException e) {
+            Verbatim.LOGGER.error("[Verbatim] Could not open a new journal segment, saves go to player files until one opens: {}",
+                e.getMessage());
+        }
+    }
+
+    /**
+     * Writes records to player files by compacting with them, so each player's file is written and the segments
+     * holding their older records are deleted together. Otherwise replay after a crash would serve an older
+     * journalled state over the newer file.
+     *
+     * @return every player in the batch if the compaction failed; their newest state stays in memory until the next one
+     */
+    private Set<UUID> writeThrough(List<JournalRecord> records) {
+        for (JournalRecord record : records) {
+            uncompacted.put(record.uuid, record.entry);
+        }
+        try {
+            if (compact()) {
+                return Collections.emptySet();
+            }
+        } catch (IOException e) {
+            Verbatim.LOGGER.error("[Verbatim] Could not write {} players through to their files: {}", records.size(), e.getMessage());
+        }
+        return uuidsOf(records);
+    }
+
+    private static Set<UUID> uuidsOf(List<JournalRecord> records) {
+        Set<UUID> uuids = new HashSet<>();
+        for (JournalRecord record : records) {
+            uuids.add(record.uuid);
+        }
+        return uuids;
+    }
+
+    /**
+     * Waits until record {@code seq} has been fsynced. The first waiter performs the fsync for everyone
+     * appended so far; the rest wait for it and return without syncing again.
+     *
+     * @return false if the fsync failed or the wait was interrupted
+     */
+    private boolean awaitGroupSync(long seq) {
+        synchronized (syncMonitor) {
+            while (syncedSeq < seq) {
+                if (!syncInProgress) {
+                    syncInProgress = true;
+                    break;
+                }
+                try {
+                    syncMonitor.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            if (syncedSeq >= seq) {
+                return true;
+            }
+        }
+
+        long target = 0;
+        boolean synced = false;
+        try {
+            synchronized (appendLock) {
+                target = appendedSeq;
+                if (!closed && channel != null) {
+                    channel.force(false);
+                }
+            }
+            synced = true;
+        } catch (IOException e) {
+            Verbatim.LOGGER.error("[Verbatim] Journal fsync failed: {}", e.getMessage());
+        } finally {
+            synchronized (syncMonitor) {
+                syncInProgress = false;
+                if (synced && target > syncedSeq) {
+                    syncedSeq = target;
+                }
+                syncMonitor.notifyAll();
+            }
+        }
+        return synced;
+    }
+
+    private void writeFully(byte[] record) throws IOException {
+        if (failNextAppendAfterBytes >= 0) {
+            int partial = (int) Math.min(record.length, failNextAppendAfterBytes);
+            failNextAppendAfterBytes = -1;
+            channel.write(ByteBuffer.wrap(record, 0, partial));
+            currentSegmentBytes += partial;
+            throw new IOException("simulated append failure");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(record);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        currentSegmentBytes += record.length;
+    }
+
+    // === Segments ===
+
+    private void openNewSegment() throws IOException {
+        currentSegment = new File(journalDir, String.format("segment-%016d.log", nextSegmentId++));
+        channel = null;
+        channel = FileChannel.open(currentSegment.toPath(),
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        currentSegmentBytes = channel.size();
+    }
+
+    /**
+     * Forces and closes the current segment and queues it for deletion by the next compaction.
+     */
+    private void sealCurrentSegment() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        channel.force(false);
+        channel.close();
+        channel = null;
+        sealedSegments.add(currentSegment);
+    }
+
+    // === Compaction ===
+
+    private void compactSafely() {
+        try {
+            compact();
+        } catch (Exception e) {
+            Verbatim.LOGGER.error("[Verbatim] Journal compaction failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Folds the journal into snapshot files: seals the current segment, writes every journalled
+     * player's latest state (or deletes removed players), then deletes the sealed segments.
+     * Segments are kept if any snapshot fails.
+     *
+     * @return true if everything journalled so far is now only in snapshot files
+     */
+    public boolean compact() throws IOException {
+        synchronized (compactLock) {
+            List<File> segments;
+            Map<UUID, JournalEntry> toCompact;
+            synchronized (appendLock) {
+                if (uncompacted.isEmpty() && sealedSegments.isEmpty()) {
+                    return true;
+                }
+                if (!closed && channel != null && currentSegmentBytes > 0) {
+                    sealCurrentSegment();
+                    openNewSegment();
+                }
+                segments = new ArrayList<>(sealedSegments);
+                toCompact = new HashMap<>(uncompacted);
+            }
+
+            int failed = 0;
+            for (Map.Entry<UUID, JournalEntry> entry : toCompact.entrySet()) {
+                JournalEntry journalEntry = entry.getValue();
+                boolean ok = journalEntry.data == null
+                    ? deletePlayerFile(entry.getKey())
+                    : writePlayerFile(entry.getKey(), journalEntry.username, journalEntry.data, true);
+                if (!ok) {
+                    failed++;
+                }
+            }
+            if (failed > 0) {
+                Verbatim.LOGGER.warn("[Verbatim] Journal compaction could not write {} snapshots; keeping journal segments", failed);
+                return false;
+            }
+
+            // Entries replaced by a newer save during compaction stay for the next round
+            for (Map.Entry<UUID, JournalEntry> entry : toCompact.entrySet()) {
+                uncompacted.remove(entry.getKey(), entry.getValue());
+            }
+            synchronized (appendLock) {
+                sealedSegments.removeAll(segments);
+            }
+            boolean deleted = true;
+            for (File segment : segments) {
+                if (!segment.delete()) {
+                    Verbatim.LOGGER.warn("[Verbatim] Could not delete compacted journal segment {}", segment.getName());
+                    deleted = false;
+                }
+            }
+            Verbatim.LOGGER.debug("[Verbatim] Compacted {} players from {} journal segments", toCompact.size(), segments.size());
+            return deleted;
+        }
+    }
+
+    /**
+     * Forces the journal to disk on the compactor thread and rewrites the index.
+     * Under {@link Durability#NONE} this is the only point where saves become durable before compaction.
+     */
+    @Override
+    public CompletableFuture<Void> flush() {
+        super.flush();
+        try {
+            return CompletableFuture.runAsync(this::forceJournal, compactor);
+        } catch (RejectedExecutionException e) {
+            // Closed: saves already went straight to player files
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    private void forceJournal() {
+        synchronized (appendLock) {
+            if (closed || channel == null) {
+                return;
+            }
+            try {
+                channel.force(false);
+            } catch (IOException e) {
+                Verbatim.LOGGER.error("[Verbatim] Journal fsync failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Stops the compactor, compacts everything still in the journal and closes it.
+     * Saves made after this write player files directly.
+     */
+    @Override
+    public void close() {
+        compactor.shutdown();
+        try {
+            if (!compactor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                Verbatim.LOGGER.warn("[Verbatim] Journal compactor did not stop within {} seconds", SHUTDOWN_TIMEOUT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        synchronized (appendLock) {
+            try {
+                sealCurrentSegment();
+            } catch (IOException e) {
+                Verbatim.LOGGER.error("[Verbatim] Failed to close journal segment: {}", e.getMessage());
+            }
+            closed = true;
+        }
+        compactSafely();
+        super.close();
+        Verbatim.LOGGER.info("[Verbatim] Player journal closed");
+    }
+
+    // === Replay ===
+
+    /**
+     * Replays every segment left on disk, oldest first, into the uncompacted map.
+     */
+    private void replay() {
+        File[] files = journalDir.listFiles((dir, name) -> name.startsWith("segment-") && name.endsWith(".log"));
+        if (files == null || files.length == 0) {
+            return;
+        }
+        Arrays.sort(files);
+        int records = 0;
+        for (File segment : files) {
+            records += replaySegment(segment);
+            sealedSegments.add(segment);
+            nextSegmentId = Math.max(nextSegmentId, segmentId(segment) + 1);
+        }
+        Verbatim.LOGGER.info("[Verbatim] Replayed {} journal records from {} segments", records, files.length);
+    }
+
+    private int replaySegment(File segment) {
+        int records = 0;
+        long validBytes = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(segment)))) {
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break; // Clean end of segment
+                }
+                if (length <= 0 || length > MAX_RECORD_BYTES) {
+                    throw new IOException("invalid record length " + length);
+                }
+                long checksum = in.readInt() & 0xFFFFFFFFL;
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                if (crc(payload) != checksum) {
+                    throw new IOException("checksum mismatch");
+                }
+                decodeRecord(payload);
+                validBytes += 8 + length;
+                records++;
+            }
+        } catch (IOException e) {
+            Verbatim.LOGGER.warn("[Verbatim] Journal segment {} ends with a torn or corrupt record after {} bytes ({}); truncating",
+                segment.getName(), validBytes, e.getMessage());
+            truncate(segment, validBytes);
+        }
+        return records;
+    }
+
+    private void truncate(File segment, long length) {
+        try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+            file.setLength(length);
+        } catch (IOException e) {
+            Verbatim.LOGGER.error("[Verbatim] Failed to truncate journal segment {}: {}", segment.getName(), e.getMessage());
+        }
+    }
+
+    private static long segmentId(File segment) {
+        String name = segment.getName();
+        try {
+            return Long.parseLong(name.substring("segment-".length(), name.length() - ".log".length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    // === Record format ===
+    // int length, int crc32(payload), payload:
+    //   byte type, long uuidMost, long uuidLeast, long timestamp, string username, int count, (string key, string value)*
+    // Tombstones (type 2) stop after the timestamp.
+    // Strings are an int byte length (-1 for null) followed by UTF-8 bytes.
+
+    private static byte[] encodeRecord(UUID uuid, String username, Map<String, String> data) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + (data != null ? data.size() * 48 : 0));
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0); // length placeholder
+            out.writeInt(0); // checksum placeholder
+            out.writeByte(data != null ? RECORD_PLAYER_STATE : RECORD_PLAYER_REMOVED);
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+            out.writeLong(System.currentTimeMillis());
+            if (data != null) {
+                writeString(out, username);
+                out.writeInt(data.size());
+                for (Map.Entry<String, String> entry : data.entrySet()) {
+                    writeString(out, entry.getKey());
+                    writeString(out, entry.getValue());
+                }
+            }
+            out.flush();
+
+            byte[] record = bytes.toByteArray();
+            int length = record.length - 8;
+            CRC32 crc = new CRC32();
+            crc.update(record, 8, length);
+            ByteBuffer header = ByteBuffer.wrap(record, 0, 8);
+            header.putInt(length);
+            header.putInt((int) crc.getValue());
+            return record;
+        } catch (IOException e) {
+            // ByteArrayOutputStream does not throw
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void decodeRecord(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        byte type = in.readByte();
+        if (type != RECORD_PLAYER_STATE && type != RECORD_PLAYER_REMOVED) {
+            throw new IOException("unknown record type " + type);
+        }
+        UUID uuid = new UUID(in.readLong(), in.readLong());
+        in.readLong(); // timestamp
+        if (type == RECORD_PLAYER_REMOVED) {
+            uncompacted.put(uuid, new JournalEntry(null, null));
+            return;
+        }
+        String username = readString(in);
+        int count = in.readInt();
+        if (count < 0) {
+            throw new IOException("invalid entry count " + count);
+        }
+        Map<String, String> data = new HashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            data.put(readString(in), readString(in));
+        }
+        uncompacted.put(uuid, new JournalEntry(username, Collections.unmodifiableMap(data)));
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > MAX_RECORD_BYTES) {
+            throw new IOException("invalid string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long crc(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload, 0, payload.length);
+        return crc.getValue();
+    }
+}
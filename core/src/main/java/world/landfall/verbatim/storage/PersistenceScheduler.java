@@ -1,4 +1,4 @@
-package world.landfall.verbatim.platform.hytale;
+package world.landfall.verbatim.storage;
 
 import world.landfall.verbatim.Verbatim;
 
@@ -0,0 +1,81 @@
+package world.landfall.verbatim.storage;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One player's in-memory persistent data.
+ *
+ * <p>Every write bumps a version counter. A save records the version it snapshotted, so the
+ * player stays dirty if another write lands while the file is being written.
+ */
+public final class PlayerData {
+
+    private final ConcurrentHashMap<String, String> values = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+    private volatile long savedVersion;
+    private volatile String lastUsername;
+
+    public boolean contains(String key) {
+        return values.containsKey(key);
+    }
+
+    public String get(String key) {
+        return values.getOrDefault(key, "");
+    }
+
+    public void put(String key, String value) {
+        values.put(key, value);
+        version.incrementAndGet();
+    }
+
+    /**
+     * @return true if the key was present
+     */
+    public boolean remove(String key) {
+        if (values.remove(key) == null) {
+            return false;
+        }
+        version.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Adds values read from disk. Does not mark the player dirty.
+     */
+    public void load(Map<String, String> data) {
+        values.putAll(data);
+    }
+
+    public boolean isDirty() {
+        return version.get() != savedVersion;
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    public Map<String, String> snapshot() {
+        return new HashMap<>(values);
+    }
+
+    /**
+     * Records that the snapshot taken at {@code snapshotVersion} has been written.
+     */
+    public synchronized void markSaved(long snapshotVersion, String username) {
+        if (snapshotVersion > savedVersion) {
+            savedVersion = snapshotVersion;
+        }
+        lastUsername = username;
+    }
+
+    public void setLastUsername(String username) {
+        lastUsername = username;
+    }
+
+    public String getLastUsername() {
+        return lastUsername;
+    }
+}
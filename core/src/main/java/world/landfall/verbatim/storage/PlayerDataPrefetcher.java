@@ -0,0 +1,124 @@
+package world.landfall.verbatim.storage;
+
+import world.landfall.verbatim.Verbatim;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads player data on a background thread while a player is still connecting, so the join
+ * handler on the game thread only has to install the result.
+ *
+ * <p>Platforms call {@link #prefetch(UUID)} as early as they learn who is connecting (Paper's
+ * pre-login, Hytale's connect) and {@link #take(UUID)} on join. Loads that are never taken, because
+ * the login was refused or the player dropped before joining, expire after {@code expiryMillis}.
+ */
+public class PlayerDataPrefetcher {
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+    private static final long DEFAULT_EXPIRY_MILLIS = 60_000;
+
+    private final PlayerDataStore store;
+    private final long expiryNanos;
+    private final ExecutorService executor;
+    private final ConcurrentHashMap<UUID, PendingSession> pending = new ConcurrentHashMap<>();
+
+    private static final class PendingSession {
+        final CompletableFuture<Map<String, String>> data;
+        final long startedNanos;
+
+        PendingSession(CompletableFuture<Map<String, String>> data, long startedNanos) {
+            this.data = data;
+            this.startedNanos = startedNanos;
+        }
+    }
+
+    public PlayerDataPrefetcher(PlayerDataStore store) {
+        this(store, DEFAULT_EXPIRY_MILLIS);
+    }
+
+    /**
+     * @param expiryMillis how long a prefetched load is kept if the player never joins
+     */
+    public PlayerDataPrefetcher(PlayerDataStore store, long expiryMillis) {
+        this.store = store;
+        this.expiryNanos = TimeUnit.MILLISECONDS.toNanos(expiryMillis);
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "Verbatim-PlayerPrefetch");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Starts loading a player's data in the background. A load already pending for the player is kept.
+     */
+    public void prefetch(UUID uuid) {
+        long now = System.nanoTime();
+        pending.values().removeIf(session -> now - session.startedNanos > expiryNanos);
+        pending.computeIfAbsent(uuid, k -> {
+            try {
+                return new PendingSession(CompletableFuture.supplyAsync(() -> store.load(uuid), executor), now);
+            } catch (RejectedExecutionException e) {
+                return null; // Shut down; the join handler loads synchronously
+            }
+        });
+    }
+
+    /**
+     * Removes and returns a player's prefetched data, waiting for the load if it is still running.
+     *
+     * @return the player's data, or null if nothing was prefetched or the load failed
+     */
+    public Map<String, String> take(UUID uuid) {
+        PendingSession session = pending.remove(uuid);
+        if (session == null) {
+            return null;
+        }
+        try {
+            return session.data.get();
+        } catch (ExecutionException e) {
+            Verbatim.LOGGER.error("[Verbatim] Prefetching player data for {} failed: {}", uuid, e.getCause().getMessage());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * Drops a pending load without using it.
+     */
+    public void discard(UUID uuid) {
+        pending.remove(uuid);
+    }
+
+    /**
+     * Number of loads waiting to be taken.
+     */
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Stops the prefetch thread. Pending loads are dropped; joins after this load synchronously.
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                Verbatim.LOGGER.warn("[Verbatim] Player prefetch thread did not finish within {} seconds", SHUTDOWN_TIMEOUT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        pending.clear();
+    }
+}
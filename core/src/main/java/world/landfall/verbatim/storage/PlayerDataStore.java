@@ -0,0 +1,76 @@
+package world.landfall.verbatim.storage;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Persistent storage for per-player data: a flat string map per player UUID, always saved whole.
+ *
+ * <p>Platforms that keep player data outside the game's own save format (Paper, Hytale) hold it
+ * in memory and delegate persistence to one of these backends, chosen by config:
+ * <ul>
+ *   <li>{@link FilePlayerDataStore} - one JSON file per player (the default)</li>
+ *   <li>{@link JournaledPlayerDataStore} - the same files, written through an append-only journal</li>
+ *   <li>{@link SqlPlayerDataStore} - a single embedded SQL database via JDBC</li>
+ *   <li>{@link InMemoryPlayerDataStore} - nothing persisted, for tests</li>
+ * </ul>
+ *
+ * <p>Implementations are thread-safe. Saves usually arrive from a background writer while loads
+ * run when a player joins.
+ */
+public interface PlayerDataStore {
+
+    /**
+     * Loads one player's data.
+     *
+     * @return the player's data, or an empty map if nothing is stored
+     */
+    Map<String, String> load(UUID uuid);
+
+    /**
+     * Loads several players' data in one call.
+     *
+     * @return data for each requested player that has any stored
+     */
+    Map<UUID, Map<String, String>> loadAll(Collection<UUID> uuids);
+
+    /**
+     * Replaces one player's stored data.
+     *
+     * @param username the player's last known username, kept alongside the data for lookups
+     * @return true if the data was stored; false if the write failed and should be retried
+     */
+    boolean save(UUID uuid, String username, Map<String, String> data);
+
+    /**
+     * Replaces several players' stored data, as one batch where the backend supports it.
+     *
+     * @return the players whose data could not be stored, empty if every write succeeded
+     */
+    Set<UUID> saveAll(Collection<PlayerSnapshot> players);
+
+    /**
+     * Deletes one player's stored data.
+     */
+    void remove(UUID uuid);
+
+    /**
+     * Deletes several players' stored data.
+     */
+    void removeAll(Collection<UUID> uuids);
+
+    /**
+     * Makes everything saved so far durable and writes any derived files (such as the username index).
+     * Completes when done; backends that write synchronously return an already completed future.
+     */
+    CompletableFuture<Void> flush();
+
+    /**
+     * Flushes and releases files or connections. Saves made after closing may be written directly or dropped,
+     * depending on the backend.
+     */
+    void close();
+}
@@ -0,0 +1,92 @@
+package world.landfall.verbatim.storage;
+
+import world.landfall.verbatim.Verbatim;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Opens the {@link PlayerDataStore} selected by a platform's {@code storage.mode} config.
+ */
+public final class PlayerDataStores {
+
+    private PlayerDataStores() {}
+
+    /**
+     * Opens a store of the given mode under {@code storeDir}.
+     *
+     * <p>Modes are {@code file} (default), {@code journal}, {@code sql} and {@code memory}. Unknown
+     * modes fall back to {@code file}, as does {@code sql} if the database can't be opened, so a
+     * config mistake never loses player data. A new, empty {@code sql} database is filled from the
+     * player files already under {@code storeDir}.
+     *
+     * @param journalDurability durability for {@code journal} mode: none, batch or always
+     * @param compactIntervalSeconds compaction interval for {@code journal} mode
+     * @param jdbcUrl database URL for {@code sql} mode; blank means SQLite at {@code storeDir/players.db}
+     */
+    public static PlayerDataStore open(String mode, Path storeDir, String journalDurability,
+                                       long compactIntervalSeconds, String jdbcUrl) {
+        String normalized = mode == null ? "file" : mode.trim().toLowerCase(Locale.ROOT);
+        switch (normalized) {
+            case "file":
+                return new FilePlayerDataStore(storeDir);
+            case "journal":
+                return new JournaledPlayerDataStore(storeDir,
+                    JournaledPlayerDataStore.Durability.parse(journalDurability), compactIntervalSeconds);
+            case "sql":
+                return openSql(storeDir, jdbcUrl);
+            case "memory":
+                Verbatim.LOGGER.warn("[Verbatim] Player storage mode is 'memory'; player data will not survive a restart");
+                return new InMemoryPlayerDataStore();
+            default:
+                Verbatim.LOGGER.warn("[Verbatim] Unknown player storage mode '{}', using file", mode);
+                return new FilePlayerDataStore(storeDir);
+        }
+    }
+
+    private static PlayerDataStore openSql(Path storeDir, String jdbcUrl) {
+        String url = jdbcUrl == null || jdbcUrl.isBlank()
+            ? "jdbc:sqlite:" + storeDir.resolve("players.db").toAbsolutePath()
+            : jdbcUrl;
+        try {
+            storeDir.toFile().mkdirs();
+            SqlPlayerDataStore store = new SqlPlayerDataStore(url);
+            importPlayerFiles(store, storeDir);
+            return store;
+        } catch (SQLException e) {
+            Verbatim.LOGGER.error("[Verbatim] Could not open player database ({}), falling back to file storage: {}",
+                url, e.getMessage());
+            return new FilePlayerDataStore(storeDir);
+        }
+    }
+
+    /**
+     * Copies the file (or journal) store's players into an empty database, so switching to {@code sql}
+     * keeps existing data. The copy is one transaction; if it fails the database stays empty and the
+     * import runs again on the next start.
+     */
+    private static void importPlayerFiles(SqlPlayerDataStore store, Path storeDir) {
+        if (!Files.isDirectory(storeDir.resolve("players")) || !store.isEmpty()) {
+            return;
+        }
+        if (Files.isDirectory(storeDir.resolve("journal"))) {
+            // Closing folds any journal left by journal mode into the player files
+            new JournaledPlayerDataStore(storeDir, JournaledPlayerDataStore.Durability.NONE, 3600).close();
+        }
+        List<PlayerSnapshot> players = new FilePlayerDataStore(storeDir).exportAll();
+        if (players.isEmpty()) {
+            return;
+        }
+        Set<UUID> failed = store.saveAll(players);
+        if (!failed.isEmpty()) {
+            Verbatim.LOGGER.error("[Verbatim] Could not import player files into the player database; will retry on next start");
+            return;
+        }
+        Verbatim.LOGGER.info("[Verbatim] Imported {} players from player files into the player database", players.size());
+    }
+}
@@ -0,0 +1,164 @@
+package world.landfall.verbatim.storage;
+
+import world.landfall.verbatim.Verbatim;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Write-behind persistence for player data.
+ *
+ * <p>Writes mark a player dirty instead of saving the file straight away. The save runs on a
+ * background I/O thread once the player has gone {@code debounceMillis} without another write,
+ * or once their oldest unsaved write is {@code maxStalenessMillis} old, whichever comes first.
+ * A burst of writes (joining and focusing a channel, login channel state) becomes one file write.
+ *
+ * <p>{@link #flush(UUID)} saves a player immediately (used on logout) and {@link #shutdown()}
+ * saves everything still pending before returning.
+ */
+public class PlayerDataWriter {
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+    private final ScheduledThreadPoolExecutor executor;
+    private final Consumer<UUID> saveTask;
+    private final long debounceNanos;
+    private final long maxStalenessNanos;
+    private final ConcurrentHashMap<UUID, PendingSave> pending = new ConcurrentHashMap<>();
+    private volatile boolean running = true;
+
+    private static final class PendingSave {
+        final long firstWriteNanos;
+        volatile long lastWriteNanos;
+
+        PendingSave(long nowNanos) {
+            this.firstWriteNanos = nowNanos;
+            this.lastWriteNanos = nowNanos;
+        }
+    }
+
+    /**
+     * @param saveTask writes one player's data if it is still dirty (typically {@code gameContext::savePlayerIfDirty})
+     * @param debounceMillis quiet period after the last write before saving
+     * @param maxStalenessMillis longest a write may wait before it is saved, even while writes keep coming
+     */
+    public PlayerDataWriter(Consumer<UUID> saveTask, long debounceMillis, long maxStalenessMillis) {
+        this.saveTask = saveTask;
+        this.debounceNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, debounceMillis));
+        this.maxStalenessNanos = Math.max(debounceNanos, TimeUnit.MILLISECONDS.toNanos(maxStalenessMillis));
+        this.executor = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r, "Verbatim-PlayerIO");
+            t.setDaemon(true);
+            return t;
+        });
+        // Pending checks are dropped on shutdown; shutdown() saves what they were waiting for
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        Verbatim.LOGGER.info("[Verbatim] Player data write-behind enabled (debounce {} ms, max staleness {} ms)",
+            TimeUnit.NANOSECONDS.toMillis(debounceNanos), TimeUnit.NANOSECONDS.toMillis(maxStalenessNanos));
+    }
+
+    /**
+     * Records that a player's data changed. The first write of a burst schedules the save;
+     * later writes only push it back, up to the maximum staleness.
+     */
+    public void markDirty(UUID uuid) {
+        if (!running) {
+            save(uuid);
+            return;
+        }
+        long now = System.nanoTime();
+        boolean[] created = {false};
+        pending.compute(uuid, (k, existing) -> {
+            if (existing == null) {
+                created[0] = true;
+                return new PendingSave(now);
+            }
+            existing.lastWriteNanos = now;
+            return existing;
+        });
+        if (created[0]) {
+            schedule(uuid, debounceNanos);
+        }
+    }
+
+    /**
+     * Saves a player's pending writes now, on the I/O thread, without waiting for the debounce.
+     */
+    public void flush(UUID uuid) {
+        if (pending.remove(uuid) == null) {
+            return;
+        }
+        try {
+            executor.execute(() -> save(uuid));
+        } catch (RejectedExecutionException e) {
+            save(uuid);
+        }
+    }
+
+    /**
+     * Stops the I/O thread and saves every player that still has pending writes on the calling thread.
+     */
+    public void shutdown() {
+        running = false;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                Verbatim.LOGGER.warn("[Verbatim] Player I/O thread did not finish within {} seconds", SHUTDOWN_TIMEOUT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        int flushed = 0;
+        for (UUID uuid : pending.keySet()) {
+            if (pending.remove(uuid) != null) {
+                save(uuid);
+                flushed++;
+            }
+        }
+        Verbatim.LOGGER.info("[Verbatim] Player data writer stopped ({} pending saves flushed)", flushed);
+    }
+
+    /**
+     * Number of players with writes waiting to be saved.
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    private void schedule(UUID uuid, long delayNanos) {
+        try {
+            executor.schedule(() -> check(uuid), delayNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            // Shut down in the meantime; shutdown() saves whatever is still pending
+        }
+    }
+
+    private void check(UUID uuid) {
+        PendingSave save = pending.get(uuid);
+        if (save == null) {
+            return; // Already flushed
+        }
+        long now = System.nanoTime();
+        long due = Math.min(save.lastWriteNanos + debounceNanos, save.firstWriteNanos + maxStalenessNanos);
+        if (now < due) {
+            schedule(uuid, due - now);
+            return;
+        }
+        // A write landing after this removal starts a new burst; its data is saved here or in the next one
+        if (pending.remove(uuid, save)) {
+            save(uuid);
+        }
+    }
+
+    private void save(UUID uuid) {
+        try {
+            saveTask.accept(uuid);
+        } catch (Exception e) {
+            Verbatim.LOGGER.error("[Verbatim] Failed to save player data for {}: {}", uuid, e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package world.landfall.verbatim.storage;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * One player's data as handed to {@link PlayerDataStore#saveAll}.
+ */
+public record PlayerSnapshot(UUID uuid, String username, Map<String, String> data) {
+}
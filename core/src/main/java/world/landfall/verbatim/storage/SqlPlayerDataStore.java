@@ -0,0 +1,248 @@
+package world.landfall.verbatim.storage;
+
+import world.landfall.verbatim.Verbatim;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Player data store backed by a single embedded SQL database through plain JDBC.
+ *
+ * <p>Schema:
+ * <pre>
+ *   verbatim_players(uuid, username, last_seen)
+ *   verbatim_player_data(uuid, data_key, data_value)   - one row per entry
+ * </pre>
+ *
+ * <p>Each save replaces the player's rows inside one transaction, and {@link #saveAll} commits a
+ * whole batch in one transaction, so a crash leaves either the old or the new data. The JDBC driver
+ * (SQLite by default) must be on the classpath; no driver is bundled with core.
+ *
+ * <p>All access goes through one connection guarded by this object's monitor. Saves come from a single
+ * background writer, so there is no contention worth a pool.
+ */
+public class SqlPlayerDataStore implements PlayerDataStore {
+
+    // Keeps IN (...) lists well under SQLite's default bound-parameter limit
+    private static final int LOAD_CHUNK_SIZE = 500;
+
+    private final Connection connection;
+    private boolean closed;
+
+    /**
+     * Opens {@code jdbcUrl} and creates the tables if they don't exist.
+     *
+     * @throws SQLException if the driver is missing or the database can't be opened
+     */
+    public SqlPlayerDataStore(String jdbcUrl) throws SQLException {
+        this.connection = DriverManager.getConnection(jdbcUrl);
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("CREATE TABLE IF NOT EXISTS verbatim_players ("
+                + "uuid CHAR(36) PRIMARY KEY, username VARCHAR(64), last_seen BIGINT NOT NULL)");
+            statement.executeUpdate("CREATE TABLE IF NOT EXISTS verbatim_player_data ("
+                + "uuid CHAR(36) NOT NULL, data_key VARCHAR(255) NOT NULL, data_value TEXT, "
+                + "PRIMARY KEY (uuid, data_key))");
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        connection.setAutoCommit(false);
+        Verbatim.LOGGER.info("[Verbatim] Player database opened: {}", jdbcUrl);
+    }
+
+    @Override
+    public synchronized Map<String, String> load(UUID uuid) {
+        Map<UUID, Map<String, String>> result = loadAll(Collections.singletonList(uuid));
+        Map<String, String> data = result.get(uuid);
+        return data != null ? data : Collections.emptyMap();
+    }
+
+    @Override
+    public synchronized Map<UUID, Map<String, String>> loadAll(Collection<UUID> uuids) {
+        Map<UUID, Map<String, String>> result = new HashMap<>();
+        if (uuids.isEmpty() || closed) {
+            return result;
+        }
+        List<UUID> all = new ArrayList<>(uuids);
+        try {
+            for (int from = 0; from < all.size(); from += LOAD_CHUNK_SIZE) {
+                List<UUID> chunk = all.subList(from, Math.min(all.size(), from + LOAD_CHUNK_SIZE));
+                loadChunk(chunk, result);
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            Verbatim.LOGGER.error("[Verbatim] Failed to load player data for {} players: {}", all.size(), e.getMessage());
+            rollback();
+        }
+        return result;
+    }
+
+    private void loadChunk(List<UUID> chunk, Map<UUID, Map<String, String>> result) throws SQLException {
+        StringBuilder sql = new StringBuilder("SELECT uuid, data_key, data_value FROM verbatim_player_data WHERE uuid IN (");
+        for (int i = 0; i < chunk.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(')');
+        try (PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+            for (int i = 0; i < chunk.size(); i++) {
+                statement.setString(i + 1, chunk.get(i).toString());
+            }
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    UUID uuid = UUID.fromString(rows.getString(1));
+                    result.computeIfAbsent(uuid, k -> new HashMap<>()).put(rows.getString(2), rows.getString(3));
+                }
+            }
+        }
+    }
+
+    /**
+     * @return true if no player has been saved yet; false if the database can't be read
+     */
+    public synchronized boolean isEmpty() {
+        if (closed) {
+            return false;
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT COUNT(*) FROM verbatim_players")) {
+            boolean empty = rows.next() && rows.getLong(1) == 0;
+            connection.commit();
+            return empty;
+        } catch (SQLException e) {
+            Verbatim.LOGGER.error("[Verbatim] Failed to check player database: {}", e.getMessage());
+            rollback();
+            return false;
+        }
+    }
+
+    @Override
+    public boolean save(UUID uuid, String username, Map<String, String> data) {
+        return saveAll(Collections.singletonList(new PlayerSnapshot(uuid, username, data))).isEmpty();
+    }
+
+    /**
+     * Writes the batch in one transaction, so either every player is stored or, after a rollback, none is.
+     */
+    @Override
+    public synchronized Set<UUID> saveAll(Collection<PlayerSnapshot> players) {
+        if (players.isEmpty()) {
+            return Collections.emptySet();
+        }
+        // Deletes run as one batch before the inserts, so only the last snapshot per player may be inserted
+        Map<UUID, PlayerSnapshot> latest = new LinkedHashMap<>();
+        for (PlayerSnapshot player : players) {
+            latest.put(player.uuid(), player);
+        }
+        if (closed) {
+            Verbatim.LOGGER.warn("[Verbatim] Player database closed, dropping {} saves", latest.size());
+            return new HashSet<>(latest.keySet());
+        }
+        long now = System.currentTimeMillis();
+        try (PreparedStatement deletePlayer = connection.prepareStatement("DELETE FROM verbatim_players WHERE uuid = ?");
+             PreparedStatement deleteData = connection.prepareStatement("DELETE FROM verbatim_player_data WHERE uuid = ?");
+             PreparedStatement insertPlayer = connection.prepareStatement(
+                 "INSERT INTO verbatim_players (uuid, username, last_seen) VALUES (?, ?, ?)");
+             PreparedStatement insertData = connection.prepareStatement(
+                 "INSERT INTO verbatim_player_data (uuid, data_key, data_value) VALUES (?, ?, ?)")) {
+            for (PlayerSnapshot player : latest.values()) {
+                String uuid = player.uuid().toString();
+                deletePlayer.setString(1, uuid);
+                deletePlayer.addBatch();
+                deleteData.setString(1, uuid);
+                deleteData.addBatch();
+                insertPlayer.setString(1, uuid);
+                insertPlayer.setString(2, player.username());
+                insertPlayer.setLong(3, now);
+                insertPlayer.addBatch();
+                for (Map.Entry<String, String> entry : player.data().entrySet()) {
+                    insertData.setString(1, uuid);
+                    insertData.setString(2, entry.getKey());
+                    insertData.setString(3, entry.getValue());
+                    insertData.addBatch();
+                }
+            }
+            deletePlayer.executeBatch();
+            deleteData.executeBatch();
+            insertPlayer.executeBatch();
+            insertData.executeBatch();
+            connection.commit();
+            return Collections.emptySet();
+        } catch (SQLException e) {
+            Verbatim.LOGGER.error("[Verbatim] Failed to save player data for {} players: {}", latest.size(), e.getMessage());
+            rollback();
+            return new HashSet<>(latest.keySet());
+        }
+    }
+
+    @Override
+    public void remove(UUID uuid) {
+        removeAll(Collections.singletonList(uuid));
+    }
+
+    @Override
+    public synchronized void removeAll(Collection<UUID> uuids) {
+        if (uuids.isEmpty() || closed) {
+            return;
+        }
+        try (PreparedStatement deletePlayer = connection.prepareStatement("DELETE FROM verbatim_players WHERE uuid = ?");
+             PreparedStatement deleteData = connection.prepareStatement("DELETE FROM verbatim_player_data WHERE uuid = ?")) {
+            for (UUID uuid : uuids) {
+                deletePlayer.setString(1, uuid.toString());
+                deletePlayer.addBatch();
+                deleteData.setString(1, uuid.toString());
+                deleteData.addBatch();
+            }
+            deletePlayer.executeBatch();
+            deleteData.executeBatch();
+            connection.commit();
+        } catch (SQLException e) {
+            Verbatim.LOGGER.error("[Verbatim] Failed to remove player data for {} players: {}", uuids.size(), e.getMessage());
+            rollback();
+        }
+    }
+
+    /**
+     * Every save commits its own transaction, so there is nothing left to flush.
+     */
+    @Override
+    public CompletableFuture<Void> flush() {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            connection.close();
+            Verbatim.LOGGER.info("[Verbatim] Player database closed");
+        } catch (SQLException e) {
+            Verbatim.LOGGER.error("[Verbatim] Failed to close player database: {}", e.getMessage());
+        }
+    }
+
+    private void rollback() {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            Verbatim.LOGGER.error("[Verbatim] Player database rollback failed: {}", e.getMessage());
+        }
+    }
+}
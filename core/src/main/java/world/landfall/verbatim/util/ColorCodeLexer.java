@@ -0,0 +1,213 @@
+package world.landfall.verbatim.util;
+
+import world.landfall.verbatim.context.GameColor;
+
+import java.util.Arrays;
+
+/**
+ * Single-pass lexer for {@code &} formatting codes and links, shared by every platform's ChatFormatter.
+ *
+ * <p>Recognises {@code &0}-{@code &f} colours, {@code &#RRGGBB} hex colours, the {@code &k}/{@code &l}/
+ * {@code &m}/{@code &n}/{@code &o} decorations and {@code &r} reset, case-insensitively. Codes the
+ * permission flags don't allow are still removed from the text, they just have no effect. Unrecognised
+ * {@code &} sequences are kept as text. Within the text between codes, {@code http(s)://} and
+ * {@code www.} URLs become link runs.
+ *
+ * <p>Output goes into a caller-supplied {@link StyleRuns}; platforms then map each run to one native
+ * component. No regex is involved and nothing is allocated beyond growing the buffer.
+ */
+public final class ColorCodeLexer {
+
+    /** Colour codes ({@code &0}-{@code &f}, {@code &#RRGGBB}) take effect. */
+    public static final int ALLOW_COLORS = 1;
+    /** Decoration codes ({@code &k}-{@code &o}) take effect. */
+    public static final int ALLOW_FORMATS = 1 << 1;
+    /** Both colour and decoration codes take effect; {@code &r} needs either. */
+    public static final int ALLOW_ALL = ALLOW_COLORS | ALLOW_FORMATS;
+    /** Colour codes keep active decorations instead of clearing them. */
+    public static final int KEEP_FORMATS_ON_COLOR = 1 << 2;
+    /** Treat {@code &} as plain text and only find links. */
+    public static final int LINKS_ONLY = 1 << 3;
+
+    /** Run colour meaning "inherit", matching {@code ChannelTemplate.NO_COLOR}. */
+    public static final int NO_COLOR = -1;
+
+    public static final int BOLD = 1;
+    public static final int ITALIC = 1 << 1;
+    public static final int UNDERLINED = 1 << 2;
+    public static final int STRIKETHROUGH = 1 << 3;
+    public static final int OBFUSCATED = 1 << 4;
+
+    // Legacy colour RGB by code character, -1 where the character is not a colour code
+    private static final int[] LEGACY_COLORS = new int[128];
+    // Characters allowed in a URL: \w plus -._~:/?#[]@!$&'()*+,;=%
+    private static final boolean[] URL_CHARS = new boolean[128];
+
+    static {
+        Arrays.fill(LEGACY_COLORS, -1);
+        for (GameColor color : GameColor.values()) {
+            LEGACY_COLORS[color.getCode()] = color.getRgb();
+            LEGACY_COLORS[Character.toUpperCase(color.getCode())] = color.getRgb();
+        }
+        for (char c = 'a'; c <= 'z'; c++) {
+            URL_CHARS[c] = true;
+            URL_CHARS[Character.toUpperCase(c)] = true;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            URL_CHARS[c] = true;
+        }
+        for (char c : "_-.~:/?#[]@!$&'()*+,;=%".toCharArray()) {
+            URL_CHARS[c] = true;
+        }
+    }
+
+    private ColorCodeLexer() {}
+
+    /**
+     * Lexes {@code text} into {@code out}, replacing its previous contents.
+     *
+     * @param baseColor colour of text before any colour code, and what {@code &r} returns to; {@link #NO_COLOR} for none
+     * @param flags {@link #ALLOW_COLORS}, {@link #ALLOW_FORMATS}, {@link #KEEP_FORMATS_ON_COLOR}, {@link #LINKS_ONLY}
+     * @return {@code out}
+     */
+    public static StyleRuns lex(String text, int baseColor, int flags, StyleRuns out) {
+        out.clear();
+        if (text == null || text.isEmpty()) {
+            return out;
+        }
+        int length = text.length();
+        int color = baseColor;
+        int decoration = 0;
+        int segmentStart = 0;
+
+        if ((flags & LINKS_ONLY) == 0) {
+            boolean allowColors = (flags & ALLOW_COLORS) != 0;
+            boolean keepFormats = (flags & KEEP_FORMATS_ON_COLOR) != 0;
+            int i = text.indexOf('&');
+            while (i >= 0 && i < length - 1) {
+                char next = text.charAt(i + 1);
+                int codeLength = 2;
+                int newColor = color;
+                int newDecoration = decoration;
+                int rgb;
+                int format;
+                if (next == '#' && (rgb = parseHex(text, i + 2)) >= 0) {
+                    codeLength = 8;
+                    if (allowColors) {
+                        newColor = rgb;
+                        newDecoration = keepFormats ? decoration : 0;
+                    }
+                } else if (next < 128 && LEGACY_COLORS[next] >= 0) {
+                    if (allowColors) {
+                        newColor = LEGACY_COLORS[next];
+                        newDecoration = keepFormats ? decoration : 0;
+                    }
+                } else if (next == 'r' || next == 'R') {
+                    if ((flags & ALLOW_ALL) != 0) {
+                        newColor = baseColor;
+                        newDecoration = 0;
+                    }
+                } else if ((format = formatBit(next)) != 0) {
+                    if ((flags & ALLOW_FORMATS) != 0) {
+                        newDecoration = decoration | format;
+                    }
+                } else {
+                    i = text.indexOf('&', i + 1);
+                    continue;
+                }
+                emitSegment(text, segmentStart, i, color, decoration, out);
+                color = newColor;
+                decoration = newDecoration;
+                segmentStart = i + codeLength;
+                i = text.indexOf('&', segmentStart);
+            }
+        }
+        emitSegment(text, segmentStart, length, color, decoration, out);
+        return out;
+    }
+
+    /**
+     * Appends {@code text[start, end)} to {@code out}, splitting out any URLs as link runs.
+     */
+    private static void emitSegment(String text, int start, int end, int color, int decoration, StyleRuns out) {
+        int plainStart = start;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c != 'h' && c != 'H' && c != 'w' && c != 'W') {
+                continue;
+            }
+            int urlEnd = urlEnd(text, i, end);
+            if (urlEnd < 0) {
+                continue;
+            }
+            out.append(text, plainStart, i, color, decoration, false);
+            out.append(text, i, urlEnd, color, decoration, true);
+            plainStart = urlEnd;
+            i = urlEnd - 1;
+        }
+        out.append(text, plainStart, end, color, decoration, false);
+    }
+
+    /**
+     * Matches {@code https?://} or {@code www.} followed by at least one URL character at {@code i}.
+     *
+     * @return the end of the URL, or -1 if none starts at {@code i}
+     */
+    private static int urlEnd(String text, int i, int end) {
+        int bodyStart;
+        if (i + 4 <= end && text.regionMatches(true, i, "http", 0, 4)) {
+            int j = i + 4;
+            if (j < end && (text.charAt(j) == 's' || text.charAt(j) == 'S')) {
+                j++;
+            }
+            if (j + 3 > end || !text.startsWith("://", j)) {
+                return -1;
+            }
+            bodyStart = j + 3;
+        } else if (i + 4 <= end && text.regionMatches(true, i, "www.", 0, 4)) {
+            bodyStart = i + 4;
+        } else {
+            return -1;
+        }
+        int k = bodyStart;
+        while (k < end) {
+            char c = text.charAt(k);
+            if (c >= 128 || !URL_CHARS[c]) {
+                break;
+            }
+            k++;
+        }
+        return k > bodyStart ? k : -1;
+    }
+
+    /**
+     * Parses six hex digits at {@code from}.
+     *
+     * @return the RGB value, or -1 if there aren't six hex digits
+     */
+    private static int parseHex(String text, int from) {
+        if (from + 6 > text.length()) {
+            return -1;
+        }
+        int rgb = 0;
+        for (int i = from; i < from + 6; i++) {
+            int digit = Character.digit(text.charAt(i), 16);
+            if (digit < 0 || text.charAt(i) >= 128) {
+                return -1;
+            }
+            rgb = (rgb << 4) | digit;
+        }
+        return rgb;
+    }
+
+    private static int formatBit(char code) {
+        switch (code) {
+            case 'k': case 'K': return OBFUSCATED;
+            case 'l': case 'L': return BOLD;
+            case 'm': case 'M': return STRIKETHROUGH;
+            case 'n': case 'N': return UNDERLINED;
+            case 'o': case 'O': return ITALIC;
+            default: return 0;
+        }
+    }
+}
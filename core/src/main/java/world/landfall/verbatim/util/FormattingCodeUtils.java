@@ -3,6 +3,11 @@ package world.landfall.verbatim.util;
 /**
  * Pure string utility for formatting code operations.
  * No platform dependencies.
+ *
+ * Recognises the same codes as the chat formatters: {@code &} or section sign followed by
+ * {@code 0-9}, {@code a-f}, {@code k-o} or {@code r}, and {@code &#RRGGBB} hex colours, all
+ * case-insensitive. Every method is a single scan without regex, and returns its input unchanged
+ * when there is nothing to do.
  */
 public final class FormattingCodeUtils {
 
@@ -10,11 +15,141 @@ public final class FormattingCodeUtils {
 
     /**
      * Strips Minecraft formatting codes (both & and section) from a string.
+     * @return The text without codes, the same instance if it had none, or null for null
      */
-    public static String stripFormattingCodes(String text) {
+    public static String strip(String text) {
         if (text == null) {
             return null;
         }
-        return text.replaceAll("(?i)[&§]#[0-9a-f]{6}|[&§][0-9A-FK-OR]", "");
+        int first = indexOfCode(text);
+        if (first < 0) {
+            return text;
+        }
+
+        StringBuilder sb = new StringBuilder(text.length());
+        int copyFrom = 0;
+        int i = first;
+        int length = text.length();
+        while (i < length) {
+            int codeLength = codeLengthAt(text, i);
+            if (codeLength > 0) {
+                sb.append(text, copyFrom, i);
+                i += codeLength;
+                copyFrom = i;
+            } else {
+                i++;
+            }
+        }
+        sb.append(text, copyFrom, length);
+        return sb.toString();
+    }
+
+    /**
+     * Returns the number of characters left once formatting codes are removed.
+     */
+    public static int visibleLength(String text) {
+        if (text == null) {
+            return 0;
+        }
+        int visible = 0;
+        int i = 0;
+        int length = text.length();
+        while (i < length) {
+            int codeLength = codeLengthAt(text, i);
+            if (codeLength > 0) {
+                i += codeLength;
+            } else {
+                visible++;
+                i++;
+            }
+        }
+        return visible;
+    }
+
+    /**
+     * Cuts the text after {@code maxChars} visible characters. Codes before the cut are kept
+     * whole, so the remaining text is styled as before; codes after it are dropped, even when no
+     * visible character follows them.
+     * @return The truncated text, or the same instance if it already fits
+     */
+    public static String truncateVisible(String text, int maxChars) {
+        if (text == null) {
+            return null;
+        }
+        if (maxChars <= 0) {
+            return "";
+        }
+        if (text.length() <= maxChars) {
+            return text;
+        }
+        int visible = 0;
+        int end = 0;
+        int i = 0;
+        int length = text.length();
+        while (i < length) {
+            int codeLength = codeLengthAt(text, i);
+            if (codeLength > 0) {
+                i += codeLength;
+            } else {
+                if (visible == maxChars) {
+                    return text.substring(0, end);
+                }
+                visible++;
+                end = ++i;
+            }
+        }
+        // Only codes follow the last visible character; drop them if the limit was reached
+        return visible == maxChars && end < length ? text.substring(0, end) : text;
+    }
+
+    /**
+     * Returns whether the text contains at least one formatting code.
+     */
+    public static boolean containsCodes(String text) {
+        return text != null && indexOfCode(text) >= 0;
+    }
+
+    private static int indexOfCode(String text) {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            if (codeLengthAt(text, i) > 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the length of the code starting at {@code index}: 8 for a hex colour, 2 for a
+     * legacy code, 0 if there is none.
+     */
+    private static int codeLengthAt(String text, int index) {
+        char c = text.charAt(index);
+        if ((c != '&' && c != '\u00a7') || index + 1 >= text.length()) {
+            return 0;
+        }
+        char next = text.charAt(index + 1);
+        if (next == '#') {
+            if (index + 8 > text.length()) {
+                return 0;
+            }
+            for (int j = index + 2; j < index + 8; j++) {
+                if (!isHexDigit(text.charAt(j))) {
+                    return 0;
+                }
+            }
+            return 8;
+        }
+        return isLegacyCode(next) ? 2 : 0;
+    }
+
+    private static boolean isHexDigit(char c) {
+        char lower = (char) (c | 0x20);
+        return (c >= '0' && c <= '9') || (lower >= 'a' && lower <= 'f');
+    }
+
+    private static boolean isLegacyCode(char c) {
+        char lower = (char) (c | 0x20);
+        return isHexDigit(c) || (lower >= 'k' && lower <= 'o') || lower == 'r';
     }
 }
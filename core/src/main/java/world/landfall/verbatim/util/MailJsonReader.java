@@ -0,0 +1,504 @@
+package world.landfall.verbatim.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Single-pass streaming reader for the mail file format (mail shards, names.json and legacy mail.json):
+ * <pre>
+ * { "mailboxes": { "&lt;uuid&gt;": [ {"from": "&lt;uuid&gt;", "fromName": "...", "message": "...",
+ *                                    "timestamp": 123, "read": false}, ... ], ... },
+ *   "nameCache": { "&lt;lowercase name&gt;": "&lt;uuid&gt;", ... } }
+ * </pre>
+ *
+ * <p>Reads characters straight from the {@link Reader} through a fixed buffer and builds
+ * {@link MailService.MailMessage}s as it goes. Keys are matched and UUIDs and numbers are parsed
+ * in place, so the only strings allocated are sender names and message bodies.
+ *
+ * <p>Unknown keys are skipped. Messages missing a field and mailboxes with an invalid UUID are
+ * dropped, as the previous parser did. Each mailbox is handed to the sink as soon as its array
+ * closes, so a truncated file still yields every mailbox before the damage.
+ *
+ * <p>{@link #summarize} counts each mailbox's messages without building them, for the resident
+ * mailbox index; the filtered {@link #read(Reader, Predicate, BiConsumer, BiConsumer)} builds only
+ * the mailboxes asked for and skips the rest.
+ */
+public final class MailJsonReader {
+
+    /**
+     * Receives one mailbox's message counts from {@link #summarize}.
+     */
+    @FunctionalInterface
+    public interface SummarySink {
+        void accept(UUID recipient, int count, int unread);
+    }
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int pos;
+    private int limit;
+    private long offset;
+
+    // Reused for every string token
+    private final StringBuilder token = new StringBuilder(64);
+
+    private final Predicate<UUID> include;
+    private final BiConsumer<UUID, List<MailService.MailMessage>> mailboxSink;
+    private final SummarySink summarySink;
+    private final BiConsumer<String, UUID> nameSink;
+    private int skippedMailboxes;
+
+    // Result of the last readMessage() call
+    private MailService.MailMessage lastMessage;
+    private boolean lastRead;
+
+    private MailJsonReader(Reader reader, Predicate<UUID> include,
+                           BiConsumer<UUID, List<MailService.MailMessage>> mailboxSink,
+                           SummarySink summarySink, BiConsumer<String, UUID> nameSink) {
+        this.reader = reader;
+        this.include = include;
+        this.mailboxSink = mailboxSink;
+        this.summarySink = summarySink;
+        this.nameSink = nameSink;
+    }
+
+    /**
+     * Reads one mail file, passing each non-empty mailbox and each name cache entry to the sinks.
+     *
+     * @return the number of mailboxes skipped because their key was not a valid UUID
+     * @throws IOException if reading fails or the content is malformed; mailboxes already passed to the sink stay valid
+     */
+    public static int read(Reader reader, BiConsumer<UUID, List<MailService.MailMessage>> mailboxSink,
+                           BiConsumer<String, UUID> nameSink) throws IOException {
+        return read(reader, recipient -> true, mailboxSink, nameSink);
+    }
+
+    /**
+     * Like {@link #read(Reader, BiConsumer, BiConsumer)}, but only builds mailboxes whose recipient
+     * matches {@code include}; the others are skipped without allocating their messages.
+     */
+    public static int read(Reader reader, Predicate<UUID> include,
+                           BiConsumer<UUID, List<MailService.MailMessage>> mailboxSink,
+                           BiConsumer<String, UUID> nameSink) throws IOException {
+        MailJsonReader json = new MailJsonReader(reader, include, mailboxSink, null, nameSink);
+        json.readDocument();
+        return json.skippedMailboxes;
+    }
+
+    /**
+     * Counts the valid and unread messages of every non-empty mailbox in a mail file without building them.
+     *
+     * @return the number of mailboxes skipped because their key was not a valid UUID
+     */
+    public static int summarize(Reader reader, SummarySink summarySink) throws IOException {
+        MailJsonReader json = new MailJsonReader(reader, recipient -> false, null, summarySink, (name, uuid) -> { });
+        json.readDocument();
+        return json.skippedMailboxes;
+    }
+
+    private void readDocument() throws IOException {
+        expect('{');
+        if (consumeIf('}')) return;
+        do {
+            readString();
+            expect(':');
+            if (tokenEquals("mailboxes")) {
+                readMailboxes();
+            } else if (tokenEquals("nameCache")) {
+                readNameCache();
+            } else {
+                skipValue();
+            }
+        } while (consumeIf(','));
+        expect('}');
+    }
+
+    private void readMailboxes() throws IOException {
+        expect('{');
+        if (consumeIf('}')) return;
+        do {
+            readString();
+            UUID recipient = parseUuid(token);
+            expect(':');
+            if (recipient == null) {
+                skippedMailboxes++;
+                skipValue();
+            } else if (summarySink != null) {
+                summarizeMailArray(recipient);
+            } else if (include.test(recipient)) {
+                List<MailService.MailMessage> messages = readMailArray();
+                if (!messages.isEmpty()) {
+                    mailboxSink.accept(recipient, messages);
+                }
+            } else {
+                skipValue();
+            }
+        } while (consumeIf(','));
+        expect('}');
+    }
+
+    private List<MailService.MailMessage> readMailArray() throws IOException {
+        List<MailService.MailMessage> messages = new ArrayList<>();
+        expect('[');
+        if (consumeIf(']')) return messages;
+        do {
+            if (readMessage()) {
+                messages.add(lastMessage);
+            }
+        } while (consumeIf(','));
+        expect(']');
+        return messages;
+    }
+
+    private void summarizeMailArray(UUID recipient) throws IOException {
+        int count = 0;
+        int unread = 0;
+        expect('[');
+        if (!consumeIf(']')) {
+            do {
+                if (readMessage()) {
+                    count++;
+                    if (!lastRead) unread++;
+                }
+            } while (consumeIf(','));
+            expect(']');
+        }
+        if (count > 0) {
+            summarySink.accept(recipient, count, unread);
+        }
+    }
+
+    /**
+     * Reads one message object. Returns whether it had every field; if so its read flag is in
+     * {@link #lastRead} and, unless summarizing, the message itself is in {@link #lastMessage}.
+     */
+    private boolean readMessage() throws IOException {
+        boolean summarizing = summarySink != null;
+        UUID from = null;
+        String fromName = null;
+        String message = null;
+        long timestamp = 0;
+        boolean hasTimestamp = false;
+        boolean read = false;
+        boolean hasRead = false;
+
+        expect('{');
+        if (!consumeIf('}')) {
+            do {
+                readString();
+                expect(':');
+                if (tokenEquals("from")) {
+                    if (peekNonWhitespace() == '"') {
+                        readString();
+                        from = parseUuid(token);
+                    } else {
+                        skipValue();
+                    }
+                } else if (tokenEquals("fromName")) {
+                    fromName = summarizing ? skipStringValue() : readStringValue();
+                } else if (tokenEquals("message")) {
+                    message = summarizing ? skipStringValue() : readStringValue();
+                } else if (tokenEquals("timestamp")) {
+                    if (isNumberStart(peekNonWhitespace())) {
+                        timestamp = readLong();
+                        hasTimestamp = true;
+                    } else {
+                        skipValue();
+                    }
+                } else if (tokenEquals("read")) {
+                    int c = peekNonWhitespace();
+                    if (c == 't' || c == 'f') {
+                        read = readBoolean();
+                        hasRead = true;
+                    } else {
+                        skipValue();
+                    }
+                } else {
+                    skipValue();
+                }
+            } while (consumeIf(','));
+            expect('}');
+        }
+
+        lastMessage = null;
+        if (from == null || fromName == null || message == null || !hasTimestamp || !hasRead) {
+            return false;
+        }
+        lastRead = read;
+        if (!summarizing) {
+            lastMessage = new MailService.MailMessage(from, fromName, message, timestamp, read);
+        }
+        return true;
+    }
+
+    private void readNameCache() throws IOException {
+        expect('{');
+        if (consumeIf('}')) return;
+        do {
+            String name = readStringValue();
+            expect(':');
+            if (peekNonWhitespace() != '"') {
+                skipValue();
+                continue;
+            }
+            readString();
+            UUID uuid = parseUuid(token);
+            if (name != null && uuid != null) {
+                nameSink.accept(name, uuid);
+            }
+        } while (consumeIf(','));
+        expect('}');
+    }
+
+    // === Tokens ===
+
+    /**
+     * Reads a string value, or skips a non-string value and returns null.
+     */
+    private String readStringValue() throws IOException {
+        if (peekNonWhitespace() != '"') {
+            skipValue();
+            return null;
+        }
+        readString();
+        return token.toString();
+    }
+
+    /**
+     * Skips a value, returning an empty marker string if it was a string and null otherwise.
+     */
+    private String skipStringValue() throws IOException {
+        boolean isString = peekNonWhitespace() == '"';
+        skipValue();
+        return isString ? "" : null;
+    }
+
+    /**
+     * Reads a quoted string into {@link #token}, decoding escapes.
+     */
+    private void readString() throws IOException {
+        expect('"');
+        token.setLength(0);
+        while (true) {
+            if (pos == limit && !fill()) {
+                throw error("unterminated string");
+            }
+            // Copy the run up to the next quote or escape in one go
+            int start = pos;
+            while (pos < limit) {
+                char c = buffer[pos];
+                if (c == '"' || c == '\\') break;
+                pos++;
+            }
+            token.append(buffer, start, pos - start);
+            if (pos == limit) continue;
+
+            char c = buffer[pos++];
+            if (c == '"') return;
+            token.append(readEscape());
+        }
+    }
+
+    private char readEscape() throws IOException {
+        int c = next();
+        switch (c) {
+            case '"': return '"';
+            case '\\': return '\\';
+            case '/': return '/';
+            case 'n': return '\n';
+            case 'r': return '\r';
+            case 't': return '\t';
+            case 'b': return '\b';
+            case 'f': return '\f';
+            case 'u': {
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(next(), 16);
+                    if (digit < 0) throw error("invalid unicode escape");
+                    value = (value << 4) | digit;
+                }
+                return (char) value;
+            }
+            default:
+                throw error("invalid escape");
+        }
+    }
+
+    private long readLong() throws IOException {
+        skipWhitespace();
+        boolean negative = consumeIf('-');
+        long value = 0;
+        int digits = 0;
+        while (true) {
+            int c = peek();
+            if (c < '0' || c > '9') break;
+            pos++;
+            value = value * 10 + (c - '0');
+            digits++;
+        }
+        if (digits == 0) throw error("expected number");
+        // Fractions and exponents are not part of the format; skip them if present
+        while (isNumberPart(peek())) pos++;
+        return negative ? -value : value;
+    }
+
+    private boolean readBoolean() throws IOException {
+        skipWhitespace();
+        if (peek() == 't') {
+            expectLiteral("true");
+            return true;
+        }
+        expectLiteral("false");
+        return false;
+    }
+
+    private void skipValue() throws IOException {
+        int c = peekNonWhitespace();
+        switch (c) {
+            case '"':
+                readString();
+                return;
+            case '{':
+                pos++;
+                if (consumeIf('}')) return;
+                do {
+                    readString();
+                    expect(':');
+                    skipValue();
+                } while (consumeIf(','));
+                expect('}');
+                return;
+            case '[':
+                pos++;
+                if (consumeIf(']')) return;
+                do {
+                    skipValue();
+                } while (consumeIf(','));
+                expect(']');
+                return;
+            case 't':
+                expectLiteral("true");
+                return;
+            case 'f':
+                expectLiteral("false");
+                return;
+            case 'n':
+                expectLiteral("null");
+                return;
+            default:
+                if (isNumberStart(c)) {
+                    while (isNumberPart(peek())) pos++;
+                    return;
+                }
+                throw error("unexpected value");
+        }
+    }
+
+    private boolean tokenEquals(String expected) {
+        if (token.length() != expected.length()) return false;
+        for (int i = 0; i < expected.length(); i++) {
+            if (token.charAt(i) != expected.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Parses a canonical 8-4-4-4-12 UUID without creating a string. Returns null if malformed.
+     */
+    static UUID parseUuid(CharSequence s) {
+        if (s.length() != 36) return null;
+        long most = 0;
+        long least = 0;
+        int nibbles = 0;
+        for (int i = 0; i < 36; i++) {
+            char c = s.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') return null;
+                continue;
+            }
+            int digit = Character.digit(c, 16);
+            if (digit < 0) return null;
+            if (nibbles < 16) {
+                most = (most << 4) | digit;
+            } else {
+                least = (least << 4) | digit;
+            }
+            nibbles++;
+        }
+        return new UUID(most, least);
+    }
+
+    // === Character input ===
+
+    private boolean fill() throws IOException {
+        offset += limit;
+        pos = 0;
+        limit = 0;
+        int read = reader.read(buffer, 0, buffer.length);
+        if (read <= 0) return false;
+        limit = read;
+        return true;
+    }
+
+    private int peek() throws IOException {
+        if (pos == limit && !fill()) return -1;
+        return buffer[pos];
+    }
+
+    private int next() throws IOException {
+        if (pos == limit && !fill()) throw error("unexpected end of input");
+        return buffer[pos++];
+    }
+
+    private void skipWhitespace() throws IOException {
+        while (true) {
+            int c = peek();
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') return;
+            pos++;
+        }
+    }
+
+    private int peekNonWhitespace() throws IOException {
+        skipWhitespace();
+        return peek();
+    }
+
+    private boolean consumeIf(char expected) throws IOException {
+        if (peekNonWhitespace() == expected) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char expected) throws IOException {
+        if (!consumeIf(expected)) {
+            throw error("expected '" + expected + "'");
+        }
+    }
+
+    private void expectLiteral(String literal) throws IOException {
+        for (int i = 0; i < literal.length(); i++) {
+            if (next() != literal.charAt(i)) throw error("expected " + literal);
+        }
+    }
+
+    private static boolean isNumberStart(int c) {
+        return c == '-' || (c >= '0' && c <= '9');
+    }
+
+    private static boolean isNumberPart(int c) {
+        return isNumberStart(c) || c == '.' || c == 'e' || c == 'E' || c == '+';
+    }
+
+    private IOException error(String message) {
+        return new IOException("Malformed mail data at character " + (offset + pos) + ": " + message);
+    }
+}
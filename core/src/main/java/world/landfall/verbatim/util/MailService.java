@@ -5,31 +5,68 @@ import world.landfall.verbatim.Verbatim;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.Writer;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Centralized mail service for offline-capable player mail.
- * Mail is stored in a JSON file on disk, keyed by recipient UUID.
  * Thread-safe for concurrent sends to the same recipient.
+ *
+ * <p>Mail is stored under {@code mail/} in 256 shard files keyed by the first byte of the
+ * recipient UUID ({@code mail/3f.json}), plus {@code mail/names.json} for the name cache.
+ * A change marks only its recipient's shard dirty; dirty shards are written together on a
+ * background thread shortly afterwards, so a burst of mail becomes one write per shard.
+ * A legacy single {@code mail.json} is migrated into shards on first start, and kept until
+ * every shard has been written so an interrupted migration is finished on the next start.
+ *
+ * <p>Only a small index (message and unread count per recipient) is kept resident. It is built
+ * at startup by counting the shards and kept up to date by every operation, so login checks
+ * never touch disk. Message bodies are loaded from the recipient's shard when needed and kept
+ * in an LRU cache; a mailbox is only evicted once its shard has been written.
  */
 public class MailService {
 
     public static final int MAX_MAILBOX_SIZE = 50;
 
-    private static final ConcurrentHashMap<UUID, List<MailMessage>> mailboxes = new ConcurrentHashMap<>();
+    static final int MAILBOX_CACHE_SIZE = 256;
+    private static final long WRITE_DELAY_MILLIS = 200;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+    private static final ConcurrentHashMap<UUID, MailboxSummary> index = new ConcurrentHashMap<>();
     private static final ConcurrentHashMap<String, UUID> nameCache = new ConcurrentHashMap<>();
     private static Path dataDir;
     private static boolean initialized = false;
 
+    // Loaded mailboxes in access order, and shard write state; all guarded by cacheLock
+    private static final Object cacheLock = new Object();
+    private static final LinkedHashMap<UUID, List<MailMessage>> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private static final Set<Integer> dirtyShards = new HashSet<>();
+    private static final Set<Integer> writingShards = new HashSet<>();
+
+    // Write-behind state
+    private static final AtomicBoolean namesDirty = new AtomicBoolean();
+    private static final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private static final Object flushLock = new Object();
+    private static ScheduledExecutorService writer;
+
     public static class MailMessage {
         public final UUID senderUUID;
         public final String senderName;
@@ -46,6 +83,19 @@ public class MailService {
         }
     }
 
+    /**
+     * Resident counts for one mailbox. Written under cacheLock, read without it.
+     */
+    private static final class MailboxSummary {
+        volatile int count;
+        volatile int unread;
+
+        MailboxSummary(int count, int unread) {
+            this.count = count;
+            this.unread = unread;
+        }
+    }
+
     public static void init(Path dir) {
         dataDir = dir;
         try {
@@ -53,363 +103,483 @@ public class MailService {
         } catch (IOException e) {
             Verbatim.LOGGER.error("[MailService] Failed to create data directory: {}", dataDir, e);
         }
+        synchronized (cacheLock) {
+            cache.clear();
+            dirtyShards.clear();
+            writingShards.clear();
+        }
+        namesDirty.set(false);
+        flushScheduled.set(false);
         loadFromDisk();
+        writer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "Verbatim-MailIO");
+            t.setDaemon(true);
+            return t;
+        });
         initialized = true;
-        Verbatim.LOGGER.info("[MailService] Initialized with {} mailboxes", mailboxes.size());
+        Verbatim.LOGGER.info("[MailService] Initialized with {} mailboxes", index.size());
     }
 
     public static void shutdown() {
         if (!initialized) return;
-        saveToDisk();
         initialized = false;
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                Verbatim.LOGGER.warn("[MailService] Mail writer did not finish within {} seconds", SHUTDOWN_TIMEOUT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writer = null;
+        flushPendingWrites();
         Verbatim.LOGGER.info("[MailService] Shut down.");
     }
 
     public static boolean sendMail(UUID senderUUID, String senderName, UUID recipientUUID, String message) {
         if (!initialized) return false;
 
-        List<MailMessage> mailbox = mailboxes.computeIfAbsent(recipientUUID, k -> Collections.synchronizedList(new ArrayList<>()));
-        synchronized (mailbox) {
-            if (mailbox.size() >= MAX_MAILBOX_SIZE) {
+        synchronized (cacheLock) {
+            MailboxSummary summary = index.get(recipientUUID);
+            if (summary != null && summary.count >= MAX_MAILBOX_SIZE) {
                 return false;
             }
-            mailbox.add(new MailMessage(senderUUID, senderName, message, System.currentTimeMillis(), false));
+            List<MailMessage> mailbox = loadMailbox(recipientUUID);
+            synchronized (mailbox) {
+                if (mailbox.size() >= MAX_MAILBOX_SIZE) {
+                    return false;
+                }
+                mailbox.add(new MailMessage(senderUUID, senderName, message, System.currentTimeMillis(), false));
+            }
+            if (summary == null) {
+                index.put(recipientUUID, new MailboxSummary(1, 1));
+            } else {
+                summary.count++;
+                summary.unread++;
+            }
+            dirtyShards.add(shardOf(recipientUUID));
         }
-        saveToDisk();
+        scheduleFlush();
         return true;
     }
 
     public static int getUnreadCount(UUID playerUUID) {
-        List<MailMessage> mailbox = mailboxes.get(playerUUID);
-        if (mailbox == null) return 0;
-        synchronized (mailbox) {
-            int count = 0;
-            for (MailMessage msg : mailbox) {
-                if (!msg.read) count++;
-            }
-            return count;
-        }
+        MailboxSummary summary = index.get(playerUUID);
+        return summary != null ? summary.unread : 0;
+    }
+
+    public static int getMailCount(UUID playerUUID) {
+        MailboxSummary summary = index.get(playerUUID);
+        return summary != null ? summary.count : 0;
     }
 
     public static List<MailMessage> getMail(UUID playerUUID) {
-        List<MailMessage> mailbox = mailboxes.get(playerUUID);
-        if (mailbox == null) return Collections.emptyList();
+        if (!index.containsKey(playerUUID)) return Collections.emptyList();
+        List<MailMessage> mailbox;
+        synchronized (cacheLock) {
+            mailbox = loadMailbox(playerUUID);
+        }
         synchronized (mailbox) {
             return new ArrayList<>(mailbox);
         }
     }
 
     public static void markAllRead(UUID playerUUID) {
-        List<MailMessage> mailbox = mailboxes.get(playerUUID);
-        if (mailbox == null) return;
-        synchronized (mailbox) {
-            for (MailMessage msg : mailbox) {
-                msg.read = true;
+        MailboxSummary summary = index.get(playerUUID);
+        if (summary == null || summary.unread == 0) return;
+
+        synchronized (cacheLock) {
+            List<MailMessage> mailbox = loadMailbox(playerUUID);
+            synchronized (mailbox) {
+                for (MailMessage msg : mailbox) {
+                    msg.read = true;
+                }
             }
+            summary.unread = 0;
+            dirtyShards.add(shardOf(playerUUID));
         }
-        saveToDisk();
+        scheduleFlush();
     }
 
     public static void clearMail(UUID playerUUID) {
-        mailboxes.remove(playerUUID);
-        saveToDisk();
+        synchronized (cacheLock) {
+            boolean indexed = index.remove(playerUUID) != null;
+            boolean cached = cache.remove(playerUUID) != null;
+            if (!indexed && !cached) return;
+            dirtyShards.add(shardOf(playerUUID));
+        }
+        scheduleFlush();
     }
 
     public static void registerPlayerName(UUID uuid, String name) {
-        nameCache.put(name.toLowerCase(), uuid);
+        if (!uuid.equals(nameCache.put(name.toLowerCase(), uuid))) {
+            namesDirty.set(true);
+            scheduleFlush();
+        }
     }
 
     public static UUID resolvePlayerUUID(String name) {
         return nameCache.get(name.toLowerCase());
     }
 
-    // === JSON Persistence (manual, no Gson dependency in core) ===
-
-    private static Path mailFile() {
-        return dataDir.resolve("mail.json");
+    /**
+     * Number of mailboxes whose messages are currently held in memory. Used for unit testing.
+     */
+    static int getLoadedMailboxCount() {
+        synchronized (cacheLock) {
+            return cache.size();
+        }
     }
 
-    private static Path mailFileTmp() {
-        return dataDir.resolve("mail.json.tmp");
+    // === Mailbox cache ===
+
+    private static int shardOf(UUID uuid) {
+        return (int) (uuid.getMostSignificantBits() >>> 56);
     }
 
-    private static synchronized void saveToDisk() {
-        if (dataDir == null) return;
-        try {
-            StringBuilder sb = new StringBuilder();
-            sb.append("{\n  \"mailboxes\": {");
-
-            boolean firstMailbox = true;
-            for (Map.Entry<UUID, List<MailMessage>> entry : mailboxes.entrySet()) {
-                List<MailMessage> mailbox = entry.getValue();
-                synchronized (mailbox) {
-                    if (mailbox.isEmpty()) continue;
-                    if (!firstMailbox) sb.append(",");
-                    firstMailbox = false;
-                    sb.append("\n    \"").append(entry.getKey()).append("\": [");
-                    boolean firstMsg = true;
-                    for (MailMessage msg : mailbox) {
-                        if (!firstMsg) sb.append(",");
-                        firstMsg = false;
-                        sb.append("\n      {\"from\": \"").append(msg.senderUUID)
-                          .append("\", \"fromName\": \"").append(escapeJson(msg.senderName))
-                          .append("\", \"message\": \"").append(escapeJson(msg.message))
-                          .append("\", \"timestamp\": ").append(msg.timestamp)
-                          .append(", \"read\": ").append(msg.read)
-                          .append("}");
-                    }
-                    sb.append("\n    ]");
-                }
-            }
+    /**
+     * Returns the recipient's loaded mailbox, reading it from their shard on a cache miss.
+     * Must be called with cacheLock held.
+     */
+    private static List<MailMessage> loadMailbox(UUID recipientUUID) {
+        List<MailMessage> mailbox = cache.get(recipientUUID);
+        if (mailbox != null) return mailbox;
+
+        List<MailMessage> messages = index.containsKey(recipientUUID) ? readMailbox(recipientUUID) : new ArrayList<>();
+        mailbox = Collections.synchronizedList(messages);
+        // Make room first so the new mailbox can't be evicted before the caller changes it
+        evictLoadedMailboxes(MAILBOX_CACHE_SIZE - 1);
+        cache.put(recipientUUID, mailbox);
+        return mailbox;
+    }
 
-            sb.append("\n  },\n  \"nameCache\": {");
-            boolean firstName = true;
-            for (Map.Entry<String, UUID> entry : nameCache.entrySet()) {
-                if (!firstName) sb.append(",");
-                firstName = false;
-                sb.append("\n    \"").append(escapeJson(entry.getKey()))
-                  .append("\": \"").append(entry.getValue()).append("\"");
+    /**
+     * Drops least recently used mailboxes beyond {@code limit} whose shard has no unwritten
+     * changes. Must be called with cacheLock held.
+     */
+    private static void evictLoadedMailboxes(int limit) {
+        int excess = cache.size() - limit;
+        Iterator<Map.Entry<UUID, List<MailMessage>>> it = cache.entrySet().iterator();
+        while (excess > 0 && it.hasNext()) {
+            int shard = shardOf(it.next().getKey());
+            if (!dirtyShards.contains(shard) && !writingShards.contains(shard)) {
+                it.remove();
+                excess--;
             }
-            sb.append("\n  }\n}\n");
+        }
+    }
 
-            Path tmp = mailFileTmp();
-            Path target = mailFile();
-            try (Writer writer = Files.newBufferedWriter(tmp)) {
-                writer.write(sb.toString());
-            }
-            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    private static List<MailMessage> readMailbox(UUID recipientUUID) {
+        List<MailMessage> messages = new ArrayList<>();
+        Path file = shardFile(shardOf(recipientUUID));
+        if (!Files.exists(file)) return messages;
+        try (Reader reader = Files.newBufferedReader(file)) {
+            MailJsonReader.read(reader, recipientUUID::equals, (recipient, loaded) -> messages.addAll(loaded), (name, uuid) -> { });
         } catch (IOException e) {
-            Verbatim.LOGGER.error("[MailService] Failed to save mail data", e);
+            Verbatim.LOGGER.error("[MailService] Failed to load mailbox {} from {}", recipientUUID, file.getFileName(), e);
         }
+        return messages;
     }
 
-    private static void loadFromDisk() {
-        mailboxes.clear();
-        nameCache.clear();
-        Path file = mailFile();
-        if (!Files.exists(file)) return;
+    // === Sharded write-behind ===
 
-        try (Reader reader = Files.newBufferedReader(file)) {
-            StringBuilder sb = new StringBuilder();
-            char[] buf = new char[4096];
-            int read;
-            while ((read = reader.read(buf)) != -1) {
-                sb.append(buf, 0, read);
-            }
-            parseJson(sb.toString());
-        } catch (IOException e) {
-            Verbatim.LOGGER.error("[MailService] Failed to load mail data", e);
+    private static void scheduleFlush() {
+        ScheduledExecutorService w = writer;
+        if (w == null || !flushScheduled.compareAndSet(false, true)) {
+            return;
         }
+        try {
+            w.schedule(MailService::flushScheduled, WRITE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Shutting down; shutdown() writes whatever is still dirty
+            flushScheduled.set(false);
+        }
+    }
+
+    private static void flushScheduled() {
+        flushScheduled.set(false);
+        flushPendingWrites();
     }
 
     /**
-     * Simple JSON parser for the mail.json format.
-     * Only handles our known structure — not a general-purpose parser.
+     * Writes every dirty shard and the name cache if it changed. Runs on the mail writer thread,
+     * and on the calling thread at shutdown.
      */
-    private static void parseJson(String json) {
-        try {
-            // Find "mailboxes" section
-            int mailboxesIdx = json.indexOf("\"mailboxes\"");
-            if (mailboxesIdx < 0) return;
-
-            int mailboxesObjStart = json.indexOf('{', mailboxesIdx);
-            int mailboxesObjEnd = findMatchingBrace(json, mailboxesObjStart);
-            if (mailboxesObjEnd < 0) return;
-
-            String mailboxesStr = json.substring(mailboxesObjStart + 1, mailboxesObjEnd);
-            parseMailboxes(mailboxesStr);
-
-            // Find "nameCache" section
-            int nameCacheIdx = json.indexOf("\"nameCache\"");
-            if (nameCacheIdx < 0) return;
-
-            int nameCacheObjStart = json.indexOf('{', nameCacheIdx);
-            int nameCacheObjEnd = findMatchingBrace(json, nameCacheObjStart);
-            if (nameCacheObjEnd < 0) return;
-
-            String nameCacheStr = json.substring(nameCacheObjStart + 1, nameCacheObjEnd);
-            parseNameCache(nameCacheStr);
-        } catch (Exception e) {
-            Verbatim.LOGGER.error("[MailService] Failed to parse mail.json", e);
-        }
-    }
-
-    private static void parseMailboxes(String str) {
-        int pos = 0;
-        while (pos < str.length()) {
-            int keyStart = str.indexOf('"', pos);
-            if (keyStart < 0) break;
-            int keyEnd = str.indexOf('"', keyStart + 1);
-            if (keyEnd < 0) break;
-            String uuidStr = str.substring(keyStart + 1, keyEnd);
-
-            int arrayStart = str.indexOf('[', keyEnd);
-            if (arrayStart < 0) break;
-            int arrayEnd = findMatchingBracket(str, arrayStart);
-            if (arrayEnd < 0) break;
-
-            try {
-                UUID recipientUUID = UUID.fromString(uuidStr);
-                String arrayContent = str.substring(arrayStart + 1, arrayEnd);
-                List<MailMessage> messages = parseMailArray(arrayContent);
-                if (!messages.isEmpty()) {
-                    mailboxes.put(recipientUUID, Collections.synchronizedList(messages));
+    static void flushPendingWrites() {
+        if (dataDir == null) return;
+        synchronized (flushLock) {
+            List<Integer> shards;
+            Map<Integer, Map<UUID, List<MailMessage>>> loadedByShard = new HashMap<>();
+            synchronized (cacheLock) {
+                shards = new ArrayList<>(dirtyShards);
+                dirtyShards.clear();
+                writingShards.addAll(shards);
+                for (Integer shard : shards) {
+                    loadedByShard.put(shard, new LinkedHashMap<>());
+                }
+                for (Map.Entry<UUID, List<MailMessage>> entry : cache.entrySet()) {
+                    Map<UUID, List<MailMessage>> loaded = loadedByShard.get(shardOf(entry.getKey()));
+                    if (loaded != null) {
+                        loaded.put(entry.getKey(), entry.getValue());
+                    }
                 }
-            } catch (IllegalArgumentException e) {
-                Verbatim.LOGGER.warn("[MailService] Invalid UUID in mailboxes: {}", uuidStr);
             }
 
-            pos = arrayEnd + 1;
-        }
-    }
+            List<Integer> failed = new ArrayList<>();
+            for (Integer shard : shards) {
+                if (!writeShard(shard, loadedByShard.get(shard))) {
+                    failed.add(shard);
+                }
+            }
 
-    private static List<MailMessage> parseMailArray(String str) {
-        List<MailMessage> messages = new ArrayList<>();
-        int pos = 0;
-        while (pos < str.length()) {
-            int objStart = str.indexOf('{', pos);
-            if (objStart < 0) break;
-            int objEnd = findMatchingBrace(str, objStart);
-            if (objEnd < 0) break;
-
-            String objStr = str.substring(objStart + 1, objEnd);
-            MailMessage msg = parseMailMessage(objStr);
-            if (msg != null) {
-                messages.add(msg);
+            synchronized (cacheLock) {
+                writingShards.removeAll(shards);
+                dirtyShards.addAll(failed);
+                evictLoadedMailboxes(MAILBOX_CACHE_SIZE);
+            }
+
+            if (namesDirty.getAndSet(false)) {
+                writeNameCache();
             }
-            pos = objEnd + 1;
         }
-        return messages;
     }
 
-    private static MailMessage parseMailMessage(String obj) {
-        String from = extractJsonString(obj, "from");
-        String fromName = extractJsonString(obj, "fromName");
-        String message = extractJsonString(obj, "message");
-        Long timestamp = extractJsonLong(obj, "timestamp");
-        Boolean read = extractJsonBoolean(obj, "read");
+    // === JSON Persistence (manual, no Gson dependency in core) ===
+
+    private static Path mailDir() {
+        return dataDir.resolve("mail");
+    }
+
+    private static Path shardFile(int shard) {
+        return mailDir().resolve(String.format("%02x.json", shard));
+    }
+
+    private static Path namesFile() {
+        return mailDir().resolve("names.json");
+    }
+
+    private static Path legacyMailFile() {
+        return dataDir.resolve("mail.json");
+    }
 
-        if (from == null || fromName == null || message == null || timestamp == null || read == null) {
-            return null;
+    /**
+     * Rewrites one shard from its loaded mailboxes plus the unloaded ones still on disk.
+     * An unreadable shard is renamed to {@code .corrupt} and replaced with the loaded mailboxes.
+     *
+     * @return false if the shard could not be written
+     */
+    private static boolean writeShard(int shard, Map<UUID, List<MailMessage>> loaded) {
+        Path target = shardFile(shard);
+        Map<UUID, List<MailMessage>> mailboxes = new LinkedHashMap<>();
+        if (Files.exists(target)) {
+            try (Reader reader = Files.newBufferedReader(target)) {
+                // Mailboxes that are loaded or were cleared since are not carried over
+                MailJsonReader.read(reader, recipient -> !loaded.containsKey(recipient) && index.containsKey(recipient),
+                    mailboxes::put, (name, uuid) -> { });
+            } catch (IOException e) {
+                Verbatim.LOGGER.error("[MailService] Corrupt mail shard {}, renaming to .corrupt", target.getFileName(), e);
+                if (!renameCorrupt(target)) {
+                    return false;
+                }
+                mailboxes.clear();
+                dropUnloadedMailboxes(shard);
+            }
+        }
+        mailboxes.putAll(loaded);
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\n  \"mailboxes\": {");
+        boolean firstMailbox = true;
+        for (Map.Entry<UUID, List<MailMessage>> entry : mailboxes.entrySet()) {
+            List<MailMessage> mailbox = entry.getValue();
+            synchronized (mailbox) {
+                if (mailbox.isEmpty()) continue;
+                if (!firstMailbox) sb.append(",");
+                firstMailbox = false;
+                appendMailbox(sb, entry.getKey(), mailbox);
+            }
         }
+        sb.append("\n  }\n}\n");
 
         try {
-            return new MailMessage(UUID.fromString(from), fromName, message, timestamp, read);
-        } catch (IllegalArgumentException e) {
-            return null;
-        }
-    }
-
-    private static void parseNameCache(String str) {
-        int pos = 0;
-        while (pos < str.length()) {
-            int keyStart = str.indexOf('"', pos);
-            if (keyStart < 0) break;
-            int keyEnd = str.indexOf('"', keyStart + 1);
-            if (keyEnd < 0) break;
-            String name = str.substring(keyStart + 1, keyEnd);
-
-            int valStart = str.indexOf('"', keyEnd + 1);
-            if (valStart < 0) break;
-            int valEnd = str.indexOf('"', valStart + 1);
-            if (valEnd < 0) break;
-            String uuidStr = str.substring(valStart + 1, valEnd);
-
-            try {
-                nameCache.put(name, UUID.fromString(uuidStr));
-            } catch (IllegalArgumentException e) {
-                Verbatim.LOGGER.warn("[MailService] Invalid UUID in nameCache: {}", uuidStr);
+            if (firstMailbox) {
+                Files.deleteIfExists(target);
+            } else {
+                writeAtomically(target, sb);
             }
+            return true;
+        } catch (IOException e) {
+            Verbatim.LOGGER.error("[MailService] Failed to save mail shard {}", target.getFileName(), e);
+            return false;
+        }
+    }
 
-            pos = valEnd + 1;
+    private static boolean renameCorrupt(Path file) {
+        try {
+            Files.move(file, file.resolveSibling(file.getFileName() + ".corrupt"), StandardCopyOption.REPLACE_EXISTING);
+            return true;
+        } catch (IOException e) {
+            Verbatim.LOGGER.error("[MailService] Failed to set aside corrupt mail shard {}", file.getFileName(), e);
+            return false;
         }
     }
 
-    // === JSON utility methods ===
+    /**
+     * Forgets the indexed mailboxes of a shard that only existed on disk, so counts match what is left.
+     */
+    private static void dropUnloadedMailboxes(int shard) {
+        synchronized (cacheLock) {
+            index.keySet().removeIf(recipient -> shardOf(recipient) == shard && !cache.containsKey(recipient));
+        }
+    }
 
-    private static String extractJsonString(String obj, String key) {
-        String searchKey = "\"" + key + "\"";
-        int keyIdx = obj.indexOf(searchKey);
-        if (keyIdx < 0) return null;
-        int colonIdx = obj.indexOf(':', keyIdx + searchKey.length());
-        if (colonIdx < 0) return null;
-        int valStart = obj.indexOf('"', colonIdx + 1);
-        if (valStart < 0) return null;
-        int valEnd = findUnescapedQuote(obj, valStart + 1);
-        if (valEnd < 0) return null;
-        return unescapeJson(obj.substring(valStart + 1, valEnd));
+    private static void appendMailbox(StringBuilder sb, UUID recipient, List<MailMessage> mailbox) {
+        sb.append("\n    \"").append(recipient).append("\": [");
+        boolean firstMsg = true;
+        for (MailMessage msg : mailbox) {
+            if (!firstMsg) sb.append(",");
+            firstMsg = false;
+            sb.append("\n      {\"from\": \"").append(msg.senderUUID)
+              .append("\", \"fromName\": \"").append(escapeJson(msg.senderName))
+              .append("\", \"message\": \"").append(escapeJson(msg.message))
+              .append("\", \"timestamp\": ").append(msg.timestamp)
+              .append(", \"read\": ").append(msg.read)
+              .append("}");
+        }
+        sb.append("\n    ]");
     }
 
-    private static Long extractJsonLong(String obj, String key) {
-        String searchKey = "\"" + key + "\"";
-        int keyIdx = obj.indexOf(searchKey);
-        if (keyIdx < 0) return null;
-        int colonIdx = obj.indexOf(':', keyIdx + searchKey.length());
-        if (colonIdx < 0) return null;
-        int start = colonIdx + 1;
-        while (start < obj.length() && obj.charAt(start) == ' ') start++;
-        int end = start;
-        while (end < obj.length() && (Character.isDigit(obj.charAt(end)) || obj.charAt(end) == '-')) end++;
-        if (end == start) return null;
+    private static void writeNameCache() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\n  \"nameCache\": {");
+        boolean firstName = true;
+        for (Map.Entry<String, UUID> entry : nameCache.entrySet()) {
+            if (!firstName) sb.append(",");
+            firstName = false;
+            sb.append("\n    \"").append(escapeJson(entry.getKey()))
+              .append("\": \"").append(entry.getValue()).append("\"");
+        }
+        sb.append("\n  }\n}\n");
+
         try {
-            return Long.parseLong(obj.substring(start, end));
-        } catch (NumberFormatException e) {
-            return null;
+            writeAtomically(namesFile(), sb);
+        } catch (IOException e) {
+            Verbatim.LOGGER.error("[MailService] Failed to save mail name cache", e);
+            namesDirty.set(true);
         }
     }
 
-    private static Boolean extractJsonBoolean(String obj, String key) {
-        String searchKey = "\"" + key + "\"";
-        int keyIdx = obj.indexOf(searchKey);
-        if (keyIdx < 0) return null;
-        int colonIdx = obj.indexOf(':', keyIdx + searchKey.length());
-        if (colonIdx < 0) return null;
-        String rest = obj.substring(colonIdx + 1).trim();
-        if (rest.startsWith("true")) return true;
-        if (rest.startsWith("false")) return false;
-        return null;
+    private static void writeAtomically(Path target, CharSequence content) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(tmp)) {
+            writer.append(content);
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
     }
 
-    private static int findMatchingBrace(String str, int openPos) {
-        int depth = 1;
-        boolean inString = false;
-        for (int i = openPos + 1; i < str.length(); i++) {
-            char c = str.charAt(i);
-            if (inString) {
-                if (c == '\\') { i++; continue; }
-                if (c == '"') inString = false;
-            } else {
-                if (c == '"') inString = true;
-                else if (c == '{') depth++;
-                else if (c == '}') { depth--; if (depth == 0) return i; }
+    /**
+     * Builds the index from the shard files and loads the name cache. Message bodies stay on disk.
+     */
+    private static void loadFromDisk() {
+        index.clear();
+        nameCache.clear();
+
+        if (Files.isDirectory(mailDir())) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(mailDir(), "[0-9a-f][0-9a-f].json")) {
+                for (Path file : files) {
+                    indexShard(file);
+                }
+            } catch (IOException e) {
+                Verbatim.LOGGER.error("[MailService] Failed to list mail shards", e);
+            }
+            if (Files.exists(namesFile())) {
+                loadNameCache(namesFile());
             }
         }
-        return -1;
+
+        // mail.json is only renamed once every shard it feeds is written, so an interrupted migration resumes here
+        Path legacy = legacyMailFile();
+        if (Files.exists(legacy)) {
+            migrateLegacyMailFile(legacy);
+        }
     }
 
-    private static int findMatchingBracket(String str, int openPos) {
-        int depth = 1;
-        boolean inString = false;
-        for (int i = openPos + 1; i < str.length(); i++) {
-            char c = str.charAt(i);
-            if (inString) {
-                if (c == '\\') { i++; continue; }
-                if (c == '"') inString = false;
-            } else {
-                if (c == '"') inString = true;
-                else if (c == '[') depth++;
-                else if (c == ']') { depth--; if (depth == 0) return i; }
+    private static void indexShard(Path file) {
+        try (Reader reader = Files.newBufferedReader(file)) {
+            int skipped = MailJsonReader.summarize(reader,
+                (recipient, count, unread) -> index.put(recipient, new MailboxSummary(count, unread)));
+            if (skipped > 0) {
+                Verbatim.LOGGER.warn("[MailService] Skipped {} mailboxes with invalid UUIDs in {}", skipped, file.getFileName());
             }
+        } catch (IOException e) {
+            Verbatim.LOGGER.error("[MailService] Failed to index mail shard {}", file.getFileName(), e);
         }
-        return -1;
     }
 
-    private static int findUnescapedQuote(String str, int start) {
-        for (int i = start; i < str.length(); i++) {
-            if (str.charAt(i) == '\\') { i++; continue; }
-            if (str.charAt(i) == '"') return i;
+    private static void loadNameCache(Path file) {
+        try (Reader reader = Files.newBufferedReader(file)) {
+            MailJsonReader.read(reader, (recipient, messages) -> { }, nameCache::put);
+        } catch (IOException e) {
+            Verbatim.LOGGER.error("[MailService] Failed to load mail name cache", e);
+        }
+    }
+
+    /**
+     * Splits a pre-shard mail.json into shard files, then renames it out of the way.
+     *
+     * <p>Each shard is written whole, so a shard file that already exists holds its part of mail.json
+     * (plus any later changes) and is left alone. Only shards a previous attempt failed to write are
+     * migrated again. Names already in names.json take precedence over the legacy ones.
+     */
+    private static void migrateLegacyMailFile(Path legacy) {
+        Map<UUID, List<MailMessage>> legacyMailboxes = new LinkedHashMap<>();
+        Map<String, UUID> legacyNames = new LinkedHashMap<>();
+        try (Reader reader = Files.newBufferedReader(legacy)) {
+            MailJsonReader.read(reader, legacyMailboxes::put, legacyNames::put);
+        } catch (IOException e) {
+            Verbatim.LOGGER.error("[MailService] Failed to read mail.json; migrating what could be read", e);
+        }
+
+        for (Map.Entry<String, UUID> entry : legacyNames.entrySet()) {
+            if (nameCache.putIfAbsent(entry.getKey(), entry.getValue()) == null) {
+                namesDirty.set(true);
+            }
+        }
+        int migrated = 0;
+        synchronized (cacheLock) {
+            for (Map.Entry<UUID, List<MailMessage>> entry : legacyMailboxes.entrySet()) {
+                int shard = shardOf(entry.getKey());
+                if (!dirtyShards.contains(shard) && Files.exists(shardFile(shard))) {
+                    continue;
+                }
+                migrated++;
+                List<MailMessage> messages = entry.getValue();
+                int unread = 0;
+                for (MailMessage msg : messages) {
+                    if (!msg.read) unread++;
+                }
+                index.put(entry.getKey(), new MailboxSummary(messages.size(), unread));
+                cache.put(entry.getKey(), Collections.synchronizedList(messages));
+                dirtyShards.add(shard);
+            }
+        }
+        flushPendingWrites();
+
+        boolean complete;
+        synchronized (cacheLock) {
+            complete = dirtyShards.isEmpty() && !namesDirty.get();
+        }
+        if (!complete) {
+            Verbatim.LOGGER.error("[MailService] Could not migrate mail.json to shards; keeping it to retry on next start");
+            return;
+        }
+        try {
+            Files.move(legacy, legacy.resolveSibling("mail.json.migrated"), StandardCopyOption.REPLACE_EXISTING);
+            Verbatim.LOGGER.info("[MailService] Migrated {} mailboxes from mail.json to sharded storage", migrated);
+        } catch (IOException e) {
+            Verbatim.LOGGER.error("[MailService] Migrated mail.json but could not rename it", e);
         }
-        return -1;
     }
 
     private static String escapeJson(String str) {
@@ -428,26 +598,4 @@ public class MailService {
         }
         return sb.toString();
     }
-
-    private static String unescapeJson(String str) {
-        if (str == null) return "";
-        StringBuilder sb = new StringBuilder(str.length());
-        for (int i = 0; i < str.length(); i++) {
-            char c = str.charAt(i);
-            if (c == '\\' && i + 1 < str.length()) {
-                char next = str.charAt(i + 1);
-                switch (next) {
-                    case '"': sb.append('"'); i++; break;
-                    case '\\': sb.append('\\'); i++; break;
-                    case 'n': sb.append('\n'); i++; break;
-                    case 'r': sb.append('\r'); i++; break;
-                    case 't': sb.append('\t'); i++; break;
-                    default: sb.append(c); break;
-                }
-            } else {
-                sb.append(c);
-            }
-        }
-        return sb.toString();
-    }
 }
@@ -2,6 +2,7 @@ package world.landfall.verbatim.util;
 
 import world.landfall.verbatim.Verbatim;
 import world.landfall.verbatim.NameStyle;
+import world.landfall.verbatim.chat.PlayerNameCache;
 import world.landfall.verbatim.context.GamePlayer;
 
 import java.util.HashMap;
@@ -31,12 +32,13 @@ public class NicknameService {
             Verbatim.permissionService.hasPermission(player, PERM_CHAT_FORMAT, 2)) {
             processedNickname = nickname;
         } else {
-            processedNickname = FormattingCodeUtils.stripFormattingCodes(nickname);
+            processedNickname = FormattingCodeUtils.strip(nickname);
         }
 
         Verbatim.gameContext.setPlayerStringData(player, NBT_NICKNAME_KEY, processedNickname);
 
         nicknameCache.put(player.getUUID(), processedNickname);
+        PlayerNameCache.invalidate(player.getUUID());
 
         Verbatim.LOGGER.debug("Set nickname for player {} to: {}", player.getUsername(), processedNickname);
         return processedNickname;
@@ -64,6 +66,7 @@ public class NicknameService {
         Verbatim.gameContext.removePlayerData(player, NBT_NICKNAME_KEY);
 
         nicknameCache.remove(playerId);
+        PlayerNameCache.invalidate(playerId);
 
         Verbatim.LOGGER.debug("Cleared nickname for player {}", player.getUsername());
     }
@@ -90,7 +93,7 @@ public class NicknameService {
 
             case DISPLAY_NAME:
             default:
-                return FormattingCodeUtils.stripFormattingCodes(player.getDisplayName());
+                return FormattingCodeUtils.strip(player.getDisplayName());
         }
     }
 
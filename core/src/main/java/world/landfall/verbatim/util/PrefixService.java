@@ -1,9 +1,15 @@
 package world.landfall.verbatim.util;
 
+import world.landfall.verbatim.ChatChannelManager;
+import world.landfall.verbatim.Verbatim;
+import world.landfall.verbatim.chat.PlayerNameCache;
 import world.landfall.verbatim.context.GamePlayer;
 
+import java.lang.reflect.Method;
 import java.util.Collections;
 import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Abstract prefix service that platform implementations extend.
@@ -46,6 +52,46 @@ public abstract class PrefixService {
      */
     public abstract String getPrefixTooltip(GamePlayer player);
 
+    /**
+     * Subscribes to LuckPerms data recalculation so cached player names are rebuilt and channel
+     * access is rechecked when a prefix, tooltip, group or permission changes. Called by platform
+     * services once the API is found; uses reflection like the lookups themselves so LuckPerms
+     * stays an optional dependency.
+     */
+    protected static void invalidateNamesOnLuckPermsChanges(Object luckPermsApi) {
+        try {
+            Object eventBus = luckPermsApi.getClass().getMethod("getEventBus").invoke(luckPermsApi);
+            Class<?> eventBusClass = Class.forName("net.luckperms.api.event.EventBus");
+            Method subscribeMethod = eventBusClass.getMethod("subscribe", Class.class, Consumer.class);
+
+            Class<?> userEventClass = Class.forName("net.luckperms.api.event.user.UserDataRecalculateEvent");
+            Method getUserMethod = userEventClass.getMethod("getUser");
+            Method getUniqueIdMethod = Class.forName("net.luckperms.api.model.user.User").getMethod("getUniqueId");
+            Consumer<Object> onUserChange = event -> {
+                try {
+                    Object user = getUserMethod.invoke(event);
+                    UUID playerId = (UUID) getUniqueIdMethod.invoke(user);
+                    PlayerNameCache.invalidate(playerId);
+                    ChatChannelManager.invalidateChannelAccess(playerId);
+                } catch (Exception e) {
+                    PlayerNameCache.invalidateAll();
+                    ChatChannelManager.invalidateAllChannelAccess();
+                }
+            };
+            subscribeMethod.invoke(eventBus, userEventClass, onUserChange);
+
+            // Group data feeds every member's prefix, tooltip and permissions
+            Class<?> groupEventClass = Class.forName("net.luckperms.api.event.group.GroupDataRecalculateEvent");
+            Consumer<Object> onGroupChange = event -> {
+                PlayerNameCache.invalidateAll();
+                ChatChannelManager.invalidateAllChannelAccess();
+            };
+            subscribeMethod.invoke(eventBus, groupEventClass, onGroupChange);
+        } catch (Exception e) {
+            Verbatim.LOGGER.warn("[PrefixService] Could not subscribe to LuckPerms data changes: {}. Name and permission changes from LuckPerms may apply late.", e.getMessage());
+        }
+    }
+
     /**
      * Default implementation that returns no prefix info.
      * Used when no prefix system is available.
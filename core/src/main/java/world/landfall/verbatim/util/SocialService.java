@@ -3,12 +3,25 @@ package world.landfall.verbatim.util;
 import world.landfall.verbatim.Verbatim;
 import world.landfall.verbatim.context.GamePlayer;
 
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
-
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ignore lists, favourites and block-notification cooldowns.
+ *
+ * The caches are read from chat threads during fan-out while commands and login/logout change
+ * them, so they are concurrent maps holding immutable per-player values: readers never lock.
+ * Loads and writes for one player run under that player's lock stripe and publish a fresh copy,
+ * so a list is read from player data at most once and never seen half-built.
+ *
+ * Ignore and favourite lists are {@link UuidSet}s: membership checks during fan-out are a binary
+ * search over a primitive array, and the lists persist as base64. The older comma-separated
+ * format is still read and is rewritten on the player's next change.
+ */
 public class SocialService {
 
     private static final String DATA_IGNORED_PLAYERS = "verbatim:ignored_players";
@@ -17,11 +30,20 @@ public class SocialService {
 
     private static final long BLOCK_NOTIFY_COOLDOWN_MS = 5 * 60 * 1000L; // 5 minutes
 
-    private static final Map<UUID, Set<UUID>> ignoreCache = new HashMap<>();
-    private static final Map<UUID, Set<UUID>> favoriteCache = new HashMap<>();
-    private static final Map<UUID, Map<UUID, FavoriteMeta>> favoriteMetaCache = new HashMap<>();
+    private static final Map<UUID, UuidSet> ignoreCache = new ConcurrentHashMap<>();
+    private static final Map<UUID, UuidSet> favoriteCache = new ConcurrentHashMap<>();
+    private static final Map<UUID, Map<UUID, FavoriteMeta>> favoriteMetaCache = new ConcurrentHashMap<>();
     // Tracks last time a blocker was notified about a specific sender: blocker -> (sender -> timestamp)
-    private static final Map<UUID, Map<UUID, Long>> blockNotifyCooldowns = new HashMap<>();
+    private static final Map<UUID, Map<UUID, Long>> blockNotifyCooldowns = new ConcurrentHashMap<>();
+
+    private static final int LOCK_STRIPES = 64; // power of two
+    private static final Object[] locks = new Object[LOCK_STRIPES];
+
+    static {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
 
     public static class FavoriteMeta {
         public final String name;
@@ -36,19 +58,22 @@ public class SocialService {
     // === Ignore Methods ===
 
     public static void addIgnore(GamePlayer player, UUID targetUUID) {
-        Set<UUID> ignored = loadIgnoreList(player);
-        ignored.add(targetUUID);
-        ignoreCache.put(player.getUUID(), ignored);
-        saveIgnoreList(player);
+        synchronized (lockFor(player.getUUID())) {
+            ignoreCache.put(player.getUUID(), loadIgnoreList(player).with(targetUUID));
+            saveIgnoreList(player);
+        }
     }
 
     public static void removeIgnore(GamePlayer player, UUID targetUUID) {
-        Set<UUID> ignored = loadIgnoreList(player);
-        ignored.remove(targetUUID);
-        ignoreCache.put(player.getUUID(), ignored);
-        saveIgnoreList(player);
+        synchronized (lockFor(player.getUUID())) {
+            ignoreCache.put(player.getUUID(), loadIgnoreList(player).without(targetUUID));
+            saveIgnoreList(player);
+        }
     }
 
+    /**
+     * Gets the player's ignore list. The set is an unmodifiable snapshot.
+     */
     public static Set<UUID> getIgnoredUUIDs(GamePlayer player) {
         return loadIgnoreList(player);
     }
@@ -60,29 +85,34 @@ public class SocialService {
     // === Favorite Methods ===
 
     public static void addFavorite(GamePlayer player, UUID targetUUID, String targetName) {
-        Set<UUID> favorites = loadFavoriteList(player);
-        favorites.add(targetUUID);
-        favoriteCache.put(player.getUUID(), favorites);
+        synchronized (lockFor(player.getUUID())) {
+            UuidSet favorites = loadFavoriteList(player).with(targetUUID);
 
-        Map<UUID, FavoriteMeta> meta = loadFavoriteMeta(player);
-        meta.put(targetUUID, new FavoriteMeta(targetName, System.currentTimeMillis()));
-        favoriteMetaCache.put(player.getUUID(), meta);
+            Map<UUID, FavoriteMeta> meta = new HashMap<>(loadFavoriteMeta(player));
+            meta.put(targetUUID, new FavoriteMeta(targetName, System.currentTimeMillis()));
 
-        saveFavoriteList(player);
+            favoriteMetaCache.put(player.getUUID(), Collections.unmodifiableMap(meta));
+            favoriteCache.put(player.getUUID(), favorites);
+            saveFavoriteList(player);
+        }
     }
 
     public static void removeFavorite(GamePlayer player, UUID targetUUID) {
-        Set<UUID> favorites = loadFavoriteList(player);
-        favorites.remove(targetUUID);
-        favoriteCache.put(player.getUUID(), favorites);
+        synchronized (lockFor(player.getUUID())) {
+            UuidSet favorites = loadFavoriteList(player).without(targetUUID);
 
-        Map<UUID, FavoriteMeta> meta = loadFavoriteMeta(player);
-        meta.remove(targetUUID);
-        favoriteMetaCache.put(player.getUUID(), meta);
+            Map<UUID, FavoriteMeta> meta = new HashMap<>(loadFavoriteMeta(player));
+            meta.remove(targetUUID);
 
-        saveFavoriteList(player);
+            favoriteCache.put(player.getUUID(), favorites);
+            favoriteMetaCache.put(player.getUUID(), Collections.unmodifiableMap(meta));
+            saveFavoriteList(player);
+        }
     }
 
+    /**
+     * Gets the player's favourites. The set is an unmodifiable snapshot.
+     */
     public static Set<UUID> getFavoriteUUIDs(GamePlayer player) {
         return loadFavoriteList(player);
     }
@@ -91,6 +121,9 @@ public class SocialService {
         return loadFavoriteList(player).contains(senderUUID);
     }
 
+    /**
+     * Gets the stored name and last-seen time of each favourite. The map is an unmodifiable snapshot.
+     */
     public static Map<UUID, FavoriteMeta> getFavoriteMeta(GamePlayer player) {
         return loadFavoriteMeta(player);
     }
@@ -98,11 +131,17 @@ public class SocialService {
     public static void updateFavoriteMetaForPlayer(UUID targetUUID, String name, long lastSeen) {
         if (!Verbatim.gameContext.isServerAvailable()) return;
         for (GamePlayer onlinePlayer : Verbatim.gameContext.getAllOnlinePlayers()) {
-            Set<UUID> favorites = favoriteCache.get(onlinePlayer.getUUID());
-            if (favorites != null && favorites.contains(targetUUID)) {
-                Map<UUID, FavoriteMeta> meta = favoriteMetaCache.computeIfAbsent(
-                    onlinePlayer.getUUID(), k -> new HashMap<>());
+            UuidSet favorites = favoriteCache.get(onlinePlayer.getUUID());
+            if (favorites == null || !favorites.contains(targetUUID)) continue;
+
+            synchronized (lockFor(onlinePlayer.getUUID())) {
+                // Re-check under the lock; the player may have logged out or unfavourited meanwhile
+                favorites = favoriteCache.get(onlinePlayer.getUUID());
+                if (favorites == null || !favorites.contains(targetUUID)) continue;
+
+                Map<UUID, FavoriteMeta> meta = new HashMap<>(favoriteMetaCache.getOrDefault(onlinePlayer.getUUID(), Map.of()));
                 meta.put(targetUUID, new FavoriteMeta(name, lastSeen));
+                favoriteMetaCache.put(onlinePlayer.getUUID(), Collections.unmodifiableMap(meta));
                 saveFavoriteList(onlinePlayer);
             }
         }
@@ -115,22 +154,27 @@ public class SocialService {
      * Rate-limited to once per 5 minutes per sender.
      */
     public static boolean shouldNotifyBlock(UUID blockerUUID, UUID senderUUID) {
-        Map<UUID, Long> cooldowns = blockNotifyCooldowns.computeIfAbsent(blockerUUID, k -> new HashMap<>());
+        Map<UUID, Long> cooldowns = blockNotifyCooldowns.computeIfAbsent(blockerUUID, k -> new ConcurrentHashMap<>());
         long now = System.currentTimeMillis();
         Long lastNotified = cooldowns.get(senderUUID);
         if (lastNotified != null && now - lastNotified < BLOCK_NOTIFY_COOLDOWN_MS) {
             return false;
         }
-        cooldowns.put(senderUUID, now);
-        return true;
+        // Only the thread that wins the swap notifies, so concurrent blocked DMs notify once
+        if (lastNotified == null) {
+            return cooldowns.putIfAbsent(senderUUID, now) == null;
+        }
+        return cooldowns.replace(senderUUID, lastNotified, now);
     }
 
     // === Lifecycle ===
 
     public static void onPlayerLogout(UUID playerId) {
-        ignoreCache.remove(playerId);
-        favoriteCache.remove(playerId);
-        favoriteMetaCache.remove(playerId);
+        synchronized (lockFor(playerId)) {
+            ignoreCache.remove(playerId);
+            favoriteCache.remove(playerId);
+            favoriteMetaCache.remove(playerId);
+        }
         blockNotifyCooldowns.remove(playerId);
     }
 
@@ -143,82 +187,97 @@ public class SocialService {
 
     // === Private Helpers ===
 
-    private static Set<UUID> loadIgnoreList(GamePlayer player) {
+    private static Object lockFor(UUID playerId) {
+        int h = playerId.hashCode();
+        return locks[(h ^ (h >>> 16)) & (LOCK_STRIPES - 1)];
+    }
+
+    private static UuidSet loadIgnoreList(GamePlayer player) {
         UUID playerId = player.getUUID();
-        if (ignoreCache.containsKey(playerId)) {
-            return ignoreCache.get(playerId);
+        UuidSet cached = ignoreCache.get(playerId);
+        if (cached != null) {
+            return cached;
         }
-
-        Set<UUID> ignored = new HashSet<>();
-        if (Verbatim.gameContext.hasPlayerData(player, DATA_IGNORED_PLAYERS)) {
-            String raw = Verbatim.gameContext.getPlayerStringData(player, DATA_IGNORED_PLAYERS);
-            if (raw != null && !raw.isEmpty()) {
-                for (String part : raw.split(",")) {
-                    String trimmed = part.trim();
-                    if (!trimmed.isEmpty()) {
-                        try {
-                            ignored.add(UUID.fromString(trimmed));
-                        } catch (IllegalArgumentException e) {
-                            Verbatim.LOGGER.warn("[SocialService] Invalid UUID in ignore list for {}: {}", player.getUsername(), trimmed);
-                        }
-                    }
-                }
+        synchronized (lockFor(playerId)) {
+            cached = ignoreCache.get(playerId);
+            if (cached != null) {
+                return cached;
             }
+            UuidSet ignored = readIgnoreList(player);
+            ignoreCache.put(playerId, ignored);
+            return ignored;
         }
-        ignoreCache.put(playerId, ignored);
-        return ignored;
     }
 
+    private static UuidSet readIgnoreList(GamePlayer player) {
+        return readUuidSet(player, DATA_IGNORED_PLAYERS, "ignore list");
+    }
+
+    // Callers hold the player's lock
     private static void saveIgnoreList(GamePlayer player) {
-        Set<UUID> ignored = ignoreCache.getOrDefault(player.getUUID(), new HashSet<>());
+        UuidSet ignored = ignoreCache.getOrDefault(player.getUUID(), UuidSet.EMPTY);
         if (ignored.isEmpty()) {
             Verbatim.gameContext.removePlayerData(player, DATA_IGNORED_PLAYERS);
         } else {
-            StringBuilder sb = new StringBuilder();
-            for (UUID uuid : ignored) {
-                if (sb.length() > 0) sb.append(",");
-                sb.append(uuid.toString());
-            }
-            Verbatim.gameContext.setPlayerStringData(player, DATA_IGNORED_PLAYERS, sb.toString());
+            Verbatim.gameContext.setPlayerStringData(player, DATA_IGNORED_PLAYERS, ignored.encode());
         }
     }
 
-    private static Set<UUID> loadFavoriteList(GamePlayer player) {
+    private static UuidSet loadFavoriteList(GamePlayer player) {
         UUID playerId = player.getUUID();
-        if (favoriteCache.containsKey(playerId)) {
-            return favoriteCache.get(playerId);
+        UuidSet cached = favoriteCache.get(playerId);
+        if (cached != null) {
+            return cached;
         }
-
-        Set<UUID> favorites = new HashSet<>();
-        if (Verbatim.gameContext.hasPlayerData(player, DATA_FAVORITE_PLAYERS)) {
-            String raw = Verbatim.gameContext.getPlayerStringData(player, DATA_FAVORITE_PLAYERS);
-            if (raw != null && !raw.isEmpty()) {
-                for (String part : raw.split(",")) {
-                    String trimmed = part.trim();
-                    if (!trimmed.isEmpty()) {
-                        try {
-                            favorites.add(UUID.fromString(trimmed));
-                        } catch (IllegalArgumentException e) {
-                            Verbatim.LOGGER.warn("[SocialService] Invalid UUID in favorite list for {}: {}", player.getUsername(), trimmed);
-                        }
-                    }
-                }
+        synchronized (lockFor(playerId)) {
+            cached = favoriteCache.get(playerId);
+            if (cached != null) {
+                return cached;
             }
+            // Load meta first so a reader that sees the favourites also sees their meta
+            loadFavoriteMeta(player);
+            UuidSet favorites = readFavoriteList(player);
+            favoriteCache.put(playerId, favorites);
+            return favorites;
         }
-        favoriteCache.put(playerId, favorites);
+    }
 
-        // Also load meta
-        loadFavoriteMeta(player);
+    private static UuidSet readFavoriteList(GamePlayer player) {
+        return readUuidSet(player, DATA_FAVORITE_PLAYERS, "favorite list");
+    }
 
-        return favorites;
+    private static UuidSet readUuidSet(GamePlayer player, String key, String description) {
+        if (!Verbatim.gameContext.hasPlayerData(player, key)) {
+            return UuidSet.EMPTY;
+        }
+        String raw = Verbatim.gameContext.getPlayerStringData(player, key);
+        try {
+            return UuidSet.parse(raw, invalid ->
+                Verbatim.LOGGER.warn("[SocialService] Invalid UUID in {} for {}: {}", description, player.getUsername(), invalid));
+        } catch (IllegalArgumentException e) {
+            Verbatim.LOGGER.warn("[SocialService] Corrupt {} for {}: {}", description, player.getUsername(), e.getMessage());
+            return UuidSet.EMPTY;
+        }
     }
 
     private static Map<UUID, FavoriteMeta> loadFavoriteMeta(GamePlayer player) {
         UUID playerId = player.getUUID();
-        if (favoriteMetaCache.containsKey(playerId)) {
-            return favoriteMetaCache.get(playerId);
+        Map<UUID, FavoriteMeta> cached = favoriteMetaCache.get(playerId);
+        if (cached != null) {
+            return cached;
+        }
+        synchronized (lockFor(playerId)) {
+            cached = favoriteMetaCache.get(playerId);
+            if (cached != null) {
+                return cached;
+            }
+            Map<UUID, FavoriteMeta> meta = Collections.unmodifiableMap(readFavoriteMeta(player));
+            favoriteMetaCache.put(playerId, meta);
+            return meta;
         }
+    }
 
+    private static Map<UUID, FavoriteMeta> readFavoriteMeta(GamePlayer player) {
         Map<UUID, FavoriteMeta> meta = new HashMap<>();
         if (Verbatim.gameContext.hasPlayerData(player, DATA_FAV_META)) {
             String raw = Verbatim.gameContext.getPlayerStringData(player, DATA_FAV_META);
@@ -238,24 +297,19 @@ public class SocialService {
                 }
             }
         }
-        favoriteMetaCache.put(playerId, meta);
         return meta;
     }
 
+    // Callers hold the player's lock
     private static void saveFavoriteList(GamePlayer player) {
-        Set<UUID> favorites = favoriteCache.getOrDefault(player.getUUID(), new HashSet<>());
+        UuidSet favorites = favoriteCache.getOrDefault(player.getUUID(), UuidSet.EMPTY);
         if (favorites.isEmpty()) {
             Verbatim.gameContext.removePlayerData(player, DATA_FAVORITE_PLAYERS);
             Verbatim.gameContext.removePlayerData(player, DATA_FAV_META);
         } else {
-            StringBuilder favSb = new StringBuilder();
-            for (UUID uuid : favorites) {
-                if (favSb.length() > 0) favSb.append(",");
-                favSb.append(uuid.toString());
-            }
-            Verbatim.gameContext.setPlayerStringData(player, DATA_FAVORITE_PLAYERS, favSb.toString());
+            Verbatim.gameContext.setPlayerStringData(player, DATA_FAVORITE_PLAYERS, favorites.encode());
 
-            Map<UUID, FavoriteMeta> meta = favoriteMetaCache.getOrDefault(player.getUUID(), new HashMap<>());
+            Map<UUID, FavoriteMeta> meta = favoriteMetaCache.getOrDefault(player.getUUID(), Map.of());
             StringBuilder metaSb = new StringBuilder();
             for (Map.Entry<UUID, FavoriteMeta> entry : meta.entrySet()) {
                 if (metaSb.length() > 0) metaSb.append(",");
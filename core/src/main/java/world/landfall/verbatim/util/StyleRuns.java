@@ -0,0 +1,115 @@
+package world.landfall.verbatim.util;
+
+import java.util.Arrays;
+
+/**
+ * Reusable output buffer for {@link ColorCodeLexer}: the visible text of a string with its
+ * formatting codes removed, cut into runs that each share one style.
+ *
+ * <p>A run is a colour (RGB or {@link ColorCodeLexer#NO_COLOR}), a set of decoration bits
+ * ({@link ColorCodeLexer#BOLD} and friends) and whether it is a link. Arrays grow as needed and are
+ * kept between calls, so one buffer per thread lexes any number of messages without reallocating.
+ * Not thread-safe.
+ */
+public final class StyleRuns {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final StringBuilder text = new StringBuilder(64);
+    private int[] starts = new int[INITIAL_CAPACITY];
+    private int[] ends = new int[INITIAL_CAPACITY];
+    private int[] colors = new int[INITIAL_CAPACITY];
+    private int[] decorations = new int[INITIAL_CAPACITY];
+    private boolean[] links = new boolean[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Empties the buffer, keeping its capacity.
+     */
+    public void clear() {
+        text.setLength(0);
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the visible text of run {@code i}.
+     */
+    public String text(int i) {
+        return text.substring(starts[i], ends[i]);
+    }
+
+    /**
+     * Gets all visible text, with every formatting code removed.
+     */
+    public String visibleText() {
+        return text.toString();
+    }
+
+    /**
+     * Gets the RGB colour of run {@code i}, or {@link ColorCodeLexer#NO_COLOR}.
+     */
+    public int color(int i) {
+        return colors[i];
+    }
+
+    /**
+     * Gets the decoration bits of run {@code i}.
+     */
+    public int decorations(int i) {
+        return decorations[i];
+    }
+
+    public boolean hasDecoration(int i, int decoration) {
+        return (decorations[i] & decoration) != 0;
+    }
+
+    public boolean isLink(int i) {
+        return links[i];
+    }
+
+    /**
+     * Gets the URL a link run should open: its text, with {@code https://} added to bare {@code www.} links.
+     */
+    public String linkUrl(int i) {
+        String url = text(i);
+        return url.regionMatches(true, 0, "www.", 0, 4) ? "https://" + url : url;
+    }
+
+    /**
+     * Appends visible text in the given style, extending the last run when the style matches.
+     */
+    void append(CharSequence source, int start, int end, int color, int decoration, boolean link) {
+        if (start >= end) {
+            return;
+        }
+        int textStart = text.length();
+        text.append(source, start, end);
+        if (!link && size > 0 && !links[size - 1] && colors[size - 1] == color
+                && decorations[size - 1] == decoration && ends[size - 1] == textStart) {
+            ends[size - 1] = text.length();
+            return;
+        }
+        if (size == starts.length) {
+            grow();
+        }
+        starts[size] = textStart;
+        ends[size] = text.length();
+        colors[size] = color;
+        decorations[size] = decoration;
+        links[size] = link;
+        size++;
+    }
+
+    private void grow() {
+        int capacity = starts.length * 2;
+        starts = Arrays.copyOf(starts, capacity);
+        ends = Arrays.copyOf(ends, capacity);
+        colors = Arrays.copyOf(colors, capacity);
+        decorations = Arrays.copyOf(decorations, capacity);
+        links = Arrays.copyOf(links, capacity);
+    }
+}
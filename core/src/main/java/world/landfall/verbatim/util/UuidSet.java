@@ -0,0 +1,276 @@
+package world.landfall.verbatim.util;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Immutable set of UUIDs stored as sorted (most, least significant bits) pairs in one
+ * {@code long[]}, with no object per element. {@link #contains(UUID)} is a binary search over the
+ * primitive array. Changes go through {@link #with(UUID)} and {@link #without(UUID)}, which return
+ * a new set, so a published set can be read from any thread without locking.
+ *
+ * Persisted with {@link #encode()} as {@value #ENCODED_PREFIX} followed by base64 of 16 bytes per
+ * UUID. {@link #parse(String, Consumer)} also reads the older comma-separated UUID format.
+ */
+public final class UuidSet extends AbstractSet<UUID> {
+
+    static final String ENCODED_PREFIX = "b64:";
+
+    public static final UuidSet EMPTY = new UuidSet(new long[0]);
+
+    // msb0, lsb0, msb1, lsb1, ... sorted by (msb, lsb) with signed comparison
+    private final long[] bits;
+
+    private UuidSet(long[] bits) {
+        this.bits = bits;
+    }
+
+    public static UuidSet of(Collection<UUID> uuids) {
+        if (uuids instanceof UuidSet set) {
+            return set;
+        }
+        long[] bits = new long[uuids.size() * 2];
+        int i = 0;
+        for (UUID uuid : uuids) {
+            bits[i++] = uuid.getMostSignificantBits();
+            bits[i++] = uuid.getLeastSignificantBits();
+        }
+        return fromUnsorted(bits);
+    }
+
+    /**
+     * Reads a persisted set in either the base64 or the legacy comma-separated format.
+     *
+     * @param onInvalid receives each legacy entry that is not a UUID; those entries are skipped
+     * @throws IllegalArgumentException if base64 data is malformed
+     */
+    public static UuidSet parse(String raw, Consumer<String> onInvalid) {
+        if (raw == null || raw.isEmpty()) {
+            return EMPTY;
+        }
+        if (raw.startsWith(ENCODED_PREFIX)) {
+            byte[] bytes = Base64.getDecoder().decode(raw.substring(ENCODED_PREFIX.length()));
+            if (bytes.length % 16 != 0) {
+                throw new IllegalArgumentException("UUID set data is not a multiple of 16 bytes: " + bytes.length);
+            }
+            long[] bits = new long[bytes.length / 8];
+            for (int i = 0; i < bits.length; i++) {
+                bits[i] = readLong(bytes, i * 8);
+            }
+            return fromUnsorted(bits);
+        }
+        return parseLegacy(raw, onInvalid);
+    }
+
+    private static UuidSet parseLegacy(String raw, Consumer<String> onInvalid) {
+        long[] bits = new long[16];
+        int size = 0;
+        int start = 0;
+        while (start <= raw.length()) {
+            int end = raw.indexOf(',', start);
+            if (end < 0) {
+                end = raw.length();
+            }
+            String trimmed = raw.substring(start, end).trim();
+            if (!trimmed.isEmpty()) {
+                try {
+                    UUID uuid = UUID.fromString(trimmed);
+                    if (size * 2 == bits.length) {
+                        bits = Arrays.copyOf(bits, bits.length * 2);
+                    }
+                    bits[size * 2] = uuid.getMostSignificantBits();
+                    bits[size * 2 + 1] = uuid.getLeastSignificantBits();
+                    size++;
+                } catch (IllegalArgumentException e) {
+                    onInvalid.accept(trimmed);
+                }
+            }
+            start = end + 1;
+        }
+        return fromUnsorted(Arrays.copyOf(bits, size * 2));
+    }
+
+    /**
+     * Sorts pairs in place and drops duplicates.
+     */
+    private static UuidSet fromUnsorted(long[] bits) {
+        int size = bits.length / 2;
+        if (size == 0) {
+            return EMPTY;
+        }
+        // Insertion sort on pairs: lists are short and usually already sorted when read back
+        for (int i = 1; i < size; i++) {
+            long msb = bits[i * 2];
+            long lsb = bits[i * 2 + 1];
+            int j = i - 1;
+            while (j >= 0 && compare(bits[j * 2], bits[j * 2 + 1], msb, lsb) > 0) {
+                bits[(j + 1) * 2] = bits[j * 2];
+                bits[(j + 1) * 2 + 1] = bits[j * 2 + 1];
+                j--;
+            }
+            bits[(j + 1) * 2] = msb;
+            bits[(j + 1) * 2 + 1] = lsb;
+        }
+        int unique = 1;
+        for (int i = 1; i < size; i++) {
+            if (bits[i * 2] != bits[(unique - 1) * 2] || bits[i * 2 + 1] != bits[(unique - 1) * 2 + 1]) {
+                bits[unique * 2] = bits[i * 2];
+                bits[unique * 2 + 1] = bits[i * 2 + 1];
+                unique++;
+            }
+        }
+        return new UuidSet(unique == size ? bits : Arrays.copyOf(bits, unique * 2));
+    }
+
+    private static int compare(long msbA, long lsbA, long msbB, long lsbB) {
+        int result = Long.compare(msbA, msbB);
+        return result != 0 ? result : Long.compare(lsbA, lsbB);
+    }
+
+    /**
+     * Returns the pair index of the UUID, or {@code -(insertionPoint + 1)} if absent.
+     */
+    private int indexOf(long msb, long lsb) {
+        int low = 0;
+        int high = bits.length / 2 - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compare(bits[mid * 2], bits[mid * 2 + 1], msb, lsb);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    public boolean contains(UUID uuid) {
+        return uuid != null && indexOf(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()) >= 0;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof UUID uuid && contains(uuid);
+    }
+
+    /**
+     * Returns a set that also contains {@code uuid}, or this set if it already does.
+     */
+    public UuidSet with(UUID uuid) {
+        int index = indexOf(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+        if (index >= 0) {
+            return this;
+        }
+        int insert = -(index + 1) * 2;
+        long[] result = new long[bits.length + 2];
+        System.arraycopy(bits, 0, result, 0, insert);
+        result[insert] = uuid.getMostSignificantBits();
+        result[insert + 1] = uuid.getLeastSignificantBits();
+        System.arraycopy(bits, insert, result, insert + 2, bits.length - insert);
+        return new UuidSet(result);
+    }
+
+    /**
+     * Returns a set without {@code uuid}, or this set if it is not present.
+     */
+    public UuidSet without(UUID uuid) {
+        int index = indexOf(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+        if (index < 0) {
+            return this;
+        }
+        if (bits.length == 2) {
+            return EMPTY;
+        }
+        int remove = index * 2;
+        long[] result = new long[bits.length - 2];
+        System.arraycopy(bits, 0, result, 0, remove);
+        System.arraycopy(bits, remove + 2, result, remove, bits.length - remove - 2);
+        return new UuidSet(result);
+    }
+
+    /**
+     * Encodes the set for persistence; read it back with {@link #parse(String, Consumer)}.
+     */
+    public String encode() {
+        byte[] bytes = new byte[bits.length * 8];
+        for (int i = 0; i < bits.length; i++) {
+            writeLong(bytes, i * 8, bits[i]);
+        }
+        return ENCODED_PREFIX + Base64.getEncoder().encodeToString(bytes);
+    }
+
+    @Override
+    public int size() {
+        return bits.length / 2;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return bits.length == 0;
+    }
+
+    @Override
+    public Iterator<UUID> iterator() {
+        return new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < bits.length;
+            }
+
+            @Override
+            public UUID next() {
+                if (next >= bits.length) {
+                    throw new NoSuchElementException();
+                }
+                UUID uuid = new UUID(bits[next], bits[next + 1]);
+                next += 2;
+                return uuid;
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof UuidSet other) {
+            return Arrays.equals(bits, other.bits);
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        // Same as AbstractSet: the sum of the element hash codes, without creating them
+        int hash = 0;
+        for (int i = 0; i < bits.length; i += 2) {
+            long xor = bits[i] ^ bits[i + 1];
+            hash += (int) (xor >> 32) ^ (int) xor;
+        }
+        return hash;
+    }
+
+    private static long readLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (bytes[offset + i] & 0xFF);
+        }
+        return value;
+    }
+
+    private static void writeLong(byte[] bytes, int offset, long value) {
+        for (int i = 7; i >= 0; i--) {
+            bytes[offset + i] = (byte) value;
+            value >>>= 8;
+        }
+    }
+}
@@ -279,6 +279,39 @@ class ChatChannelManagerTest extends VerbatimTestBase {
         assertFalse(playersInChannel.contains(player3));
     }
 
+    @Test
+    void channelMemberIndexTracksLeaveKickAndLogout() {
+        ChatChannelManager.addChannelConfig(createChannel("trade", "&e[Trade]", "t", false));
+        MockGamePlayer player1 = createPlayer("Player1");
+        MockGamePlayer player2 = createPlayer("Player2");
+        MockGamePlayer player3 = createPlayer("Player3");
+        ChatChannelManager.joinChannel(player1, "trade");
+        ChatChannelManager.joinChannel(player2, "trade");
+        ChatChannelManager.joinChannel(player3, "trade");
+        assertEquals(3, ChatChannelManager.getChannelMemberCount("trade"));
+
+        ChatChannelManager.leaveChannelCmd(player1, "trade");
+        ChatChannelManager.adminKickPlayerFromChannel(player2, "trade", null);
+        ChatChannelManager.playerLoggedOut(player3);
+
+        assertEquals(0, ChatChannelManager.getChannelMemberCount("trade"));
+        assertTrue(ChatChannelManager.getPlayersInChannel("trade").isEmpty());
+    }
+
+    @Test
+    void channelMemberIndexRestoredOnLogin() {
+        ChatChannelManager.addChannelConfig(createChannel("trade", "&e[Trade]", "t", false));
+        MockGamePlayer player = createPlayer("Player1");
+        ChatChannelManager.joinChannel(player, "trade");
+        ChatChannelManager.playerLoggedOut(player);
+        assertEquals(0, ChatChannelManager.getChannelMemberCount("trade"));
+
+        ChatChannelManager.playerLoggedIn(player);
+
+        assertEquals(1, ChatChannelManager.getChannelMemberCount("trade"));
+        assertTrue(ChatChannelManager.getPlayersInChannel("trade").contains(player));
+    }
+
     @Test
     void getPlayersInNonexistentChannelReturnsEmpty() {
         var players = ChatChannelManager.getPlayersInChannel("nonexistent");
@@ -0,0 +1,199 @@
+package world.landfall.verbatim;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import world.landfall.verbatim.command.VerbatimCommandHandlers;
+import world.landfall.verbatim.context.GameComponent;
+import world.landfall.verbatim.context.GamePlayer;
+import world.landfall.verbatim.test.MockGameCommandSource;
+import world.landfall.verbatim.test.MockGameContext;
+import world.landfall.verbatim.test.MockGamePlayer;
+import world.landfall.verbatim.test.VerbatimTestBase;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ChatDispatcher.
+ */
+class ChatDispatcherTest extends VerbatimTestBase {
+
+    @BeforeEach
+    public void setUpChannel() {
+        ChatChannelManager.addChannelConfig(new ChatChannelManager.ChannelConfig(
+            "global", "&7[Global]", "g", null, -1, "&f", ":", "&f", "&f",
+            true, false, null, null));
+        gameConfig.setDefaultChannelName("global");
+    }
+
+    @AfterEach
+    void stopDispatcher() {
+        ChatDispatcher.reset();
+    }
+
+    @Test
+    void submitRunsInlineWhenNotStarted() {
+        MockGamePlayer sender = createPlayer("Sender");
+        ChatChannelManager.focusChannel(sender, "global");
+        gameContext.clearMessages();
+
+        ChatDispatcher.submit(sender, "Hello");
+
+        assertFalse(ChatDispatcher.isRunning());
+        assertEquals(1, gameContext.getMessagesTo(sender).size());
+    }
+
+    @Test
+    void dispatcherDeliversQueuedMessagesInOrder() {
+        MockGamePlayer sender = createPlayer("Sender");
+        MockGamePlayer recipient = createPlayer("Recipient");
+        ChatChannelManager.focusChannel(sender, "global");
+        ChatChannelManager.joinChannel(recipient, "global");
+        gameContext.clearMessages();
+        ChatDispatcher.start(16);
+
+        for (int i = 0; i < 10; i++) {
+            ChatDispatcher.submit(sender, "message " + i);
+        }
+
+        assertTrue(ChatDispatcher.awaitIdle(5000));
+        var received = gameContext.getMessagesTo(recipient);
+        assertEquals(10, received.size());
+        for (int i = 0; i < 10; i++) {
+            assertTrue(received.get(i).message().getString().endsWith("message " + i));
+        }
+        assertEquals(10, ChatDispatcher.getDispatchedCount());
+        assertEquals(0, ChatDispatcher.getQueueDepth());
+        assertTrue(ChatDispatcher.getMaxLatencyMillis() >= ChatDispatcher.getAverageLatencyMillis());
+    }
+
+    @Test
+    void messagesFromOfflineSendersAreDropped() {
+        MockGamePlayer sender = createPlayer("Sender");
+        ChatChannelManager.focusChannel(sender, "global");
+        gameContext.removePlayer(sender);
+        gameContext.clearMessages();
+        ChatDispatcher.start(16);
+
+        ChatDispatcher.submit(sender, "Anyone there?");
+
+        assertTrue(ChatDispatcher.awaitIdle(5000));
+        assertTrue(gameContext.getSentMessages().isEmpty());
+    }
+
+    @Test
+    void shutdownDrainsQueue() {
+        MockGamePlayer sender = createPlayer("Sender");
+        ChatChannelManager.focusChannel(sender, "global");
+        gameContext.clearMessages();
+        ChatDispatcher.start(64);
+
+        for (int i = 0; i < 20; i++) {
+            ChatDispatcher.submit(sender, "message " + i);
+        }
+        ChatDispatcher.shutdown();
+
+        assertFalse(ChatDispatcher.isRunning());
+        assertEquals(20, gameContext.getMessagesTo(sender).size());
+    }
+
+    @Test
+    void fullQueueDropsMessageWithNoticeInsteadOfRunningInline() throws Exception {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        useContext(new MockGameContext() {
+            @Override
+            public void sendMessage(Collection<? extends GamePlayer> players, GameComponent message) {
+                if (Thread.currentThread().getName().equals("Verbatim-ChatDispatcher")) {
+                    blocked.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                super.sendMessage(players, message);
+            }
+        });
+        MockGamePlayer sender = createPlayer("Sender");
+        ChatChannelManager.focusChannel(sender, "global");
+        gameContext.clearMessages();
+        ChatDispatcher.start(1);
+
+        ChatDispatcher.submit(sender, "first");
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        ChatDispatcher.submit(sender, "second");
+        ChatDispatcher.submit(sender, "third");
+
+        // The third message found no room and was not run inline ahead of the second
+        assertEquals(1, ChatDispatcher.getDroppedCount());
+        assertEquals(1, gameContext.getMessagesTo(sender).size());
+        assertTrue(gameContext.getMessagesTo(sender).get(0).message().getString().contains("not sent"));
+
+        release.countDown();
+        assertTrue(ChatDispatcher.awaitIdle(5000));
+        var received = gameContext.getMessagesTo(sender);
+        assertEquals(3, received.size());
+        assertTrue(received.get(1).message().getString().endsWith("first"));
+        assertTrue(received.get(2).message().getString().endsWith("second"));
+    }
+
+    @Test
+    void latencyIsRecordedOnceSendsAreDelivered() {
+        List<Runnable> pendingDeliveries = new CopyOnWriteArrayList<>();
+        useContext(new MockGameContext() {
+            @Override
+            public void afterPendingSends(Runnable task) {
+                pendingDeliveries.add(task);
+            }
+        });
+        MockGamePlayer sender = createPlayer("Sender");
+        ChatChannelManager.focusChannel(sender, "global");
+        ChatDispatcher.start(16);
+
+        ChatDispatcher.submit(sender, "Hello");
+
+        assertFalse(ChatDispatcher.awaitIdle(200));
+        assertEquals(0, ChatDispatcher.getDispatchedCount());
+        assertEquals(1, pendingDeliveries.size());
+
+        pendingDeliveries.forEach(Runnable::run);
+
+        assertTrue(ChatDispatcher.awaitIdle(5000));
+        assertEquals(1, ChatDispatcher.getDispatchedCount());
+    }
+
+    @Test
+    void statsCommandReportsQueueAndLatency() {
+        MockGamePlayer admin = createPlayer("Admin");
+        ChatChannelManager.focusChannel(admin, "global");
+        MockGameCommandSource source = new MockGameCommandSource(admin, 2);
+        gameContext.clearMessages();
+
+        VerbatimCommandHandlers.executeChatStats(source);
+        assertTrue(gameContext.getMessagesTo(admin).get(0).message().getString().contains("off"));
+
+        ChatDispatcher.start(16);
+        ChatDispatcher.submit(admin, "Hello");
+        assertTrue(ChatDispatcher.awaitIdle(5000));
+        gameContext.clearMessages();
+
+        VerbatimCommandHandlers.executeChatStats(source);
+        String stats = gameContext.getMessagesTo(admin).get(0).message().getString();
+        assertTrue(stats.contains("Queue: 0/16"));
+        assertTrue(stats.contains("Dispatched: 1"));
+        assertTrue(stats.contains("Dropped (queue full): 0"));
+        assertTrue(stats.contains("Latency: avg"));
+    }
+
+    private void useContext(MockGameContext context) {
+        gameContext = context;
+        Verbatim.gameContext = context;
+    }
+}
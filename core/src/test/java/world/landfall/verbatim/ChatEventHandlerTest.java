@@ -3,7 +3,9 @@ package world.landfall.verbatim;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import world.landfall.verbatim.chat.ChatFocus;
+import world.landfall.verbatim.test.MockGameContext;
 import world.landfall.verbatim.test.MockGamePlayer;
+import world.landfall.verbatim.util.SocialService;
 import world.landfall.verbatim.test.VerbatimTestBase;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -299,6 +301,75 @@ class ChatEventHandlerTest extends VerbatimTestBase {
         assertEquals(0, nonMemberMessages.size(), "Non-member should not receive channel message");
     }
 
+    @Test
+    void channelMessageBodyRenderedOnceForAllRecipients() {
+        MockGamePlayer sender = createPlayer("Sender");
+        MockGamePlayer r1 = createPlayer("R1");
+        MockGamePlayer r2 = createPlayer("R2");
+        MockGamePlayer r3 = createPlayer("R3");
+        ChatChannelManager.focusChannel(sender, "global");
+        for (MockGamePlayer r : new MockGamePlayer[]{r1, r2, r3}) {
+            ChatChannelManager.joinChannel(r, "global");
+        }
+        gameContext.clearMessages();
+
+        ChatEventHandler.onChat(sender, "Hello everyone");
+
+        assertEquals(1, chatFormatter.playerInputParseCount);
+        assertEquals(0, chatFormatter.favoriteNameRenderCount, "Favorite variant should not be built without favorites");
+        assertEquals(4, gameContext.getSentMessages().size());
+    }
+
+    @Test
+    void favoriteVariantBuiltOnceWhenNeeded() {
+        MockGamePlayer sender = createPlayer("Sender");
+        MockGamePlayer fan1 = createPlayer("Fan1");
+        MockGamePlayer fan2 = createPlayer("Fan2");
+        ChatChannelManager.focusChannel(sender, "global");
+        ChatChannelManager.joinChannel(fan1, "global");
+        ChatChannelManager.joinChannel(fan2, "global");
+        SocialService.addFavorite(fan1, sender.getUUID(), sender.getUsername());
+        SocialService.addFavorite(fan2, sender.getUUID(), sender.getUsername());
+        gameContext.clearMessages();
+
+        ChatEventHandler.onChat(sender, "Hi fans");
+
+        assertEquals(1, chatFormatter.favoriteNameRenderCount);
+        assertTrue(gameContext.getMessagesTo(fan1).get(0).message().getString().contains("[FAV]"));
+        assertFalse(gameContext.getMessagesTo(sender).get(0).message().getString().contains("[FAV]"));
+    }
+
+    @Test
+    void channelFanOutMakesOneBulkSendPerVariant() {
+        MockGamePlayer sender = createPlayer("Sender");
+        MockGamePlayer fan = createPlayer("Fan");
+        MockGamePlayer r1 = createPlayer("R1");
+        MockGamePlayer r2 = createPlayer("R2");
+        ChatChannelManager.focusChannel(sender, "global");
+        for (MockGamePlayer r : new MockGamePlayer[]{fan, r1, r2}) {
+            ChatChannelManager.joinChannel(r, "global");
+        }
+        SocialService.addFavorite(fan, sender.getUUID(), sender.getUsername());
+        gameContext.clearMessages();
+
+        ChatEventHandler.onChat(sender, "Hello");
+
+        assertEquals(2, gameContext.getBulkSendCount(), "Standard and favorite variants should each be sent once");
+        assertEquals(4, gameContext.getSentMessages().size());
+        assertSame(gameContext.getMessagesTo(r1).get(0).message(), gameContext.getMessagesTo(r2).get(0).message());
+    }
+
+    @Test
+    void dmBodyParsedOnce() {
+        MockGamePlayer sender = createPlayer("Sender");
+        MockGamePlayer recipient = createPlayer("Recipient");
+        ChatChannelManager.focusDm(sender, recipient.getUUID());
+
+        ChatEventHandler.onChat(sender, "Hello via DM!");
+
+        assertEquals(1, chatFormatter.playerInputParseCount);
+    }
+
     @Test
     void messageWithColonInContentNotTreatedAsShortcut() {
         MockGamePlayer player = createPlayer("Player");
@@ -315,7 +386,7 @@ class ChatEventHandlerTest extends VerbatimTestBase {
     }
 
     @Test
-    void recipientWithoutPermissionAutoKickedFromChannel() {
+    void recipientWithoutPermissionAutoKickedOnAccessRefresh() {
         // Create a restricted channel
         ChatChannelManager.ChannelConfig staffChannel = new ChatChannelManager.ChannelConfig(
             "staff", "&c[Staff]", "s",
@@ -335,17 +406,106 @@ class ChatEventHandlerTest extends VerbatimTestBase {
         ChatChannelManager.joinChannel(recipient, "staff");
         ChatChannelManager.focusChannel(sender, "staff");
 
-        // Revoke recipient's permission
+        // Revoke recipient's permission and signal the change
         permissionService.revokePermission(recipient, "verbatim.channel.staff");
+        ChatChannelManager.refreshChannelAccess(recipient);
 
-        assertTrue(ChatChannelManager.isJoined(recipient, "staff"),
-            "Recipient should still be in channel before message is sent");
+        assertFalse(ChatChannelManager.isJoined(recipient, "staff"),
+            "Recipient without permission should be auto-kicked when their access is refreshed");
 
+        gameContext.clearMessages();
         ChatEventHandler.onChat(sender, "Staff only message!");
+        assertTrue(gameContext.getMessagesTo(recipient).isEmpty());
+    }
 
-        // Recipient should have been auto-kicked
-        assertFalse(ChatChannelManager.isJoined(recipient, "staff"),
-            "Recipient without permission should be auto-kicked when message is broadcast");
+    @Test
+    void expiredChannelAccessIsRecomputedBySweep() {
+        ChatChannelManager.addChannelConfig(new ChatChannelManager.ChannelConfig(
+            "staff", "&c[Staff]", "s", "verbatim.channel.staff",
+            -1, "&f", ":", "&f", "&f", false, false, null, null));
+
+        MockGamePlayer sender = createPlayer("Sender");
+        MockGamePlayer recipient = createPlayer("Recipient");
+        permissionService.grantPermission(sender, "verbatim.channel.staff");
+        permissionService.grantPermission(recipient, "verbatim.channel.staff");
+        ChatChannelManager.joinChannel(sender, "staff");
+        ChatChannelManager.joinChannel(recipient, "staff");
+        ChatChannelManager.focusChannel(sender, "staff");
+        ChatEventHandler.onChat(sender, "First");
+
+        permissionService.revokePermission(recipient, "verbatim.channel.staff");
+        ChatChannelManager.refreshExpiredChannelAccess(System.currentTimeMillis());
+        assertTrue(ChatChannelManager.isJoined(recipient, "staff"), "Fresh access bitmaps are kept until the TTL expires");
+
+        ChatChannelManager.refreshExpiredChannelAccess(System.currentTimeMillis() + ChatChannelManager.CHANNEL_ACCESS_TTL_MS);
+        assertFalse(ChatChannelManager.isJoined(recipient, "staff"));
+    }
+
+    @Test
+    void invalidatedChannelAccessIsRecomputedOnNextTick() {
+        ChatChannelManager.addChannelConfig(new ChatChannelManager.ChannelConfig(
+            "staff", "&c[Staff]", "s", "verbatim.channel.staff",
+            -1, "&f", ":", "&f", "&f", false, false, null, null));
+
+        MockGamePlayer member = createPlayer("Member");
+        MockGamePlayer other = createPlayer("Other");
+        permissionService.grantPermission(member, "verbatim.channel.staff");
+        permissionService.grantPermission(other, "verbatim.channel.staff");
+        ChatChannelManager.joinChannel(member, "staff");
+        ChatChannelManager.joinChannel(other, "staff");
+        ChatChannelManager.refreshChannelAccess(member);
+        ChatChannelManager.refreshChannelAccess(other);
+
+        permissionService.revokePermission(member, "verbatim.channel.staff");
+        permissionService.revokePermission(other, "verbatim.channel.staff");
+        ChatChannelManager.invalidateChannelAccess(member.getUUID());
+        ChatEventHandler.onServerTick();
+
+        assertFalse(ChatChannelManager.isJoined(member, "staff"), "A signalled change should not wait for the TTL");
+        assertTrue(ChatChannelManager.isJoined(other, "staff"), "Players without a signalled change keep their access until the TTL");
+
+        ChatChannelManager.invalidateAllChannelAccess();
+        ChatEventHandler.onServerTick();
+
+        assertFalse(ChatChannelManager.isJoined(other, "staff"));
+    }
+
+    @Test
+    void serverTickDoesNotThrowWhenHousekeepingFails() {
+        Verbatim.gameContext = new MockGameContext() {
+            @Override
+            public boolean isServerAvailable() {
+                throw new IllegalStateException("server gone");
+            }
+        };
+
+        // Platforms that run the tick from a scheduled executor would stop calling it after a throw
+        assertDoesNotThrow(ChatEventHandler::onServerTick);
+    }
+
+    @Test
+    void fanOutUsesCachedChannelAccess() {
+        ChatChannelManager.addChannelConfig(new ChatChannelManager.ChannelConfig(
+            "staff", "&c[Staff]", "s", "verbatim.channel.staff",
+            -1, "&f", ":", "&f", "&f", false, false, null, null));
+
+        MockGamePlayer sender = createPlayer("Sender");
+        permissionService.grantPermission(sender, "verbatim.channel.staff");
+        ChatChannelManager.joinChannel(sender, "staff");
+        ChatChannelManager.focusChannel(sender, "staff");
+        for (int i = 0; i < 5; i++) {
+            MockGamePlayer member = createPlayer("Member" + i);
+            permissionService.grantPermission(member, "verbatim.channel.staff");
+            ChatChannelManager.joinChannel(member, "staff");
+        }
+        ChatEventHandler.onChat(sender, "Warm up");
+        permissionService.checkCount = 0;
+        gameContext.clearMessages();
+
+        ChatEventHandler.onChat(sender, "Hello staff");
+
+        assertEquals(6, gameContext.getSentMessages().size());
+        assertEquals(1, permissionService.checkCount, "Only the sender should hit the permission service");
     }
 
     @Test
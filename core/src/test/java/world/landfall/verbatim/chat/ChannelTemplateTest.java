@@ -0,0 +1,79 @@
+package world.landfall.verbatim.chat;
+
+import org.junit.jupiter.api.Test;
+import world.landfall.verbatim.ChatChannelManager;
+import world.landfall.verbatim.ChatEventHandler;
+import world.landfall.verbatim.context.GameColor;
+import world.landfall.verbatim.test.MockGamePlayer;
+import world.landfall.verbatim.test.VerbatimTestBase;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ChannelTemplate.
+ */
+class ChannelTemplateTest extends VerbatimTestBase {
+
+    private ChatChannelManager.ChannelConfig createChannel(String name, String prefix, String messageColor) {
+        return new ChatChannelManager.ChannelConfig(
+            name, prefix, name.substring(0, 1),
+            null, -1, "&e", " >", "&7", messageColor,
+            false, false, null, null
+        );
+    }
+
+    // === Base Colour Resolution ===
+
+    @Test
+    void resolvesLegacyColorCode() {
+        assertEquals(GameColor.GRAY.getRgb(), ChannelTemplate.resolveBaseColor("&7"));
+    }
+
+    @Test
+    void lastColorCodeWinsAndFormatCodesAreIgnored() {
+        assertEquals(GameColor.YELLOW.getRgb(), ChannelTemplate.resolveBaseColor("&7&l&E"));
+    }
+
+    @Test
+    void resolvesHexColor() {
+        assertEquals(0x12AB34, ChannelTemplate.resolveBaseColor("&#12AB34"));
+    }
+
+    @Test
+    void noColorForEmptyOrFormatOnlyCodes() {
+        assertEquals(ChannelTemplate.NO_COLOR, ChannelTemplate.resolveBaseColor(""));
+        assertEquals(ChannelTemplate.NO_COLOR, ChannelTemplate.resolveBaseColor(null));
+        assertEquals(ChannelTemplate.NO_COLOR, ChannelTemplate.resolveBaseColor("&l"));
+        assertEquals(ChannelTemplate.NO_COLOR, ChannelTemplate.resolveBaseColor("&#zzzzzz"));
+    }
+
+    // === Compilation ===
+
+    @Test
+    void templateCompiledWhenChannelRegistered() {
+        ChatChannelManager.ChannelConfig config = createChannel("global", "&a[G]", "&f");
+        ChatChannelManager.addChannelConfig(config);
+
+        ChannelTemplate template = config.template();
+        assertEquals("[G]", template.prefix().getString());
+        assertEquals("[G] global", template.label().getString());
+        assertEquals(" >", template.separator().getString());
+        assertEquals(GameColor.WHITE.getRgb(), template.messageColorRgb());
+        assertSame(template, config.template());
+    }
+
+    @Test
+    void sendingMessagesDoesNotReparseChannelFormatting() {
+        ChatChannelManager.addChannelConfig(createChannel("global", "&a[G]", "&f"));
+        gameConfig.setDefaultChannelName("global");
+        MockGamePlayer sender = createPlayer("Sender");
+        ChatChannelManager.focusChannel(sender, "global");
+        chatFormatter.parseColorsCount = 0;
+
+        ChatEventHandler.onChat(sender, "one");
+        ChatEventHandler.onChat(sender, "two");
+
+        assertEquals(0, chatFormatter.parseColorsCount);
+        assertEquals(2, chatFormatter.playerInputParseCount);
+    }
+}
@@ -0,0 +1,132 @@
+package world.landfall.verbatim.chat;
+
+import org.junit.jupiter.api.Test;
+import world.landfall.verbatim.NameStyle;
+import world.landfall.verbatim.context.GameComponent;
+import world.landfall.verbatim.context.NodeComponent;
+import world.landfall.verbatim.test.MockGamePlayer;
+import world.landfall.verbatim.test.VerbatimTestBase;
+import world.landfall.verbatim.util.NicknameService;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PlayerNameCache.
+ */
+class PlayerNameCacheTest extends VerbatimTestBase {
+
+    private final AtomicInteger builds = new AtomicInteger();
+
+    private Supplier<GameComponent> builder(String text) {
+        return () -> {
+            builds.incrementAndGet();
+            return NodeComponent.literal(text);
+        };
+    }
+
+    private GameComponent name(MockGamePlayer player, NameStyle style) {
+        return PlayerNameCache.getPlayerName(player, "&f", false, style, builder(player.getUsername()));
+    }
+
+    @Test
+    void repeatedLookupBuildsOnce() {
+        MockGamePlayer player = createPlayer("Alice");
+
+        GameComponent first = name(player, NameStyle.USERNAME);
+        GameComponent second = name(player, NameStyle.USERNAME);
+
+        assertEquals(1, builds.get());
+        assertEquals("Alice", second.getString());
+        assertSame(NodeComponent.nodeOf(first), NodeComponent.nodeOf(second));
+    }
+
+    @Test
+    void keyPartsAreCachedSeparately() {
+        MockGamePlayer player = createPlayer("Alice");
+
+        name(player, NameStyle.USERNAME);
+        name(player, NameStyle.NICKNAME);
+        PlayerNameCache.getPlayerName(player, "&c", false, NameStyle.USERNAME, builder("Alice"));
+        PlayerNameCache.getPlayerName(player, "&f", true, NameStyle.USERNAME, builder("Alice"));
+        PlayerNameCache.getFavoriteName(player, "&f", false, NameStyle.USERNAME, 0xFF0000, 0x0000FF, builder("Alice"));
+        PlayerNameCache.getFavoriteName(player, "&f", false, NameStyle.USERNAME, 0x00FF00, 0x0000FF, builder("Alice"));
+
+        assertEquals(6, builds.get());
+    }
+
+    @Test
+    void returnedComponentsAreIndependent() {
+        MockGamePlayer player = createPlayer("Alice");
+
+        name(player, NameStyle.USERNAME).append(" [edited]");
+
+        assertEquals("Alice", name(player, NameStyle.USERNAME).getString());
+        assertEquals(1, builds.get());
+    }
+
+    @Test
+    void invalidateDropsOnlyThatPlayer() {
+        MockGamePlayer alice = createPlayer("Alice");
+        MockGamePlayer bob = createPlayer("Bob");
+        name(alice, NameStyle.USERNAME);
+        name(bob, NameStyle.USERNAME);
+
+        PlayerNameCache.invalidate(alice.getUUID());
+        name(alice, NameStyle.USERNAME);
+        name(bob, NameStyle.USERNAME);
+
+        assertEquals(3, builds.get());
+    }
+
+    @Test
+    void invalidateAllDropsEveryPlayer() {
+        MockGamePlayer alice = createPlayer("Alice");
+        MockGamePlayer bob = createPlayer("Bob");
+        name(alice, NameStyle.USERNAME);
+        name(bob, NameStyle.USERNAME);
+
+        PlayerNameCache.invalidateAll();
+        name(alice, NameStyle.USERNAME);
+        name(bob, NameStyle.USERNAME);
+
+        assertEquals(4, builds.get());
+    }
+
+    @Test
+    void displayNameChangeRebuilds() {
+        UUID uuid = UUID.randomUUID();
+        name(new MockGamePlayer(uuid, "Alice", "Alice"), NameStyle.DISPLAY_NAME);
+
+        name(new MockGamePlayer(uuid, "Alice", "Lady Alice"), NameStyle.DISPLAY_NAME);
+
+        assertEquals(2, builds.get());
+    }
+
+    @Test
+    void nicknameChangesInvalidate() {
+        MockGamePlayer player = createPlayer("Alice");
+        name(player, NameStyle.NICKNAME);
+
+        NicknameService.setNickname(player, "Ally");
+        name(player, NameStyle.NICKNAME);
+        NicknameService.clearNickname(player);
+        name(player, NameStyle.NICKNAME);
+
+        assertEquals(3, builds.get());
+    }
+
+    @Test
+    void logoutInvalidates() {
+        MockGamePlayer player = createPlayer("Alice");
+        name(player, NameStyle.USERNAME);
+
+        PlayerNameCache.onPlayerLogout(player.getUUID());
+        name(player, NameStyle.USERNAME);
+
+        assertEquals(2, builds.get());
+    }
+}
@@ -0,0 +1,96 @@
+package world.landfall.verbatim.chat;
+
+import org.junit.jupiter.api.Test;
+import world.landfall.verbatim.ChatChannelManager;
+import world.landfall.verbatim.ChatEventHandler;
+import world.landfall.verbatim.test.MockGamePlayer;
+import world.landfall.verbatim.test.VerbatimTestBase;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SpatialGrid.
+ */
+class SpatialGridTest extends VerbatimTestBase {
+
+    @Test
+    void findNearbyReturnsNullWithoutSnapshot() {
+        MockGamePlayer player = createPlayer("Player");
+
+        assertNull(SpatialGrid.findNearby(player.getUUID(), 50));
+    }
+
+    @Test
+    void findNearbyReturnsNullForPlayerMissingFromSnapshot() {
+        createPlayer("Player");
+        SpatialGrid.refresh();
+
+        assertNull(SpatialGrid.findNearby(UUID.randomUUID(), 50));
+    }
+
+    @Test
+    void findNearbyIncludesOnlyPlayersWithinRadius() {
+        MockGamePlayer center = createPlayer("Center").atPosition(0, 64, 0);
+        MockGamePlayer near = createPlayer("Near").atPosition(30, 64, -20);
+        MockGamePlayer edge = createPlayer("Edge").atPosition(-50, 64, 0);
+        MockGamePlayer far = createPlayer("Far").atPosition(200, 64, 200);
+        SpatialGrid.refresh();
+
+        Map<UUID, Double> nearby = SpatialGrid.findNearby(center.getUUID(), 50);
+
+        assertNotNull(nearby);
+        assertEquals(0.0, nearby.get(center.getUUID()), 1e-9);
+        assertEquals(1300.0, nearby.get(near.getUUID()), 1e-9);
+        assertEquals(2500.0, nearby.get(edge.getUUID()), 1e-9);
+        assertFalse(nearby.containsKey(far.getUUID()));
+    }
+
+    @Test
+    void findNearbyIgnoresOtherWorlds() {
+        MockGamePlayer center = createPlayer("Center").atPosition(0, 64, 0);
+        MockGamePlayer nether = createPlayer("Nether").atPosition(1, 64, 1).inWorld("nether");
+        SpatialGrid.refresh();
+
+        Map<UUID, Double> nearby = SpatialGrid.findNearby(center.getUUID(), 50);
+
+        assertFalse(nearby.containsKey(nether.getUUID()));
+    }
+
+    @Test
+    void findNearbyHandlesNegativeCoordinatesAcrossCells() {
+        MockGamePlayer center = createPlayer("Center").atPosition(-1, 64, -1);
+        MockGamePlayer neighbour = createPlayer("Neighbour").atPosition(1, 64, 1);
+        SpatialGrid.refresh();
+
+        Map<UUID, Double> nearby = SpatialGrid.findNearby(center.getUUID(), 5);
+
+        assertTrue(nearby.containsKey(neighbour.getUUID()));
+    }
+
+    @Test
+    void rangedChannelUsesGridSnapshot() {
+        ChatChannelManager.addChannelConfig(new ChatChannelManager.ChannelConfig(
+            "shout", "&e[Shout]", "sh", null, 100, "&f", ":", "&f", "&f",
+            false, false, null, null));
+        MockGamePlayer sender = createPlayer("Sender").atPosition(0, 64, 0);
+        MockGamePlayer near = createPlayer("Near").atPosition(60, 64, 0);
+        MockGamePlayer far = createPlayer("Far").atPosition(500, 64, 0);
+        MockGamePlayer otherWorld = createPlayer("OtherWorld").atPosition(0, 64, 0).inWorld("nether");
+        ChatChannelManager.focusChannel(sender, "shout");
+        ChatChannelManager.joinChannel(near, "shout");
+        ChatChannelManager.joinChannel(far, "shout");
+        ChatChannelManager.joinChannel(otherWorld, "shout");
+        SpatialGrid.refresh();
+        gameContext.clearMessages();
+
+        ChatEventHandler.onChat(sender, "Can anyone hear me?");
+
+        assertEquals(1, gameContext.getMessagesTo(sender).size());
+        assertEquals(1, gameContext.getMessagesTo(near).size());
+        assertEquals(0, gameContext.getMessagesTo(far).size());
+        assertEquals(0, gameContext.getMessagesTo(otherWorld).size());
+    }
+}
@@ -0,0 +1,80 @@
+package world.landfall.verbatim.context;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for GradientText.
+ */
+class GradientTextTest {
+
+    private static ComponentNode render(String text, int startRgb, int endRgb) {
+        return GradientText.render(text, startRgb, endRgb).toNode();
+    }
+
+    @Test
+    void solidGradientIsOneRun() {
+        ComponentNode node = render("SixteenCharName!", 0x55FF55, 0x55FF55);
+
+        assertEquals(1, node.childCount());
+        assertEquals("SixteenCharName!", node.child(0).text());
+        assertEquals(0x55FF55, node.child(0).style().color());
+    }
+
+    @Test
+    void endsKeepExactColors() {
+        ComponentNode node = render("Alexander", 0xFF5555, 0x5555FF);
+
+        assertEquals(0xFF5555, node.child(0).style().color());
+        assertEquals(0x5555FF, node.child(node.childCount() - 1).style().color());
+        assertEquals("Alexander", node.getString());
+    }
+
+    @Test
+    void steepGradientKeepsOneRunPerCharacter() {
+        ComponentNode node = render("Steve", 0xFF0000, 0x0000FF);
+
+        assertEquals(5, node.childCount());
+    }
+
+    @Test
+    void gentleGradientMergesNeighbours() {
+        // 24 levels of red over 16 characters is three steps, so four runs at most
+        ComponentNode node = render("SixteenCharName!", 0xA00000, 0xB80000);
+
+        assertTrue(node.childCount() <= 4, "runs: " + node.childCount());
+        assertEquals("SixteenCharName!", node.getString());
+        for (int i = 1; i < node.childCount(); i++) {
+            assertNotEquals(node.child(i - 1).style().color(), node.child(i).style().color());
+        }
+    }
+
+    @Test
+    void surrogatePairsAreNeverSplit() {
+        String text = "a😀b😀c";
+        ComponentNode node = render(text, 0xFF0000, 0x0000FF);
+
+        assertEquals(5, node.childCount());
+        assertEquals("😀", node.child(1).text());
+        assertEquals(text, node.getString());
+    }
+
+    @Test
+    void parentStyleIsSharedByRuns() {
+        GameComponent name = GradientText.render("Steve", 0xFF0000, 0x0000FF)
+            .withClickSuggestCommand("/msg Steve ");
+        ComponentNode node = NodeComponent.nodeOf(name);
+
+        assertEquals(ComponentStyle.ClickAction.SUGGEST_COMMAND, node.style().clickAction());
+        for (int i = 0; i < node.childCount(); i++) {
+            assertNull(node.child(i).style().clickAction());
+        }
+    }
+
+    @Test
+    void emptyTextIsEmpty() {
+        assertEquals("", render("", 0xFF0000, 0x0000FF).getString());
+        assertEquals("", render(null, 0xFF0000, 0x0000FF).getString());
+    }
+}
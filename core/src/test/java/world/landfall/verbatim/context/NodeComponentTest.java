@@ -0,0 +1,178 @@
+package world.landfall.verbatim.context;
+
+import org.junit.jupiter.api.Test;
+import world.landfall.verbatim.util.ColorCodeLexer;
+import world.landfall.verbatim.util.StyleRuns;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for NodeComponent and the ComponentNode tree it builds.
+ */
+class NodeComponentTest {
+
+    /**
+     * Flattens a tree to text and counts how often it is asked to convert a node.
+     */
+    private static final class CountingRenderer implements ComponentRenderer<String> {
+        final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public String render(ComponentNode node) {
+            calls.incrementAndGet();
+            StringBuilder sb = new StringBuilder(node.text());
+            for (int i = 0; i < node.childCount(); i++) {
+                sb.append(node.child(i).render(this));
+            }
+            return sb.toString();
+        }
+    }
+
+    @Test
+    void appendsBuildChildrenInOrder() {
+        GameComponent component = NodeComponent.literal("a").append("b").append(NodeComponent.literal("c"));
+
+        ComponentNode node = ((NodeComponent) component).toNode();
+        assertEquals("a", node.text());
+        assertEquals(2, node.childCount());
+        assertEquals("abc", component.getString());
+    }
+
+    @Test
+    void toNodeIsStableUntilModified() {
+        NodeComponent component = NodeComponent.literal("a");
+        component.append("b");
+
+        ComponentNode first = component.toNode();
+        assertSame(first, component.toNode());
+
+        component.append("c");
+        ComponentNode second = component.toNode();
+        assertNotSame(first, second);
+        assertEquals("ab", first.getString());
+        assertEquals("abc", second.getString());
+    }
+
+    @Test
+    void copySharesTheNodeAndIsIndependent() {
+        NodeComponent original = NodeComponent.literal("hi");
+        NodeComponent copy = (NodeComponent) original.copy();
+
+        assertSame(original.toNode(), copy.toNode());
+
+        copy.append("!").withBold(true);
+        assertEquals("hi", original.getString());
+        assertFalse(original.style().isDecorationSet(ComponentStyle.BOLD));
+        assertEquals("hi!", copy.getString());
+    }
+
+    @Test
+    void appendedComponentIsSnapshotted() {
+        NodeComponent child = NodeComponent.literal("x");
+        NodeComponent parent = NodeComponent.empty();
+        parent.append(child);
+
+        child.append("y");
+        assertEquals("x", parent.getString());
+    }
+
+    @Test
+    void stylesAreTriState() {
+        NodeComponent component = NodeComponent.literal("t");
+        component.withItalic(false).withRgbColor(0x123456);
+
+        ComponentStyle style = component.toNode().style();
+        assertTrue(style.isDecorationSet(ComponentStyle.ITALIC));
+        assertFalse(style.hasDecoration(ComponentStyle.ITALIC));
+        assertFalse(style.isDecorationSet(ComponentStyle.BOLD));
+        assertEquals(0x123456, style.color());
+    }
+
+    @Test
+    void clickAndHoverAreRecorded() {
+        NodeComponent component = NodeComponent.literal("name");
+        component.withClickSuggestCommand("/msg name ").withHoverText("Username: name");
+
+        ComponentStyle style = component.toNode().style();
+        assertEquals(ComponentStyle.ClickAction.SUGGEST_COMMAND, style.clickAction());
+        assertEquals("/msg name ", style.clickValue());
+        assertEquals("Username: name", style.hover().getString());
+    }
+
+    @Test
+    void renderingIsMemoisedPerNode() {
+        CountingRenderer renderer = new CountingRenderer();
+        ComponentNode shared = NodeComponent.nodeOf(NodeComponent.literal("prefix").append(" "));
+
+        GameComponent first = new NodeComponent(shared).copy();
+        NodeComponent message1 = NodeComponent.empty();
+        message1.append(first).append("one");
+        NodeComponent message2 = NodeComponent.empty();
+        message2.append(new NodeComponent(shared)).append("two");
+
+        assertEquals("prefix one", message1.toNode().render(renderer));
+        int afterFirst = renderer.calls.get();
+        assertEquals("prefix two", message2.toNode().render(renderer));
+        // Only the new root and its "two" child are converted; the shared prefix is reused
+        assertEquals(afterFirst + 2, renderer.calls.get());
+
+        assertEquals("prefix one", message1.toNode().render(renderer));
+        assertEquals(afterFirst + 2, renderer.calls.get());
+    }
+
+    @Test
+    void differentRenderersDoNotShareResults() {
+        ComponentNode node = NodeComponent.literal("x").toNode();
+        CountingRenderer a = new CountingRenderer();
+        CountingRenderer b = new CountingRenderer();
+
+        node.render(a);
+        node.render(b);
+        assertEquals(1, a.calls.get());
+        assertEquals(1, b.calls.get());
+    }
+
+    @Test
+    void longAppendChainsKeepEveryChild() {
+        NodeComponent component = NodeComponent.empty();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            component.append(Integer.toString(i % 10));
+            expected.append(i % 10);
+            if (i % 97 == 0) {
+                component.toNode();
+            }
+        }
+        assertEquals(1000, component.toNode().childCount());
+        assertEquals(expected.toString(), component.getString());
+    }
+
+    @Test
+    void fromRunsStylesLinks() {
+        StyleRuns runs = ColorCodeLexer.lex("&lsee www.example.org", ColorCodeLexer.NO_COLOR,
+            ColorCodeLexer.ALLOW_ALL, new StyleRuns());
+
+        ComponentNode kept = NodeComponent.fromRuns(runs, ComponentStyle.EMPTY, true).toNode();
+        ComponentStyle link = kept.child(1).style();
+        assertEquals(ComponentStyle.ClickAction.OPEN_URL, link.clickAction());
+        assertEquals("https://www.example.org", link.clickValue());
+        assertTrue(link.hasDecoration(ComponentStyle.UNDERLINED));
+        assertTrue(link.hasDecoration(ComponentStyle.BOLD));
+
+        ComponentNode fresh = NodeComponent.fromRuns(runs, ComponentStyle.EMPTY, false).toNode();
+        assertFalse(fresh.child(1).style().hasDecoration(ComponentStyle.BOLD));
+        assertEquals("see www.example.org", fresh.getString());
+    }
+
+    @Test
+    void fromRunsWithSingleRunIsTheRunItself() {
+        StyleRuns runs = ColorCodeLexer.lex("&cred", ColorCodeLexer.NO_COLOR, ColorCodeLexer.ALLOW_ALL, new StyleRuns());
+
+        ComponentNode node = NodeComponent.fromRuns(runs, ComponentStyle.EMPTY, true).toNode();
+        assertEquals("red", node.text());
+        assertEquals(0, node.childCount());
+        assertEquals(GameColor.RED.getRgb(), node.style().color());
+    }
+}
@@ -0,0 +1,43 @@
+package world.landfall.verbatim.context;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for OnlinePlayerMirror.
+ */
+class OnlinePlayerMirrorTest {
+
+    private final OnlinePlayerMirror<String> mirror = new OnlinePlayerMirror<>();
+    private final UUID alice = UUID.randomUUID();
+
+    @Test
+    void registeredPlayersAreFoundByIdAndName() {
+        mirror.register(alice, "Alice", "alice-handle", 0);
+
+        assertEquals("alice-handle", mirror.get(alice));
+        assertEquals("alice-handle", mirror.getByName("aLiCe"));
+        assertEquals(List.of("alice-handle"), mirror.handles());
+        assertEquals(1, mirror.size());
+
+        mirror.unregister(alice);
+
+        assertNull(mirror.get(alice));
+        assertNull(mirror.getByName("Alice"));
+        assertEquals(0, mirror.size());
+    }
+
+    @Test
+    void permissionLevelIsUpdatedInPlace() {
+        mirror.register(alice, "Alice", "alice-handle", 0);
+
+        mirror.setPermissionLevel(alice, 4);
+
+        assertEquals(4, mirror.getPermissionLevel(alice));
+        assertEquals(0, mirror.getPermissionLevel(UUID.randomUUID()));
+    }
+}
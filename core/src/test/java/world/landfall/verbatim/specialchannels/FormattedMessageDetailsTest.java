@@ -0,0 +1,109 @@
+package world.landfall.verbatim.specialchannels;
+
+import org.junit.jupiter.api.Test;
+import world.landfall.verbatim.context.GameComponent;
+import world.landfall.verbatim.test.MockGameComponent;
+import world.landfall.verbatim.test.VerbatimTestBase;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FormattedMessageDetails distance handling.
+ * Range 10 gives a fade band of 20 blocks (audible to 30) with the mock formatter's settings.
+ */
+class FormattedMessageDetailsTest extends VerbatimTestBase {
+
+    private FormattedMessageDetails createDetails(boolean roleplay) {
+        return new FormattedMessageDetails(new MockGameComponent("Alice: hello there"), 10, roleplay, "&7");
+    }
+
+    private static double sq(double distance) {
+        return distance * distance;
+    }
+
+    // === Clear Range and Cutoff ===
+
+    @Test
+    void clearRangeReturnsOriginalMessage() {
+        FormattedMessageDetails details = createDetails(false);
+        assertSame(details.getFormattedMessage(), details.getMessageForDistance(sq(10)));
+        assertEquals(0, channelFormatter.obscuredRenderCount);
+    }
+
+    @Test
+    void beyondAudibleDistanceReturnsNull() {
+        FormattedMessageDetails details = createDetails(false);
+        assertNull(details.getMessageForDistance(sq(31)));
+    }
+
+    @Test
+    void roleplayMessagesAreNeverObscured() {
+        FormattedMessageDetails details = createDetails(true);
+        assertSame(details.getFormattedMessage(), details.getMessageForDistance(sq(25)));
+        assertEquals(0, channelFormatter.obscuredRenderCount);
+    }
+
+    // === Quantised Levels ===
+
+    @Test
+    void recipientsAtSimilarDistancesShareObscuredMessage() {
+        FormattedMessageDetails details = createDetails(false);
+
+        // 45% and 47.5% obscured both round up to level 4 of 8
+        GameComponent first = details.getMessageForDistance(sq(19));
+        GameComponent second = details.getMessageForDistance(sq(19.5));
+
+        assertNotNull(first);
+        assertNotSame(details.getFormattedMessage(), first);
+        assertSame(first, second);
+        assertEquals(1, channelFormatter.obscuredRenderCount);
+        assertEquals(0.5, channelFormatter.lastObscurePercentage, 0.0001);
+    }
+
+    @Test
+    void eachLevelRendersAtMostOnce() {
+        FormattedMessageDetails details = createDetails(false);
+
+        for (int round = 0; round < 3; round++) {
+            for (double distance = 10.5; distance <= 30; distance += 0.5) {
+                assertNotNull(details.getMessageForDistance(sq(distance)));
+            }
+        }
+
+        assertEquals(FormattedMessageDetails.DEFAULT_FADE_LEVELS, channelFormatter.obscuredRenderCount);
+    }
+
+    @Test
+    void levelCountComesFromConfig() {
+        gameConfig.setLocalFadeLevels(2);
+        FormattedMessageDetails details = createDetails(false);
+
+        GameComponent near = details.getMessageForDistance(sq(12));
+        GameComponent far = details.getMessageForDistance(sq(28));
+        assertNotSame(near, far);
+        assertSame(near, details.getMessageForDistance(sq(19)));
+        assertEquals(2, channelFormatter.obscuredRenderCount);
+        assertEquals(1.0, channelFormatter.lastObscurePercentage, 0.0001);
+    }
+
+    @Test
+    void nonPositiveLevelCountFallsBackToSingleLevel() {
+        gameConfig.setLocalFadeLevels(0);
+        FormattedMessageDetails details = createDetails(false);
+
+        assertSame(details.getMessageForDistance(sq(12)), details.getMessageForDistance(sq(28)));
+        assertEquals(1, channelFormatter.obscuredRenderCount);
+    }
+
+    @Test
+    void allLevelsOfAMessageShareOneSeed() {
+        FormattedMessageDetails details = createDetails(false);
+
+        details.getMessageForDistance(sq(12));
+        long nearSeed = channelFormatter.lastSeed;
+        details.getMessageForDistance(sq(28));
+
+        assertEquals(2, channelFormatter.obscuredRenderCount);
+        assertEquals(nearSeed, channelFormatter.lastSeed);
+    }
+}
@@ -0,0 +1,122 @@
+package world.landfall.verbatim.specialchannels;
+
+import org.junit.jupiter.api.Test;
+import world.landfall.verbatim.context.ComponentNode;
+import world.landfall.verbatim.context.ComponentStyle;
+import world.landfall.verbatim.context.GameComponent;
+import world.landfall.verbatim.context.NodeComponent;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MessageObscurer.
+ */
+class MessageObscurerTest {
+
+    private static final String TEXT = "can anyone hear me over by the old mill?";
+
+    private static GameComponent message(String body) {
+        return NodeComponent.empty()
+            .append(NodeComponent.literal("[L] ").withRgbColor(0xFFFF55))
+            .append("Alice: ")
+            .append(NodeComponent.literal(body).withRgbColor(0xAAAAAA));
+    }
+
+    private static ComponentNode body(GameComponent obscured) {
+        ComponentNode node = NodeComponent.nodeOf(obscured);
+        return node.child(node.childCount() - 1);
+    }
+
+    @Test
+    void prefixChildrenAreShared() {
+        GameComponent original = message(TEXT);
+        ComponentNode originalNode = NodeComponent.nodeOf(original);
+
+        ComponentNode obscured = NodeComponent.nodeOf(MessageObscurer.obscure(original, 0.5, "&7", 1L));
+
+        assertEquals(3, obscured.childCount());
+        assertSame(originalNode.child(0), obscured.child(0));
+        assertSame(originalNode.child(1), obscured.child(1));
+    }
+
+    @Test
+    void runsAlternateBetweenKeptAndHidden() {
+        ComponentNode body = body(MessageObscurer.obscure(message(TEXT), 0.5, "&7", 7L));
+
+        assertTrue(body.childCount() > 1);
+        assertTrue(body.childCount() < TEXT.length());
+        for (int i = 1; i < body.childCount(); i++) {
+            assertNotEquals(isHidden(body.child(i - 1)), isHidden(body.child(i)));
+        }
+        assertEquals(TEXT.length(), body.getString().length());
+    }
+
+    @Test
+    void keptTextIsUnchanged() {
+        ComponentNode body = body(MessageObscurer.obscure(message(TEXT), 0.5, "&7", 7L));
+
+        String visible = body.getString();
+        for (int i = 0; i < TEXT.length(); i++) {
+            char c = visible.charAt(i);
+            assertTrue(c == TEXT.charAt(i) || c == MessageObscurer.OBSCURE_CHAR);
+        }
+    }
+
+    @Test
+    void channelStyleIsAppliedOnceOnTheParent() {
+        ComponentNode body = body(MessageObscurer.obscure(message(TEXT), 0.5, "&7&o", 7L));
+
+        assertEquals(0xAAAAAA, body.style().color());
+        assertTrue(body.style().hasDecoration(ComponentStyle.ITALIC));
+        for (int i = 0; i < body.childCount(); i++) {
+            ComponentNode run = body.child(i);
+            if (isHidden(run)) {
+                assertEquals(MessageObscurer.OBSCURED_COLOR, run.style().color());
+                assertTrue(run.style().isDecorationSet(ComponentStyle.ITALIC));
+                assertFalse(run.style().hasDecoration(ComponentStyle.ITALIC));
+            } else {
+                assertTrue(run.style().isEmpty());
+            }
+        }
+    }
+
+    @Test
+    void sameSeedIsDeterministicAndMonotonic() {
+        String light = body(MessageObscurer.obscure(message(TEXT), 0.25, "&7", 42L)).getString();
+        String lightAgain = body(MessageObscurer.obscure(message(TEXT), 0.25, "&7", 42L)).getString();
+        String heavy = body(MessageObscurer.obscure(message(TEXT), 0.75, "&7", 42L)).getString();
+
+        assertEquals(light, lightAgain);
+        for (int i = 0; i < TEXT.length(); i++) {
+            if (light.charAt(i) == MessageObscurer.OBSCURE_CHAR && TEXT.charAt(i) != MessageObscurer.OBSCURE_CHAR) {
+                assertEquals(MessageObscurer.OBSCURE_CHAR, heavy.charAt(i));
+            }
+        }
+    }
+
+    @Test
+    void fullyObscuredIsOneHiddenRun() {
+        ComponentNode body = body(MessageObscurer.obscure(message(TEXT), 1.0, "&7", 3L));
+
+        assertEquals(1, body.childCount());
+        assertEquals(".".repeat(TEXT.length()), body.getString());
+    }
+
+    @Test
+    void surrogatePairsBecomeOneDot() {
+        ComponentNode body = body(MessageObscurer.obscure(message("hi 😀"), 1.0, "&7", 3L));
+
+        assertEquals("....", body.getString());
+    }
+
+    @Test
+    void messageWithoutChildrenIsCopied() {
+        GameComponent plain = NodeComponent.literal("hello");
+
+        assertEquals("hello", MessageObscurer.obscure(plain, 1.0, "&7", 3L).getString());
+    }
+
+    private static boolean isHidden(ComponentNode run) {
+        return run.style().color() == MessageObscurer.OBSCURED_COLOR;
+    }
+}
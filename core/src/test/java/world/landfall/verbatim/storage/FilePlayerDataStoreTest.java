@@ -0,0 +1,101 @@
+package world.landfall.verbatim.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FilePlayerDataStore.
+ */
+class FilePlayerDataStoreTest {
+
+    private static final UUID ALICE = UUID.fromString("3f2504e0-4f89-11d3-9a0c-0305e82c3301");
+    private static final UUID BOB = UUID.fromString("a1b2c3d4-0000-1111-2222-333344445555");
+
+    @TempDir
+    Path storeDir;
+
+    @Test
+    void savedDataSurvivesReopen() {
+        FilePlayerDataStore store = new FilePlayerDataStore(storeDir);
+        store.save(ALICE, "Alice", Map.of("nick", "Ally", "focus", "global"));
+        store.close();
+
+        FilePlayerDataStore reopened = new FilePlayerDataStore(storeDir);
+        assertEquals(Map.of("nick", "Ally", "focus", "global"), reopened.load(ALICE));
+        assertTrue(reopened.load(BOB).isEmpty());
+    }
+
+    @Test
+    void saveAllAndLoadAll() {
+        FilePlayerDataStore store = new FilePlayerDataStore(storeDir);
+        store.saveAll(List.of(
+            new PlayerSnapshot(ALICE, "Alice", Map.of("a", "1")),
+            new PlayerSnapshot(BOB, "Bob", Map.of("b", "2"))));
+
+        Map<UUID, Map<String, String>> loaded = store.loadAll(List.of(ALICE, BOB, UUID.randomUUID()));
+        assertEquals(2, loaded.size());
+        assertEquals("1", loaded.get(ALICE).get("a"));
+        assertEquals("2", loaded.get(BOB).get("b"));
+    }
+
+    @Test
+    void removeDeletesFileAndIndexEntry() throws Exception {
+        FilePlayerDataStore store = new FilePlayerDataStore(storeDir);
+        store.save(ALICE, "Alice", Map.of("a", "1"));
+        store.save(BOB, "Bob", Map.of("b", "2"));
+        store.remove(ALICE);
+        store.flush().join();
+
+        assertTrue(store.load(ALICE).isEmpty());
+        assertFalse(Files.exists(storeDir.resolve("players").resolve(ALICE + ".json")));
+        String index = Files.readString(storeDir.resolve("index.json"));
+        assertFalse(index.contains(ALICE.toString()));
+        assertTrue(index.contains("Bob"));
+    }
+
+    @Test
+    void indexIsWrittenOnFlush() {
+        FilePlayerDataStore store = new FilePlayerDataStore(storeDir);
+        store.save(ALICE, "Alice", Map.of("a", "1"));
+        assertFalse(Files.exists(storeDir.resolve("index.json")));
+
+        store.flush().join();
+        assertTrue(Files.exists(storeDir.resolve("index.json")));
+    }
+
+    @Test
+    void corruptFileIsSetAside() throws Exception {
+        Files.createDirectories(storeDir.resolve("players"));
+        Files.writeString(storeDir.resolve("players").resolve(ALICE + ".json"), "{not json");
+
+        FilePlayerDataStore store = new FilePlayerDataStore(storeDir);
+        assertTrue(store.load(ALICE).isEmpty());
+        assertTrue(Files.exists(storeDir.resolve("players").resolve(ALICE + ".json.corrupt")));
+    }
+
+    @Test
+    void failedWritesAreReported() throws Exception {
+        FilePlayerDataStore store = new FilePlayerDataStore(storeDir);
+        // A directory where the tmp file should go makes the write fail
+        Files.createDirectories(storeDir.resolve("players").resolve(ALICE + ".tmp").resolve("blocker"));
+
+        assertFalse(store.save(ALICE, "Alice", Map.of("a", "1")));
+        Set<UUID> failed = store.saveAll(List.of(
+            new PlayerSnapshot(ALICE, "Alice", Map.of("a", "1")),
+            new PlayerSnapshot(BOB, "Bob", Map.of("b", "2"))));
+
+        assertEquals(Set.of(ALICE), failed);
+        assertEquals(Map.of("b", "2"), store.load(BOB));
+        store.flush().join();
+        assertFalse(Files.readString(storeDir.resolve("index.json")).contains(ALICE.toString()));
+    }
+}
@@ -0,0 +1,157 @@
+package world.landfall.verbatim.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for JournaledPlayerDataStore.
+ */
+class JournaledPlayerDataStoreTest {
+
+    private static final UUID ALICE = UUID.fromString("3f2504e0-4f89-11d3-9a0c-0305e82c3301");
+    private static final UUID BOB = UUID.fromString("a1b2c3d4-0000-1111-2222-333344445555");
+
+    @TempDir
+    Path storeDir;
+
+    private JournaledPlayerDataStore open(JournaledPlayerDataStore.Durability durability) {
+        // Long interval so only explicit compact() and close() fold the journal
+        return new JournaledPlayerDataStore(storeDir, durability, 3600);
+    }
+
+    private Path playerFile(UUID uuid) {
+        return storeDir.resolve("players").resolve(uuid + ".json");
+    }
+
+    private File[] segments() {
+        return storeDir.resolve("journal").toFile().listFiles((dir, name) -> name.endsWith(".log"));
+    }
+
+    @Test
+    void savesAreServedFromJournalBeforeCompaction() {
+        JournaledPlayerDataStore store = open(JournaledPlayerDataStore.Durability.BATCH);
+        store.save(ALICE, "Alice", Map.of("nick", "Ally"));
+
+        assertEquals("Ally", store.load(ALICE).get("nick"));
+        assertFalse(Files.exists(playerFile(ALICE)));
+        store.close();
+    }
+
+    @Test
+    void unclosedJournalIsReplayed() {
+        JournaledPlayerDataStore crashed = open(JournaledPlayerDataStore.Durability.ALWAYS);
+        crashed.saveAll(List.of(
+            new PlayerSnapshot(ALICE, "Alice", Map.of("a", "1")),
+            new PlayerSnapshot(BOB, "Bob", Map.of("b", "2"))));
+        crashed.save(ALICE, "Alice", Map.of("a", "3"));
+        // No close(): simulate a crash
+
+        JournaledPlayerDataStore store = open(JournaledPlayerDataStore.Durability.ALWAYS);
+        assertEquals("3", store.load(ALICE).get("a"));
+        assertEquals("2", store.load(BOB).get("b"));
+        store.close();
+    }
+
+    @Test
+    void compactionWritesSnapshotsAndDeletesSegments() throws Exception {
+        JournaledPlayerDataStore store = open(JournaledPlayerDataStore.Durability.NONE);
+        store.save(ALICE, "Alice", Map.of("a", "1"));
+        store.compact();
+
+        assertTrue(Files.exists(playerFile(ALICE)));
+        assertEquals(1, segments().length); // only the fresh, empty segment
+        store.close();
+
+        FilePlayerDataStore files = new FilePlayerDataStore(storeDir);
+        assertEquals("1", files.load(ALICE).get("a"));
+    }
+
+    @Test
+    void removalIsJournalledAndCompacted() throws Exception {
+        JournaledPlayerDataStore store = open(JournaledPlayerDataStore.Durability.BATCH);
+        store.save(ALICE, "Alice", Map.of("a", "1"));
+        store.compact();
+        store.remove(ALICE);
+        assertTrue(store.load(ALICE).isEmpty());
+        assertTrue(Files.exists(playerFile(ALICE)));
+
+        // Tombstone survives a crash
+        JournaledPlayerDataStore reopened = open(JournaledPlayerDataStore.Durability.BATCH);
+        assertTrue(reopened.load(ALICE).isEmpty());
+        reopened.compact();
+        assertFalse(Files.exists(playerFile(ALICE)));
+        reopened.close();
+    }
+
+    @Test
+    void tornTailIsTruncated() throws Exception {
+        JournaledPlayerDataStore crashed = open(JournaledPlayerDataStore.Durability.ALWAYS);
+        crashed.save(ALICE, "Alice", Map.of("a", "1"));
+        crashed.save(BOB, "Bob", Map.of("b", "2"));
+
+        File segment = segments()[0];
+        try (RandomAccessFile file = new RandomAccessFile(segment, "rw")) {
+            file.setLength(file.length() - 3);
+        }
+
+        JournaledPlayerDataStore store = open(JournaledPlayerDataStore.Durability.ALWAYS);
+        assertEquals("1", store.load(ALICE).get("a"));
+        assertTrue(store.load(BOB).isEmpty());
+        store.close();
+    }
+
+    @Test
+    void flushCompletesAndSavesAfterCloseGoStraightToFiles() {
+        JournaledPlayerDataStore store = open(JournaledPlayerDataStore.Durability.NONE);
+        store.save(ALICE, "Alice", Map.of("a", "1"));
+        store.flush().join();
+        store.close();
+
+        assertTrue(Files.exists(playerFile(ALICE)));
+        store.save(BOB, "Bob", Map.of("b", "2"));
+        assertTrue(Files.exists(playerFile(BOB)));
+        store.flush().join();
+    }
+
+    @Test
+    void failedDirectWritesAfterCloseAreReported() throws Exception {
+        JournaledPlayerDataStore store = open(JournaledPlayerDataStore.Durability.BATCH);
+        assertTrue(store.save(ALICE, "Alice", Map.of("a", "1")));
+        store.close();
+        Files.createDirectories(storeDir.resolve("players").resolve(BOB + ".tmp").resolve("blocker"));
+
+        assertFalse(store.save(BOB, "Bob", Map.of("b", "2")));
+        // Written through together, so one failed file fails the batch
+        assertEquals(Set.of(ALICE, BOB), store.saveAll(List.of(
+            new PlayerSnapshot(ALICE, "Alice", Map.of("a", "2")),
+            new PlayerSnapshot(BOB, "Bob", Map.of("b", "2")))));
+        assertEquals(Map.of("a", "2"), store.load(ALICE));
+    }
+
+    @Test
+    void failedAppendDoesNotHideLaterSavesAfterRestart() {
+        JournaledPlayerDataStore crashed = open(JournaledPlayerDataStore.Durability.ALWAYS);
+        crashed.save(ALICE, "Alice", Map.of("a", "1"));
+        crashed.failNextAppendAfterBytes = 10;
+        assertTrue(crashed.save(ALICE, "Alice", Map.of("a", "2")));
+        assertTrue(crashed.save(BOB, "Bob", Map.of("b", "1")));
+        assertTrue(crashed.save(BOB, "Bob", Map.of("b", "2")));
+        // No close(): simulate a crash
+
+        JournaledPlayerDataStore store = open(JournaledPlayerDataStore.Durability.ALWAYS);
+        assertEquals(Map.of("a", "2"), store.load(ALICE));
+        assertEquals(Map.of("b", "2"), store.load(BOB));
+        store.close();
+    }
+}
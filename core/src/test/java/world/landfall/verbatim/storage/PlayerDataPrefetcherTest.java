@@ -0,0 +1,103 @@
+package world.landfall.verbatim.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PlayerDataPrefetcher.
+ */
+class PlayerDataPrefetcherTest {
+
+    private static final UUID ALICE = UUID.fromString("3f2504e0-4f89-11d3-9a0c-0305e82c3301");
+    private static final UUID BOB = UUID.fromString("a1b2c3d4-0000-1111-2222-333344445555");
+
+    private final InMemoryPlayerDataStore store = new InMemoryPlayerDataStore();
+    private PlayerDataPrefetcher prefetcher = new PlayerDataPrefetcher(store);
+
+    @AfterEach
+    void tearDown() {
+        prefetcher.shutdown();
+    }
+
+    @Test
+    void takeReturnsPrefetchedDataOnce() {
+        store.save(ALICE, "Alice", Map.of("nick", "Ally"));
+        prefetcher.prefetch(ALICE);
+
+        assertEquals(Map.of("nick", "Ally"), prefetcher.take(ALICE));
+        assertNull(prefetcher.take(ALICE));
+        assertEquals(0, prefetcher.pendingCount());
+    }
+
+    @Test
+    void takeWithoutPrefetchReturnsNull() {
+        assertNull(prefetcher.take(BOB));
+    }
+
+    @Test
+    void loadRunsOffTheCallingThread() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Thread[] loader = new Thread[1];
+        PlayerDataStore slowStore = new InMemoryPlayerDataStore() {
+            @Override
+            public Map<String, String> load(UUID uuid) {
+                loader[0] = Thread.currentThread();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return Map.of("k", "v");
+            }
+        };
+        prefetcher.shutdown();
+        prefetcher = new PlayerDataPrefetcher(slowStore);
+
+        prefetcher.prefetch(ALICE); // Returns while the load is blocked
+        release.countDown();
+        assertEquals(Map.of("k", "v"), prefetcher.take(ALICE));
+        assertNotSame(Thread.currentThread(), loader[0]);
+    }
+
+    @Test
+    void failedLoadReturnsNull() {
+        PlayerDataStore failing = new InMemoryPlayerDataStore() {
+            @Override
+            public Map<String, String> load(UUID uuid) {
+                throw new IllegalStateException("disk on fire");
+            }
+        };
+        prefetcher.shutdown();
+        prefetcher = new PlayerDataPrefetcher(failing);
+
+        prefetcher.prefetch(ALICE);
+        assertNull(prefetcher.take(ALICE));
+    }
+
+    @Test
+    void untakenLoadsExpire() throws Exception {
+        prefetcher.shutdown();
+        prefetcher = new PlayerDataPrefetcher(store, 0);
+
+        prefetcher.prefetch(ALICE);
+        Thread.sleep(2);
+        prefetcher.prefetch(BOB); // Purges Alice's stale entry
+        assertEquals(1, prefetcher.pendingCount());
+        assertNull(prefetcher.take(ALICE));
+        assertNotNull(prefetcher.take(BOB));
+    }
+
+    @Test
+    void prefetchAfterShutdownIsIgnored() {
+        prefetcher.shutdown();
+        prefetcher.prefetch(ALICE);
+        assertNull(prefetcher.take(ALICE));
+    }
+}
@@ -0,0 +1,93 @@
+package world.landfall.verbatim.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PlayerDataStores and the in-memory backend.
+ */
+class PlayerDataStoresTest {
+
+    private static final UUID ALICE = UUID.fromString("3f2504e0-4f89-11d3-9a0c-0305e82c3301");
+
+    @TempDir
+    Path storeDir;
+
+    private PlayerDataStore open(String mode, String jdbcUrl) {
+        return PlayerDataStores.open(mode, storeDir, "batch", 60, jdbcUrl);
+    }
+
+    @Test
+    void opensConfiguredMode() {
+        PlayerDataStore file = open("file", "");
+        assertInstanceOf(FilePlayerDataStore.class, file);
+        assertFalse(file instanceof JournaledPlayerDataStore);
+        file.close();
+
+        PlayerDataStore journal = open(" Journal ", "");
+        assertInstanceOf(JournaledPlayerDataStore.class, journal);
+        journal.close();
+
+        assertInstanceOf(InMemoryPlayerDataStore.class, open("memory", ""));
+    }
+
+    @Test
+    void unknownModeFallsBackToFile() {
+        assertInstanceOf(FilePlayerDataStore.class, open("mongodb", ""));
+        assertInstanceOf(FilePlayerDataStore.class, open(null, ""));
+    }
+
+    @Test
+    void unavailableDatabaseFallsBackToFile() {
+        PlayerDataStore store = open("sql", "jdbc:verbatim-no-such-driver:players");
+        assertInstanceOf(FilePlayerDataStore.class, store);
+    }
+
+    @Test
+    void emptyDatabaseImportsPlayerFilesOnce() {
+        UUID bob = UUID.fromString("a1b2c3d4-0000-1111-2222-333344445555");
+        FilePlayerDataStore files = new FilePlayerDataStore(storeDir);
+        files.save(ALICE, "Alice", Map.of("nick", "Ally"));
+        files.close();
+        String jdbcUrl = "jdbc:h2:" + storeDir.resolve("players-db").toAbsolutePath();
+
+        PlayerDataStore sql = open("sql", jdbcUrl);
+        assertInstanceOf(SqlPlayerDataStore.class, sql);
+        assertEquals(Map.of("nick", "Ally"), sql.load(ALICE));
+        sql.close();
+
+        // Only an empty database is filled, so files written later are not imported
+        files = new FilePlayerDataStore(storeDir);
+        files.save(bob, "Bob", Map.of("b", "2"));
+        files.close();
+        sql = open("sql", jdbcUrl);
+        assertTrue(sql.load(bob).isEmpty());
+        sql.close();
+    }
+
+    @Test
+    void inMemoryStoreCopiesData() {
+        InMemoryPlayerDataStore store = new InMemoryPlayerDataStore();
+        Map<String, String> data = new HashMap<>(Map.of("a", "1"));
+        store.save(ALICE, "Alice", data);
+        data.put("a", "changed");
+
+        Map<String, String> loaded = store.load(ALICE);
+        assertEquals("1", loaded.get("a"));
+        loaded.put("a", "changed");
+        assertEquals("1", store.load(ALICE).get("a"));
+        assertEquals("Alice", store.getUsername(ALICE));
+
+        store.removeAll(List.of(ALICE));
+        assertTrue(store.load(ALICE).isEmpty());
+        assertEquals(0, store.size());
+    }
+}
@@ -0,0 +1,100 @@
+package world.landfall.verbatim.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SqlPlayerDataStore, against an embedded H2 database.
+ */
+class SqlPlayerDataStoreTest {
+
+    private static final UUID ALICE = UUID.fromString("3f2504e0-4f89-11d3-9a0c-0305e82c3301");
+    private static final UUID BOB = UUID.fromString("a1b2c3d4-0000-1111-2222-333344445555");
+
+    @TempDir
+    Path storeDir;
+
+    private SqlPlayerDataStore store;
+
+    private String jdbcUrl() {
+        return "jdbc:h2:" + storeDir.resolve("verbatim").toAbsolutePath();
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        store = new SqlPlayerDataStore(jdbcUrl());
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+    }
+
+    @Test
+    void savedDataSurvivesReopen() throws Exception {
+        assertTrue(store.isEmpty());
+        assertTrue(store.save(ALICE, "Alice", Map.of("nick", "Ally", "focus", "global")));
+        assertTrue(store.save(ALICE, "Alice", Map.of("nick", "Al")));
+        store.close();
+
+        store = new SqlPlayerDataStore(jdbcUrl());
+        assertFalse(store.isEmpty());
+        assertEquals(Map.of("nick", "Al"), store.load(ALICE));
+        assertTrue(store.load(BOB).isEmpty());
+    }
+
+    @Test
+    void saveAllAndLoadAll() {
+        Set<UUID> failed = store.saveAll(List.of(
+            new PlayerSnapshot(ALICE, "Alice", Map.of("a", "0")),
+            new PlayerSnapshot(BOB, "Bob", Map.of("b", "2")),
+            new PlayerSnapshot(ALICE, "Alice", Map.of("a", "1"))));
+
+        assertTrue(failed.isEmpty());
+        Map<UUID, Map<String, String>> loaded = store.loadAll(List.of(ALICE, BOB, UUID.randomUUID()));
+        assertEquals(Map.of(ALICE, Map.of("a", "1"), BOB, Map.of("b", "2")), loaded);
+    }
+
+    @Test
+    void failedBatchIsRolledBackAndReported() {
+        store.save(ALICE, "Alice", Map.of("a", "1"));
+
+        // data_key is VARCHAR(255), so this key fails the insert part-way through the batch
+        Set<UUID> failed = store.saveAll(List.of(
+            new PlayerSnapshot(ALICE, "Alice", Map.of("a", "2")),
+            new PlayerSnapshot(BOB, "Bob", Map.of("k".repeat(300), "2"))));
+
+        assertEquals(Set.of(ALICE, BOB), failed);
+        assertEquals(Map.of("a", "1"), store.load(ALICE));
+        assertTrue(store.load(BOB).isEmpty());
+        assertTrue(store.save(BOB, "Bob", Map.of("b", "2")));
+    }
+
+    @Test
+    void removeDeletesData() {
+        store.save(ALICE, "Alice", Map.of("a", "1"));
+        store.save(BOB, "Bob", Map.of("b", "2"));
+        store.remove(ALICE);
+
+        assertTrue(store.load(ALICE).isEmpty());
+        assertEquals(Map.of("b", "2"), store.load(BOB));
+    }
+
+    @Test
+    void savesAfterCloseAreReported() {
+        store.close();
+
+        assertFalse(store.save(ALICE, "Alice", Map.of("a", "1")));
+        assertTrue(store.load(ALICE).isEmpty());
+    }
+}
@@ -14,6 +14,15 @@ import java.util.Optional;
  */
 public class MockChannelFormatter implements ChannelFormatter {
 
+    /** Number of createObscuredMessage calls, for render-count assertions. */
+    public int obscuredRenderCount = 0;
+
+    /** Obscure percentage passed to the most recent createObscuredMessage call. */
+    public double lastObscurePercentage = 0;
+
+    /** Seed passed to the most recent createObscuredMessage call. */
+    public long lastSeed = 0;
+
     @Override
     public Optional<FormattedMessageDetails> formatLocalMessage(
             GamePlayer sender,
@@ -30,13 +39,20 @@ public class MockChannelFormatter implements ChannelFormatter {
     }
 
     @Override
-    public GameComponent createDistanceObscuredMessage(
+    public double getObscurePercentage(double distance, int effectiveRange) {
+        return FormattedMessageDetails.obscurePercentage(distance, effectiveRange, 30, 2.0, 0.6);
+    }
+
+    @Override
+    public GameComponent createObscuredMessage(
             GameComponent originalMessage,
-            double distanceSquared,
-            int effectiveRange,
-            boolean isRoleplayMessage,
-            String channelMessageColorString) {
-        // For testing, just return the original
+            double obscurePercentage,
+            String channelMessageColorString,
+            long seed) {
+        obscuredRenderCount++;
+        lastObscurePercentage = obscurePercentage;
+        lastSeed = seed;
+        // For testing, just return a copy of the original
         return originalMessage.copy();
     }
 }
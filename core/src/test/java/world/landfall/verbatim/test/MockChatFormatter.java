@@ -11,8 +11,18 @@ import world.landfall.verbatim.context.GamePlayer;
  */
 public class MockChatFormatter implements ChatFormatter {
 
+    /** Number of parsePlayerInputWithPermissions calls, for render-count assertions. */
+    public int playerInputParseCount = 0;
+
+    /** Number of createFavoriteNameComponent calls, for render-count assertions. */
+    public int favoriteNameRenderCount = 0;
+
+    /** Number of parseColors calls, for render-count assertions. */
+    public int parseColorsCount = 0;
+
     @Override
     public GameComponent parseColors(String text) {
+        parseColorsCount++;
         // Strip color codes for testing (& followed by any char)
         String stripped = text.replaceAll("&[0-9a-fk-or]", "");
         return new MockGameComponent(stripped);
@@ -25,6 +35,13 @@ public class MockChatFormatter implements ChatFormatter {
 
     @Override
     public GameComponent parsePlayerInputWithPermissions(String channelBaseColor, String playerInput, GamePlayer player) {
+        playerInputParseCount++;
+        return new MockGameComponent(playerInput);
+    }
+
+    @Override
+    public GameComponent parsePlayerInputWithPermissions(int baseColorRgb, String playerInput, GamePlayer player) {
+        playerInputParseCount++;
         return new MockGameComponent(playerInput);
     }
 
@@ -40,6 +57,7 @@ public class MockChatFormatter implements ChatFormatter {
 
     @Override
     public GameComponent createFavoriteNameComponent(GamePlayer player, String colorPrefix, boolean isDM, NameStyle nameStyle, int gradientStartRgb, int gradientEndRgb) {
+        favoriteNameRenderCount++;
         return new MockGameComponent("[FAV]" + player.getDisplayName());
     }
 
@@ -16,6 +16,7 @@ public class MockGameConfig implements GameConfig {
     private boolean customJoinLeaveEnabled = false;
     private String joinMessageFormat = "{player} joined";
     private String leaveMessageFormat = "{player} left";
+    private int localFadeLevels = 8;
 
     public void setDefaultChannelName(String name) {
         this.defaultChannelName = name;
@@ -37,6 +38,10 @@ public class MockGameConfig implements GameConfig {
         this.joinMessageFormat = format;
     }
 
+    public void setLocalFadeLevels(int levels) {
+        this.localFadeLevels = levels;
+    }
+
     public void setLeaveMessageFormat(String format) {
         this.leaveMessageFormat = format;
     }
@@ -100,4 +105,9 @@ public class MockGameConfig implements GameConfig {
     public String getLeaveMessageFormat() {
         return leaveMessageFormat;
     }
+
+    @Override
+    public int getLocalFadeLevels() {
+        return localFadeLevels;
+    }
 }
@@ -16,6 +16,7 @@ public class MockGameContext implements GameContext {
     private final List<SentMessage> sentMessages = new ArrayList<>();
     private final List<GameComponent> broadcasts = new ArrayList<>();
     private final Set<UUID> ops = new HashSet<>();
+    private int bulkSendCount;
 
     public record SentMessage(GamePlayer player, GameComponent message) {}
 
@@ -46,6 +47,7 @@ public class MockGameContext implements GameContext {
         sentMessages.clear();
         broadcasts.clear();
         ops.clear();
+        bulkSendCount = 0;
     }
 
     // Test assertion helpers
@@ -63,9 +65,17 @@ public class MockGameContext implements GameContext {
         return Collections.unmodifiableList(broadcasts);
     }
 
+    /**
+     * Number of calls to the multi-recipient sendMessage overload.
+     */
+    public int getBulkSendCount() {
+        return bulkSendCount;
+    }
+
     public void clearMessages() {
         sentMessages.clear();
         broadcasts.clear();
+        bulkSendCount = 0;
     }
 
     // GameContext implementation
@@ -108,11 +118,28 @@ public class MockGameContext implements GameContext {
         return dx * dx + dy * dy + dz * dz;
     }
 
+    @Override
+    public List<PlayerPosition> snapshotPlayerPositions() {
+        List<PlayerPosition> positions = new ArrayList<>();
+        for (MockGamePlayer p : players.values()) {
+            positions.add(new PlayerPosition(p.getUUID(), p.getWorld(), p.getX(), p.getY(), p.getZ()));
+        }
+        return positions;
+    }
+
     @Override
     public void sendMessage(GamePlayer player, GameComponent message) {
         sentMessages.add(new SentMessage(player, message));
     }
 
+    @Override
+    public void sendMessage(Collection<? extends GamePlayer> players, GameComponent message) {
+        bulkSendCount++;
+        for (GamePlayer player : players) {
+            sentMessages.add(new SentMessage(player, message));
+        }
+    }
+
     @Override
     public void broadcastMessage(GameComponent message, boolean bypassHiddenPlayers) {
         broadcasts.add(message);
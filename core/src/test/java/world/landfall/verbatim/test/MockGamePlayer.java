@@ -14,6 +14,7 @@ public class MockGamePlayer implements GamePlayer {
     private final String username;
     private final String displayName;
     private double x, y, z;
+    private String world = "world";
 
     public MockGamePlayer(String username) {
         this(UUID.randomUUID(), username, username);
@@ -36,6 +37,12 @@ public class MockGamePlayer implements GamePlayer {
         return this;
     }
 
+    public MockGamePlayer inWorld(String world) {
+        this.world = world;
+        return this;
+    }
+
+    public String getWorld() { return world; }
     public double getX() { return x; }
     public double getY() { return y; }
     public double getZ() { return z; }
@@ -16,6 +16,7 @@ import java.util.UUID;
 public class MockPermissionService extends PermissionService {
     private final Map<UUID, Set<String>> playerPermissions = new HashMap<>();
     private final Set<UUID> ops = new HashSet<>();
+    public int checkCount = 0;
 
     public void grantPermission(GamePlayer player, String permission) {
         playerPermissions.computeIfAbsent(player.getUUID(), k -> new HashSet<>()).add(permission);
@@ -39,6 +40,7 @@ public class MockPermissionService extends PermissionService {
     public void clear() {
         playerPermissions.clear();
         ops.clear();
+        checkCount = 0;
     }
 
     @Override
@@ -48,6 +50,7 @@ public class MockPermissionService extends PermissionService {
 
     @Override
     protected boolean checkPermission(GamePlayer player, String permissionNode, int fallbackPermissionLevel) {
+        checkCount++;
         // Check explicit permissions first
         Set<String> perms = playerPermissions.get(player.getUUID());
         if (perms != null && perms.contains(permissionNode)) {
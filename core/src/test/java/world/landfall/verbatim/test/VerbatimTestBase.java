@@ -3,6 +3,8 @@ package world.landfall.verbatim.test;
 import org.junit.jupiter.api.BeforeEach;
 import world.landfall.verbatim.ChatChannelManager;
 import world.landfall.verbatim.Verbatim;
+import world.landfall.verbatim.chat.PlayerNameCache;
+import world.landfall.verbatim.chat.SpatialGrid;
 import world.landfall.verbatim.util.SocialService;
 
 /**
@@ -32,9 +34,11 @@ public abstract class VerbatimTestBase {
         Verbatim.channelFormatter = channelFormatter;
         Verbatim.permissionService = permissionService;
 
-        // Reset ChatChannelManager and SocialService state
+        // Reset ChatChannelManager, SocialService, SpatialGrid and PlayerNameCache state
         ChatChannelManager.reset();
         SocialService.reset();
+        SpatialGrid.reset();
+        PlayerNameCache.invalidateAll();
     }
 
     /**
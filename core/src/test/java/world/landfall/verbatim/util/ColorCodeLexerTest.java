@@ -0,0 +1,138 @@
+package world.landfall.verbatim.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static world.landfall.verbatim.util.ColorCodeLexer.*;
+
+/**
+ * Unit tests for ColorCodeLexer.
+ */
+class ColorCodeLexerTest {
+
+    private final StyleRuns runs = new StyleRuns();
+
+    private StyleRuns lex(String text, int flags) {
+        return ColorCodeLexer.lex(text, NO_COLOR, flags, runs);
+    }
+
+    @Test
+    void plainTextIsOneUnstyledRun() {
+        lex("hello world", ALLOW_ALL);
+        assertEquals(1, runs.size());
+        assertEquals("hello world", runs.text(0));
+        assertEquals(NO_COLOR, runs.color(0));
+        assertEquals(0, runs.decorations(0));
+    }
+
+    @Test
+    void legacyAndHexColors() {
+        lex("&cred&#00FF00green&Aaqua", ALLOW_ALL);
+        assertEquals(3, runs.size());
+        assertEquals("red", runs.text(0));
+        assertEquals(0xFF5555, runs.color(0));
+        assertEquals(0x00FF00, runs.color(1));
+        assertEquals(0x55FF55, runs.color(2));
+    }
+
+    @Test
+    void colorClearsDecorationsUnlessKept() {
+        lex("&lbold&cred", ALLOW_ALL);
+        assertTrue(runs.hasDecoration(0, BOLD));
+        assertEquals(0, runs.decorations(1));
+
+        lex("&lbold&cred", ALLOW_ALL | KEEP_FORMATS_ON_COLOR);
+        assertTrue(runs.hasDecoration(1, BOLD));
+    }
+
+    @Test
+    void decorationsAccumulateAndResetReturnsToBase() {
+        ColorCodeLexer.lex("&l&oa&rb", 0x123456, ALLOW_ALL, runs);
+        assertEquals(2, runs.size());
+        assertEquals(BOLD | ITALIC, runs.decorations(0));
+        assertEquals(0x123456, runs.color(0));
+        assertEquals(0, runs.decorations(1));
+        assertEquals(0x123456, runs.color(1));
+    }
+
+    @Test
+    void deniedCodesAreRemovedWithoutEffect() {
+        lex("&cred &lbold &#112233hex", ALLOW_FORMATS);
+        assertEquals("red bold hex", runs.visibleText());
+        assertEquals(NO_COLOR, runs.color(0));
+        assertTrue(runs.hasDecoration(runs.size() - 1, BOLD));
+
+        lex("&cred &lbold&r", 0);
+        assertEquals("red bold", runs.visibleText());
+        assertEquals(1, runs.size());
+        assertEquals(0, runs.decorations(0));
+    }
+
+    @Test
+    void unknownSequencesStayAsText() {
+        lex("fish & chips &z &#12 &", ALLOW_ALL);
+        assertEquals("fish & chips &z &#12 &", runs.visibleText());
+        assertEquals(1, runs.size());
+    }
+
+    @Test
+    void adjacentRunsWithSameStyleMerge() {
+        lex("&ca&cb&l&r&cc", ALLOW_ALL);
+        assertEquals(1, runs.size());
+        assertEquals("abc", runs.text(0));
+    }
+
+    @Test
+    void urlsBecomeLinkRuns() {
+        lex("&esee https://example.com/a?b=1 or WWW.test.org.", ALLOW_ALL);
+        assertEquals(4, runs.size());
+        assertEquals("see ", runs.text(0));
+        assertTrue(runs.isLink(1));
+        assertEquals("https://example.com/a?b=1", runs.text(1));
+        assertEquals(0xFFFF55, runs.color(1));
+        assertFalse(runs.isLink(2));
+        assertTrue(runs.isLink(3));
+        assertEquals("WWW.test.org.", runs.text(3));
+        assertEquals("https://WWW.test.org.", runs.linkUrl(3));
+    }
+
+    @Test
+    void urlNeedsABodyAndStopsAtCodes() {
+        lex("http:// www. https://a.b/?x=1&cy", ALLOW_ALL);
+        assertFalse(runs.isLink(0));
+        assertEquals("http:// www. ", runs.text(0));
+        assertEquals("https://a.b/?x=1", runs.text(1));
+        assertTrue(runs.isLink(1));
+        assertEquals("y", runs.text(2));
+        assertEquals(0xFF5555, runs.color(2));
+    }
+
+    @Test
+    void linksOnlyKeepsCodesAsText() {
+        lex("&cvisit www.x.io", LINKS_ONLY);
+        assertEquals("&cvisit ", runs.text(0));
+        assertEquals("www.x.io", runs.text(1));
+        assertTrue(runs.isLink(1));
+    }
+
+    @Test
+    void bufferIsReusedAcrossCalls() {
+        StringBuilder many = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            many.append("&").append(i % 2 == 0 ? 'c' : 'e').append("x");
+        }
+        lex(many.toString(), ALLOW_ALL);
+        assertEquals(50, runs.size());
+
+        lex("short", ALLOW_ALL);
+        assertEquals(1, runs.size());
+        assertEquals("short", runs.text(0));
+    }
+
+    @Test
+    void emptyAndNullProduceNoRuns() {
+        assertEquals(0, lex("", ALLOW_ALL).size());
+        assertEquals(0, lex(null, ALLOW_ALL).size());
+        assertEquals(0, lex("&c&l", ALLOW_ALL).size());
+    }
+}
@@ -2,6 +2,8 @@ package world.landfall.verbatim.util;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -10,69 +12,147 @@ import static org.junit.jupiter.api.Assertions.*;
 class FormattingCodeUtilsTest {
 
     @Test
-    void stripFormattingCodesRemovesAmpersandCodes() {
+    void stripRemovesAmpersandCodes() {
         String input = "&aGreen &bAqua &cRed";
-        String result = FormattingCodeUtils.stripFormattingCodes(input);
+        String result = FormattingCodeUtils.strip(input);
         assertEquals("Green Aqua Red", result);
     }
 
     @Test
-    void stripFormattingCodesRemovesSectionCodes() {
+    void stripRemovesSectionCodes() {
         String input = "\u00a7aGreen \u00a7bAqua \u00a7cRed";
-        String result = FormattingCodeUtils.stripFormattingCodes(input);
+        String result = FormattingCodeUtils.strip(input);
         assertEquals("Green Aqua Red", result);
     }
 
     @Test
-    void stripFormattingCodesRemovesMixedCodes() {
+    void stripRemovesMixedCodes() {
         String input = "&aGreen \u00a7bAqua &cRed";
-        String result = FormattingCodeUtils.stripFormattingCodes(input);
+        String result = FormattingCodeUtils.strip(input);
         assertEquals("Green Aqua Red", result);
     }
 
     @Test
-    void stripFormattingCodesRemovesFormatCodes() {
+    void stripRemovesFormatCodes() {
         String input = "&lBold &oItalic &nUnderline &mStrike &kObfuscated &rReset";
-        String result = FormattingCodeUtils.stripFormattingCodes(input);
+        String result = FormattingCodeUtils.strip(input);
         assertEquals("Bold Italic Underline Strike Obfuscated Reset", result);
     }
 
     @Test
-    void stripFormattingCodesPreservesNormalText() {
+    void stripPreservesNormalText() {
         String input = "Hello World!";
-        String result = FormattingCodeUtils.stripFormattingCodes(input);
+        String result = FormattingCodeUtils.strip(input);
         assertEquals("Hello World!", result);
     }
 
     @Test
-    void stripFormattingCodesHandlesNull() {
-        assertNull(FormattingCodeUtils.stripFormattingCodes(null));
+    void stripHandlesNull() {
+        assertNull(FormattingCodeUtils.strip(null));
     }
 
     @Test
-    void stripFormattingCodesHandlesEmpty() {
-        assertEquals("", FormattingCodeUtils.stripFormattingCodes(""));
+    void stripHandlesEmpty() {
+        assertEquals("", FormattingCodeUtils.strip(""));
     }
 
     @Test
-    void stripFormattingCodesIsCaseInsensitive() {
+    void stripIsCaseInsensitive() {
         String input = "&AGreen &BBlue";
-        String result = FormattingCodeUtils.stripFormattingCodes(input);
+        String result = FormattingCodeUtils.strip(input);
         assertEquals("Green Blue", result);
     }
 
     @Test
-    void stripFormattingCodesRemovesHexColorCodes() {
-        // Note: This only strips the basic &X codes, not full hex
+    void stripRemovesAllBasicColorCodes() {
         String input = "&0Black &1Blue &2Green &3Cyan &4Red &5Purple &6Gold &7Gray";
-        String result = FormattingCodeUtils.stripFormattingCodes(input);
+        String result = FormattingCodeUtils.strip(input);
         assertEquals("Black Blue Green Cyan Red Purple Gold Gray", result);
     }
 
     @Test
-    void stripFormattingCodesPreservesOtherAmpersands() {
+    void stripPreservesOtherAmpersands() {
         String input = "Tom & Jerry";
-        String result = FormattingCodeUtils.stripFormattingCodes(input);
+        String result = FormattingCodeUtils.strip(input);
         assertEquals("Tom & Jerry", result);
     }
+
+    @Test
+    void stripRemovesFullHexCodes() {
+        assertEquals("Teal text", FormattingCodeUtils.strip("&#55FFccTeal \u00a7#123456text"));
+    }
+
+    @Test
+    void stripKeepsIncompleteHexCodes() {
+        assertEquals("&#12345 and &#12345g", FormattingCodeUtils.strip("&#12345 and &#12345g"));
+    }
+
+    @Test
+    void stripReturnsSameInstanceWithoutCodes() {
+        String input = "Hello World!";
+        assertSame(input, FormattingCodeUtils.strip(input));
+    }
+
+    @Test
+    void stripMatchesLegacyRegexOnRandomInput() {
+        String alphabet = "&\u00a7#0aAfFkKoOrRgGxz9 ";
+        Random random = new Random(42);
+        for (int n = 0; n < 2000; n++) {
+            StringBuilder sb = new StringBuilder();
+            int length = random.nextInt(24);
+            for (int i = 0; i < length; i++) {
+                sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            String input = sb.toString();
+            String expected = input.replaceAll("(?i)[&\u00a7]#[0-9a-f]{6}|[&\u00a7][0-9A-FK-OR]", "");
+            assertEquals(expected, FormattingCodeUtils.strip(input), input);
+            assertEquals(expected.length(), FormattingCodeUtils.visibleLength(input), input);
+        }
+    }
+
+    @Test
+    void visibleLengthIgnoresCodes() {
+        assertEquals(5, FormattingCodeUtils.visibleLength("&a&lHel&#ff0000lo"));
+        assertEquals(7, FormattingCodeUtils.visibleLength("Tom & J"));
+        assertEquals(0, FormattingCodeUtils.visibleLength(null));
+    }
+
+    @Test
+    void truncateVisibleKeepsCodesBeforeCut() {
+        assertEquals("&aHe&llo", FormattingCodeUtils.truncateVisible("&aHe&llo world", 4));
+    }
+
+    @Test
+    void truncateVisibleDropsCodesAfterCut() {
+        assertEquals("&aHell", FormattingCodeUtils.truncateVisible("&aHell&co", 4));
+    }
+
+    @Test
+    void truncateVisibleDropsTrailingCodesAtLimit() {
+        assertEquals("&aHell", FormattingCodeUtils.truncateVisible("&aHell&c", 4));
+        assertEquals("&aHell", FormattingCodeUtils.truncateVisible("&aHell&c&#ff00ff", 4));
+        assertEquals("&aHi&c", FormattingCodeUtils.truncateVisible("&aHi&c", 4));
+    }
+
+    @Test
+    void truncateVisibleNeverSplitsCodes() {
+        assertEquals("ab&#ff00ffc", FormattingCodeUtils.truncateVisible("ab&#ff00ffcd", 3));
+    }
+
+    @Test
+    void truncateVisibleReturnsSameInstanceWhenItFits() {
+        String input = "&aHello";
+        assertSame(input, FormattingCodeUtils.truncateVisible(input, 5));
+        assertSame(input, FormattingCodeUtils.truncateVisible(input, 100));
+        assertEquals("", FormattingCodeUtils.truncateVisible(input, 0));
+    }
+
+    @Test
+    void containsCodesDetectsOnlyRealCodes() {
+        assertTrue(FormattingCodeUtils.containsCodes("Hello &aworld"));
+        assertTrue(FormattingCodeUtils.containsCodes("&#abcdefHi"));
+        assertFalse(FormattingCodeUtils.containsCodes("Tom & Jerry &"));
+        assertFalse(FormattingCodeUtils.containsCodes("&#abcdeHi"));
+        assertFalse(FormattingCodeUtils.containsCodes(null));
+    }
 }
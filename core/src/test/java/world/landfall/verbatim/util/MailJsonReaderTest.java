@@ -0,0 +1,122 @@
+package world.landfall.verbatim.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MailJsonReader.
+ */
+class MailJsonReaderTest {
+
+    private static final UUID RECIPIENT = UUID.fromString("3f2504e0-4f89-11d3-9a0c-0305e82c3301");
+    private static final UUID SENDER = UUID.fromString("a1b2c3d4-0000-1111-2222-333344445555");
+
+    private final Map<UUID, List<MailService.MailMessage>> mailboxes = new LinkedHashMap<>();
+    private final Map<String, UUID> names = new LinkedHashMap<>();
+
+    private int read(String json) throws IOException {
+        return MailJsonReader.read(new StringReader(json), mailboxes::put, names::put);
+    }
+
+    private static String message(String fields) {
+        return "{" + fields + "}";
+    }
+
+    private static String validMessage(String text) {
+        return message("\"from\": \"" + SENDER + "\", \"fromName\": \"Alice\", \"message\": \"" + text
+            + "\", \"timestamp\": 1700000000000, \"read\": true");
+    }
+
+    @Test
+    void readsMailboxesAndNameCache() throws IOException {
+        read("{\n  \"mailboxes\": {\n    \"" + RECIPIENT + "\": [\n      " + validMessage("hi") + "\n    ]\n  },\n"
+            + "  \"nameCache\": {\n    \"alice\": \"" + SENDER + "\"\n  }\n}\n");
+
+        MailService.MailMessage msg = mailboxes.get(RECIPIENT).get(0);
+        assertEquals(SENDER, msg.senderUUID);
+        assertEquals("Alice", msg.senderName);
+        assertEquals("hi", msg.message);
+        assertEquals(1700000000000L, msg.timestamp);
+        assertTrue(msg.read);
+        assertEquals(SENDER, names.get("alice"));
+    }
+
+    @Test
+    void decodesEscapes() throws IOException {
+        read("{\"mailboxes\": {\"" + RECIPIENT + "\": [" + validMessage("say \\\"hi\\\"\\n\\\\ \\u00e9\\/") + "]}}");
+
+        assertEquals("say \"hi\"\n\\ \u00e9/", mailboxes.get(RECIPIENT).get(0).message);
+    }
+
+    @Test
+    void skipsUnknownKeysAndValues() throws IOException {
+        read("{\"version\": 2, \"extra\": {\"a\": [1, 2.5e3, null, false]}, \"mailboxes\": {\"" + RECIPIENT + "\": ["
+            + message("\"from\": \"" + SENDER + "\", \"priority\": {\"x\": 1}, \"fromName\": \"Alice\", "
+                + "\"message\": \"m\", \"timestamp\": 5, \"read\": false") + "]}}");
+
+        assertEquals(1, mailboxes.get(RECIPIENT).size());
+        assertFalse(mailboxes.get(RECIPIENT).get(0).read);
+    }
+
+    @Test
+    void dropsMessagesMissingFields() throws IOException {
+        read("{\"mailboxes\": {\"" + RECIPIENT + "\": ["
+            + message("\"from\": \"" + SENDER + "\", \"fromName\": \"Alice\", \"timestamp\": 5, \"read\": false") + ", "
+            + validMessage("kept") + "]}}");
+
+        assertEquals(1, mailboxes.get(RECIPIENT).size());
+        assertEquals("kept", mailboxes.get(RECIPIENT).get(0).message);
+    }
+
+    @Test
+    void skipsMailboxesWithInvalidUuids() throws IOException {
+        int skipped = read("{\"mailboxes\": {\"not-a-uuid\": [" + validMessage("lost") + "], \""
+            + RECIPIENT + "\": [" + validMessage("kept") + "]}}");
+
+        assertEquals(1, skipped);
+        assertEquals(1, mailboxes.size());
+        assertTrue(mailboxes.containsKey(RECIPIENT));
+    }
+
+    @Test
+    void emptyMailboxesAreNotReported() throws IOException {
+        read("{\"mailboxes\": {\"" + RECIPIENT + "\": []}, \"nameCache\": {}}");
+
+        assertTrue(mailboxes.isEmpty());
+        assertTrue(names.isEmpty());
+    }
+
+    @Test
+    void truncatedInputKeepsEarlierMailboxes() {
+        String json = "{\"mailboxes\": {\"" + RECIPIENT + "\": [" + validMessage("kept") + "], \""
+            + SENDER + "\": [" + validMessage("lost");
+
+        assertThrows(IOException.class, () -> read(json));
+        assertEquals(1, mailboxes.size());
+        assertEquals("kept", mailboxes.get(RECIPIENT).get(0).message);
+    }
+
+    @Test
+    void readsAcrossBufferBoundaries() throws IOException {
+        String longText = "x".repeat(20000);
+        read("{\"mailboxes\": {\"" + RECIPIENT + "\": [" + validMessage(longText) + "]}}");
+
+        assertEquals(longText, mailboxes.get(RECIPIENT).get(0).message);
+    }
+
+    @Test
+    void parseUuidMatchesUuidFromString() {
+        assertEquals(RECIPIENT, MailJsonReader.parseUuid(RECIPIENT.toString()));
+        assertEquals(RECIPIENT, MailJsonReader.parseUuid(RECIPIENT.toString().toUpperCase()));
+        assertNull(MailJsonReader.parseUuid("3f2504e0-4f89-11d3-9a0c-0305e82c330"));
+        assertNull(MailJsonReader.parseUuid("3f2504e0x4f89-11d3-9a0c-0305e82c3301"));
+    }
+}
@@ -6,6 +6,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import world.landfall.verbatim.test.VerbatimTestBase;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.UUID;
@@ -163,4 +165,216 @@ class MailServiceTest extends VerbatimTestBase {
     void getUnreadCountReturnsZeroForUnknownPlayer() {
         assertEquals(0, MailService.getUnreadCount(UUID.randomUUID()));
     }
+
+    @Test
+    void writesOnlyTheRecipientsShard() throws IOException {
+        UUID recipientA = UUID.fromString("3f000000-0000-0000-0000-000000000001");
+        UUID recipientB = UUID.fromString("a1000000-0000-0000-0000-000000000002");
+
+        MailService.sendMail(UUID.randomUUID(), "Alice", recipientA, "hello A");
+        MailService.sendMail(UUID.randomUUID(), "Alice", recipientB, "hello B");
+        MailService.flushPendingWrites();
+
+        Path shardA = tempDir.resolve("mail").resolve("3f.json");
+        Path shardB = tempDir.resolve("mail").resolve("a1.json");
+        assertTrue(Files.readString(shardA).contains("hello A"));
+        assertFalse(Files.readString(shardA).contains("hello B"));
+        assertTrue(Files.readString(shardB).contains("hello B"));
+        assertFalse(Files.exists(tempDir.resolve("mail.json")));
+    }
+
+    @Test
+    void clearingLastMailboxDeletesShard() {
+        UUID recipient = UUID.fromString("3f000000-0000-0000-0000-000000000001");
+        MailService.sendMail(UUID.randomUUID(), "Alice", recipient, "hello");
+        MailService.flushPendingWrites();
+        Path shard = tempDir.resolve("mail").resolve("3f.json");
+        assertTrue(Files.exists(shard));
+
+        MailService.clearMail(recipient);
+        MailService.flushPendingWrites();
+        assertFalse(Files.exists(shard));
+    }
+
+    @Test
+    void corruptShardIsSetAsideAndRewritten() throws IOException {
+        UUID lost = UUID.fromString("3f000000-0000-0000-0000-000000000001");
+        UUID recipient = UUID.fromString("3f000000-0000-0000-0000-000000000002");
+        MailService.sendMail(UUID.randomUUID(), "Alice", lost, "unreadable");
+        MailService.shutdown();
+        Path shard = tempDir.resolve("mail").resolve("3f.json");
+        Files.writeString(shard, "{\"mailboxes\": {\"" + lost + "\": [{\"from\"");
+        MailService.init(tempDir);
+
+        MailService.sendMail(UUID.randomUUID(), "Alice", recipient, "fresh");
+        MailService.flushPendingWrites();
+
+        assertTrue(Files.exists(tempDir.resolve("mail").resolve("3f.json.corrupt")));
+        assertTrue(Files.readString(shard).contains("fresh"));
+        MailService.shutdown();
+        MailService.init(tempDir);
+        assertEquals("fresh", MailService.getMail(recipient).get(0).message);
+        assertEquals(0, MailService.getMailCount(lost));
+    }
+
+    @Test
+    void writesAreBatchedInTheBackground() throws InterruptedException {
+        UUID recipient = UUID.randomUUID();
+        for (int i = 0; i < 10; i++) {
+            MailService.sendMail(UUID.randomUUID(), "Alice", recipient, "msg " + i);
+        }
+
+        Path mailDir = tempDir.resolve("mail");
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!Files.exists(mailDir) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(Files.exists(mailDir), "background writer should flush without an explicit call");
+    }
+
+    @Test
+    void migratesLegacyMailFile() throws IOException {
+        MailService.shutdown();
+        UUID sender = UUID.randomUUID();
+        UUID recipient = UUID.randomUUID();
+        Path mailDir = tempDir.resolve("mail");
+        if (Files.exists(mailDir)) {
+            try (var files = Files.list(mailDir)) {
+                for (Path file : files.toList()) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(mailDir);
+        }
+        Files.writeString(tempDir.resolve("mail.json"), "{\n  \"mailboxes\": {\n    \"" + recipient + "\": [\n"
+            + "      {\"from\": \"" + sender + "\", \"fromName\": \"Old\", \"message\": \"legacy\", \"timestamp\": 5, \"read\": false}\n"
+            + "    ]\n  },\n  \"nameCache\": {\n    \"old\": \"" + sender + "\"\n  }\n}\n");
+
+        MailService.init(tempDir);
+
+        assertEquals(1, MailService.getUnreadCount(recipient));
+        assertEquals(sender, MailService.resolvePlayerUUID("Old"));
+        assertFalse(Files.exists(tempDir.resolve("mail.json")));
+        assertTrue(Files.exists(tempDir.resolve("mail.json.migrated")));
+
+        MailService.shutdown();
+        MailService.init(tempDir);
+        assertEquals("legacy", MailService.getMail(recipient).get(0).message);
+    }
+
+    @Test
+    void interruptedMigrationResumesOnNextStart() throws IOException {
+        MailService.shutdown();
+        UUID sender = UUID.randomUUID();
+        UUID migratedRecipient = UUID.fromString("3f000000-0000-0000-0000-000000000001");
+        UUID pendingRecipient = UUID.fromString("a1000000-0000-0000-0000-000000000002");
+        Files.writeString(tempDir.resolve("mail.json"), "{\n  \"mailboxes\": {\n"
+            + "    \"" + migratedRecipient + "\": [{\"from\": \"" + sender + "\", \"fromName\": \"Old\", \"message\": \"legacy A\", \"timestamp\": 5, \"read\": false}],\n"
+            + "    \"" + pendingRecipient + "\": [{\"from\": \"" + sender + "\", \"fromName\": \"Old\", \"message\": \"legacy B\", \"timestamp\": 5, \"read\": false}]\n"
+            + "  }\n}\n");
+        // A directory in place of the tmp file makes the a1 shard write fail
+        Path blocker = tempDir.resolve("mail").resolve("a1.json.tmp");
+        Files.createDirectories(blocker);
+
+        MailService.init(tempDir);
+        MailService.markAllRead(migratedRecipient);
+        MailService.shutdown();
+        assertTrue(Files.exists(tempDir.resolve("mail.json")));
+        assertFalse(Files.exists(tempDir.resolve("mail").resolve("a1.json")));
+
+        Files.delete(blocker);
+        MailService.init(tempDir);
+
+        assertFalse(Files.exists(tempDir.resolve("mail.json")));
+        assertEquals("legacy B", MailService.getMail(pendingRecipient).get(0).message);
+        // The shard written by the first attempt is not overwritten with the legacy copy
+        assertEquals(0, MailService.getUnreadCount(migratedRecipient));
+        assertEquals(1, MailService.getMailCount(migratedRecipient));
+    }
+
+    @Test
+    void restartKeepsCountsWithoutLoadingMailboxes() {
+        UUID sender = UUID.randomUUID();
+        UUID recipientA = UUID.randomUUID();
+        UUID recipientB = UUID.randomUUID();
+        MailService.sendMail(sender, "Alice", recipientA, "one");
+        MailService.sendMail(sender, "Alice", recipientA, "two");
+        MailService.sendMail(sender, "Alice", recipientB, "three");
+        MailService.markAllRead(recipientB);
+        MailService.shutdown();
+
+        MailService.init(tempDir);
+
+        assertEquals(0, MailService.getLoadedMailboxCount());
+        assertEquals(2, MailService.getUnreadCount(recipientA));
+        assertEquals(2, MailService.getMailCount(recipientA));
+        assertEquals(0, MailService.getUnreadCount(recipientB));
+        assertEquals(1, MailService.getMailCount(recipientB));
+        assertEquals(0, MailService.getLoadedMailboxCount());
+
+        assertEquals("one", MailService.getMail(recipientA).get(0).message);
+        assertEquals(1, MailService.getLoadedMailboxCount());
+    }
+
+    @Test
+    void fullMailboxIsRejectedWithoutLoadingIt() {
+        UUID recipient = UUID.randomUUID();
+        for (int i = 0; i < MailService.MAX_MAILBOX_SIZE; i++) {
+            MailService.sendMail(UUID.randomUUID(), "Alice", recipient, "msg " + i);
+        }
+        MailService.shutdown();
+        MailService.init(tempDir);
+
+        assertFalse(MailService.sendMail(UUID.randomUUID(), "Alice", recipient, "one too many"));
+        assertEquals(0, MailService.getLoadedMailboxCount());
+    }
+
+    @Test
+    void evictedMailboxesReloadFromDisk() {
+        int recipients = MailService.MAILBOX_CACHE_SIZE + 50;
+        UUID[] uuids = new UUID[recipients];
+        for (int i = 0; i < recipients; i++) {
+            uuids[i] = UUID.randomUUID();
+            MailService.sendMail(UUID.randomUUID(), "Alice", uuids[i], "hello " + i);
+        }
+        MailService.flushPendingWrites();
+        assertTrue(MailService.getLoadedMailboxCount() <= MailService.MAILBOX_CACHE_SIZE);
+
+        // Changes to reloaded mailboxes must survive being evicted again
+        for (int i = 0; i < recipients; i++) {
+            MailService.markAllRead(uuids[i]);
+        }
+        MailService.flushPendingWrites();
+        for (int i = 0; i < recipients; i++) {
+            List<MailService.MailMessage> mail = MailService.getMail(uuids[i]);
+            assertEquals(1, mail.size());
+            assertEquals("hello " + i, mail.get(0).message);
+            assertTrue(mail.get(0).read);
+        }
+
+        MailService.shutdown();
+        MailService.init(tempDir);
+        for (int i = 0; i < recipients; i++) {
+            assertEquals(1, MailService.getMailCount(uuids[i]));
+            assertEquals(0, MailService.getUnreadCount(uuids[i]));
+        }
+    }
+
+    @Test
+    void clearingUnloadedMailboxRemovesItFromDisk() {
+        UUID recipient = UUID.fromString("3f000000-0000-0000-0000-000000000001");
+        UUID neighbour = UUID.fromString("3f000000-0000-0000-0000-000000000002");
+        MailService.sendMail(UUID.randomUUID(), "Alice", recipient, "gone");
+        MailService.sendMail(UUID.randomUUID(), "Alice", neighbour, "kept");
+        MailService.shutdown();
+        MailService.init(tempDir);
+
+        MailService.clearMail(recipient);
+        MailService.shutdown();
+        MailService.init(tempDir);
+
+        assertEquals(0, MailService.getMailCount(recipient));
+        assertTrue(MailService.getMail(recipient).isEmpty());
+        assertEquals("kept", MailService.getMail(neighbour).get(0).message);
+    }
 }
@@ -0,0 +1,224 @@
+package world.landfall.verbatim.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import world.landfall.verbatim.Verbatim;
+import world.landfall.verbatim.context.GamePlayer;
+import world.landfall.verbatim.test.MockGameContext;
+import world.landfall.verbatim.test.MockGamePlayer;
+import world.landfall.verbatim.test.VerbatimTestBase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stress tests for SocialService under many concurrent chat, command and lifecycle threads.
+ */
+class SocialServiceConcurrencyTest extends VerbatimTestBase {
+
+    private static final int THREADS = 16;
+
+    /** Counts player data reads per key so duplicate loads show up. */
+    private static class CountingGameContext extends MockGameContext {
+        final Map<String, AtomicInteger> reads = new ConcurrentHashMap<>();
+
+        @Override
+        public String getPlayerStringData(GamePlayer player, String key) {
+            reads.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+            return super.getPlayerStringData(player, key);
+        }
+
+        int readsOf(String key) {
+            AtomicInteger count = reads.get(key);
+            return count == null ? 0 : count.get();
+        }
+    }
+
+    private CountingGameContext context;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUpContext() {
+        context = new CountingGameContext();
+        Verbatim.gameContext = context;
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void stopExecutor() {
+        // Interrupts workers that are still stuck if an assertion timed out
+        executor.shutdownNow();
+    }
+
+    private MockGamePlayer player(String name) {
+        MockGamePlayer player = new MockGamePlayer(name);
+        context.addPlayer(player);
+        return player;
+    }
+
+    /**
+     * Runs the task on every thread at once and rethrows the first failure.
+     */
+    private void runConcurrently(int tasks, IndexedTask task) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < tasks; i++) {
+            int index = i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                task.run(index);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+    }
+
+    private interface IndexedTask {
+        void run(int index) throws Exception;
+    }
+
+    @Test
+    void concurrentMissesLoadIgnoreListOnce() throws Exception {
+        MockGamePlayer recipient = player("Recipient");
+        List<UUID> ignored = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            UUID id = UUID.randomUUID();
+            ignored.add(id);
+            SocialService.addIgnore(recipient, id);
+        }
+        SocialService.onPlayerLogout(recipient.getUUID());
+        context.reads.clear();
+
+        runConcurrently(THREADS * 4, index -> {
+            for (UUID id : ignored) {
+                assertTrue(SocialService.isIgnoring(recipient, id));
+            }
+            assertEquals(50, SocialService.getIgnoredUUIDs(recipient).size());
+        });
+
+        assertEquals(1, context.readsOf("verbatim:ignored_players"));
+    }
+
+    @Test
+    void concurrentMissesLoadFavouritesOnce() throws Exception {
+        MockGamePlayer recipient = player("Recipient");
+        UUID favourite = UUID.randomUUID();
+        SocialService.addFavorite(recipient, favourite, "Friend");
+        SocialService.onPlayerLogout(recipient.getUUID());
+        context.reads.clear();
+
+        runConcurrently(THREADS * 4, index -> {
+            assertTrue(SocialService.isFavorited(recipient, favourite));
+            assertEquals("Friend", SocialService.getFavoriteMeta(recipient).get(favourite).name);
+        });
+
+        assertEquals(1, context.readsOf("verbatim:favorite_players"));
+        assertEquals(1, context.readsOf("verbatim:fav_meta"));
+    }
+
+    @Test
+    void concurrentWritersLoseNoUpdates() throws Exception {
+        MockGamePlayer player = player("Busy");
+        int perThread = 25;
+
+        runConcurrently(THREADS, index -> {
+            for (int i = 0; i < perThread; i++) {
+                UUID target = new UUID(index, i);
+                SocialService.addIgnore(player, target);
+                SocialService.addFavorite(player, target, "P" + index + "_" + i);
+            }
+        });
+
+        assertEquals(THREADS * perThread, SocialService.getIgnoredUUIDs(player).size());
+        assertEquals(THREADS * perThread, SocialService.getFavoriteUUIDs(player).size());
+
+        // What was persisted matches the cache
+        SocialService.reset();
+        assertEquals(THREADS * perThread, SocialService.getIgnoredUUIDs(player).size());
+        assertEquals(THREADS * perThread, SocialService.getFavoriteMeta(player).size());
+    }
+
+    @Test
+    void readersNeverSeePartialOrBrokenSetsDuringWrites() throws Exception {
+        List<MockGamePlayer> recipients = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            recipients.add(player("R" + i));
+        }
+        UUID sender = UUID.randomUUID();
+        int rounds = 200;
+
+        runConcurrently(THREADS, index -> {
+            MockGamePlayer own = recipients.get(index % recipients.size());
+            for (int round = 0; round < rounds; round++) {
+                if (index < 4) {
+                    // Command threads toggle ignores and favourites
+                    SocialService.addIgnore(own, new UUID(index, round));
+                    SocialService.addFavorite(own, sender, "Sender");
+                    SocialService.removeFavorite(own, sender);
+                } else if (index == 4) {
+                    // Login/logout churn
+                    SocialService.onPlayerLogout(own.getUUID());
+                    SocialService.updateFavoriteMetaForPlayer(sender, "Sender", round);
+                } else {
+                    // Chat fan-out threads
+                    for (MockGamePlayer recipient : recipients) {
+                        SocialService.isIgnoring(recipient, sender);
+                        SocialService.isFavorited(recipient, sender);
+                        Set<UUID> snapshot = SocialService.getIgnoredUUIDs(recipient);
+                        int count = 0;
+                        for (UUID ignoredId : snapshot) {
+                            assertNotNull(ignoredId);
+                            count++;
+                        }
+                        assertEquals(snapshot.size(), count);
+                    }
+                }
+            }
+        });
+
+        for (int i = 0; i < 4; i++) {
+            assertEquals(rounds, SocialService.getIgnoredUUIDs(recipients.get(i)).size());
+            assertFalse(SocialService.isFavorited(recipients.get(i), sender));
+        }
+    }
+
+    @Test
+    void returnedSetsAreUnmodifiable() {
+        MockGamePlayer player = player("Alice");
+        SocialService.addIgnore(player, UUID.randomUUID());
+
+        assertThrows(UnsupportedOperationException.class,
+            () -> SocialService.getIgnoredUUIDs(player).add(UUID.randomUUID()));
+    }
+
+    @Test
+    void concurrentBlockedMessagesNotifyOnce() throws Exception {
+        UUID blocker = UUID.randomUUID();
+        UUID sender = UUID.randomUUID();
+        AtomicInteger notified = new AtomicInteger();
+
+        runConcurrently(THREADS * 4, index -> {
+            if (SocialService.shouldNotifyBlock(blocker, sender)) {
+                notified.incrementAndGet();
+            }
+        });
+
+        assertEquals(1, notified.get());
+    }
+}
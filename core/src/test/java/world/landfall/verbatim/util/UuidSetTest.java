@@ -0,0 +1,116 @@
+package world.landfall.verbatim.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for UuidSet.
+ */
+class UuidSetTest {
+
+    private static final UUID A = UUID.fromString("00000000-0000-0001-0000-000000000001");
+    private static final UUID B = UUID.fromString("80000000-0000-0000-0000-000000000000"); // negative msb
+    private static final UUID C = UUID.fromString("7fffffff-ffff-ffff-ffff-ffffffffffff");
+
+    private static UuidSet parse(String raw, List<String> invalid) {
+        return UuidSet.parse(raw, invalid::add);
+    }
+
+    @Test
+    void withAndWithoutReturnNewSets() {
+        UuidSet one = UuidSet.EMPTY.with(A);
+        UuidSet two = one.with(B);
+
+        assertTrue(UuidSet.EMPTY.isEmpty());
+        assertEquals(Set.of(A), one);
+        assertEquals(Set.of(A, B), two);
+        assertEquals(Set.of(B), two.without(A));
+        assertSame(two, two.with(A));
+        assertSame(two, two.without(C));
+        assertSame(UuidSet.EMPTY, one.without(A));
+    }
+
+    @Test
+    void containsMatchesHashSet() {
+        Random random = new Random(42);
+        Set<UUID> expected = new HashSet<>();
+        UuidSet set = UuidSet.EMPTY;
+        for (int i = 0; i < 200; i++) {
+            UUID uuid = new UUID(random.nextLong(), random.nextLong());
+            expected.add(uuid);
+            set = set.with(uuid);
+        }
+
+        assertEquals(expected.size(), set.size());
+        for (UUID uuid : expected) {
+            assertTrue(set.contains(uuid));
+        }
+        for (int i = 0; i < 200; i++) {
+            assertFalse(set.contains(new UUID(random.nextLong(), random.nextLong())));
+        }
+        assertFalse(set.contains(null));
+        assertFalse(set.contains("not a uuid"));
+        assertEquals(expected, set);
+        assertEquals(expected.hashCode(), set.hashCode());
+    }
+
+    @Test
+    void ofDropsDuplicatesAndIteratesSorted() {
+        UuidSet set = UuidSet.of(List.of(C, A, B, A));
+
+        List<UUID> order = new ArrayList<>(set);
+        assertEquals(List.of(B, A, C), order);
+    }
+
+    @Test
+    void encodedRoundTrip() {
+        UuidSet set = UuidSet.of(List.of(A, B, C));
+
+        String encoded = set.encode();
+
+        assertTrue(encoded.startsWith("b64:"));
+        assertEquals(set, parse(encoded, new ArrayList<>()));
+    }
+
+    @Test
+    void readsLegacyCommaFormat() {
+        List<String> invalid = new ArrayList<>();
+
+        UuidSet set = parse(" " + A + ", not-a-uuid,," + B + "," + A, invalid);
+
+        assertEquals(Set.of(A, B), set);
+        assertEquals(List.of("not-a-uuid"), invalid);
+    }
+
+    @Test
+    void emptyInputIsEmpty() {
+        assertSame(UuidSet.EMPTY, parse(null, new ArrayList<>()));
+        assertSame(UuidSet.EMPTY, parse("", new ArrayList<>()));
+        assertSame(UuidSet.EMPTY, parse("b64:", new ArrayList<>()));
+    }
+
+    @Test
+    void truncatedEncodingIsRejected() {
+        String encoded = UuidSet.of(List.of(A)).encode();
+
+        assertThrows(IllegalArgumentException.class,
+            () -> parse(encoded.substring(0, encoded.length() - 4), new ArrayList<>()));
+    }
+
+    @Test
+    void isUnmodifiable() {
+        UuidSet set = UuidSet.of(List.of(A));
+
+        assertThrows(UnsupportedOperationException.class, () -> set.add(B));
+        assertThrows(UnsupportedOperationException.class, () -> set.remove(A));
+        assertThrows(UnsupportedOperationException.class, set::clear);
+    }
+}
@@ -2,9 +2,12 @@ package world.landfall.verbatim.platform.forge;
 
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraftforge.event.ServerChatEvent;
+import net.minecraftforge.event.TickEvent;
 import net.minecraftforge.event.entity.player.PlayerEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
+import world.landfall.verbatim.ChatDispatcher;
 import world.landfall.verbatim.ChatEventHandler;
+import world.landfall.verbatim.Verbatim;
 
 /**
  * Forge 1.20.1 event handlers that delegate to platform-independent ChatEventHandler.
@@ -14,6 +17,7 @@ public class ForgeChatEvents {
     @SubscribeEvent
     public static void onLogin(PlayerEvent.PlayerLoggedInEvent event) {
         if (event.getEntity() instanceof ServerPlayer player) {
+            context().onPlayerJoin(player);
             ChatEventHandler.onPlayerLogin(new ForgeGamePlayer(player));
         }
     }
@@ -22,6 +26,7 @@ public class ForgeChatEvents {
     public static void onLogout(PlayerEvent.PlayerLoggedOutEvent event) {
         if (event.getEntity() instanceof ServerPlayer player) {
             ChatEventHandler.onPlayerLogout(new ForgeGamePlayer(player));
+            context().onPlayerLeave(player);
         }
     }
 
@@ -30,6 +35,18 @@ public class ForgeChatEvents {
         ServerPlayer sender = event.getPlayer();
         String rawMessageText = event.getMessage().getString();
         event.setCanceled(true);
-        ChatEventHandler.onChat(new ForgeGamePlayer(sender), rawMessageText);
+        ChatDispatcher.submit(new ForgeGamePlayer(sender), rawMessageText);
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase == TickEvent.Phase.END) {
+            context().onServerTick();
+            ChatEventHandler.onServerTick();
+        }
+    }
+
+    private static ForgeGameContextImpl context() {
+        return (ForgeGameContextImpl) Verbatim.gameContext;
     }
 }
@@ -242,6 +242,17 @@ public class ForgeCommandRegistrar {
             );
         dispatcher.register(chKickCommand);
 
+        // /verbatim stats
+        dispatcher.register(Commands.literal(Verbatim.MODID)
+            .then(Commands.literal("stats")
+                .requires(source -> {
+                    if (source.getEntity() instanceof ServerPlayer player) {
+                        return Verbatim.permissionService.hasPermission(new ForgeGamePlayer(player), VerbatimCommandHandlers.PERM_ADMIN_STATS, 2);
+                    }
+                    return source.hasPermission(2);
+                })
+                .executes(context -> VerbatimCommandHandlers.executeChatStats(wrapSource(context.getSource())))));
+
         // /ignore
         LiteralArgumentBuilder<CommandSourceStack> ignoreCommand = Commands.literal("ignore")
             .then(Commands.literal("add")
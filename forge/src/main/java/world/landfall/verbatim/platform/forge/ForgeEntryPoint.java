@@ -3,6 +3,7 @@ package world.landfall.verbatim.platform.forge;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.event.RegisterCommandsEvent;
 import net.minecraftforge.event.server.ServerStartingEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
 import net.minecraftforge.event.server.ServerStoppingEvent;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.ModLoadingContext;
@@ -11,8 +12,13 @@ import net.minecraftforge.fml.config.ModConfig;
 import net.minecraftforge.fml.event.lifecycle.FMLCommonSetupEvent;
 import net.minecraftforge.fml.javafmlmod.FMLJavaModLoadingContext;
 import world.landfall.verbatim.ChatChannelManager;
+import world.landfall.verbatim.ChatDispatcher;
 import world.landfall.verbatim.Verbatim;
 import world.landfall.verbatim.discord.DiscordBot;
+import world.landfall.verbatim.storage.PersistenceScheduler;
+import world.landfall.verbatim.storage.PlayerDataStore;
+import world.landfall.verbatim.storage.PlayerDataStores;
+import world.landfall.verbatim.storage.PlayerDataWriter;
 import world.landfall.verbatim.util.MailService;
 
 import java.nio.file.Path;
@@ -26,6 +32,10 @@ import org.apache.logging.log4j.Level;
 @Mod(Verbatim.MODID)
 public class ForgeEntryPoint {
 
+    private PlayerDataStore dataStore;
+    private PlayerDataWriter dataWriter;
+    private PersistenceScheduler persistenceScheduler;
+
     public ForgeEntryPoint() {
         Configurator.setLevel("world.landfall.verbatim", Level.DEBUG);
         Verbatim.LOGGER.info("[Verbatim] Debug logging enabled");
@@ -62,12 +72,32 @@ public class ForgeEntryPoint {
         // Set data directory and initialize mail service
         // Forge 1.20.1: getServerDirectory() returns File, not Path
         Path dataDir = event.getServer().getServerDirectory().toPath().resolve("verbatim");
-        ((ForgeGameContextImpl) Verbatim.gameContext).setDataDirectory(dataDir);
+        ForgeGameContextImpl context = (ForgeGameContextImpl) Verbatim.gameContext;
+        context.setDataDirectory(dataDir);
         MailService.init(dataDir);
 
+        // Open the configured player data store (file, journal, sql or memory)
+        dataStore = PlayerDataStores.open(ForgeVerbatimConfig.STORAGE_MODE.get(), dataDir.resolve("playerstore"),
+            ForgeVerbatimConfig.JOURNAL_DURABILITY.get(), ForgeVerbatimConfig.JOURNAL_COMPACT_INTERVAL_SECONDS.get(),
+            ForgeVerbatimConfig.JDBC_URL.get());
+        context.setDataStore(dataStore);
+
+        // Batch player data writes on a background I/O thread
+        dataWriter = new PlayerDataWriter(context::savePlayerIfDirty,
+            ForgeVerbatimConfig.PLAYER_DATA_SAVE_DELAY_MS.get(), ForgeVerbatimConfig.PLAYER_DATA_MAX_STALENESS_MS.get());
+        context.setDataWriter(dataWriter);
+
+        // Start periodic auto-save scheduler
+        persistenceScheduler = new PersistenceScheduler(context::saveAllPlayersToDisk);
+        persistenceScheduler.start();
+
         Verbatim.LOGGER.info("Loading chat channel configurations...");
         ChatChannelManager.loadConfiguredChannels();
 
+        if (ForgeVerbatimConfig.ASYNC_CHAT_DISPATCH.get()) {
+            ChatDispatcher.start(ForgeVerbatimConfig.CHAT_DISPATCH_QUEUE_CAPACITY.get());
+        }
+
         Verbatim.LOGGER.info("Initializing Discord Bot...");
         DiscordBot.init();
 
@@ -78,8 +108,29 @@ public class ForgeEntryPoint {
     @SubscribeEvent
     public void onServerStopping(ServerStoppingEvent event) {
         Verbatim.LOGGER.info("Server is stopping!");
+        ChatDispatcher.shutdown();
         MailService.shutdown();
         Verbatim.LOGGER.info("Shutting down Discord Bot...");
         DiscordBot.shutdown();
     }
+
+    @SubscribeEvent
+    public void onServerStopped(ServerStoppedEvent event) {
+        // Every player has logged out by now; save what is still pending and close the store
+        if (persistenceScheduler != null) {
+            persistenceScheduler.shutdown();
+            persistenceScheduler = null;
+        }
+        if (dataWriter != null) {
+            dataWriter.shutdown();
+            dataWriter = null;
+        }
+        ForgeGameContextImpl context = (ForgeGameContextImpl) Verbatim.gameContext;
+        context.saveAllPlayersToDisk();
+        context.unloadPlayerData();
+        if (dataStore != null) {
+            dataStore.close();
+            dataStore = null;
+        }
+    }
 }
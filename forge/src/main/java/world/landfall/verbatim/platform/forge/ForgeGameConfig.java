@@ -99,4 +99,9 @@ public class ForgeGameConfig implements GameConfig {
     public String getLeaveMessageFormat() {
         return ForgeVerbatimConfig.LEAVE_MESSAGE_FORMAT.get();
     }
+
+    @Override
+    public int getLocalFadeLevels() {
+        return ForgeVerbatimConfig.LOCAL_FADE_LEVELS.get();
+    }
 }
@@ -1,32 +1,70 @@
 package world.landfall.verbatim.platform.forge;
 
 import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.Tag;
 import net.minecraft.network.chat.Component;
+import net.minecraft.network.protocol.game.ClientboundSystemChatPacket;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.player.ChatVisiblity;
 import net.minecraftforge.server.ServerLifecycleHooks;
+import world.landfall.verbatim.Verbatim;
 import world.landfall.verbatim.context.GameCommandSource;
 import world.landfall.verbatim.context.GameComponent;
 import world.landfall.verbatim.context.GameContext;
 import world.landfall.verbatim.context.GamePlayer;
+import world.landfall.verbatim.context.NodeComponent;
+import world.landfall.verbatim.context.OnlinePlayerMirror;
+import world.landfall.verbatim.context.PlayerPosition;
+import world.landfall.verbatim.storage.PlayerData;
+import world.landfall.verbatim.storage.PlayerDataStore;
+import world.landfall.verbatim.storage.PlayerDataWriter;
+import world.landfall.verbatim.storage.PlayerSnapshot;
 
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
  * Forge 1.20.1 implementation of GameContext.
+ * Keeps player data in memory per player, backed by the configured PlayerDataStore. Verbatim keys
+ * that older versions kept in the player's NBT are imported once, on the player's first join.
  */
 public class ForgeGameContextImpl implements GameContext {
 
+    // Player NBT keys starting with this are imported into the store
+    private static final String NBT_KEY_PREFIX = "verbatim";
+
     private Path dataDirectory;
+    // What the async chat dispatcher reads instead of the player list
+    private final OnlinePlayerMirror<ServerPlayer> onlinePlayers = new OnlinePlayerMirror<>();
+    private final ConcurrentHashMap<UUID, PlayerData> playerData = new ConcurrentHashMap<>();
+    private PlayerDataStore dataStore;
+    // One save at a time, so an older snapshot can never land after a newer one
+    private final Object saveLock = new Object();
+    private PlayerDataWriter dataWriter;
 
     private MinecraftServer getServer() {
         return ServerLifecycleHooks.getCurrentServer();
     }
 
+    public void setDataStore(PlayerDataStore dataStore) {
+        this.dataStore = dataStore;
+    }
+
+    public void setDataWriter(PlayerDataWriter dataWriter) {
+        this.dataWriter = dataWriter;
+    }
+
     public void setDataDirectory(Path dataDirectory) {
         this.dataDirectory = dataDirectory;
     }
@@ -43,6 +81,57 @@ public class ForgeGameContextImpl implements GameContext {
         throw new IllegalArgumentException("GamePlayer is not a ForgeGamePlayer: " + player);
     }
 
+    /**
+     * Runs a task on the server thread, scheduling it if called from another thread
+     * (e.g. the async chat dispatcher). Player messaging is not thread-safe.
+     */
+    private void runOnServerThread(Runnable task) {
+        MinecraftServer server = getServer();
+        if (server != null && !server.isSameThread()) {
+            server.execute(task);
+        } else {
+            task.run();
+        }
+    }
+
+    private boolean isOnServerThread() {
+        MinecraftServer server = getServer();
+        return server == null || server.isSameThread();
+    }
+
+    // === Player Join and Leave ===
+
+    /**
+     * Loads a joining player's data and captures the player for reads from other threads. Called on
+     * the server thread before the core login handling.
+     */
+    public void onPlayerJoin(ServerPlayer sp) {
+        installPlayerData(sp);
+        onlinePlayers.register(sp.getUUID(), sp.getGameProfile().getName(), sp, sp.getPermissionLevel());
+    }
+
+    /**
+     * Saves a leaving player's data and drops them from the mirror. Called on the server thread
+     * after the core logout handling.
+     */
+    public void onPlayerLeave(ServerPlayer sp) {
+        flushPlayer(sp.getUUID());
+        onlinePlayers.unregister(sp.getUUID());
+    }
+
+    /**
+     * Records every online player's permission level. Called once per server tick.
+     */
+    public void onServerTick() {
+        MinecraftServer server = getServer();
+        if (server == null) {
+            return;
+        }
+        for (ServerPlayer sp : server.getPlayerList().getPlayers()) {
+            onlinePlayers.setPermissionLevel(sp.getUUID(), sp.getPermissionLevel());
+        }
+    }
+
     // === Server Operations ===
 
     @Override
@@ -56,6 +145,11 @@ public class ForgeGameContextImpl implements GameContext {
         if (server == null) {
             return Collections.emptyList();
         }
+        if (!isOnServerThread()) {
+            return onlinePlayers.handles().stream()
+                .map(ForgeGamePlayer::new)
+                .collect(Collectors.toList());
+        }
         return server.getPlayerList().getPlayers().stream()
             .map(ForgeGamePlayer::new)
             .collect(Collectors.toList());
@@ -67,6 +161,9 @@ public class ForgeGameContextImpl implements GameContext {
         if (server == null) {
             return 0;
         }
+        if (!isOnServerThread()) {
+            return onlinePlayers.size();
+        }
         return server.getPlayerList().getPlayerCount();
     }
 
@@ -78,7 +175,7 @@ public class ForgeGameContextImpl implements GameContext {
         if (server == null || uuid == null) {
             return null;
         }
-        ServerPlayer sp = server.getPlayerList().getPlayer(uuid);
+        ServerPlayer sp = isOnServerThread() ? server.getPlayerList().getPlayer(uuid) : onlinePlayers.get(uuid);
         return sp != null ? new ForgeGamePlayer(sp) : null;
     }
 
@@ -88,7 +185,7 @@ public class ForgeGameContextImpl implements GameContext {
         if (server == null || name == null) {
             return null;
         }
-        ServerPlayer sp = server.getPlayerList().getPlayerByName(name);
+        ServerPlayer sp = isOnServerThread() ? server.getPlayerList().getPlayerByName(name) : onlinePlayers.getByName(name);
         return sp != null ? new ForgeGamePlayer(sp) : null;
     }
 
@@ -104,6 +201,21 @@ public class ForgeGameContextImpl implements GameContext {
         return sp1.distanceToSqr(sp2);
     }
 
+    @Override
+    public List<PlayerPosition> snapshotPlayerPositions() {
+        MinecraftServer server = getServer();
+        if (server == null) {
+            return Collections.emptyList();
+        }
+        List<ServerPlayer> players = server.getPlayerList().getPlayers();
+        List<PlayerPosition> positions = new ArrayList<>(players.size());
+        for (ServerPlayer sp : players) {
+            positions.add(new PlayerPosition(sp.getUUID(), sp.level().dimension().location().toString(),
+                sp.getX(), sp.getY(), sp.getZ()));
+        }
+        return positions;
+    }
+
     // === Messaging ===
 
     @Override
@@ -112,7 +224,29 @@ public class ForgeGameContextImpl implements GameContext {
             return;
         }
         ServerPlayer sp = unwrap(player);
-        sp.sendSystemMessage(((ForgeGameComponentImpl) message).toMinecraft());
+        Component mcMessage = ForgeComponentRenderer.toMinecraft(message);
+        runOnServerThread(() -> sp.sendSystemMessage(mcMessage));
+    }
+
+    @Override
+    public void sendMessage(Collection<? extends GamePlayer> players, GameComponent message) {
+        if (players == null || players.isEmpty() || message == null) {
+            return;
+        }
+        List<ServerPlayer> targets = new ArrayList<>(players.size());
+        for (GamePlayer player : players) {
+            targets.add(unwrap(player));
+        }
+        // Build the packet once and write it to each connection, honouring the chat visibility
+        // setting that sendSystemMessage would otherwise check
+        ClientboundSystemChatPacket packet = new ClientboundSystemChatPacket(ForgeComponentRenderer.toMinecraft(message), false);
+        runOnServerThread(() -> {
+            for (ServerPlayer sp : targets) {
+                if (sp.getChatVisibility() != ChatVisiblity.HIDDEN) {
+                    sp.connection.send(packet);
+                }
+            }
+        });
     }
 
     @Override
@@ -121,17 +255,26 @@ public class ForgeGameContextImpl implements GameContext {
         if (server == null || message == null) {
             return;
         }
-        server.getPlayerList().broadcastSystemMessage(((ForgeGameComponentImpl) message).toMinecraft(), bypassHiddenPlayers);
+        Component mcMessage = ForgeComponentRenderer.toMinecraft(message);
+        runOnServerThread(() -> server.getPlayerList().broadcastSystemMessage(mcMessage, bypassHiddenPlayers));
+    }
+
+    @Override
+    public void afterPendingSends(Runnable task) {
+        // Server tasks run in submission order, so this runs after every send queued before it
+        runOnServerThread(task);
     }
 
     // === Persistent Data ===
+    // Player data is thread-safe, so the async chat dispatcher reads and writes it directly.
 
     @Override
     public boolean hasPlayerData(GamePlayer player, String key) {
         if (player == null || key == null) {
             return false;
         }
-        return unwrap(player).getPersistentData().contains(key);
+        PlayerData data = playerData.get(player.getUUID());
+        return data != null && data.contains(key);
     }
 
     @Override
@@ -139,7 +282,8 @@ public class ForgeGameContextImpl implements GameContext {
         if (player == null || key == null) {
             return "";
         }
-        return unwrap(player).getPersistentData().getString(key);
+        PlayerData data = playerData.get(player.getUUID());
+        return data != null ? data.get(key) : "";
     }
 
     @Override
@@ -147,7 +291,9 @@ public class ForgeGameContextImpl implements GameContext {
         if (player == null || key == null || value == null) {
             return;
         }
-        unwrap(player).getPersistentData().putString(key, value);
+        PlayerData data = playerData.computeIfAbsent(player.getUUID(), k -> new PlayerData());
+        data.put(key, value);
+        schedulePlayerSave(player.getUUID(), data);
     }
 
     @Override
@@ -155,7 +301,161 @@ public class ForgeGameContextImpl implements GameContext {
         if (player == null || key == null) {
             return;
         }
-        unwrap(player).getPersistentData().remove(key);
+        PlayerData data = playerData.get(player.getUUID());
+        if (data != null && data.remove(key)) {
+            schedulePlayerSave(player.getUUID(), data);
+        }
+    }
+
+    // === Per-Player Persistence ===
+
+    private void schedulePlayerSave(UUID uuid, PlayerData data) {
+        if (dataStore == null) {
+            return;
+        }
+        if (dataWriter != null) {
+            dataWriter.markDirty(uuid);
+        } else {
+            savePlayer(uuid, data);
+        }
+    }
+
+    /**
+     * Writes a player's data if they have unsaved changes. Called by the write-behind writer.
+     */
+    public void savePlayerIfDirty(UUID uuid) {
+        if (dataStore == null) {
+            return;
+        }
+        PlayerData data = playerData.get(uuid);
+        if (data != null && data.isDirty()) {
+            savePlayer(uuid, data);
+        }
+    }
+
+    private void flushPlayer(UUID uuid) {
+        if (dataWriter != null) {
+            dataWriter.flush(uuid);
+        } else {
+            savePlayerIfDirty(uuid);
+        }
+    }
+
+    private void savePlayer(UUID uuid, PlayerData data) {
+        synchronized (saveLock) {
+            long version = data.getVersion();
+            String username = usernameFor(uuid, data);
+            if (dataStore.save(uuid, username, data.snapshot())) {
+                data.markSaved(version, username);
+            } else {
+                // Still dirty, so the next auto-save retries it
+                Verbatim.LOGGER.warn("[Verbatim] Could not save player data for {}, will retry", uuid);
+            }
+        }
+    }
+
+    /**
+     * Installs a joining player's data from the store. A player already held in memory keeps that
+     * state, since it is never older than what is stored.
+     */
+    private void installPlayerData(ServerPlayer sp) {
+        UUID uuid = sp.getUUID();
+        boolean inMemory = playerData.containsKey(uuid);
+        PlayerData data = playerData.computeIfAbsent(uuid, k -> new PlayerData());
+        data.setLastUsername(sp.getGameProfile().getName());
+        if (inMemory || dataStore == null) {
+            return;
+        }
+        Map<String, String> stored = dataStore.load(uuid);
+        data.load(stored);
+        if (stored.isEmpty()) {
+            importNbtData(sp, data);
+        } else {
+            Verbatim.LOGGER.info("[Verbatim] Loaded {} data entries for player {}", stored.size(), uuid);
+        }
+    }
+
+    /**
+     * Copies the Verbatim keys that older versions kept in the player's NBT into the store, then
+     * removes them from the NBT so they are only ever imported once. If the save fails the keys
+     * stay in the NBT, and the data stays dirty for the next auto-save.
+     */
+    private void importNbtData(ServerPlayer sp, PlayerData data) {
+        CompoundTag tag = sp.getPersistentData();
+        List<String> keys = new ArrayList<>();
+        for (String key : tag.getAllKeys()) {
+            if (key.startsWith(NBT_KEY_PREFIX) && tag.getTagType(key) == Tag.TAG_STRING) {
+                keys.add(key);
+            }
+        }
+        if (keys.isEmpty()) {
+            return;
+        }
+        for (String key : keys) {
+            data.put(key, tag.getString(key));
+        }
+        savePlayer(sp.getUUID(), data);
+        if (!data.isDirty()) {
+            keys.forEach(tag::remove);
+            Verbatim.LOGGER.info("[Verbatim] Imported {} data entries for player {} from NBT", keys.size(), sp.getUUID());
+        }
+    }
+
+    /**
+     * Saves every dirty player as one batch, then flushes the store. Clean players are not rewritten.
+     */
+    public void saveAllPlayersToDisk() {
+        if (dataStore == null) {
+            return;
+        }
+
+        int saved;
+        int failedCount;
+        synchronized (saveLock) {
+            List<PlayerSnapshot> snapshots = new ArrayList<>();
+            Map<UUID, Long> versions = new HashMap<>();
+            for (Map.Entry<UUID, PlayerData> entry : playerData.entrySet()) {
+                PlayerData data = entry.getValue();
+                if (data.isDirty()) {
+                    UUID uuid = entry.getKey();
+                    versions.put(uuid, data.getVersion());
+                    snapshots.add(new PlayerSnapshot(uuid, usernameFor(uuid, data), data.snapshot()));
+                }
+            }
+            Set<UUID> failed = snapshots.isEmpty() ? Collections.emptySet() : dataStore.saveAll(snapshots);
+            // Players whose write failed stay dirty for the next save
+            for (PlayerSnapshot snapshot : snapshots) {
+                if (!failed.contains(snapshot.uuid())) {
+                    playerData.get(snapshot.uuid()).markSaved(versions.get(snapshot.uuid()), snapshot.username());
+                }
+            }
+            failedCount = failed.size();
+            saved = snapshots.size() - failedCount;
+        }
+        dataStore.flush().join();
+        if (failedCount > 0) {
+            Verbatim.LOGGER.warn("[Verbatim] Could not save player data for {} players, will retry", failedCount);
+        }
+        if (saved == 0 && failedCount == 0) {
+            Verbatim.LOGGER.debug("[Verbatim] No dirty player data to save");
+            return;
+        }
+        Verbatim.LOGGER.info("[Verbatim] Saved player data ({} of {} players dirty)", saved, playerData.size());
+    }
+
+    /**
+     * Forgets every player's data and detaches the store. Called after the final save when the
+     * server stops, so a singleplayer world opened next starts from its own store.
+     */
+    public void unloadPlayerData() {
+        dataWriter = null;
+        dataStore = null;
+        playerData.clear();
+    }
+
+    private String usernameFor(UUID uuid, PlayerData data) {
+        String username = data.getLastUsername();
+        return username != null ? username : uuid.toString();
     }
 
     // === Permissions ===
@@ -165,7 +465,12 @@ public class ForgeGameContextImpl implements GameContext {
         if (player == null) {
             return false;
         }
-        return unwrap(player).hasPermissions(level);
+        ServerPlayer sp = unwrap(player);
+        if (!isOnServerThread()) {
+            // The ops list changes on the server thread; use the level recorded this tick
+            return onlinePlayers.getPermissionLevel(sp.getUUID()) >= level;
+        }
+        return sp.hasPermissions(level);
     }
 
     // === Component Creation ===
@@ -173,24 +478,24 @@ public class ForgeGameContextImpl implements GameContext {
     @Override
     public GameComponent createText(String text) {
         if (text == null) {
-            return ForgeGameComponentImpl.empty();
+            return NodeComponent.empty();
         }
-        return ForgeGameComponentImpl.literal(text);
+        return NodeComponent.literal(text);
     }
 
     @Override
     public GameComponent createEmpty() {
-        return ForgeGameComponentImpl.empty();
+        return NodeComponent.empty();
     }
 
     @Override
     public GameComponent createInfoPrefix() {
-        return ForgeGameComponentImpl.literal("\uD83D\uDDE8 ");
+        return NodeComponent.literal("\uD83D\uDDE8 ");
     }
 
     @Override
     public GameComponent createWarningPrefix() {
-        return ForgeGameComponentImpl.literal("\u26A0 ");
+        return NodeComponent.literal("\u26A0 ");
     }
 
     // === Command Response ===
@@ -201,7 +506,7 @@ public class ForgeGameContextImpl implements GameContext {
             return;
         }
         CommandSourceStack css = ((ForgeGameCommandSource) source).getHandle();
-        css.sendSuccess(() -> ((ForgeGameComponentImpl) message).toMinecraft(), broadcast);
+        css.sendSuccess(() -> ForgeComponentRenderer.toMinecraft(message), broadcast);
     }
 
     @Override
@@ -210,7 +515,7 @@ public class ForgeGameContextImpl implements GameContext {
             return;
         }
         CommandSourceStack css = ((ForgeGameCommandSource) source).getHandle();
-        css.sendFailure(((ForgeGameComponentImpl) message).toMinecraft());
+        css.sendFailure(ForgeComponentRenderer.toMinecraft(message));
     }
 
     // === Discord Integration ===
@@ -3,6 +3,7 @@ package world.landfall.verbatim.platform.forge;
 import net.minecraft.server.level.ServerPlayer;
 import world.landfall.verbatim.context.GameComponent;
 import world.landfall.verbatim.context.GamePlayer;
+import world.landfall.verbatim.context.NodeComponent;
 
 import java.util.Objects;
 import java.util.UUID;
@@ -39,12 +40,12 @@ public class ForgeGamePlayer implements GamePlayer {
 
     @Override
     public GameComponent getDisplayNameComponent() {
-        return ForgeGameComponentImpl.wrap(handle.getDisplayName());
+        return ForgeComponentRenderer.fromMinecraft(handle.getDisplayName());
     }
 
     @Override
     public GameComponent getNameComponent() {
-        return ForgeGameComponentImpl.wrap(handle.getName());
+        return NodeComponent.literal(handle.getName().getString());
     }
 
     @Override
@@ -1,77 +1,39 @@
 package world.landfall.verbatim.platform.forge;
 
-import net.minecraft.ChatFormatting;
-import net.minecraft.network.chat.Component;
-import net.minecraft.network.chat.MutableComponent;
-import net.minecraft.network.chat.Style;
 import world.landfall.verbatim.ChatChannelManager;
 import world.landfall.verbatim.Verbatim;
+import world.landfall.verbatim.context.ComponentStyle;
+import world.landfall.verbatim.context.GameColor;
 import world.landfall.verbatim.context.GameComponent;
 import world.landfall.verbatim.context.GamePlayer;
+import world.landfall.verbatim.context.NodeComponent;
 import world.landfall.verbatim.specialchannels.ChannelFormatter;
 import world.landfall.verbatim.specialchannels.FormattedMessageDetails;
 import world.landfall.verbatim.specialchannels.LocalMessageSuffix;
+import world.landfall.verbatim.specialchannels.MessageObscurer;
 
-import java.util.List;
 import java.util.Optional;
-import java.util.Random;
 
 /**
  * Forge 1.20.1 implementation of ChannelFormatter.
  * Handles formatting for "local" special channels with suffix-based behavior.
  */
 public class ForgeLocalChannelFormatter implements ChannelFormatter {
-    private static final Random RANDOM = new Random();
     private static final int MAX_FADE_DISTANCE = 15;
-    private static final String OBSCURE_CHARS = ".";
 
     @Override
-    public GameComponent createDistanceObscuredMessage(
-            GameComponent originalMessage,
-            double distanceSquared,
-            int effectiveRange,
-            boolean isRoleplayMessage,
-            String channelMessageColorString) {
-
-        if (isRoleplayMessage || effectiveRange < 0) {
-            return originalMessage.copy();
-        }
-
-        double distance = Math.sqrt(distanceSquared);
-        if (distance <= effectiveRange) {
-            return originalMessage.copy();
-        }
-
-        double obscurePercentage = FormattedMessageDetails.obscurePercentage(
+    public double getObscurePercentage(double distance, int effectiveRange) {
+        return FormattedMessageDetails.obscurePercentage(
                 distance, effectiveRange, MAX_FADE_DISTANCE, 1.5, 0.3);
+    }
 
-        MutableComponent originalMc = ((ForgeGameComponentImpl) originalMessage).toMinecraftMutable();
-        List<Component> originalSiblings = originalMc.getSiblings();
-        if (originalSiblings.isEmpty()) {
-            return originalMessage.copy();
-        }
-
-        MutableComponent reconstructedMessage = Component.empty();
-        int firstMessageContentComponentIndex = originalSiblings.size() - 1;
-
-        for (int i = 0; i < firstMessageContentComponentIndex; i++) {
-            reconstructedMessage.append(originalSiblings.get(i).copy());
-        }
-
-        for (int i = firstMessageContentComponentIndex; i < originalSiblings.size(); i++) {
-            Component messagePartComponent = originalSiblings.get(i);
-            String textToObscure = messagePartComponent.getString();
-
-            for (char c : textToObscure.toCharArray()) {
-                if (RANDOM.nextDouble() < obscurePercentage) {
-                    reconstructedMessage.append(Component.literal(String.valueOf(OBSCURE_CHARS.charAt(RANDOM.nextInt(OBSCURE_CHARS.length()))))
-                        .withStyle(ChatFormatting.DARK_GRAY));
-                } else {
-                    reconstructedMessage.append(((ForgeGameComponentImpl) Verbatim.chatFormatter.parseColors(channelMessageColorString + c)).toMinecraft());
-                }
-            }
-        }
-        return ForgeGameComponentImpl.wrap(reconstructedMessage);
+    @Override
+    public GameComponent createObscuredMessage(
+            GameComponent originalMessage,
+            double obscurePercentage,
+            String channelMessageColorString,
+            long seed) {
+        return MessageObscurer.obscure(originalMessage, obscurePercentage, channelMessageColorString, seed);
     }
 
     @Override
@@ -94,54 +56,54 @@ public class ForgeLocalChannelFormatter implements ChannelFormatter {
         boolean applyPlusStyleFormatting = suffix.isRoleplay();
 
         if (suffix.isOOC()) {
-            MutableComponent finalMessage = Component.empty();
-            finalMessage.append(Component.literal("[OOC] ").withStyle(ChatFormatting.DARK_GRAY));
+            GameComponent finalMessage = NodeComponent.empty();
+            finalMessage.append(NodeComponent.literal("[OOC] ").withColor(GameColor.DARK_GRAY));
 
             String playerName = sender.getUsername();
             String displayName = sender.getDisplayName();
 
-            finalMessage.append(Component.literal(playerName + " (" + displayName + "): ").withStyle(ChatFormatting.DARK_GRAY));
-            finalMessage.append(((ForgeGameComponentImpl) Verbatim.chatFormatter.parseColors("&8" + suffix.trimmedMessage().trim())).toMinecraft());
+            finalMessage.append(NodeComponent.literal(playerName + " (" + displayName + "): ").withColor(GameColor.DARK_GRAY));
+            finalMessage.append(Verbatim.chatFormatter.parseColors("&8" + suffix.trimmedMessage().trim()));
 
-            return Optional.of(new FormattedMessageDetails(ForgeGameComponentImpl.wrap(finalMessage), effectiveRange, false, "&8"));
+            return Optional.of(new FormattedMessageDetails(finalMessage, effectiveRange, false, "&8"));
         }
 
         String actualMessageContent = suffix.trimmedMessage().trim();
 
-        MutableComponent finalMessage = Component.empty();
+        GameComponent finalMessage = NodeComponent.empty();
 
-        finalMessage.append(((ForgeGameComponentImpl) Verbatim.chatFormatter.parseColors(channelConfig.displayPrefix)).toMinecraft());
-        finalMessage.append(Component.literal(" "));
+        finalMessage.append(channelConfig.template().prefix());
+        finalMessage.append(" ");
 
-        Component playerNameComponent = ((ForgeGameComponentImpl) Verbatim.chatFormatter.createPlayerNameComponent(sender, channelConfig.nameColor, false, channelConfig.nameStyle)).toMinecraft();
+        GameComponent playerNameComponent = Verbatim.chatFormatter.createPlayerNameComponent(sender, channelConfig.nameColor, false, channelConfig.nameStyle);
         finalMessage.append(playerNameComponent);
 
         boolean skipSpaceAfterName = applyPlusStyleFormatting && actualMessageContent.startsWith("'");
 
         if (!skipSpaceAfterName) {
-            finalMessage.append(Component.literal(" "));
+            finalMessage.append(" ");
         }
 
         if (!localActionText.isEmpty()) {
-            finalMessage.append(Component.literal(localActionText));
-            finalMessage.append(Component.literal(" "));
+            finalMessage.append(localActionText);
+            finalMessage.append(" ");
         }
 
         if (applyPlusStyleFormatting) {
             formatPlusStyleMessage(finalMessage, actualMessageContent, channelConfig.messageColor);
-            return Optional.of(new FormattedMessageDetails(ForgeGameComponentImpl.wrap(finalMessage), effectiveRange, true, null));
+            return Optional.of(new FormattedMessageDetails(finalMessage, effectiveRange, true, null));
         } else {
-            finalMessage.append(((ForgeGameComponentImpl) Verbatim.chatFormatter.parseColors(channelConfig.messageColor + actualMessageContent)).toMinecraft());
-            return Optional.of(new FormattedMessageDetails(ForgeGameComponentImpl.wrap(finalMessage), effectiveRange, false, channelConfig.messageColor));
+            finalMessage.append(Verbatim.chatFormatter.parseColors(channelConfig.messageColor + actualMessageContent));
+            return Optional.of(new FormattedMessageDetails(finalMessage, effectiveRange, false, channelConfig.messageColor));
         }
     }
 
-    private void formatPlusStyleMessage(MutableComponent finalMessage, String messageContent, String baseColorPrefix) {
+    private void formatPlusStyleMessage(GameComponent finalMessage, String messageContent, String baseColorPrefix) {
         boolean inQuote = false;
         StringBuilder currentSegment = new StringBuilder();
 
-        Style grayStyle = Style.EMPTY.withColor(ChatFormatting.GRAY);
-        Style whiteItalicStyle = Style.EMPTY.withColor(ChatFormatting.WHITE).withItalic(true);
+        ComponentStyle grayStyle = ComponentStyle.EMPTY.withColor(GameColor.GRAY.getRgb());
+        ComponentStyle whiteItalicStyle = ComponentStyle.EMPTY.withColor(GameColor.WHITE.getRgb()).withDecoration(ComponentStyle.ITALIC, true);
 
         ForgeChatFormatter chatFormatter = (ForgeChatFormatter) Verbatim.chatFormatter;
 
@@ -156,7 +118,7 @@ public class ForgeLocalChannelFormatter implements ChannelFormatter {
                     }
                     currentSegment.setLength(0);
                 }
-                finalMessage.append(Component.literal("\"").copy().withStyle(ChatFormatting.GRAY));
+                finalMessage.append(NodeComponent.literal("\"").withColor(GameColor.GRAY));
                 inQuote = !inQuote;
             } else {
                 currentSegment.append(c);
@@ -35,6 +35,19 @@ public class ForgeVerbatimConfig {
     public static final ForgeConfigSpec.ConfigValue<String> JOIN_MESSAGE_FORMAT;
     public static final ForgeConfigSpec.ConfigValue<String> LEAVE_MESSAGE_FORMAT;
 
+    // Performance Config
+    public static final ForgeConfigSpec.BooleanValue ASYNC_CHAT_DISPATCH;
+    public static final ForgeConfigSpec.IntValue CHAT_DISPATCH_QUEUE_CAPACITY;
+    public static final ForgeConfigSpec.IntValue LOCAL_FADE_LEVELS;
+    public static final ForgeConfigSpec.LongValue PLAYER_DATA_SAVE_DELAY_MS;
+    public static final ForgeConfigSpec.LongValue PLAYER_DATA_MAX_STALENESS_MS;
+
+    // Storage Config
+    public static final ForgeConfigSpec.ConfigValue<String> STORAGE_MODE;
+    public static final ForgeConfigSpec.ConfigValue<String> JOURNAL_DURABILITY;
+    public static final ForgeConfigSpec.LongValue JOURNAL_COMPACT_INTERVAL_SECONDS;
+    public static final ForgeConfigSpec.ConfigValue<String> JDBC_URL;
+
     static {
         BUILDER.push("Verbatim Mod Configuration");
 
@@ -184,6 +197,25 @@ public class ForgeVerbatimConfig {
         JOIN_MESSAGE_FORMAT = BUILDER.comment("Format for join messages.").define("joinMessageFormat", "&a[+]&r {nickname}");
         LEAVE_MESSAGE_FORMAT = BUILDER.comment("Format for leave messages.").define("leaveMessageFormat", "&c[-]&r {nickname}");
 
+        BUILDER.pop();
+
+        BUILDER.push("Performance");
+
+        ASYNC_CHAT_DISPATCH = BUILDER.comment("Process chat on a dedicated dispatcher thread instead of the server thread.").define("asyncChatDispatch", false);
+        CHAT_DISPATCH_QUEUE_CAPACITY = BUILDER.comment("Maximum number of chat messages waiting for the dispatcher; messages sent while it is full are dropped and the sender is told.").defineInRange("chatDispatchQueueCapacity", 1024, 16, 65536);
+        LOCAL_FADE_LEVELS = BUILDER.comment("Number of obscurity levels in the local chat fade band. Each message renders at most one obscured variant per level.").defineInRange("localFadeLevels", 8, 1, 64);
+        PLAYER_DATA_SAVE_DELAY_MS = BUILDER.comment("Quiet period after a player's last data change before it is saved in the background (milliseconds).").defineInRange("playerDataSaveDelayMs", 500L, 0L, 60_000L);
+        PLAYER_DATA_MAX_STALENESS_MS = BUILDER.comment("Longest a player data change may wait before it is saved (milliseconds).").defineInRange("playerDataMaxStalenessMs", 5000L, 0L, 600_000L);
+
+        BUILDER.pop();
+
+        BUILDER.push("Storage");
+
+        STORAGE_MODE = BUILDER.comment("How player data is written (file, journal, sql, memory). Verbatim data in a player's NBT is imported on their first join.").define("mode", "file");
+        JOURNAL_DURABILITY = BUILDER.comment("Journal mode only. When saves are flushed to disk (none, batch, always).").define("journalDurability", "batch");
+        JOURNAL_COMPACT_INTERVAL_SECONDS = BUILDER.comment("Journal mode only. How often the journal is folded into the player files (seconds).").defineInRange("journalCompactIntervalSeconds", 60L, 1L, 86_400L);
+        JDBC_URL = BUILDER.comment("SQL mode only. JDBC URL of the database; empty uses SQLite at verbatim/playerstore/players.db.").define("jdbcUrl", "");
+
         BUILDER.pop();
         SPEC = BUILDER.build();
     }
@@ -1,6 +1,7 @@
 package world.landfall.verbatim.platform.hytale;
 
 import com.hypixel.hytale.server.core.event.events.player.PlayerChatEvent;
+import com.hypixel.hytale.server.core.event.events.player.PlayerConnectEvent;
 import com.hypixel.hytale.server.core.event.events.player.PlayerDisconnectEvent;
 import com.hypixel.hytale.server.core.event.events.player.PlayerReadyEvent;
 import com.hypixel.hytale.server.core.entity.entities.Player;
@@ -12,15 +13,27 @@ import world.landfall.verbatim.Verbatim;
  * Hytale-specific event handlers that delegate to platform-independent ChatEventHandler.
  *
  * Events are registered in HytaleEntryPoint via the plugin event registry.
- * Hytale uses PlayerReadyEvent for join (when the player entity is ready in-world)
- * and PlayerDisconnectEvent for leave.
+ * Hytale uses PlayerConnectEvent to start loading player data, PlayerReadyEvent for join
+ * (when the player entity is ready in-world) and PlayerDisconnectEvent for leave.
  */
 public class HytaleChatEvents {
 
+    /**
+     * Handles player connect events.
+     * Fires when the connection starts, before the player is in a world, so the player's
+     * data can load on a background thread while the client is still loading.
+     */
+    public static void onPlayerConnect(PlayerConnectEvent event) {
+        PlayerRef playerRef = event.getPlayerRef();
+        if (playerRef != null && Verbatim.gameContext instanceof HytaleGameContextImpl ctx) {
+            ctx.prefetchPlayer(playerRef.getUuid());
+        }
+    }
+
     /**
      * Handles player ready (join) events.
      * PlayerReadyEvent fires when a player has fully loaded into a world.
-     * Loads the player's persisted data from disk before delegating to core login handler.
+     * Installs the player's data prefetched on connect before delegating to core login handler.
      */
     @SuppressWarnings("removal")
     public static void onPlayerReady(PlayerReadyEvent event) {
@@ -29,9 +42,9 @@ public class HytaleChatEvents {
         if (playerRef != null) {
             HytaleGamePlayer gamePlayer = new HytaleGamePlayer(playerRef);
 
-            // Load player data from per-player file and track as online
+            // Install the data prefetched on connect and track as online
             if (Verbatim.gameContext instanceof HytaleGameContextImpl ctx) {
-                ctx.loadPlayerFromDisk(gamePlayer.getUUID());
+                ctx.installPlayerData(gamePlayer.getUUID());
                 ctx.trackPlayerOnline(gamePlayer.getUUID(), gamePlayer.getUsername());
             }
 
@@ -51,8 +64,9 @@ public class HytaleChatEvents {
 
             ChatEventHandler.onPlayerLogout(gamePlayer);
 
-            // Remove from online tracking after logout handler has saved state
+            // Persist the logout state now, then remove from online tracking
             if (Verbatim.gameContext instanceof HytaleGameContextImpl ctx) {
+                ctx.flushPlayer(gamePlayer.getUUID());
                 ctx.trackPlayerOffline(gamePlayer.getUUID());
             }
         }
@@ -0,0 +1,82 @@
+package world.landfall.verbatim.platform.hytale;
+
+import com.hypixel.hytale.server.core.Message;
+import world.landfall.verbatim.context.ComponentNode;
+import world.landfall.verbatim.context.ComponentRenderer;
+import world.landfall.verbatim.context.ComponentStyle;
+import world.landfall.verbatim.context.GameComponent;
+import world.landfall.verbatim.context.NodeComponent;
+
+import java.awt.Color;
+
+/**
+ * Converts core component trees to Hytale Messages.
+ *
+ * Hytale's Message API:
+ * - Message.raw("text") for literal text
+ * - Message.join(msg1, msg2, ...) for concatenation
+ * - .color(java.awt.Color) for coloring
+ * - .bold(boolean), .italic(boolean) for styling
+ * - .link(String) for clickable URLs
+ *
+ * Underline, strikethrough, obfuscation, hover text and non-URL click actions have no
+ * Message equivalent and are dropped.
+ */
+public final class HytaleComponentRenderer implements ComponentRenderer<Message> {
+
+    public static final HytaleComponentRenderer INSTANCE = new HytaleComponentRenderer();
+
+    private HytaleComponentRenderer() {}
+
+    /**
+     * Gets the Hytale Message for a GameComponent.
+     * Only call from platform layer code. The result is cached on the node and shared,
+     * so wrap it in a new Message before restyling it.
+     */
+    public static Message toHytale(GameComponent component) {
+        return NodeComponent.nodeOf(component).render(INSTANCE);
+    }
+
+    /**
+     * Builds a fresh Message for the node and applies the node's style to it. Children are
+     * cached Messages, so they are joined under the new Message rather than restyled.
+     */
+    @Override
+    public Message render(ComponentNode node) {
+        Message message;
+        if (node.childCount() == 0) {
+            message = Message.raw(node.text());
+        } else {
+            boolean hasText = !node.text().isEmpty();
+            Message[] parts = new Message[node.childCount() + (hasText ? 1 : 0)];
+            int index = 0;
+            if (hasText) {
+                parts[index++] = Message.raw(node.text());
+            }
+            for (int i = 0; i < node.childCount(); i++) {
+                parts[index++] = node.child(i).render(this);
+            }
+            message = Message.join(parts);
+        }
+        return applyStyle(message, node.style());
+    }
+
+    private static Message applyStyle(Message message, ComponentStyle style) {
+        if (style.isEmpty()) {
+            return message;
+        }
+        if (style.hasColor()) {
+            message = message.color(new Color(style.color()));
+        }
+        if (style.isDecorationSet(ComponentStyle.BOLD)) {
+            message = message.bold(style.hasDecoration(ComponentStyle.BOLD));
+        }
+        if (style.isDecorationSet(ComponentStyle.ITALIC)) {
+            message = message.italic(style.hasDecoration(ComponentStyle.ITALIC));
+        }
+        if (style.clickAction() == ComponentStyle.ClickAction.OPEN_URL) {
+            message = message.link(style.clickValue());
+        }
+        return message;
+    }
+}
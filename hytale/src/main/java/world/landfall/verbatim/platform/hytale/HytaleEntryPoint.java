@@ -1,6 +1,7 @@
 package world.landfall.verbatim.platform.hytale;
 
 import com.hypixel.hytale.server.core.event.events.player.PlayerChatEvent;
+import com.hypixel.hytale.server.core.event.events.player.PlayerConnectEvent;
 import com.hypixel.hytale.server.core.event.events.player.PlayerDisconnectEvent;
 import com.hypixel.hytale.server.core.event.events.player.PlayerReadyEvent;
 import com.hypixel.hytale.server.core.plugin.JavaPlugin;
@@ -8,6 +9,11 @@ import com.hypixel.hytale.server.core.plugin.JavaPluginInit;
 import world.landfall.verbatim.ChatChannelManager;
 import world.landfall.verbatim.Verbatim;
 import world.landfall.verbatim.discord.DiscordBot;
+import world.landfall.verbatim.storage.PersistenceScheduler;
+import world.landfall.verbatim.storage.PlayerDataPrefetcher;
+import world.landfall.verbatim.storage.PlayerDataStore;
+import world.landfall.verbatim.storage.PlayerDataStores;
+import world.landfall.verbatim.storage.PlayerDataWriter;
 import world.landfall.verbatim.util.MailService;
 
 import javax.annotation.Nonnull;
@@ -23,8 +29,11 @@ public class HytaleEntryPoint extends JavaPlugin {
 
     private HytaleVerbatimConfig verbatimConfig;
     private HytaleGameContextImpl gameContextImpl;
-    private PlayerFileStore fileStore;
+    private PlayerDataStore dataStore;
     private PersistenceScheduler persistenceScheduler;
+    private PlayerDataWriter dataWriter;
+    private PlayerDataPrefetcher prefetcher;
+    private PositionSnapshotScheduler positionSnapshotScheduler;
     private File dataDir;
 
     public HytaleEntryPoint(@Nonnull JavaPluginInit init) {
@@ -43,15 +52,26 @@ public class HytaleEntryPoint extends JavaPlugin {
         dataDir = getDataDirectory().toFile();
         verbatimConfig = HytaleVerbatimConfig.loadOrCreate(dataDir);
 
-        // Initialize per-player file store for crash-resilient persistence
+        // Open the configured player data store (file, journal, sql or memory)
         File playerStoreDir = new File(dataDir, "playerstore");
-        fileStore = new PlayerFileStore(playerStoreDir);
+        dataStore = PlayerDataStores.open(verbatimConfig.getStorageMode(), playerStoreDir.toPath(),
+            verbatimConfig.getJournalDurability(), verbatimConfig.getJournalCompactIntervalSeconds(),
+            verbatimConfig.getJdbcUrl());
 
-        // Initialize the game context and wire the file store
+        // Initialize the game context and wire the data store
         gameContextImpl = new HytaleGameContextImpl();
-        gameContextImpl.setFileStore(fileStore);
+        gameContextImpl.setDataStore(dataStore);
         gameContextImpl.setDataDirectory(dataDir.toPath());
 
+        // Batch player data writes on a background I/O thread
+        dataWriter = new PlayerDataWriter(gameContextImpl::savePlayerIfDirty,
+            verbatimConfig.getPlayerDataSaveDelayMillis(), verbatimConfig.getPlayerDataMaxStalenessMillis());
+        gameContextImpl.setDataWriter(dataWriter);
+
+        // Load connecting players' data off the main thread, ahead of the join event
+        prefetcher = new PlayerDataPrefetcher(dataStore);
+        gameContextImpl.setPrefetcher(prefetcher);
+
         // Wire all platform-independent services via the service locator
         Verbatim.gameContext = gameContextImpl;
         Verbatim.gameConfig = new HytaleGameConfig(verbatimConfig);
@@ -64,6 +84,7 @@ public class HytaleEntryPoint extends JavaPlugin {
         MailService.init(dataDir.toPath());
 
         // Register chat and player events
+        this.getEventRegistry().registerGlobal(PlayerConnectEvent.class, HytaleChatEvents::onPlayerConnect);
         this.getEventRegistry().registerGlobal(PlayerReadyEvent.class, HytaleChatEvents::onPlayerReady);
         this.getEventRegistry().registerGlobal(PlayerDisconnectEvent.class, HytaleChatEvents::onPlayerDisconnect);
         this.getEventRegistry().registerGlobal(PlayerChatEvent.class, HytaleChatEvents::onPlayerChat);
@@ -107,6 +128,10 @@ public class HytaleEntryPoint extends JavaPlugin {
         persistenceScheduler = new PersistenceScheduler(gameContextImpl::saveAllPlayersToDisk);
         persistenceScheduler.start();
 
+        // Snapshot player positions every tick for range-limited chat
+        positionSnapshotScheduler = new PositionSnapshotScheduler();
+        positionSnapshotScheduler.start();
+
         // Initialize Discord bot
         Verbatim.LOGGER.info("[Verbatim] Initializing Discord Bot...");
         DiscordBot.init();
@@ -125,6 +150,11 @@ public class HytaleEntryPoint extends JavaPlugin {
             persistenceScheduler.shutdown();
         }
 
+        // Stop position snapshots
+        if (positionSnapshotScheduler != null) {
+            positionSnapshotScheduler.shutdown();
+        }
+
         // Save all online players' channel state BEFORE the file write
         // (disconnect events fire AFTER shutdown(), so we must save state now)
         for (world.landfall.verbatim.context.GamePlayer player : Verbatim.gameContext.getAllOnlinePlayers()) {
@@ -138,8 +168,13 @@ public class HytaleEntryPoint extends JavaPlugin {
         // Shut down Discord bot
         DiscordBot.shutdown();
 
-        // Final flush of all player data to disk
+        // Stop prefetching connecting players' data
+        prefetcher.shutdown();
+
+        // Save pending write-behind data, then final flush of all player data to disk
+        dataWriter.shutdown();
         gameContextImpl.saveAllPlayersToDisk();
+        dataStore.close();
 
         Verbatim.LOGGER.info("[Verbatim] Verbatim plugin shut down.");
         super.shutdown();
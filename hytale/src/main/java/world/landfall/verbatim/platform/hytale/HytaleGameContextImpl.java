@@ -9,12 +9,22 @@ import world.landfall.verbatim.context.GameCommandSource;
 import world.landfall.verbatim.context.GameComponent;
 import world.landfall.verbatim.context.GameContext;
 import world.landfall.verbatim.context.GamePlayer;
+import world.landfall.verbatim.context.NodeComponent;
+import world.landfall.verbatim.context.PlayerPosition;
+import world.landfall.verbatim.storage.PlayerData;
+import world.landfall.verbatim.storage.PlayerDataPrefetcher;
+import world.landfall.verbatim.storage.PlayerDataStore;
+import world.landfall.verbatim.storage.PlayerDataWriter;
+import world.landfall.verbatim.storage.PlayerSnapshot;
 
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
@@ -26,19 +36,31 @@ import java.util.stream.Collectors;
 public class HytaleGameContextImpl implements GameContext {
 
     /**
-     * In-memory persistent data store keyed by player UUID + data key.
+     * In-memory persistent data, one map per player.
      * Hytale doesn't have Minecraft's NBT PersistentData out of the box,
-     * so we use a simple in-memory map (backed by per-player file persistence).
+     * so we keep it in memory (backed by the configured PlayerDataStore).
      */
-    private final ConcurrentHashMap<String, String> persistentData = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, PlayerData> playerData = new ConcurrentHashMap<>();
 
-    /** Per-player file store for crash-resilient persistence. */
-    private PlayerFileStore fileStore;
+    /** Store the in-memory player data is persisted to. */
+    private PlayerDataStore dataStore;
+
+    /** Serializes saves, so an older snapshot can never land after a newer one. */
+    private final Object saveLock = new Object();
+
+    /** Write-behind writer that batches saves; null means every write is saved immediately. */
+    private PlayerDataWriter dataWriter;
+
+    /** Loads connecting players' data ahead of PlayerReadyEvent; null means load on join. */
+    private PlayerDataPrefetcher prefetcher;
 
     /** Data directory for Verbatim plugin files. */
     private Path dataDirectory;
 
-    /** Tracks online player UUIDs to their last known usernames (for file saves). */
+    /** World partition used for position snapshots. */
+    private static final String SNAPSHOT_WORLD_ID = "default";
+
+    /** Tracks online player UUIDs to their last known usernames (for saves). */
     private final ConcurrentHashMap<UUID, String> onlinePlayerUsernames = new ConcurrentHashMap<>();
 
     /**
@@ -52,10 +74,24 @@ public class HytaleGameContextImpl implements GameContext {
     }
 
     /**
-     * Sets the file store used for per-player persistence.
+     * Sets the store used for per-player persistence.
+     */
+    public void setDataStore(PlayerDataStore dataStore) {
+        this.dataStore = dataStore;
+    }
+
+    /**
+     * Sets the write-behind writer used to batch player data saves.
+     */
+    public void setDataWriter(PlayerDataWriter dataWriter) {
+        this.dataWriter = dataWriter;
+    }
+
+    /**
+     * Sets the prefetcher used to load player data while players connect.
      */
-    public void setFileStore(PlayerFileStore fileStore) {
-        this.fileStore = fileStore;
+    public void setPrefetcher(PlayerDataPrefetcher prefetcher) {
+        this.prefetcher = prefetcher;
     }
 
     /**
@@ -175,6 +211,29 @@ public class HytaleGameContextImpl implements GameContext {
         }
     }
 
+    @Override
+    public List<PlayerPosition> snapshotPlayerPositions() {
+        try {
+            Universe universe = Universe.get();
+            if (universe == null) {
+                return Collections.emptyList();
+            }
+            List<PlayerPosition> positions = new ArrayList<>();
+            for (PlayerRef playerRef : universe.getPlayers()) {
+                var transform = playerRef.getTransform();
+                if (transform == null) {
+                    continue;
+                }
+                var pos = transform.getPosition();
+                // Like getDistanceSquared, positions are compared without a world check, so all players share one partition
+                positions.add(new PlayerPosition(playerRef.getUuid(), SNAPSHOT_WORLD_ID, pos.getX(), pos.getY(), pos.getZ()));
+            }
+            return positions;
+        } catch (Exception e) {
+            return Collections.emptyList();
+        }
+    }
+
     // === Messaging ===
 
     @Override
@@ -183,7 +242,18 @@ public class HytaleGameContextImpl implements GameContext {
             return;
         }
         PlayerRef ref = unwrap(player);
-        ref.sendMessage(((HytaleGameComponentImpl) message).toHytale());
+        ref.sendMessage(HytaleComponentRenderer.toHytale(message));
+    }
+
+    @Override
+    public void sendMessage(Collection<? extends GamePlayer> players, GameComponent message) {
+        if (players == null || players.isEmpty() || message == null) {
+            return;
+        }
+        Message hytaleMessage = HytaleComponentRenderer.toHytale(message);
+        for (GamePlayer player : players) {
+            unwrap(player).sendMessage(hytaleMessage);
+        }
     }
 
     @Override
@@ -196,7 +266,7 @@ public class HytaleGameContextImpl implements GameContext {
             if (universe == null) {
                 return;
             }
-            Message hytaleMessage = ((HytaleGameComponentImpl) message).toHytale();
+            Message hytaleMessage = HytaleComponentRenderer.toHytale(message);
             for (PlayerRef playerRef : universe.getPlayers()) {
                 playerRef.sendMessage(hytaleMessage);
             }
@@ -207,18 +277,14 @@ public class HytaleGameContextImpl implements GameContext {
 
     // === Persistent Data ===
 
-    private String dataKey(GamePlayer player, String key) {
-        return player.getUUID().toString() + ":" + key;
-    }
-
     @Override
     public boolean hasPlayerData(GamePlayer player, String key) {
         if (player == null || key == null) {
             return false;
         }
-        String fullKey = dataKey(player, key);
-        boolean has = persistentData.containsKey(fullKey);
-        Verbatim.LOGGER.debug("[Verbatim] hasPlayerData: {} = {}", fullKey, has);
+        PlayerData data = playerData.get(player.getUUID());
+        boolean has = data != null && data.contains(key);
+        Verbatim.LOGGER.debug("[Verbatim] hasPlayerData: {}:{} = {}", player.getUUID(), key, has);
         return has;
     }
 
@@ -227,9 +293,9 @@ public class HytaleGameContextImpl implements GameContext {
         if (player == null || key == null) {
             return "";
         }
-        String fullKey = dataKey(player, key);
-        String value = persistentData.getOrDefault(fullKey, "");
-        Verbatim.LOGGER.debug("[Verbatim] getPlayerStringData: {} = {}", fullKey, value);
+        PlayerData data = playerData.get(player.getUUID());
+        String value = data != null ? data.get(key) : "";
+        Verbatim.LOGGER.debug("[Verbatim] getPlayerStringData: {}:{} = {}", player.getUUID(), key, value);
         return value;
     }
 
@@ -238,10 +304,10 @@ public class HytaleGameContextImpl implements GameContext {
         if (player == null || key == null || value == null) {
             return;
         }
-        String fullKey = dataKey(player, key);
-        persistentData.put(fullKey, value);
-        Verbatim.LOGGER.debug("[Verbatim] setPlayerStringData: {} = {}", fullKey, value);
-        schedulePlayerSave(player);
+        PlayerData data = playerData.computeIfAbsent(player.getUUID(), k -> new PlayerData());
+        data.put(key, value);
+        Verbatim.LOGGER.debug("[Verbatim] setPlayerStringData: {}:{} = {}", player.getUUID(), key, value);
+        schedulePlayerSave(player, data);
     }
 
     @Override
@@ -249,88 +315,162 @@ public class HytaleGameContextImpl implements GameContext {
         if (player == null || key == null) {
             return;
         }
-        persistentData.remove(dataKey(player, key));
-        schedulePlayerSave(player);
+        PlayerData data = playerData.get(player.getUUID());
+        if (data == null || !data.remove(key)) {
+            return;
+        }
+        schedulePlayerSave(player, data);
     }
 
     // === Per-Player Persistence ===
 
     /**
-     * Saves a single player's data to disk immediately.
-     * Extracts all entries belonging to this player from the in-memory map.
+     * Saves a single player's data after a write. With a write-behind writer the player is only
+     * marked dirty and saved in the background; otherwise the player is saved immediately.
+     * Only that player's entries are copied, so the cost doesn't grow with the number of players.
      */
-    private void schedulePlayerSave(GamePlayer player) {
-        if (fileStore == null) {
+    private void schedulePlayerSave(GamePlayer player, PlayerData data) {
+        if (dataStore == null) {
             return;
         }
         UUID uuid = player.getUUID();
-        String prefix = uuid.toString() + ":";
-        Map<String, String> playerData = new HashMap<>();
-        for (Map.Entry<String, String> entry : persistentData.entrySet()) {
-            if (entry.getKey().startsWith(prefix)) {
-                // Store with the key minus the UUID prefix
-                playerData.put(entry.getKey().substring(prefix.length()), entry.getValue());
+        if (dataWriter != null) {
+            dataWriter.markDirty(uuid);
+        } else {
+            savePlayer(uuid, data, onlinePlayerUsernames.getOrDefault(uuid, player.getUsername()));
+        }
+    }
+
+    /**
+     * Saves a player if they have unsaved changes. Called by the write-behind writer.
+     */
+    public void savePlayerIfDirty(UUID uuid) {
+        if (dataStore == null) {
+            return;
+        }
+        PlayerData data = playerData.get(uuid);
+        if (data != null && data.isDirty()) {
+            savePlayer(uuid, data, usernameFor(uuid, data));
+        }
+    }
+
+    /**
+     * Saves a player's pending writes now instead of waiting for the write-behind delay.
+     * Called on disconnect.
+     */
+    public void flushPlayer(UUID uuid) {
+        if (dataWriter != null) {
+            dataWriter.flush(uuid);
+        } else {
+            savePlayerIfDirty(uuid);
+        }
+    }
+
+    /**
+     * Writes a snapshot of the player's data and, if the store took it, marks that version as saved.
+     */
+    private void savePlayer(UUID uuid, PlayerData data, String username) {
+        synchronized (saveLock) {
+            long version = data.getVersion();
+            if (dataStore.save(uuid, username, data.snapshot())) {
+                data.markSaved(version, username);
+            } else {
+                // Still dirty, so the next auto-save retries it
+                Verbatim.LOGGER.warn("[Verbatim] Could not save player data for {}, will retry", uuid);
             }
         }
-        String username = onlinePlayerUsernames.getOrDefault(uuid, player.getUsername());
-        fileStore.savePlayer(uuid, username, playerData);
     }
 
     /**
-     * Loads a player's data from disk into the in-memory map.
+     * Starts loading a connecting player's data in the background.
+     * Called when the connection starts, well before PlayerReadyEvent.
+     */
+    public void prefetchPlayer(UUID uuid) {
+        if (dataStore == null || prefetcher == null) {
+            return;
+        }
+        // Still in memory from an earlier session this run; nothing to load
+        if (playerData.containsKey(uuid)) {
+            return;
+        }
+        prefetcher.prefetch(uuid);
+    }
+
+    /**
+     * Installs a joining player's data, using the prefetched load when there is one.
+     * A player already held in memory keeps that state, since it is never older than what is stored.
      * Called when a player joins the server.
      */
-    public void loadPlayerFromDisk(UUID uuid) {
-        if (fileStore == null) {
+    public void installPlayerData(UUID uuid) {
+        if (dataStore == null) {
             return;
         }
-        Map<String, String> data = fileStore.loadPlayer(uuid);
-        String prefix = uuid.toString() + ":";
-        for (Map.Entry<String, String> entry : data.entrySet()) {
-            persistentData.put(prefix + entry.getKey(), entry.getValue());
+        Map<String, String> data = prefetcher != null ? prefetcher.take(uuid) : null;
+        if (playerData.containsKey(uuid)) {
+            return;
         }
+        if (data == null) {
+            Verbatim.LOGGER.debug("[Verbatim] No prefetched data for {}, loading on join", uuid);
+            data = dataStore.load(uuid);
+        }
+        playerData.computeIfAbsent(uuid, k -> new PlayerData()).load(data);
         if (!data.isEmpty()) {
             Verbatim.LOGGER.info("[Verbatim] Loaded {} data entries for player {}", data.size(), uuid);
         }
     }
 
     /**
-     * Saves all players' data to disk. Used by the periodic auto-save and shutdown flush.
-     * Groups all in-memory entries by UUID and writes each player file, then updates the index.
+     * Saves dirty players' data to disk. Used by the periodic auto-save and shutdown flush.
+     * Dirty players are handed to the store as one batch, then the store is flushed.
      */
     public void saveAllPlayersToDisk() {
-        if (fileStore == null) {
+        if (dataStore == null) {
             return;
         }
 
-        // Group all persistent data entries by player UUID
-        Map<UUID, Map<String, String>> grouped = new HashMap<>();
-        for (Map.Entry<String, String> entry : persistentData.entrySet()) {
-            int colonIdx = entry.getKey().indexOf(':');
-            if (colonIdx < 0) {
-                continue;
+        int saved;
+        int failedCount;
+        synchronized (saveLock) {
+            List<PlayerSnapshot> snapshots = new ArrayList<>();
+            Map<UUID, Long> versions = new HashMap<>();
+            for (Map.Entry<UUID, PlayerData> entry : playerData.entrySet()) {
+                PlayerData data = entry.getValue();
+                if (data.isDirty()) {
+                    UUID uuid = entry.getKey();
+                    versions.put(uuid, data.getVersion());
+                    snapshots.add(new PlayerSnapshot(uuid, usernameFor(uuid, data), data.snapshot()));
+                }
             }
-            String uuidStr = entry.getKey().substring(0, colonIdx);
-            String dataKey = entry.getKey().substring(colonIdx + 1);
-            try {
-                UUID uuid = UUID.fromString(uuidStr);
-                grouped.computeIfAbsent(uuid, k -> new HashMap<>()).put(dataKey, entry.getValue());
-            } catch (IllegalArgumentException e) {
-                Verbatim.LOGGER.warn("[Verbatim] Skipping entry with invalid UUID key: {}", entry.getKey());
+            Set<UUID> failed = snapshots.isEmpty() ? Collections.emptySet() : dataStore.saveAll(snapshots);
+            // Players whose write failed stay dirty for the next save
+            for (PlayerSnapshot snapshot : snapshots) {
+                if (!failed.contains(snapshot.uuid())) {
+                    playerData.get(snapshot.uuid()).markSaved(versions.get(snapshot.uuid()), snapshot.username());
+                }
             }
+            failedCount = failed.size();
+            saved = snapshots.size() - failedCount;
         }
-
-        // Save each player and build the index
-        Map<String, PlayerFileStore.IndexEntry> index = new ConcurrentHashMap<>();
-        for (Map.Entry<UUID, Map<String, String>> playerEntry : grouped.entrySet()) {
-            UUID uuid = playerEntry.getKey();
-            String username = onlinePlayerUsernames.getOrDefault(uuid, uuid.toString());
-            fileStore.savePlayer(uuid, username, playerEntry.getValue());
-            index.put(uuid.toString(), new PlayerFileStore.IndexEntry(username, System.currentTimeMillis()));
+        dataStore.flush().join();
+        if (failedCount > 0) {
+            Verbatim.LOGGER.warn("[Verbatim] Could not save player data for {} players, will retry", failedCount);
+        }
+        if (saved == 0 && failedCount == 0) {
+            Verbatim.LOGGER.debug("[Verbatim] No dirty player data to save");
+            return;
         }
+        Verbatim.LOGGER.info("[Verbatim] Saved player data ({} of {} players dirty)", saved, playerData.size());
+    }
 
-        fileStore.saveIndex(index);
-        Verbatim.LOGGER.info("[Verbatim] Saved all player data ({} players)", grouped.size());
+    /**
+     * Gets the best known username for a player: online name, then last saved name, then the UUID.
+     */
+    private String usernameFor(UUID uuid, PlayerData data) {
+        String username = onlinePlayerUsernames.get(uuid);
+        if (username == null) {
+            username = data.getLastUsername();
+        }
+        return username != null ? username : uuid.toString();
     }
 
     /**
@@ -338,6 +478,7 @@ public class HytaleGameContextImpl implements GameContext {
      */
     public void trackPlayerOnline(UUID uuid, String username) {
         onlinePlayerUsernames.put(uuid, username);
+        playerData.computeIfAbsent(uuid, k -> new PlayerData()).setLastUsername(username);
     }
 
     /**
@@ -377,25 +518,25 @@ public class HytaleGameContextImpl implements GameContext {
     @Override
     public GameComponent createText(String text) {
         if (text == null) {
-            return HytaleGameComponentImpl.empty();
+            return NodeComponent.empty();
         }
-        return HytaleGameComponentImpl.literal(text);
+        return NodeComponent.literal(text);
     }
 
     @Override
     public GameComponent createEmpty() {
-        return HytaleGameComponentImpl.empty();
+        return NodeComponent.empty();
     }
 
     @Override
     public GameComponent createInfoPrefix() {
-        return HytaleGameComponentImpl.literal("[!] ")
+        return NodeComponent.literal("[!] ")
             .withColor(world.landfall.verbatim.context.GameColor.LIGHT_PURPLE);
     }
 
     @Override
     public GameComponent createWarningPrefix() {
-        return HytaleGameComponentImpl.literal("[!] ")
+        return NodeComponent.literal("[!] ")
             .withColor(world.landfall.verbatim.context.GameColor.GOLD);
     }
 
@@ -407,7 +548,7 @@ public class HytaleGameContextImpl implements GameContext {
             return;
         }
         HytaleGameCommandSource hSource = (HytaleGameCommandSource) source;
-        hSource.getHandle().sendMessage(((HytaleGameComponentImpl) message).toHytale());
+        hSource.getHandle().sendMessage(HytaleComponentRenderer.toHytale(message));
     }
 
     @Override
@@ -416,7 +557,8 @@ public class HytaleGameContextImpl implements GameContext {
             return;
         }
         HytaleGameCommandSource hSource = (HytaleGameCommandSource) source;
-        Message errorMsg = ((HytaleGameComponentImpl) message).toHytale()
+        // Rendered messages are shared, so colour a fresh wrapper rather than the cached one
+        Message errorMsg = Message.join(HytaleComponentRenderer.toHytale(message))
             .color(java.awt.Color.RED);
         hSource.getHandle().sendMessage(errorMsg);
     }
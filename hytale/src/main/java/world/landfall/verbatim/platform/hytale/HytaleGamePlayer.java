@@ -1,9 +1,9 @@
 package world.landfall.verbatim.platform.hytale;
 
-import com.hypixel.hytale.server.core.Message;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import world.landfall.verbatim.context.GameComponent;
 import world.landfall.verbatim.context.GamePlayer;
+import world.landfall.verbatim.context.NodeComponent;
 
 import java.util.Objects;
 import java.util.UUID;
@@ -45,12 +45,12 @@ public class HytaleGamePlayer implements GamePlayer {
 
     @Override
     public GameComponent getDisplayNameComponent() {
-        return new HytaleGameComponentImpl(Message.raw(handle.getUsername()));
+        return NodeComponent.literal(handle.getUsername());
     }
 
     @Override
     public GameComponent getNameComponent() {
-        return new HytaleGameComponentImpl(Message.raw(handle.getUsername()));
+        return NodeComponent.literal(handle.getUsername());
     }
 
     @Override
@@ -1,19 +1,17 @@
 package world.landfall.verbatim.platform.hytale;
 
-import com.hypixel.hytale.server.core.Message;
-
-import java.awt.Color;
 import world.landfall.verbatim.ChatChannelManager;
 import world.landfall.verbatim.Verbatim;
+import world.landfall.verbatim.context.ComponentStyle;
 import world.landfall.verbatim.context.GameComponent;
 import world.landfall.verbatim.context.GamePlayer;
+import world.landfall.verbatim.context.NodeComponent;
 import world.landfall.verbatim.specialchannels.ChannelFormatter;
 import world.landfall.verbatim.specialchannels.FormattedMessageDetails;
 import world.landfall.verbatim.specialchannels.LocalMessageSuffix;
+import world.landfall.verbatim.specialchannels.MessageObscurer;
 
-import java.util.List;
 import java.util.Optional;
-import java.util.Random;
 
 /**
  * Hytale implementation of ChannelFormatter.
@@ -21,86 +19,27 @@ import java.util.Random;
  * (shouts, whispers, OOC, roleplay) using Hytale's Message API.
  */
 public class HytaleLocalChannelFormatter implements ChannelFormatter {
-    private static final Random RANDOM = new Random();
     private static final int MAX_FADE_DISTANCE = 30;
-    private static final String OBSCURE_CHARS = ".";
+    // Quoted speech is gray, the surrounding action text white italic
+    private static final ComponentStyle QUOTE_STYLE = ComponentStyle.EMPTY.withColor(0xAAAAAA);
+    private static final ComponentStyle ACTION_STYLE = ComponentStyle.EMPTY.withColor(0xFFFFFF).withDecorations(ComponentStyle.ITALIC);
 
     @Override
-    public GameComponent createDistanceObscuredMessage(
-            GameComponent originalMessage,
-            double distanceSquared,
-            int effectiveRange,
-            boolean isRoleplayMessage,
-            String channelMessageColorString) {
-
-        if (isRoleplayMessage || effectiveRange < 0) {
-            return originalMessage.copy();
-        }
-
-        double distance = Math.sqrt(distanceSquared);
-        if (distance <= effectiveRange) {
-            return originalMessage.copy();
-        }
-
-        double obscurePercentage = FormattedMessageDetails.obscurePercentage(
+    public double getObscurePercentage(double distance, int effectiveRange) {
+        return FormattedMessageDetails.obscurePercentage(
                 distance, effectiveRange, MAX_FADE_DISTANCE, 2.0, 0.6);
-
-        // Like the Minecraft version: use getChildren() to find the message structure,
-        // keep all prefix components (channel tag, player name, verb) intact,
-        // and only obscure the last child (the actual message content).
-        Message hytaleMsg = ((HytaleGameComponentImpl) originalMessage).toHytale();
-        List<Message> children = hytaleMsg.getChildren();
-
-        if (children == null || children.isEmpty()) {
-            return originalMessage.copy();
-        }
-
-        int lastIndex = children.size() - 1;
-        Message result = Message.raw("");
-
-        // Preserve prefix components
-        for (int i = 0; i < lastIndex; i++) {
-            result = Message.join(result, children.get(i));
-        }
-
-        // Obscure only the message content (last child)
-        String textToObscure = extractText(children.get(lastIndex));
-        if (textToObscure == null || textToObscure.isEmpty()) {
-            result = Message.join(result, children.get(lastIndex));
-        } else {
-            for (char c : textToObscure.toCharArray()) {
-                if (RANDOM.nextDouble() < obscurePercentage) {
-                    result = Message.join(result,
-                        Message.raw(String.valueOf(OBSCURE_CHARS.charAt(RANDOM.nextInt(OBSCURE_CHARS.length()))))
-                            .color(new Color(0x555555)));
-                } else {
-                    result = Message.join(result,
-                        ((HytaleGameComponentImpl) Verbatim.chatFormatter.parseColors(channelMessageColorString + c)).toHytale());
-                }
-            }
-        }
-        return HytaleGameComponentImpl.wrap(result);
     }
 
     /**
-     * Recursively extracts plain text from a Message and its children.
+     * Obscuring is platform-neutral; the core engine builds the runs and HytaleComponentRenderer maps them.
      */
-    private static String extractText(Message msg) {
-        StringBuilder sb = new StringBuilder();
-        String raw = msg.getRawText();
-        if (raw != null) {
-            sb.append(raw);
-        }
-        List<Message> children = msg.getChildren();
-        if (children != null) {
-            for (Message child : children) {
-                String childText = extractText(child);
-                if (childText != null) {
-                    sb.append(childText);
-                }
-            }
-        }
-        return sb.length() > 0 ? sb.toString() : null;
+    @Override
+    public GameComponent createObscuredMessage(
+            GameComponent originalMessage,
+            double obscurePercentage,
+            String channelMessageColorString,
+            long seed) {
+        return MessageObscurer.obscure(originalMessage, obscurePercentage, channelMessageColorString, seed);
     }
 
     @Override
@@ -126,47 +65,44 @@ public class HytaleLocalChannelFormatter implements ChannelFormatter {
             String playerName = sender.getUsername();
             String displayName = sender.getDisplayName();
 
-            Message finalMessage = Message.join(
-                Message.raw("[OOC] ").color(new Color(0x555555)),
-                Message.raw(playerName + " (" + displayName + "): ").color(new Color(0x555555)),
-                ((HytaleGameComponentImpl) Verbatim.chatFormatter.parseColors("&8" + suffix.trimmedMessage().trim())).toHytale()
-            );
+            GameComponent finalMessage = NodeComponent.empty()
+                .append(NodeComponent.literal("[OOC] ").withRgbColor(0x555555))
+                .append(NodeComponent.literal(playerName + " (" + displayName + "): ").withRgbColor(0x555555))
+                .append(Verbatim.chatFormatter.parseColors("&8" + suffix.trimmedMessage().trim()));
 
-            return Optional.of(new FormattedMessageDetails(HytaleGameComponentImpl.wrap(finalMessage), effectiveRange, false, "&8"));
+            return Optional.of(new FormattedMessageDetails(finalMessage, effectiveRange, false, "&8"));
         }
 
         String actualMessageContent = suffix.trimmedMessage().trim();
 
-        Message finalMessage = Message.join(
-            ((HytaleGameComponentImpl) Verbatim.chatFormatter.parseColors(channelConfig.displayPrefix)).toHytale(),
-            Message.raw(" "),
-            ((HytaleGameComponentImpl) Verbatim.chatFormatter.createPlayerNameComponent(sender, channelConfig.nameColor, false, channelConfig.nameStyle)).toHytale()
-        );
+        GameComponent finalMessage = NodeComponent.empty()
+            .append(channelConfig.template().prefix())
+            .append(" ")
+            .append(Verbatim.chatFormatter.createPlayerNameComponent(sender, channelConfig.nameColor, false, channelConfig.nameStyle));
 
         boolean skipSpaceAfterName = applyPlusStyleFormatting && actualMessageContent.startsWith("'");
 
         if (!skipSpaceAfterName) {
-            finalMessage = Message.join(finalMessage, Message.raw(" "));
+            finalMessage.append(" ");
         }
 
         if (!localActionText.isEmpty()) {
-            finalMessage = Message.join(finalMessage, Message.raw(localActionText), Message.raw(" "));
+            finalMessage.append(localActionText).append(" ");
         }
 
         if (applyPlusStyleFormatting) {
-            finalMessage = Message.join(finalMessage, formatPlusStyleMessage(actualMessageContent));
-            return Optional.of(new FormattedMessageDetails(HytaleGameComponentImpl.wrap(finalMessage), effectiveRange, true, null));
+            finalMessage.append(formatPlusStyleMessage(actualMessageContent));
+            return Optional.of(new FormattedMessageDetails(finalMessage, effectiveRange, true, null));
         } else {
-            finalMessage = Message.join(finalMessage,
-                ((HytaleGameComponentImpl) Verbatim.chatFormatter.parseColors(channelConfig.messageColor + actualMessageContent)).toHytale());
-            return Optional.of(new FormattedMessageDetails(HytaleGameComponentImpl.wrap(finalMessage), effectiveRange, false, channelConfig.messageColor));
+            finalMessage.append(Verbatim.chatFormatter.parseColors(channelConfig.messageColor + actualMessageContent));
+            return Optional.of(new FormattedMessageDetails(finalMessage, effectiveRange, false, channelConfig.messageColor));
         }
     }
 
-    private Message formatPlusStyleMessage(String messageContent) {
+    private GameComponent formatPlusStyleMessage(String messageContent) {
         boolean inQuote = false;
         StringBuilder currentSegment = new StringBuilder();
-        Message result = Message.raw("");
+        GameComponent result = NodeComponent.empty();
 
         HytaleChatFormatter chatFormatter = (HytaleChatFormatter) Verbatim.chatFormatter;
 
@@ -174,14 +110,10 @@ public class HytaleLocalChannelFormatter implements ChannelFormatter {
             char c = messageContent.charAt(i);
             if (c == '"') {
                 if (currentSegment.length() > 0) {
-                    if (inQuote) {
-                        result = Message.join(result, chatFormatter.makeLinksClickableInternal(currentSegment.toString(), new Color(0xAAAAAA)));
-                    } else {
-                        result = Message.join(result, chatFormatter.makeLinksClickableInternal(currentSegment.toString(), Color.WHITE, false, true));
-                    }
+                    result.append(chatFormatter.makeLinksClickableInternal(currentSegment.toString(), inQuote ? QUOTE_STYLE : ACTION_STYLE));
                     currentSegment.setLength(0);
                 }
-                result = Message.join(result, Message.raw("\"").color(new Color(0xAAAAAA)));
+                result.append(NodeComponent.literal("\"").withRgbColor(0xAAAAAA));
                 inQuote = !inQuote;
             } else {
                 currentSegment.append(c);
@@ -189,11 +121,7 @@ public class HytaleLocalChannelFormatter implements ChannelFormatter {
         }
 
         if (currentSegment.length() > 0) {
-            if (inQuote) {
-                result = Message.join(result, chatFormatter.makeLinksClickableInternal(currentSegment.toString(), new Color(0xAAAAAA)));
-            } else {
-                result = Message.join(result, chatFormatter.makeLinksClickableInternal(currentSegment.toString(), Color.WHITE, false, true));
-            }
+            result.append(chatFormatter.makeLinksClickableInternal(currentSegment.toString(), inQuote ? QUOTE_STYLE : ACTION_STYLE));
         }
 
         return result;
@@ -36,6 +36,7 @@ public class HytalePrefixService extends PrefixService {
                 Method getMethod = luckPermsProviderClass.getMethod("get");
                 this.luckPermsApi = getMethod.invoke(null);
                 this.luckPermsAvailable = true;
+                invalidateNamesOnLuckPermsChanges(this.luckPermsApi);
                 Verbatim.LOGGER.info("[HytalePrefixService] LuckPerms API found. Prefixes will be handled by LuckPerms.");
             } catch (ClassNotFoundException e) {
                 this.luckPermsApi = null;
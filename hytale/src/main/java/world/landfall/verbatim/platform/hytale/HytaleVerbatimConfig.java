@@ -36,6 +36,13 @@ public class HytaleVerbatimConfig {
     private boolean customJoinLeaveMessagesEnabled = false;
     private String joinMessageFormat = "&a[+]&r {nickname}";
     private String leaveMessageFormat = "&c[-]&r {nickname}";
+    private int localFadeLevels = 8;
+    private long playerDataSaveDelayMillis = 500;
+    private long playerDataMaxStalenessMillis = 5000;
+    private String storageMode = "file";
+    private String journalDurability = "batch";
+    private long journalCompactIntervalSeconds = 60;
+    private String jdbcUrl = "";
 
     /**
      * Creates a config with default values.
@@ -141,4 +148,11 @@ public class HytaleVerbatimConfig {
     public boolean isCustomJoinLeaveMessagesEnabled() { return customJoinLeaveMessagesEnabled; }
     public String getJoinMessageFormat() { return joinMessageFormat; }
     public String getLeaveMessageFormat() { return leaveMessageFormat; }
+    public int getLocalFadeLevels() { return localFadeLevels; }
+    public long getPlayerDataSaveDelayMillis() { return playerDataSaveDelayMillis; }
+    public long getPlayerDataMaxStalenessMillis() { return playerDataMaxStalenessMillis; }
+    public String getStorageMode() { return storageMode; }
+    public String getJournalDurability() { return journalDurability; }
+    public long getJournalCompactIntervalSeconds() { return journalCompactIntervalSeconds; }
+    public String getJdbcUrl() { return jdbcUrl; }
 }
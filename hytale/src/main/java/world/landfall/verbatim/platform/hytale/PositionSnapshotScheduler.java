@@ -0,0 +1,54 @@
+package world.landfall.verbatim.platform.hytale;
+
+import world.landfall.verbatim.ChatEventHandler;
+import world.landfall.verbatim.Verbatim;
+import world.landfall.verbatim.chat.SpatialGrid;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs core per-tick housekeeping (SpatialGrid position snapshots, channel access refresh)
+ * at the server tick rate.
+ * Runs on a single daemon thread so it doesn't prevent JVM shutdown.
+ */
+public class PositionSnapshotScheduler {
+
+    private static final long SNAPSHOT_INTERVAL_MILLIS = 50;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 1;
+
+    private final ScheduledExecutorService executor;
+
+    public PositionSnapshotScheduler() {
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "Verbatim-PositionSnapshot");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Starts refreshing the grid at a fixed tick interval.
+     */
+    public void start() {
+        executor.scheduleAtFixedRate(ChatEventHandler::onServerTick, SNAPSHOT_INTERVAL_MILLIS, SNAPSHOT_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        Verbatim.LOGGER.info("[Verbatim] Position snapshot scheduler started (every {} ms)", SNAPSHOT_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Stops the scheduler and clears the grid.
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        SpatialGrid.reset();
+    }
+}
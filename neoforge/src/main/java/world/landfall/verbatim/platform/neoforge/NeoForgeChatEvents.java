@@ -3,8 +3,11 @@ package world.landfall.verbatim.platform.neoforge;
 import net.minecraft.server.level.ServerPlayer;
 import net.neoforged.neoforge.event.ServerChatEvent;
 import net.neoforged.neoforge.event.entity.player.PlayerEvent;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
 import net.neoforged.bus.api.SubscribeEvent;
+import world.landfall.verbatim.ChatDispatcher;
 import world.landfall.verbatim.ChatEventHandler;
+import world.landfall.verbatim.Verbatim;
 
 /**
  * NeoForge-specific event handlers that delegate to platform-independent ChatEventHandler.
@@ -14,6 +17,7 @@ public class NeoForgeChatEvents {
     @SubscribeEvent
     public static void onLogin(PlayerEvent.PlayerLoggedInEvent event) {
         if (event.getEntity() instanceof ServerPlayer player) {
+            context().onPlayerJoin(player);
             ChatEventHandler.onPlayerLogin(new NeoForgeGamePlayer(player));
         }
     }
@@ -22,6 +26,7 @@ public class NeoForgeChatEvents {
     public static void onLogout(PlayerEvent.PlayerLoggedOutEvent event) {
         if (event.getEntity() instanceof ServerPlayer player) {
             ChatEventHandler.onPlayerLogout(new NeoForgeGamePlayer(player));
+            context().onPlayerLeave(player);
         }
     }
 
@@ -30,6 +35,16 @@ public class NeoForgeChatEvents {
         ServerPlayer sender = event.getPlayer();
         String rawMessageText = event.getMessage().getString();
         event.setCanceled(true);
-        ChatEventHandler.onChat(new NeoForgeGamePlayer(sender), rawMessageText);
+        ChatDispatcher.submit(new NeoForgeGamePlayer(sender), rawMessageText);
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(ServerTickEvent.Post event) {
+        context().onServerTick();
+        ChatEventHandler.onServerTick();
+    }
+
+    private static NeoForgeGameContextImpl context() {
+        return (NeoForgeGameContextImpl) Verbatim.gameContext;
     }
 }
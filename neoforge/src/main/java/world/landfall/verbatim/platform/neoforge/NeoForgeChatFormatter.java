@@ -1,22 +1,20 @@
 package world.landfall.verbatim.platform.neoforge;
 
-import net.minecraft.ChatFormatting;
-import net.minecraft.network.chat.ClickEvent;
-import net.minecraft.network.chat.Component;
-import net.minecraft.network.chat.HoverEvent;
-import net.minecraft.network.chat.MutableComponent;
-import net.minecraft.network.chat.Style;
 import world.landfall.verbatim.NameStyle;
 import world.landfall.verbatim.Verbatim;
+import world.landfall.verbatim.chat.ChannelTemplate;
+import world.landfall.verbatim.chat.PlayerNameCache;
 import world.landfall.verbatim.context.ChatFormatter;
+import world.landfall.verbatim.context.ComponentStyle;
+import world.landfall.verbatim.context.GameColor;
 import world.landfall.verbatim.context.GameComponent;
-// NeoForgeGameComponentImpl is in this package
 import world.landfall.verbatim.context.GamePlayer;
+import world.landfall.verbatim.context.GradientText;
+import world.landfall.verbatim.context.NodeComponent;
+import world.landfall.verbatim.util.ColorCodeLexer;
 import world.landfall.verbatim.util.FormattingCodeUtils;
 import world.landfall.verbatim.util.NicknameService;
-
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import world.landfall.verbatim.util.StyleRuns;
 
 /**
  * NeoForge implementation of ChatFormatter.
@@ -24,135 +22,89 @@ import java.util.regex.Pattern;
  */
 public class NeoForgeChatFormatter implements ChatFormatter {
 
-    private static final Pattern URL_PATTERN = Pattern.compile(
-        "(https?://[\\w\\-._~:/?#\\[\\]@!$&'()*+,;=%]+|www\\.[\\w\\-._~:/?#\\[\\]@!$&'()*+,;=%]+)",
-        Pattern.CASE_INSENSITIVE
-    );
+    private static final ThreadLocal<StyleRuns> RUNS = ThreadLocal.withInitial(StyleRuns::new);
 
-    public MutableComponent makeLinksClickableInternal(String text, Style baseStyle) {
+    /**
+     * Makes links in text clickable. Links keep the base style and add the link colour and click.
+     */
+    public NodeComponent makeLinksClickableInternal(String text, ComponentStyle baseStyle) {
         if (text == null || text.isEmpty()) {
-            return Component.empty();
-        }
-
-        MutableComponent result = Component.empty();
-        Matcher matcher = URL_PATTERN.matcher(text);
-        int lastEnd = 0;
-
-        while (matcher.find()) {
-            if (matcher.start() > lastEnd) {
-                String beforeUrl = text.substring(lastEnd, matcher.start());
-                result.append(Component.literal(beforeUrl).setStyle(baseStyle));
-            }
-
-            String url = matcher.group();
-            String clickUrl = url;
-
-            if (url.toLowerCase().startsWith("www.")) {
-                clickUrl = "https://" + url;
-            }
-
-            MutableComponent urlComponent = Component.literal(url);
-            urlComponent.setStyle(baseStyle
-                .withColor(ChatFormatting.BLUE)
-                .withUnderlined(true)
-                .withClickEvent(new ClickEvent(ClickEvent.Action.OPEN_URL, clickUrl))
-                .withHoverEvent(new HoverEvent(HoverEvent.Action.SHOW_TEXT,
-                    Component.literal("Click to open: " + clickUrl).withStyle(ChatFormatting.GRAY)))
-            );
-            result.append(urlComponent);
-
-            lastEnd = matcher.end();
-        }
-
-        if (lastEnd < text.length()) {
-            String remaining = text.substring(lastEnd);
-            result.append(Component.literal(remaining).setStyle(baseStyle));
-        }
-
-        if (lastEnd == 0) {
-            return Component.literal(text).setStyle(baseStyle);
+            return NodeComponent.empty();
         }
-
-        return result;
+        StyleRuns runs = ColorCodeLexer.lex(text, ColorCodeLexer.NO_COLOR, ColorCodeLexer.LINKS_ONLY, RUNS.get());
+        return NodeComponent.fromRuns(runs, baseStyle, true);
     }
 
     @Override
     public GameComponent makeLinksClickable(String text, GameComponent baseStyleComponent) {
         // Extract the style from the base component
-        Style baseStyle = Style.EMPTY;
-        if (baseStyleComponent instanceof NeoForgeGameComponentImpl impl) {
-            baseStyle = impl.toMinecraftMutable().getStyle();
+        ComponentStyle baseStyle = ComponentStyle.EMPTY;
+        if (baseStyleComponent instanceof NodeComponent node) {
+            baseStyle = node.style();
         }
-        return NeoForgeGameComponentImpl.wrap(makeLinksClickableInternal(text, baseStyle));
+        return makeLinksClickableInternal(text, baseStyle);
+    }
+
+    /**
+     * Lexes formatting codes and links in one pass and builds one node per style run.
+     */
+    private static GameComponent render(String text, int baseColorRgb, int flags) {
+        StyleRuns runs = ColorCodeLexer.lex(text, baseColorRgb, flags, RUNS.get());
+        return NodeComponent.fromRuns(runs, ComponentStyle.EMPTY, true);
     }
 
-    private static final String COLOR_SPLIT_REGEX = "(?i)(?=&#[0-9a-f]{6})|(?=&[0-9a-fk-or])";
+    private static int permissionFlags(GamePlayer player) {
+        int flags = 0;
+        if (Verbatim.permissionService.hasPermission(player, NicknameService.PERM_CHAT_COLOR, 2)) flags |= ColorCodeLexer.ALLOW_COLORS;
+        if (Verbatim.permissionService.hasPermission(player, NicknameService.PERM_CHAT_FORMAT, 2)) flags |= ColorCodeLexer.ALLOW_FORMATS;
+        return flags;
+    }
 
     @Override
     public GameComponent parseColors(String text) {
         if (text == null || text.isEmpty()) {
-            return NeoForgeGameComponentImpl.empty();
+            return NodeComponent.empty();
         }
+        return render(text, ColorCodeLexer.NO_COLOR, ColorCodeLexer.ALLOW_ALL);
+    }
 
-        MutableComponent mainComponent = Component.literal("");
-        String[] parts = text.split(COLOR_SPLIT_REGEX);
-
-        Style currentStyle = Style.EMPTY;
-
-        for (String part : parts) {
-            if (part.isEmpty()) continue;
+    @Override
+    public GameComponent parseColorsWithPermissions(String text, GamePlayer player) {
+        if (text == null || text.isEmpty()) {
+            return NodeComponent.empty();
+        }
+        return render(text, ColorCodeLexer.NO_COLOR, permissionFlags(player));
+    }
 
-            if (part.startsWith("&#") && part.length() >= 8) {
-                String hex = part.substring(2, 8);
-                String textContent = part.substring(8);
-                try {
-                    currentStyle = Style.EMPTY.withColor(net.minecraft.network.chat.TextColor.fromRgb(Integer.parseInt(hex, 16)));
-                } catch (NumberFormatException ignored) {}
-                if (!textContent.isEmpty()) {
-                    mainComponent.append(makeLinksClickableInternal(textContent, currentStyle));
-                }
-            } else if (part.startsWith("&") && part.length() >= 2) {
-                char code = part.charAt(1);
-                ChatFormatting formatting = ChatFormatting.getByCode(code);
-                String textContent = part.substring(2);
-
-                if (formatting != null) {
-                    if (formatting.isColor()) {
-                        currentStyle = Style.EMPTY.withColor(formatting);
-                    } else if (formatting == ChatFormatting.RESET) {
-                        currentStyle = Style.EMPTY;
-                    } else {
-                        currentStyle = applyStyle(currentStyle, formatting);
-                    }
-                }
+    @Override
+    public GameComponent parsePlayerInputWithPermissions(String channelBaseColor, String playerInput, GamePlayer player) {
+        return parsePlayerInputWithPermissions(ChannelTemplate.resolveBaseColor(channelBaseColor), playerInput, player);
+    }
 
-                if (!textContent.isEmpty()) {
-                    mainComponent.append(makeLinksClickableInternal(textContent, currentStyle));
-                }
-            } else {
-                mainComponent.append(makeLinksClickableInternal(part, currentStyle));
-            }
+    @Override
+    public GameComponent parsePlayerInputWithPermissions(int baseColorRgb, String playerInput, GamePlayer player) {
+        if (playerInput == null || playerInput.isEmpty()) {
+            return NodeComponent.empty();
         }
-        return NeoForgeGameComponentImpl.wrap(mainComponent);
+        return render(playerInput, baseColorRgb, permissionFlags(player));
     }
 
-    private static Style applyStyle(Style baseStyle, ChatFormatting format) {
-        if (format == ChatFormatting.BOLD) return baseStyle.withBold(true);
-        if (format == ChatFormatting.ITALIC) return baseStyle.withItalic(true);
-        if (format == ChatFormatting.UNDERLINE) return baseStyle.withUnderlined(true);
-        if (format == ChatFormatting.STRIKETHROUGH) return baseStyle.withStrikethrough(true);
-        if (format == ChatFormatting.OBFUSCATED) return baseStyle.withObfuscated(true);
-        return baseStyle;
+    private static GameComponent usernameHover(String username) {
+        return NodeComponent.literal("Username: " + username).withColor(GameColor.GRAY);
     }
 
     @Override
     public GameComponent createPlayerNameComponent(GamePlayer player, String colorPrefix, boolean isDM, NameStyle nameStyle) {
+        return PlayerNameCache.getPlayerName(player, colorPrefix, isDM, nameStyle,
+            () -> buildPlayerNameComponent(player, colorPrefix, isDM, nameStyle));
+    }
+
+    private GameComponent buildPlayerNameComponent(GamePlayer player, String colorPrefix, boolean isDM, NameStyle nameStyle) {
         String username = player.getUsername();
         String displayName = player.getDisplayName();
-        String strippedDisplayName = FormattingCodeUtils.stripFormattingCodes(displayName);
+        String strippedDisplayName = FormattingCodeUtils.strip(displayName);
 
-        ClickEvent clickEvent = new ClickEvent(ClickEvent.Action.SUGGEST_COMMAND, "/msg " + username + " ");
-        HoverEvent hoverEvent = null;
+        GameComponent hoverText = null;
 
         String nameToShow;
 
@@ -164,71 +116,46 @@ public class NeoForgeChatFormatter implements ChatFormatter {
             if (nameStyle == NameStyle.NICKNAME) {
                 String nickname = NicknameService.getNickname(player);
                 if (nickname != null && !nickname.trim().isEmpty()) {
-                    hoverEvent = new HoverEvent(HoverEvent.Action.SHOW_TEXT,
-                                            Component.literal("Username: " + username).withStyle(ChatFormatting.GRAY));
+                    hoverText = usernameHover(username);
                 }
             } else if (nameStyle == NameStyle.DISPLAY_NAME && !username.equals(strippedDisplayName)) {
-                hoverEvent = new HoverEvent(HoverEvent.Action.SHOW_TEXT,
-                                        Component.literal("Username: " + username).withStyle(ChatFormatting.GRAY));
+                hoverText = usernameHover(username);
             }
         } else {
             if (!username.equals(strippedDisplayName)) {
                 nameToShow = strippedDisplayName;
-                hoverEvent = new HoverEvent(HoverEvent.Action.SHOW_TEXT,
-                                        Component.literal("Username: " + username).withStyle(ChatFormatting.GRAY));
+                hoverText = usernameHover(username);
             } else {
                 nameToShow = username;
             }
         }
 
-        String luckPermsPrefix = "";
-        final String prefixTooltipText;
-
-        if (Verbatim.prefixService != null && Verbatim.prefixService.isPrefixSystemAvailable()) {
-            luckPermsPrefix = Verbatim.prefixService.getPlayerPrefix(player);
+        GameComponent fullName = NodeComponent.empty();
+        appendPrefix(fullName, player);
 
-            if (!luckPermsPrefix.isEmpty()) {
-                prefixTooltipText = Verbatim.prefixService.getPrefixTooltip(player);
-            } else {
-                prefixTooltipText = null;
-            }
-        } else {
-            prefixTooltipText = null;
+        GameComponent nameComp = parseColors(colorPrefix + nameToShow)
+            .withClickSuggestCommand("/msg " + username + " ");
+        if (hoverText != null) {
+            nameComp.withHoverText(hoverText);
         }
 
-        MutableComponent fullNameComponent = Component.empty();
-
-        if (!luckPermsPrefix.isEmpty()) {
-            MutableComponent prefixComponent = ((NeoForgeGameComponentImpl) parseColors(luckPermsPrefix)).toMinecraftMutable();
-
-            if (prefixTooltipText != null && !prefixTooltipText.isEmpty()) {
-                Component tooltipComponent = ((NeoForgeGameComponentImpl) parseColors(prefixTooltipText)).toMinecraft();
-                prefixComponent = prefixComponent.withStyle(style ->
-                    style.withHoverEvent(new HoverEvent(HoverEvent.Action.SHOW_TEXT, tooltipComponent))
-                );
-            }
+        return fullName.append(nameComp);
+    }
 
-            fullNameComponent.append(prefixComponent);
+    private void appendPrefix(GameComponent fullName, GamePlayer player) {
+        if (Verbatim.prefixService == null || !Verbatim.prefixService.isPrefixSystemAvailable()) return;
+        String playerPrefix = Verbatim.prefixService.getPlayerPrefix(player);
+        if (playerPrefix.isEmpty()) return;
 
-            if (!luckPermsPrefix.endsWith(" ")) {
-                fullNameComponent.append(Component.literal(" "));
-            }
+        GameComponent prefixComp = parseColors(playerPrefix);
+        String prefixTooltipText = Verbatim.prefixService.getPrefixTooltip(player);
+        if (prefixTooltipText != null && !prefixTooltipText.isEmpty()) {
+            prefixComp.withHoverText(parseColors(prefixTooltipText));
+        }
+        fullName.append(prefixComp);
+        if (!playerPrefix.endsWith(" ")) {
+            fullName.append(" ");
         }
-
-        MutableComponent nameComponent = ((NeoForgeGameComponentImpl) parseColors(colorPrefix + nameToShow)).toMinecraftMutable();
-
-        final HoverEvent finalHoverEvent = hoverEvent;
-        nameComponent = nameComponent.withStyle(style -> {
-            Style updatedStyle = style.withClickEvent(clickEvent);
-            if (finalHoverEvent != null) {
-                updatedStyle = updatedStyle.withHoverEvent(finalHoverEvent);
-            }
-            return updatedStyle;
-        });
-
-        fullNameComponent.append(nameComponent);
-
-        return NeoForgeGameComponentImpl.wrap(fullNameComponent);
     }
 
     @Override
@@ -238,12 +165,16 @@ public class NeoForgeChatFormatter implements ChatFormatter {
 
     @Override
     public GameComponent createFavoriteNameComponent(GamePlayer player, String colorPrefix, boolean isDM, NameStyle nameStyle, int gradientStartRgb, int gradientEndRgb) {
+        return PlayerNameCache.getFavoriteName(player, colorPrefix, isDM, nameStyle, gradientStartRgb, gradientEndRgb,
+            () -> buildFavoriteNameComponent(player, colorPrefix, isDM, nameStyle, gradientStartRgb, gradientEndRgb));
+    }
+
+    private GameComponent buildFavoriteNameComponent(GamePlayer player, String colorPrefix, boolean isDM, NameStyle nameStyle, int gradientStartRgb, int gradientEndRgb) {
         String username = player.getUsername();
         String displayName = player.getDisplayName();
-        String strippedDisplayName = FormattingCodeUtils.stripFormattingCodes(displayName);
+        String strippedDisplayName = FormattingCodeUtils.strip(displayName);
 
-        ClickEvent clickEvent = new ClickEvent(ClickEvent.Action.SUGGEST_COMMAND, "/msg " + username + " ");
-        HoverEvent hoverEvent = null;
+        GameComponent hoverText = null;
 
         String nameToShow;
 
@@ -255,77 +186,33 @@ public class NeoForgeChatFormatter implements ChatFormatter {
             if (nameStyle == NameStyle.NICKNAME) {
                 String nickname = NicknameService.getNickname(player);
                 if (nickname != null && !nickname.trim().isEmpty()) {
-                    hoverEvent = new HoverEvent(HoverEvent.Action.SHOW_TEXT,
-                                            Component.literal("Username: " + username).withStyle(ChatFormatting.GRAY));
+                    hoverText = usernameHover(username);
                 }
             } else if (nameStyle == NameStyle.DISPLAY_NAME && !username.equals(strippedDisplayName)) {
-                hoverEvent = new HoverEvent(HoverEvent.Action.SHOW_TEXT,
-                                        Component.literal("Username: " + username).withStyle(ChatFormatting.GRAY));
+                hoverText = usernameHover(username);
             }
         } else {
             if (!username.equals(strippedDisplayName)) {
                 nameToShow = strippedDisplayName;
-                hoverEvent = new HoverEvent(HoverEvent.Action.SHOW_TEXT,
-                                        Component.literal("Username: " + username).withStyle(ChatFormatting.GRAY));
+                hoverText = usernameHover(username);
             } else {
                 nameToShow = username;
             }
         }
 
-        // Strip any embedded color codes — the gradient replaces them
-        nameToShow = FormattingCodeUtils.stripFormattingCodes(nameToShow);
+        nameToShow = FormattingCodeUtils.strip(nameToShow);
 
-        String luckPermsPrefix = "";
-        final String prefixTooltipText;
-
-        if (Verbatim.prefixService != null && Verbatim.prefixService.isPrefixSystemAvailable()) {
-            luckPermsPrefix = Verbatim.prefixService.getPlayerPrefix(player);
-            if (!luckPermsPrefix.isEmpty()) {
-                prefixTooltipText = Verbatim.prefixService.getPrefixTooltip(player);
-            } else {
-                prefixTooltipText = null;
-            }
-        } else {
-            prefixTooltipText = null;
-        }
+        GameComponent fullName = NodeComponent.empty();
+        appendPrefix(fullName, player);
 
-        MutableComponent fullNameComponent = Component.empty();
-
-        if (!luckPermsPrefix.isEmpty()) {
-            MutableComponent prefixComponent = ((NeoForgeGameComponentImpl) parseColors(luckPermsPrefix)).toMinecraftMutable();
-            if (prefixTooltipText != null && !prefixTooltipText.isEmpty()) {
-                Component tooltipComponent = ((NeoForgeGameComponentImpl) parseColors(prefixTooltipText)).toMinecraft();
-                prefixComponent = prefixComponent.withStyle(style ->
-                    style.withHoverEvent(new HoverEvent(HoverEvent.Action.SHOW_TEXT, tooltipComponent))
-                );
-            }
-            fullNameComponent.append(prefixComponent);
-            if (!luckPermsPrefix.endsWith(" ")) {
-                fullNameComponent.append(Component.literal(" "));
-            }
-        }
-
-        // Apply gradient to name characters
-        int len = nameToShow.length();
-        final HoverEvent finalHoverEvent = hoverEvent;
-        for (int i = 0; i < len; i++) {
-            float ratio = len > 1 ? (float) i / (len - 1) : 0f;
-            int r = Math.round(((gradientStartRgb >> 16) & 0xFF) + ratio * (((gradientEndRgb >> 16) & 0xFF) - ((gradientStartRgb >> 16) & 0xFF)));
-            int g = Math.round(((gradientStartRgb >> 8) & 0xFF) + ratio * (((gradientEndRgb >> 8) & 0xFF) - ((gradientStartRgb >> 8) & 0xFF)));
-            int b = Math.round((gradientStartRgb & 0xFF) + ratio * ((gradientEndRgb & 0xFF) - (gradientStartRgb & 0xFF)));
-
-            MutableComponent charComponent = Component.literal(String.valueOf(nameToShow.charAt(i)));
-            Style charStyle = Style.EMPTY
-                .withColor(net.minecraft.network.chat.TextColor.fromRgb((r << 16) | (g << 8) | b))
-                .withClickEvent(clickEvent);
-            if (finalHoverEvent != null) {
-                charStyle = charStyle.withHoverEvent(finalHoverEvent);
-            }
-            charComponent.setStyle(charStyle);
-            fullNameComponent.append(charComponent);
+        // Neighbouring characters of the same colour share one run; click/hover sit on the parent and are inherited
+        GameComponent gradientName = GradientText.render(nameToShow, gradientStartRgb, gradientEndRgb)
+            .withClickSuggestCommand("/msg " + username + " ");
+        if (hoverText != null) {
+            gradientName.withHoverText(hoverText);
         }
 
-        return NeoForgeGameComponentImpl.wrap(fullNameComponent);
+        return fullName.append(gradientName);
     }
 
     @Override
@@ -342,7 +229,7 @@ public class NeoForgeChatFormatter implements ChatFormatter {
 
             case DISPLAY_NAME:
                 String displayName = player.getDisplayName();
-                String cleanDisplayName = displayName.replaceAll("\u00a7[0-9a-fk-or]", "");
+                String cleanDisplayName = FormattingCodeUtils.strip(displayName);
 
                 if (!username.equals(cleanDisplayName)) {
                     return cleanDisplayName + " (" + username + ")";
@@ -353,7 +240,7 @@ public class NeoForgeChatFormatter implements ChatFormatter {
             case NICKNAME:
                 String nickname = NicknameService.getNickname(player);
                 if (nickname != null && !nickname.trim().isEmpty()) {
-                    String cleanNickname = FormattingCodeUtils.stripFormattingCodes(nickname);
+                    String cleanNickname = FormattingCodeUtils.strip(nickname);
                     return cleanNickname + " (" + username + ")";
                 } else {
                     return username;
@@ -368,134 +255,4 @@ public class NeoForgeChatFormatter implements ChatFormatter {
     public String createDiscordPlayerName(GamePlayer player) {
         return createDiscordPlayerName(player, NameStyle.USERNAME);
     }
-
-    @Override
-    public GameComponent parseColorsWithPermissions(String text, GamePlayer player) {
-        if (text == null || text.isEmpty()) {
-            return NeoForgeGameComponentImpl.empty();
-        }
-
-        boolean hasColorPerm  = Verbatim.permissionService.hasPermission(player, NicknameService.PERM_CHAT_COLOR, 2);
-        boolean hasFormatPerm = Verbatim.permissionService.hasPermission(player, NicknameService.PERM_CHAT_FORMAT, 2);
-
-        MutableComponent main = Component.literal("");
-        String[] parts = text.split(COLOR_SPLIT_REGEX);
-        Style current = Style.EMPTY;
-
-        for (String part : parts) {
-            if (part.isEmpty()) continue;
-
-            if (part.startsWith("&#") && part.length() >= 8) {
-                String hex = part.substring(2, 8);
-                String content = part.substring(8);
-                if (hasColorPerm) {
-                    try {
-                        current = Style.EMPTY.withColor(net.minecraft.network.chat.TextColor.fromRgb(Integer.parseInt(hex, 16)));
-                    } catch (NumberFormatException ignored) {}
-                }
-                if (!content.isEmpty()) {
-                    main.append(makeLinksClickableInternal(content, current));
-                }
-            } else if (part.startsWith("&") && part.length() >= 2) {
-                char code = part.charAt(1);
-                ChatFormatting fmt = ChatFormatting.getByCode(code);
-                String content = part.substring(2);
-
-                if (fmt != null) {
-                    boolean allow = false;
-                    if (fmt.isColor()) {
-                        allow = hasColorPerm;
-                    } else if (fmt == ChatFormatting.RESET) {
-                        allow = hasColorPerm || hasFormatPerm;
-                    } else {
-                        allow = hasFormatPerm;
-                    }
-
-                    if (allow) {
-                        if (fmt.isColor()) {
-                            current = Style.EMPTY.withColor(fmt);
-                        } else if (fmt == ChatFormatting.RESET) {
-                            current = Style.EMPTY;
-                        } else {
-                            current = applyStyle(current, fmt);
-                        }
-                    }
-                }
-
-                if (!content.isEmpty()) {
-                    main.append(makeLinksClickableInternal(content, current));
-                }
-            } else {
-                main.append(makeLinksClickableInternal(part, current));
-            }
-        }
-        return NeoForgeGameComponentImpl.wrap(main);
-    }
-
-    @Override
-    public GameComponent parsePlayerInputWithPermissions(String channelBaseColor, String playerInput, GamePlayer player) {
-        if (playerInput == null || playerInput.isEmpty()) {
-            return NeoForgeGameComponentImpl.empty();
-        }
-
-        Component baseColorComponent = ((NeoForgeGameComponentImpl) parseColors(channelBaseColor)).toMinecraft();
-        Style baseStyle = baseColorComponent.getStyle();
-        MutableComponent result = Component.empty();
-
-        boolean hasColorPerm  = Verbatim.permissionService.hasPermission(player, NicknameService.PERM_CHAT_COLOR, 2);
-        boolean hasFormatPerm = Verbatim.permissionService.hasPermission(player, NicknameService.PERM_CHAT_FORMAT, 2);
-
-        String[] parts = playerInput.split(COLOR_SPLIT_REGEX);
-        Style current = baseStyle;
-
-        for (String part : parts) {
-            if (part.isEmpty()) continue;
-
-            if (part.startsWith("&#") && part.length() >= 8) {
-                String hex = part.substring(2, 8);
-                String content = part.substring(8);
-                if (hasColorPerm) {
-                    try {
-                        current = Style.EMPTY.withColor(net.minecraft.network.chat.TextColor.fromRgb(Integer.parseInt(hex, 16)));
-                    } catch (NumberFormatException ignored) {}
-                }
-                if (!content.isEmpty()) {
-                    result.append(makeLinksClickableInternal(content, current));
-                }
-            } else if (part.startsWith("&") && part.length() >= 2) {
-                char code = part.charAt(1);
-                ChatFormatting fmt = ChatFormatting.getByCode(code);
-                String content = part.substring(2);
-
-                if (fmt != null) {
-                    boolean allow = false;
-                    if (fmt.isColor()) {
-                        allow = hasColorPerm;
-                    } else if (fmt == ChatFormatting.RESET) {
-                        allow = hasColorPerm || hasFormatPerm;
-                    } else {
-                        allow = hasFormatPerm;
-                    }
-
-                    if (allow) {
-                        if (fmt.isColor()) {
-                            current = Style.EMPTY.withColor(fmt);
-                        } else if (fmt == ChatFormatting.RESET) {
-                            current = baseStyle;
-                        } else {
-                            current = applyStyle(current, fmt);
-                        }
-                    }
-                }
-
-                if (!content.isEmpty()) {
-                    result.append(makeLinksClickableInternal(content, current));
-                }
-            } else {
-                result.append(makeLinksClickableInternal(part, current));
-            }
-        }
-
-        return NeoForgeGameComponentImpl.wrap(result);
-    }
 }
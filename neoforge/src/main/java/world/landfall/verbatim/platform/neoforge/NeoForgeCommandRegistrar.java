@@ -238,6 +238,17 @@ public class NeoForgeCommandRegistrar {
             );
         dispatcher.register(chKickCommand);
 
+        // Admin: /verbatim stats
+        dispatcher.register(Commands.literal(Verbatim.MODID)
+            .then(Commands.literal("stats")
+                .requires(source -> {
+                    if (source.getEntity() instanceof ServerPlayer player) {
+                        return Verbatim.permissionService.hasPermission(new NeoForgeGamePlayer(player), VerbatimCommandHandlers.PERM_ADMIN_STATS, 2);
+                    }
+                    return source.hasPermission(2);
+                })
+                .executes(context -> VerbatimCommandHandlers.executeChatStats(wrapSource(context.getSource())))));
+
         // /ignore command
         LiteralArgumentBuilder<CommandSourceStack> ignoreCommand = Commands.literal("ignore")
             .then(Commands.literal("add")
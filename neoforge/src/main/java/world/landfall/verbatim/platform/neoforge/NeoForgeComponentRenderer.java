@@ -0,0 +1,114 @@
+package world.landfall.verbatim.platform.neoforge;
+
+import net.minecraft.network.chat.ClickEvent;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.HoverEvent;
+import net.minecraft.network.chat.MutableComponent;
+import net.minecraft.network.chat.Style;
+import net.minecraft.network.chat.TextColor;
+import world.landfall.verbatim.context.ComponentNode;
+import world.landfall.verbatim.context.ComponentRenderer;
+import world.landfall.verbatim.context.ComponentStyle;
+import world.landfall.verbatim.context.GameComponent;
+import world.landfall.verbatim.context.NodeComponent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Converts core component trees to Minecraft components.
+ * Rendered components are cached on their nodes and shared, so they must never be mutated;
+ * copy() one first if a caller needs to restyle it.
+ */
+public final class NeoForgeComponentRenderer implements ComponentRenderer<Component> {
+
+    public static final NeoForgeComponentRenderer INSTANCE = new NeoForgeComponentRenderer();
+
+    private NeoForgeComponentRenderer() {}
+
+    /**
+     * Gets the Minecraft Component for a GameComponent.
+     * Only call from platform layer code.
+     */
+    public static Component toMinecraft(GameComponent component) {
+        return NodeComponent.nodeOf(component).render(INSTANCE);
+    }
+
+    /**
+     * Wraps a Minecraft Component coming from the server, e.g. a display name.
+     * Only text, colour and decorations are carried over.
+     */
+    public static GameComponent fromMinecraft(Component component) {
+        List<ComponentNode> parts = new ArrayList<>();
+        component.visit((style, text) -> {
+            parts.add(ComponentNode.text(text, toNodeStyle(style)));
+            return Optional.empty();
+        }, Style.EMPTY);
+        if (parts.size() == 1) {
+            return new NodeComponent(parts.get(0));
+        }
+        return new NodeComponent(ComponentNode.of("", ComponentStyle.EMPTY, parts));
+    }
+
+    @Override
+    public Component render(ComponentNode node) {
+        MutableComponent result = Component.literal(node.text());
+        if (!node.style().isEmpty()) {
+            result.setStyle(toMinecraftStyle(node.style()));
+        }
+        for (int i = 0; i < node.childCount(); i++) {
+            result.append(node.child(i).render(this));
+        }
+        return result;
+    }
+
+    private Style toMinecraftStyle(ComponentStyle style) {
+        Style result = Style.EMPTY;
+        if (style.hasColor()) {
+            result = result.withColor(TextColor.fromRgb(style.color()));
+        }
+        if (style.isDecorationSet(ComponentStyle.BOLD)) {
+            result = result.withBold(style.hasDecoration(ComponentStyle.BOLD));
+        }
+        if (style.isDecorationSet(ComponentStyle.ITALIC)) {
+            result = result.withItalic(style.hasDecoration(ComponentStyle.ITALIC));
+        }
+        if (style.isDecorationSet(ComponentStyle.UNDERLINED)) {
+            result = result.withUnderlined(style.hasDecoration(ComponentStyle.UNDERLINED));
+        }
+        if (style.isDecorationSet(ComponentStyle.STRIKETHROUGH)) {
+            result = result.withStrikethrough(style.hasDecoration(ComponentStyle.STRIKETHROUGH));
+        }
+        if (style.isDecorationSet(ComponentStyle.OBFUSCATED)) {
+            result = result.withObfuscated(style.hasDecoration(ComponentStyle.OBFUSCATED));
+        }
+        if (style.clickAction() != null) {
+            ClickEvent.Action action = switch (style.clickAction()) {
+                case SUGGEST_COMMAND -> ClickEvent.Action.SUGGEST_COMMAND;
+                case RUN_COMMAND -> ClickEvent.Action.RUN_COMMAND;
+                case OPEN_URL -> ClickEvent.Action.OPEN_URL;
+                case COPY_TO_CLIPBOARD -> ClickEvent.Action.COPY_TO_CLIPBOARD;
+            };
+            result = result.withClickEvent(new ClickEvent(action, style.clickValue()));
+        }
+        if (style.hover() != null) {
+            result = result.withHoverEvent(new HoverEvent(HoverEvent.Action.SHOW_TEXT, style.hover().render(this)));
+        }
+        return result;
+    }
+
+    private static ComponentStyle toNodeStyle(Style style) {
+        ComponentStyle result = ComponentStyle.EMPTY;
+        if (style.getColor() != null) {
+            result = result.withColor(style.getColor().getValue());
+        }
+        int decorations = 0;
+        if (style.isBold()) decorations |= ComponentStyle.BOLD;
+        if (style.isItalic()) decorations |= ComponentStyle.ITALIC;
+        if (style.isUnderlined()) decorations |= ComponentStyle.UNDERLINED;
+        if (style.isStrikethrough()) decorations |= ComponentStyle.STRIKETHROUGH;
+        if (style.isObfuscated()) decorations |= ComponentStyle.OBFUSCATED;
+        return result.withDecorations(decorations);
+    }
+}
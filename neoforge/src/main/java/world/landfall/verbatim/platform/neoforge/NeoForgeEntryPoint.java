@@ -3,6 +3,7 @@ package world.landfall.verbatim.platform.neoforge;
 import net.neoforged.neoforge.common.NeoForge;
 import net.neoforged.neoforge.event.RegisterCommandsEvent;
 import net.neoforged.neoforge.event.server.ServerStartingEvent;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
 import net.neoforged.neoforge.event.server.ServerStoppingEvent;
 import net.neoforged.bus.api.IEventBus;
 import net.neoforged.bus.api.SubscribeEvent;
@@ -11,8 +12,13 @@ import net.neoforged.fml.common.Mod;
 import net.neoforged.fml.config.ModConfig;
 import net.neoforged.fml.event.lifecycle.FMLCommonSetupEvent;
 import world.landfall.verbatim.ChatChannelManager;
+import world.landfall.verbatim.ChatDispatcher;
 import world.landfall.verbatim.Verbatim;
 import world.landfall.verbatim.discord.DiscordBot;
+import world.landfall.verbatim.storage.PersistenceScheduler;
+import world.landfall.verbatim.storage.PlayerDataStore;
+import world.landfall.verbatim.storage.PlayerDataStores;
+import world.landfall.verbatim.storage.PlayerDataWriter;
 import world.landfall.verbatim.util.MailService;
 
 import java.nio.file.Path;
@@ -22,6 +28,10 @@ import org.apache.logging.log4j.Level;
 @Mod(Verbatim.MODID)
 public class NeoForgeEntryPoint {
 
+    private PlayerDataStore dataStore;
+    private PlayerDataWriter dataWriter;
+    private PersistenceScheduler persistenceScheduler;
+
     public NeoForgeEntryPoint(IEventBus modEventBus, ModContainer modContainer) {
         Configurator.setLevel("world.landfall.verbatim", Level.DEBUG);
         Verbatim.LOGGER.info("[Verbatim] Debug logging enabled");
@@ -57,12 +67,32 @@ public class NeoForgeEntryPoint {
 
         // Set data directory and initialize mail service
         Path dataDir = event.getServer().getServerDirectory().resolve("verbatim");
-        ((NeoForgeGameContextImpl) Verbatim.gameContext).setDataDirectory(dataDir);
+        NeoForgeGameContextImpl context = (NeoForgeGameContextImpl) Verbatim.gameContext;
+        context.setDataDirectory(dataDir);
         MailService.init(dataDir);
 
+        // Open the configured player data store (file, journal, sql or memory)
+        dataStore = PlayerDataStores.open(VerbatimConfig.STORAGE_MODE.get(), dataDir.resolve("playerstore"),
+            VerbatimConfig.JOURNAL_DURABILITY.get(), VerbatimConfig.JOURNAL_COMPACT_INTERVAL_SECONDS.get(),
+            VerbatimConfig.JDBC_URL.get());
+        context.setDataStore(dataStore);
+
+        // Batch player data writes on a background I/O thread
+        dataWriter = new PlayerDataWriter(context::savePlayerIfDirty,
+            VerbatimConfig.PLAYER_DATA_SAVE_DELAY_MS.get(), VerbatimConfig.PLAYER_DATA_MAX_STALENESS_MS.get());
+        context.setDataWriter(dataWriter);
+
+        // Start periodic auto-save scheduler
+        persistenceScheduler = new PersistenceScheduler(context::saveAllPlayersToDisk);
+        persistenceScheduler.start();
+
         Verbatim.LOGGER.info("Loading chat channel configurations...");
         ChatChannelManager.loadConfiguredChannels();
 
+        if (VerbatimConfig.ASYNC_CHAT_DISPATCH.get()) {
+            ChatDispatcher.start(VerbatimConfig.CHAT_DISPATCH_QUEUE_CAPACITY.get());
+        }
+
         Verbatim.LOGGER.info("Initializing Discord Bot...");
         DiscordBot.init();
 
@@ -73,8 +103,29 @@ public class NeoForgeEntryPoint {
     @SubscribeEvent
     public void onServerStopping(ServerStoppingEvent event) {
         Verbatim.LOGGER.info("Server is stopping!");
+        ChatDispatcher.shutdown();
         MailService.shutdown();
         Verbatim.LOGGER.info("Shutting down Discord Bot...");
         DiscordBot.shutdown();
     }
+
+    @SubscribeEvent
+    public void onServerStopped(ServerStoppedEvent event) {
+        // Every player has logged out by now; save what is still pending and close the store
+        if (persistenceScheduler != null) {
+            persistenceScheduler.shutdown();
+            persistenceScheduler = null;
+        }
+        if (dataWriter != null) {
+            dataWriter.shutdown();
+            dataWriter = null;
+        }
+        NeoForgeGameContextImpl context = (NeoForgeGameContextImpl) Verbatim.gameContext;
+        context.saveAllPlayersToDisk();
+        context.unloadPlayerData();
+        if (dataStore != null) {
+            dataStore.close();
+            dataStore = null;
+        }
+    }
 }
@@ -120,4 +120,8 @@ public class NeoForgeGameConfig implements GameConfig {
     public String getLeaveMessageFormat() {
         return VerbatimConfig.LEAVE_MESSAGE_FORMAT.get();
     }
+    @Override
+    public int getLocalFadeLevels() {
+        return VerbatimConfig.LOCAL_FADE_LEVELS.get();
+    }
 }
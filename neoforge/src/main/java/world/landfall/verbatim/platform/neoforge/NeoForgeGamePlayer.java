@@ -2,8 +2,8 @@ package world.landfall.verbatim.platform.neoforge;
 
 import net.minecraft.server.level.ServerPlayer;
 import world.landfall.verbatim.context.GameComponent;
-// NeoForgeGameComponentImpl is in this package
 import world.landfall.verbatim.context.GamePlayer;
+import world.landfall.verbatim.context.NodeComponent;
 
 import java.util.Objects;
 import java.util.UUID;
@@ -43,12 +43,12 @@ public class NeoForgeGamePlayer implements GamePlayer {
 
     @Override
     public GameComponent getDisplayNameComponent() {
-        return NeoForgeGameComponentImpl.wrap(handle.getDisplayName());
+        return NeoForgeComponentRenderer.fromMinecraft(handle.getDisplayName());
     }
 
     @Override
     public GameComponent getNameComponent() {
-        return NeoForgeGameComponentImpl.wrap(handle.getName());
+        return NodeComponent.literal(handle.getName().getString());
     }
 
     @Override
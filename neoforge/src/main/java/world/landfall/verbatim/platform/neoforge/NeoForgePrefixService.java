@@ -33,6 +33,7 @@ public class NeoForgePrefixService extends PrefixService {
                 Method getMethod = luckPermsProviderClass.getMethod("get");
                 this.luckPermsApi = getMethod.invoke(null);
                 this.luckPermsAvailable = true;
+                invalidateNamesOnLuckPermsChanges(this.luckPermsApi);
                 Verbatim.LOGGER.info("[NeoForgePrefixService] LuckPerms API found. Prefixes will be handled by LuckPerms.");
             } catch (ClassNotFoundException e) {
                 this.luckPermsApi = null;
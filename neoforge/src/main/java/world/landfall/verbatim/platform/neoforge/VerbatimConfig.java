@@ -32,6 +32,19 @@ public class VerbatimConfig {
     public static final ModConfigSpec.ConfigValue<String> JOIN_MESSAGE_FORMAT;
     public static final ModConfigSpec.ConfigValue<String> LEAVE_MESSAGE_FORMAT;
 
+    // Performance Config
+    public static final ModConfigSpec.BooleanValue ASYNC_CHAT_DISPATCH;
+    public static final ModConfigSpec.IntValue CHAT_DISPATCH_QUEUE_CAPACITY;
+    public static final ModConfigSpec.IntValue LOCAL_FADE_LEVELS;
+    public static final ModConfigSpec.LongValue PLAYER_DATA_SAVE_DELAY_MS;
+    public static final ModConfigSpec.LongValue PLAYER_DATA_MAX_STALENESS_MS;
+
+    // Storage Config
+    public static final ModConfigSpec.ConfigValue<String> STORAGE_MODE;
+    public static final ModConfigSpec.ConfigValue<String> JOURNAL_DURABILITY;
+    public static final ModConfigSpec.LongValue JOURNAL_COMPACT_INTERVAL_SECONDS;
+    public static final ModConfigSpec.ConfigValue<String> JDBC_URL;
+
     static {
         BUILDER.push("Verbatim Mod Configuration");
 
@@ -250,6 +263,61 @@ public class VerbatimConfig {
                 "Example: '&c[-]&r {player}' or '&7[&c-&7] &f{nickname}'"
         ).define("leaveMessageFormat", "&c[-]&r {nickname}");
 
+        BUILDER.pop();
+
+        BUILDER.push("Performance");
+
+        ASYNC_CHAT_DISPATCH = BUILDER.comment(
+                "Process chat on a dedicated dispatcher thread instead of the server thread.",
+                "Chat events are queued and formatted off-tick; message sends are handed back to the server thread."
+        ).define("asyncChatDispatch", false);
+
+        CHAT_DISPATCH_QUEUE_CAPACITY = BUILDER.comment(
+                "Maximum number of chat messages waiting for the dispatcher.",
+                "When the queue is full, new messages are dropped and the sender is told to try again.",
+                "Queue depth, drops and latency are shown by /verbatim stats."
+        ).defineInRange("chatDispatchQueueCapacity", 1024, 16, 65536);
+
+        LOCAL_FADE_LEVELS = BUILDER.comment(
+                "Number of obscurity levels in the local chat fade band.",
+                "Recipients at similar distances share one obscured copy of each message; higher values fade more smoothly."
+        ).defineInRange("localFadeLevels", 8, 1, 64);
+
+        PLAYER_DATA_SAVE_DELAY_MS = BUILDER.comment(
+                "Player data is saved in the background once a player has had no changes for this long (milliseconds),",
+                "so a burst of changes becomes one write."
+        ).defineInRange("playerDataSaveDelayMs", 500L, 0L, 60_000L);
+
+        PLAYER_DATA_MAX_STALENESS_MS = BUILDER.comment(
+                "Longest a change may wait before it is saved, even while more changes keep arriving (milliseconds)."
+        ).defineInRange("playerDataMaxStalenessMs", 5000L, 0L, 600_000L);
+
+        BUILDER.pop();
+
+        BUILDER.push("Storage");
+
+        STORAGE_MODE = BUILDER.comment(
+                "How player data is written: \"file\" rewrites each player's JSON file on save,",
+                "\"journal\" appends saves to a journal that is periodically compacted into those files,",
+                "\"sql\" keeps all players in one database (see jdbcUrl), \"memory\" keeps nothing across restarts.",
+                "Verbatim data found in a player's NBT is imported into the store on their first join."
+        ).define("mode", "file");
+
+        JOURNAL_DURABILITY = BUILDER.comment(
+                "Journal mode only. When saves are flushed to disk: \"none\" (left to the OS),",
+                "\"batch\" (saves arriving together share one fsync) or \"always\" (fsync after every save)."
+        ).define("journalDurability", "batch");
+
+        JOURNAL_COMPACT_INTERVAL_SECONDS = BUILDER.comment(
+                "Journal mode only. How often the journal is folded into the player files (seconds)."
+        ).defineInRange("journalCompactIntervalSeconds", 60L, 1L, 86_400L);
+
+        JDBC_URL = BUILDER.comment(
+                "SQL mode only. JDBC URL of the database; empty uses SQLite at verbatim/playerstore/players.db.",
+                "Falls back to file storage if the database can't be opened.",
+                "An empty database is filled from the existing player files the first time it is opened."
+        ).define("jdbcUrl", "");
+
         BUILDER.pop();
         SPEC = BUILDER.build();
     }
@@ -6,6 +6,7 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import world.landfall.verbatim.ChatEventHandler;
@@ -19,14 +20,23 @@ import world.landfall.verbatim.Verbatim;
  */
 public class PaperChatEvents implements Listener {
 
+    // MONITOR so only logins that other plugins let through start a load
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onAsyncPreLogin(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) return;
+        if (Verbatim.gameContext instanceof PaperGameContextImpl ctx) {
+            ctx.prefetchPlayer(event.getUniqueId());
+        }
+    }
+
     @EventHandler(priority = EventPriority.HIGHEST)
     public void onPlayerJoin(PlayerJoinEvent event) {
         Player player = event.getPlayer();
         PaperGamePlayer gamePlayer = new PaperGamePlayer(player);
 
-        // Load player data from per-player file and track as online
+        // Install the data prefetched at pre-login and track as online
         if (Verbatim.gameContext instanceof PaperGameContextImpl ctx) {
-            ctx.loadPlayerFromDisk(gamePlayer.getUUID());
+            ctx.installPlayerData(gamePlayer.getUUID());
             ctx.trackPlayerOnline(gamePlayer.getUUID(), gamePlayer.getUsername());
         }
 
@@ -42,8 +52,9 @@ public class PaperChatEvents implements Listener {
 
         ChatEventHandler.onPlayerLogout(gamePlayer);
 
-        // Remove from online tracking after logout handler has saved state
+        // Persist the logout state now, then remove from online tracking
         if (Verbatim.gameContext instanceof PaperGameContextImpl ctx) {
+            ctx.flushPlayer(gamePlayer.getUUID());
             ctx.trackPlayerOffline(gamePlayer.getUUID());
         }
     }
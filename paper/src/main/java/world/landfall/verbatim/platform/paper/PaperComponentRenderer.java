@@ -0,0 +1,124 @@
+package world.landfall.verbatim.platform.paper;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.event.HoverEvent;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.format.TextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import world.landfall.verbatim.context.ComponentNode;
+import world.landfall.verbatim.context.ComponentRenderer;
+import world.landfall.verbatim.context.ComponentStyle;
+import world.landfall.verbatim.context.GameComponent;
+import world.landfall.verbatim.context.NodeComponent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts core component trees to Adventure components.
+ *
+ * Paper uses Adventure natively, which supports every ComponentStyle feature:
+ * hover events, click events (suggest/run/url/clipboard), all text decorations.
+ */
+public final class PaperComponentRenderer implements ComponentRenderer<Component> {
+
+    public static final PaperComponentRenderer INSTANCE = new PaperComponentRenderer();
+
+    // Indexed by bit position of the ComponentStyle decoration constants
+    private static final TextDecoration[] DECORATIONS = {
+        TextDecoration.BOLD,
+        TextDecoration.ITALIC,
+        TextDecoration.UNDERLINED,
+        TextDecoration.STRIKETHROUGH,
+        TextDecoration.OBFUSCATED
+    };
+
+    private PaperComponentRenderer() {}
+
+    /**
+     * Gets the Adventure Component for a GameComponent.
+     * Only call from platform layer code. The result is shared and cached on the node.
+     */
+    public static Component toAdventure(GameComponent component) {
+        return NodeComponent.nodeOf(component).render(INSTANCE);
+    }
+
+    /**
+     * Wraps an Adventure Component coming from the server, e.g. a display name.
+     */
+    public static GameComponent fromAdventure(Component component) {
+        return new NodeComponent(toNode(component));
+    }
+
+    @Override
+    public Component render(ComponentNode node) {
+        TextComponent.Builder builder = Component.text().content(node.text());
+        if (!node.style().isEmpty()) builder.style(toAdventureStyle(node.style()));
+        for (int i = 0; i < node.childCount(); i++) {
+            builder.append(node.child(i).render(this));
+        }
+        return builder.build();
+    }
+
+    private Style toAdventureStyle(ComponentStyle style) {
+        Style.Builder builder = Style.style();
+        if (style.hasColor()) builder.color(TextColor.color(style.color()));
+        for (int i = 0; i < DECORATIONS.length; i++) {
+            int bit = 1 << i;
+            if (style.isDecorationSet(bit)) builder.decoration(DECORATIONS[i], style.hasDecoration(bit));
+        }
+        if (style.clickAction() != null) {
+            String value = style.clickValue();
+            builder.clickEvent(switch (style.clickAction()) {
+                case SUGGEST_COMMAND -> ClickEvent.suggestCommand(value);
+                case RUN_COMMAND -> ClickEvent.runCommand(value);
+                case OPEN_URL -> ClickEvent.openUrl(value);
+                case COPY_TO_CLIPBOARD -> ClickEvent.copyToClipboard(value);
+            });
+        }
+        if (style.hover() != null) builder.hoverEvent(HoverEvent.showText(style.hover().render(this)));
+        return builder.build();
+    }
+
+    private static ComponentNode toNode(Component component) {
+        String text = component instanceof TextComponent textComponent
+            ? textComponent.content()
+            : PlainTextComponentSerializer.plainText().serialize(component.children(List.of()));
+
+        List<ComponentNode> children = new ArrayList<>(component.children().size());
+        for (Component child : component.children()) {
+            children.add(toNode(child));
+        }
+        return ComponentNode.of(text, toNodeStyle(component.style()), children);
+    }
+
+    private static ComponentStyle toNodeStyle(Style style) {
+        ComponentStyle result = ComponentStyle.EMPTY;
+        if (style.color() != null) result = result.withColor(style.color().value());
+        for (int i = 0; i < DECORATIONS.length; i++) {
+            TextDecoration.State state = style.decoration(DECORATIONS[i]);
+            if (state != TextDecoration.State.NOT_SET) {
+                result = result.withDecoration(1 << i, state == TextDecoration.State.TRUE);
+            }
+        }
+        ClickEvent click = style.clickEvent();
+        if (click != null) {
+            ComponentStyle.ClickAction action = switch (click.action()) {
+                case SUGGEST_COMMAND -> ComponentStyle.ClickAction.SUGGEST_COMMAND;
+                case RUN_COMMAND -> ComponentStyle.ClickAction.RUN_COMMAND;
+                case OPEN_URL -> ComponentStyle.ClickAction.OPEN_URL;
+                case COPY_TO_CLIPBOARD -> ComponentStyle.ClickAction.COPY_TO_CLIPBOARD;
+                default -> null;
+            };
+            if (action != null) result = result.withClick(action, click.value());
+        }
+        HoverEvent<?> hover = style.hoverEvent();
+        if (hover != null && hover.value() instanceof Component hoverText) {
+            result = result.withHover(toNode(hoverText));
+        }
+        return result;
+    }
+}
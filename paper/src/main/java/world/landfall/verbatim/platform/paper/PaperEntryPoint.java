@@ -3,9 +3,15 @@ package world.landfall.verbatim.platform.paper;
 import io.papermc.paper.plugin.lifecycle.event.types.LifecycleEvents;
 import org.bukkit.plugin.java.JavaPlugin;
 import world.landfall.verbatim.ChatChannelManager;
+import world.landfall.verbatim.ChatEventHandler;
 import world.landfall.verbatim.Verbatim;
 import world.landfall.verbatim.context.GamePlayer;
 import world.landfall.verbatim.discord.DiscordBot;
+import world.landfall.verbatim.storage.PersistenceScheduler;
+import world.landfall.verbatim.storage.PlayerDataPrefetcher;
+import world.landfall.verbatim.storage.PlayerDataStore;
+import world.landfall.verbatim.storage.PlayerDataStores;
+import world.landfall.verbatim.storage.PlayerDataWriter;
 import world.landfall.verbatim.util.MailService;
 
 import java.io.File;
@@ -21,8 +27,10 @@ public class PaperEntryPoint extends JavaPlugin {
 
     private PaperVerbatimConfig verbatimConfig;
     private PaperGameContextImpl gameContextImpl;
-    private PlayerFileStore fileStore;
+    private PlayerDataStore dataStore;
     private PersistenceScheduler persistenceScheduler;
+    private PlayerDataWriter dataWriter;
+    private PlayerDataPrefetcher prefetcher;
 
     @Override
     public void onEnable() {
@@ -34,16 +42,27 @@ public class PaperEntryPoint extends JavaPlugin {
         saveDefaultConfig();
         verbatimConfig = new PaperVerbatimConfig(getConfig());
 
-        // Initialize per-player file store for crash-resilient persistence
+        // Open the configured player data store (file, journal, sql or memory)
         File dataDir = getDataFolder();
         File playerStoreDir = new File(dataDir, "playerstore");
-        fileStore = new PlayerFileStore(playerStoreDir);
+        dataStore = PlayerDataStores.open(verbatimConfig.getStorageMode(), playerStoreDir.toPath(),
+            verbatimConfig.getJournalDurability(), verbatimConfig.getJournalCompactIntervalSeconds(),
+            verbatimConfig.getJdbcUrl());
 
-        // Initialize the game context and wire the file store
+        // Initialize the game context and wire the data store
         gameContextImpl = new PaperGameContextImpl();
-        gameContextImpl.setFileStore(fileStore);
+        gameContextImpl.setDataStore(dataStore);
         gameContextImpl.setDataDirectory(dataDir.toPath());
 
+        // Batch player data writes on a background I/O thread
+        dataWriter = new PlayerDataWriter(gameContextImpl::savePlayerIfDirty,
+            verbatimConfig.getPlayerDataSaveDelayMillis(), verbatimConfig.getPlayerDataMaxStalenessMillis());
+        gameContextImpl.setDataWriter(dataWriter);
+
+        // Load connecting players' data off the main thread, ahead of the join event
+        prefetcher = new PlayerDataPrefetcher(dataStore);
+        gameContextImpl.setPrefetcher(prefetcher);
+
         // Wire all platform-independent services via the service locator
         Verbatim.gameContext = gameContextImpl;
         Verbatim.gameConfig = new PaperGameConfig(verbatimConfig);
@@ -73,6 +92,9 @@ public class PaperEntryPoint extends JavaPlugin {
         persistenceScheduler = new PersistenceScheduler(gameContextImpl::saveAllPlayersToDisk);
         persistenceScheduler.start();
 
+        // Per-tick housekeeping: position snapshots for range-limited chat, channel access refresh
+        getServer().getScheduler().runTaskTimer(this, ChatEventHandler::onServerTick, 1L, 1L);
+
         // Initialize Discord bot
         Verbatim.LOGGER.info("[Verbatim] Initializing Discord Bot...");
         DiscordBot.init();
@@ -104,10 +126,21 @@ public class PaperEntryPoint extends JavaPlugin {
         // Shut down Discord bot
         DiscordBot.shutdown();
 
-        // Final flush of all player data to disk
+        // Stop prefetching connecting players' data
+        if (prefetcher != null) {
+            prefetcher.shutdown();
+        }
+
+        // Save pending write-behind data, then final flush of all player data to disk
+        if (dataWriter != null) {
+            dataWriter.shutdown();
+        }
         if (gameContextImpl != null) {
             gameContextImpl.saveAllPlayersToDisk();
         }
+        if (dataStore != null) {
+            dataStore.close();
+        }
 
         Verbatim.LOGGER.info("[Verbatim] Verbatim plugin shut down.");
     }
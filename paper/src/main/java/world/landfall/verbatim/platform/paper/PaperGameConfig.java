@@ -75,4 +75,8 @@ public class PaperGameConfig implements GameConfig {
     public String getLeaveMessageFormat() {
         return config.getLeaveMessageFormat();
     }
+    @Override
+    public int getLocalFadeLevels() {
+        return config.getLocalFadeLevels();
+    }
 }
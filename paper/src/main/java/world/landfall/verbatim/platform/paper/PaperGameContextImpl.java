@@ -1,5 +1,6 @@
 package world.landfall.verbatim.platform.paper;
 
+import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.TextColor;
 import org.bukkit.Bukkit;
@@ -10,12 +11,22 @@ import world.landfall.verbatim.context.GameCommandSource;
 import world.landfall.verbatim.context.GameComponent;
 import world.landfall.verbatim.context.GameContext;
 import world.landfall.verbatim.context.GamePlayer;
+import world.landfall.verbatim.context.NodeComponent;
+import world.landfall.verbatim.context.PlayerPosition;
+import world.landfall.verbatim.storage.PlayerData;
+import world.landfall.verbatim.storage.PlayerDataPrefetcher;
+import world.landfall.verbatim.storage.PlayerDataStore;
+import world.landfall.verbatim.storage.PlayerDataWriter;
+import world.landfall.verbatim.storage.PlayerSnapshot;
 
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
@@ -23,13 +34,17 @@ import java.util.stream.Collectors;
 /**
  * Paper implementation of GameContext.
  * Uses Bukkit API for player access, messaging, and persistence.
- * Uses in-memory ConcurrentHashMap + file store for player data
+ * Keeps player data in memory per player, backed by the configured PlayerDataStore
  * (Bukkit's PersistentDataContainer only stores primitives for online players).
  */
 public class PaperGameContextImpl implements GameContext {
 
-    private final ConcurrentHashMap<String, String> persistentData = new ConcurrentHashMap<>();
-    private PlayerFileStore fileStore;
+    private final ConcurrentHashMap<UUID, PlayerData> playerData = new ConcurrentHashMap<>();
+    private PlayerDataStore dataStore;
+    // One save at a time, so an older snapshot can never land after a newer one
+    private final Object saveLock = new Object();
+    private PlayerDataWriter dataWriter;
+    private PlayerDataPrefetcher prefetcher;
     private Path dataDirectory;
     private final ConcurrentHashMap<UUID, String> onlinePlayerUsernames = new ConcurrentHashMap<>();
 
@@ -40,8 +55,16 @@ public class PaperGameContextImpl implements GameContext {
         throw new IllegalArgumentException("GamePlayer is not a PaperGamePlayer: " + player);
     }
 
-    public void setFileStore(PlayerFileStore fileStore) {
-        this.fileStore = fileStore;
+    public void setDataStore(PlayerDataStore dataStore) {
+        this.dataStore = dataStore;
+    }
+
+    public void setDataWriter(PlayerDataWriter dataWriter) {
+        this.dataWriter = dataWriter;
+    }
+
+    public void setPrefetcher(PlayerDataPrefetcher prefetcher) {
+        this.prefetcher = prefetcher;
     }
 
     public void setDataDirectory(Path dataDirectory) {
@@ -120,19 +143,43 @@ public class PaperGameContextImpl implements GameContext {
         return loc1.distanceSquared(loc2);
     }
 
+    @Override
+    public List<PlayerPosition> snapshotPlayerPositions() {
+        Collection<? extends Player> players = Bukkit.getOnlinePlayers();
+        List<PlayerPosition> positions = new ArrayList<>(players.size());
+        // Reuse one Location to avoid allocating per player every tick
+        Location loc = new Location(null, 0, 0, 0);
+        for (Player bp : players) {
+            bp.getLocation(loc);
+            positions.add(new PlayerPosition(bp.getUniqueId(), loc.getWorld().getUID().toString(),
+                loc.getX(), loc.getY(), loc.getZ()));
+        }
+        return positions;
+    }
+
     // === Messaging ===
 
     @Override
     public void sendMessage(GamePlayer player, GameComponent message) {
         if (player == null || message == null) return;
         Player bp = unwrap(player);
-        bp.sendMessage(((PaperGameComponentImpl) message).toAdventure());
+        bp.sendMessage(PaperComponentRenderer.toAdventure(message));
+    }
+
+    @Override
+    public void sendMessage(Collection<? extends GamePlayer> players, GameComponent message) {
+        if (players == null || players.isEmpty() || message == null) return;
+        List<Player> audiences = new ArrayList<>(players.size());
+        for (GamePlayer player : players) {
+            audiences.add(unwrap(player));
+        }
+        Audience.audience(audiences).sendMessage(PaperComponentRenderer.toAdventure(message));
     }
 
     @Override
     public void broadcastMessage(GameComponent message, boolean bypassHiddenPlayers) {
         if (message == null) return;
-        Component adventureMsg = ((PaperGameComponentImpl) message).toAdventure();
+        Component adventureMsg = PaperComponentRenderer.toAdventure(message);
         for (Player player : Bukkit.getOnlinePlayers()) {
             player.sendMessage(adventureMsg);
         }
@@ -140,95 +187,161 @@ public class PaperGameContextImpl implements GameContext {
 
     // === Persistent Data ===
 
-    private String dataKey(GamePlayer player, String key) {
-        return player.getUUID().toString() + ":" + key;
-    }
-
     @Override
     public boolean hasPlayerData(GamePlayer player, String key) {
         if (player == null || key == null) return false;
-        return persistentData.containsKey(dataKey(player, key));
+        PlayerData data = playerData.get(player.getUUID());
+        return data != null && data.contains(key);
     }
 
     @Override
     public String getPlayerStringData(GamePlayer player, String key) {
         if (player == null || key == null) return "";
-        return persistentData.getOrDefault(dataKey(player, key), "");
+        PlayerData data = playerData.get(player.getUUID());
+        return data != null ? data.get(key) : "";
     }
 
     @Override
     public void setPlayerStringData(GamePlayer player, String key, String value) {
         if (player == null || key == null || value == null) return;
-        persistentData.put(dataKey(player, key), value);
-        schedulePlayerSave(player);
+        PlayerData data = playerData.computeIfAbsent(player.getUUID(), k -> new PlayerData());
+        data.put(key, value);
+        schedulePlayerSave(player, data);
     }
 
     @Override
     public void removePlayerData(GamePlayer player, String key) {
         if (player == null || key == null) return;
-        persistentData.remove(dataKey(player, key));
-        schedulePlayerSave(player);
+        PlayerData data = playerData.get(player.getUUID());
+        if (data == null || !data.remove(key)) return;
+        schedulePlayerSave(player, data);
     }
 
     // === Per-Player Persistence ===
 
-    private void schedulePlayerSave(GamePlayer player) {
-        if (fileStore == null) return;
+    private void schedulePlayerSave(GamePlayer player, PlayerData data) {
+        if (dataStore == null) return;
         UUID uuid = player.getUUID();
-        String prefix = uuid.toString() + ":";
-        Map<String, String> playerData = new HashMap<>();
-        for (Map.Entry<String, String> entry : persistentData.entrySet()) {
-            if (entry.getKey().startsWith(prefix)) {
-                playerData.put(entry.getKey().substring(prefix.length()), entry.getValue());
+        if (dataWriter != null) {
+            dataWriter.markDirty(uuid);
+        } else {
+            savePlayer(uuid, data, onlinePlayerUsernames.getOrDefault(uuid, player.getUsername()));
+        }
+    }
+
+    /**
+     * Writes a player's file if they have unsaved changes. Called by the write-behind writer.
+     */
+    public void savePlayerIfDirty(UUID uuid) {
+        if (dataStore == null) return;
+        PlayerData data = playerData.get(uuid);
+        if (data != null && data.isDirty()) {
+            savePlayer(uuid, data, usernameFor(uuid, data));
+        }
+    }
+
+    /**
+     * Saves a player's pending writes now instead of waiting for the write-behind delay.
+     */
+    public void flushPlayer(UUID uuid) {
+        if (dataWriter != null) {
+            dataWriter.flush(uuid);
+        } else {
+            savePlayerIfDirty(uuid);
+        }
+    }
+
+    private void savePlayer(UUID uuid, PlayerData data, String username) {
+        synchronized (saveLock) {
+            long version = data.getVersion();
+            if (dataStore.save(uuid, username, data.snapshot())) {
+                data.markSaved(version, username);
+            } else {
+                // Still dirty, so the next auto-save retries it
+                Verbatim.LOGGER.warn("[Verbatim] Could not save player data for {}, will retry", uuid);
             }
         }
-        String username = onlinePlayerUsernames.getOrDefault(uuid, player.getUsername());
-        fileStore.savePlayer(uuid, username, playerData);
     }
 
-    public void loadPlayerFromDisk(UUID uuid) {
-        if (fileStore == null) return;
-        Map<String, String> data = fileStore.loadPlayer(uuid);
-        String prefix = uuid.toString() + ":";
-        for (Map.Entry<String, String> entry : data.entrySet()) {
-            persistentData.put(prefix + entry.getKey(), entry.getValue());
+    /**
+     * Starts loading a connecting player's data in the background. Called from pre-login, off the main thread.
+     */
+    public void prefetchPlayer(UUID uuid) {
+        if (dataStore == null || prefetcher == null) return;
+        // Still in memory from an earlier session this run; nothing to load
+        if (playerData.containsKey(uuid)) return;
+        prefetcher.prefetch(uuid);
+    }
+
+    /**
+     * Installs a joining player's data, using the prefetched load when there is one.
+     * A player already held in memory keeps that state, since it is never older than what is stored.
+     */
+    public void installPlayerData(UUID uuid) {
+        if (dataStore == null) return;
+        Map<String, String> data = prefetcher != null ? prefetcher.take(uuid) : null;
+        if (playerData.containsKey(uuid)) return;
+        if (data == null) {
+            Verbatim.LOGGER.debug("[Verbatim] No prefetched data for {}, loading on join", uuid);
+            data = dataStore.load(uuid);
         }
+        playerData.computeIfAbsent(uuid, k -> new PlayerData()).load(data);
         if (!data.isEmpty()) {
             Verbatim.LOGGER.info("[Verbatim] Loaded {} data entries for player {}", data.size(), uuid);
         }
     }
 
+    /**
+     * Saves every dirty player as one batch, then flushes the store. Clean players are not rewritten.
+     */
     public void saveAllPlayersToDisk() {
-        if (fileStore == null) return;
-
-        Map<UUID, Map<String, String>> grouped = new HashMap<>();
-        for (Map.Entry<String, String> entry : persistentData.entrySet()) {
-            int colonIdx = entry.getKey().indexOf(':');
-            if (colonIdx < 0) continue;
-            String uuidStr = entry.getKey().substring(0, colonIdx);
-            String dataKey = entry.getKey().substring(colonIdx + 1);
-            try {
-                UUID uuid = UUID.fromString(uuidStr);
-                grouped.computeIfAbsent(uuid, k -> new HashMap<>()).put(dataKey, entry.getValue());
-            } catch (IllegalArgumentException e) {
-                Verbatim.LOGGER.warn("[Verbatim] Skipping entry with invalid UUID key: {}", entry.getKey());
+        if (dataStore == null) return;
+
+        int saved;
+        int failedCount;
+        synchronized (saveLock) {
+            List<PlayerSnapshot> snapshots = new ArrayList<>();
+            Map<UUID, Long> versions = new HashMap<>();
+            for (Map.Entry<UUID, PlayerData> entry : playerData.entrySet()) {
+                PlayerData data = entry.getValue();
+                if (data.isDirty()) {
+                    UUID uuid = entry.getKey();
+                    versions.put(uuid, data.getVersion());
+                    snapshots.add(new PlayerSnapshot(uuid, usernameFor(uuid, data), data.snapshot()));
+                }
             }
+            Set<UUID> failed = snapshots.isEmpty() ? Collections.emptySet() : dataStore.saveAll(snapshots);
+            // Players whose write failed stay dirty for the next save
+            for (PlayerSnapshot snapshot : snapshots) {
+                if (!failed.contains(snapshot.uuid())) {
+                    playerData.get(snapshot.uuid()).markSaved(versions.get(snapshot.uuid()), snapshot.username());
+                }
+            }
+            failedCount = failed.size();
+            saved = snapshots.size() - failedCount;
         }
-
-        Map<String, PlayerFileStore.IndexEntry> index = new ConcurrentHashMap<>();
-        for (Map.Entry<UUID, Map<String, String>> playerEntry : grouped.entrySet()) {
-            UUID uuid = playerEntry.getKey();
-            String username = onlinePlayerUsernames.getOrDefault(uuid, uuid.toString());
-            fileStore.savePlayer(uuid, username, playerEntry.getValue());
-            index.put(uuid.toString(), new PlayerFileStore.IndexEntry(username, System.currentTimeMillis()));
+        dataStore.flush().join();
+        if (failedCount > 0) {
+            Verbatim.LOGGER.warn("[Verbatim] Could not save player data for {} players, will retry", failedCount);
         }
+        if (saved == 0 && failedCount == 0) {
+            Verbatim.LOGGER.debug("[Verbatim] No dirty player data to save");
+            return;
+        }
+        Verbatim.LOGGER.info("[Verbatim] Saved player data ({} of {} players dirty)", saved, playerData.size());
+    }
 
-        fileStore.saveIndex(index);
-        Verbatim.LOGGER.info("[Verbatim] Saved all player data ({} players)", grouped.size());
+    private String usernameFor(UUID uuid, PlayerData data) {
+        String username = onlinePlayerUsernames.get(uuid);
+        if (username == null) {
+            username = data.getLastUsername();
+        }
+        return username != null ? username : uuid.toString();
     }
 
     public void trackPlayerOnline(UUID uuid, String username) {
         onlinePlayerUsernames.put(uuid, username);
+        playerData.computeIfAbsent(uuid, k -> new PlayerData()).setLastUsername(username);
     }
 
     public void trackPlayerOffline(UUID uuid) {
@@ -250,25 +363,25 @@ public class PaperGameContextImpl implements GameContext {
 
     @Override
     public GameComponent createText(String text) {
-        if (text == null) return PaperGameComponentImpl.empty();
-        return PaperGameComponentImpl.literal(text);
+        if (text == null) return NodeComponent.empty();
+        return NodeComponent.literal(text);
     }
 
     @Override
     public GameComponent createEmpty() {
-        return PaperGameComponentImpl.empty();
+        return NodeComponent.empty();
     }
 
     @Override
     public GameComponent createInfoPrefix() {
         // Speech balloon emoji for Minecraft clients
-        return PaperGameComponentImpl.literal("\uD83D\uDDE8 ");
+        return NodeComponent.literal("\uD83D\uDDE8 ");
     }
 
     @Override
     public GameComponent createWarningPrefix() {
         // Warning emoji for Minecraft clients
-        return PaperGameComponentImpl.literal("\u26A0 ");
+        return NodeComponent.literal("\u26A0 ");
     }
 
     // === Command Response ===
@@ -279,7 +392,7 @@ public class PaperGameContextImpl implements GameContext {
         @SuppressWarnings("UnstableApiUsage")
         io.papermc.paper.command.brigadier.CommandSourceStack css =
             ((PaperGameCommandSource) source).getHandle();
-        css.getSender().sendMessage(((PaperGameComponentImpl) message).toAdventure());
+        css.getSender().sendMessage(PaperComponentRenderer.toAdventure(message));
     }
 
     @Override
@@ -289,7 +402,7 @@ public class PaperGameContextImpl implements GameContext {
         io.papermc.paper.command.brigadier.CommandSourceStack css =
             ((PaperGameCommandSource) source).getHandle();
         // Prefix with red color for error messages
-        Component errorMsg = ((PaperGameComponentImpl) message).toAdventure()
+        Component errorMsg = PaperComponentRenderer.toAdventure(message)
             .color(TextColor.color(0xFF5555));
         css.getSender().sendMessage(errorMsg);
     }
@@ -4,6 +4,7 @@ import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 import org.bukkit.entity.Player;
 import world.landfall.verbatim.context.GameComponent;
 import world.landfall.verbatim.context.GamePlayer;
+import world.landfall.verbatim.context.NodeComponent;
 
 import java.util.Objects;
 import java.util.UUID;
@@ -44,12 +45,12 @@ public class PaperGamePlayer implements GamePlayer {
 
     @Override
     public GameComponent getDisplayNameComponent() {
-        return PaperGameComponentImpl.wrap(handle.displayName());
+        return PaperComponentRenderer.fromAdventure(handle.displayName());
     }
 
     @Override
     public GameComponent getNameComponent() {
-        return PaperGameComponentImpl.literal(handle.getName());
+        return NodeComponent.literal(handle.getName());
     }
 
     @Override
@@ -35,6 +35,7 @@ public class PaperPrefixService extends PrefixService {
                 Method getMethod = luckPermsProviderClass.getMethod("get");
                 this.luckPermsApi = getMethod.invoke(null);
                 this.luckPermsAvailable = true;
+                invalidateNamesOnLuckPermsChanges(this.luckPermsApi);
                 Verbatim.LOGGER.info("[PaperPrefixService] LuckPerms API found. Prefixes will be handled by LuckPerms.");
             } catch (ClassNotFoundException e) {
                 this.luckPermsApi = null;
@@ -83,4 +83,34 @@ public class PaperVerbatimConfig {
     public String getLeaveMessageFormat() {
         return config.getString("join-leave.leave-format", "&c[-]&r {nickname}");
     }
+
+    // Performance settings
+    public int getLocalFadeLevels() {
+        return config.getInt("performance.local-fade-levels", 8);
+    }
+
+    public long getPlayerDataSaveDelayMillis() {
+        return config.getLong("performance.player-data-save-delay-ms", 500);
+    }
+
+    public long getPlayerDataMaxStalenessMillis() {
+        return config.getLong("performance.player-data-max-staleness-ms", 5000);
+    }
+
+    // Storage settings
+    public String getStorageMode() {
+        return config.getString("storage.mode", "file");
+    }
+
+    public String getJournalDurability() {
+        return config.getString("storage.journal-durability", "batch");
+    }
+
+    public long getJournalCompactIntervalSeconds() {
+        return config.getLong("storage.journal-compact-interval-seconds", 60);
+    }
+
+    public String getJdbcUrl() {
+        return config.getString("storage.jdbc-url", "");
+    }
 }